@@ -0,0 +1,41 @@
+package com.sea.desafio_backend.config;
+
+import com.sea.desafio_backend.service.CepAquecimentoService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint do Actuator para o aquecimento do cache de CEP
+ *
+ * - GET  /actuator/aquecimentocep - Situação do aquecimento (em andamento, total, processados)
+ * - POST /actuator/aquecimentocep - Dispara um novo aquecimento em background
+ *
+ * Precisa estar em management.endpoints.web.exposure.include
+ */
+@Component
+@Endpoint(id = "aquecimentocep")
+public class CepAquecimentoEndpoint {
+
+    private final CepAquecimentoService cepAquecimentoService;
+
+    public CepAquecimentoEndpoint(CepAquecimentoService cepAquecimentoService) {
+        this.cepAquecimentoService = cepAquecimentoService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return cepAquecimentoService.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> iniciar() {
+        boolean iniciado = cepAquecimentoService.iniciar();
+        Map<String, Object> status = cepAquecimentoService.status();
+        status.put("iniciado", iniciado);
+        return status;
+    }
+}
@@ -0,0 +1,74 @@
+package com.sea.desafio_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propriedades de configuração de clientes
+ * Prefixo: cliente.*
+ *
+ * Exemplo (application.properties):
+ * <pre>
+ * cliente.filtro-cpf.habilitado=true
+ * cliente.filtro-cpf.capacidade=1000000
+ * cliente.filtro-cpf.taxa-falsos-positivos=0.01
+ * cliente.validacao-lote.tamanho-lote=500
+ * cliente.criptografia.chave-cifra=${CPF_CHAVE_CIFRA}
+ * cliente.criptografia.chave-indice=${CPF_CHAVE_INDICE}
+ * </pre>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cliente")
+public class ClienteProperties {
+
+    private FiltroCpf filtroCpf = new FiltroCpf();
+
+    private ValidacaoLote validacaoLote = new ValidacaoLote();
+
+    private Criptografia criptografia = new Criptografia();
+
+    /**
+     * Filtro de Bloom dos CPFs cadastrados, consultado antes de buscar CPFs no banco
+     * na validação em lote
+     */
+    @Data
+    public static class FiltroCpf {
+
+        /** Com false, toda consulta de CPF cadastrado vai direto ao banco */
+        private boolean habilitado = true;
+
+        /** CPFs esperados; o filtro é reconstruído com o dobro ao passar deste número */
+        private long capacidade = 100_000;
+
+        /** Taxa de falsos positivos desejada na capacidade (memória ≈ 1,2 bytes por CPF a 1%) */
+        private double taxaFalsosPositivos = 0.01;
+    }
+
+    /**
+     * Validação de CPFs em lote (POST /api/cpf/validar)
+     */
+    @Data
+    public static class ValidacaoLote {
+
+        /** Linhas por lote: cada lote faz uma consulta IN e é enviado de uma vez na resposta */
+        private int tamanhoLote = 500;
+
+        /** Linhas maiores que isso são cortadas e respondidas como formato inválido */
+        private int tamanhoMaximoLinha = 256;
+    }
+
+    /**
+     * Criptografia do CPF em repouso (ver CpfCriptografia)
+     */
+    @Data
+    public static class Criptografia {
+
+        /** Chave AES-256 da coluna clientes.cpf, em Base64 (32 bytes) */
+        private String chaveCifra;
+
+        /** Chave do HMAC da coluna clientes.cpf_hash, em Base64 (32 bytes); trocá-la exige recalcular a coluna */
+        private String chaveIndice;
+    }
+}
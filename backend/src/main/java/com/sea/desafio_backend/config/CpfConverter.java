@@ -0,0 +1,20 @@
+package com.sea.desafio_backend.config;
+
+import com.sea.desafio_backend.model.vo.Cpf;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converte @PathVariable/@RequestParam em Cpf (ex.: GET /api/clientes/cpf/{cpf})
+ * No corpo JSON a conversão é feita pelo @JsonCreator de Cpf
+ *
+ * Registrado automaticamente pelo Spring Boot no ConversionService do MVC
+ */
+@Component
+public class CpfConverter implements Converter<String, Cpf> {
+
+    @Override
+    public Cpf convert(String texto) {
+        return Cpf.de(texto);
+    }
+}
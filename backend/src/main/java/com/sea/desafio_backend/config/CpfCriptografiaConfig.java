@@ -0,0 +1,32 @@
+package com.sea.desafio_backend.config;
+
+import com.sea.desafio_backend.util.CpfCriptografia;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Base64;
+
+/**
+ * Criptografia do CPF em repouso
+ *
+ * Chaves em cliente.criptografia.* (Base64, 32 bytes cada), decodificadas uma única vez aqui.
+ * Vêm de CPF_CHAVE_CIFRA e CPF_CHAVE_INDICE, sem valor padrão fora do profile dev e dos
+ * testes: sem elas a aplicação não sobe.
+ */
+@Configuration
+public class CpfCriptografiaConfig {
+
+    @Bean
+    public CpfCriptografia cpfCriptografia(ClienteProperties properties) {
+        ClienteProperties.Criptografia config = properties.getCriptografia();
+        return new CpfCriptografia(decodificar(config.getChaveCifra(), "chave-cifra"),
+                decodificar(config.getChaveIndice(), "chave-indice"));
+    }
+
+    private static byte[] decodificar(String chave, String nome) {
+        if (chave == null || chave.trim().isEmpty()) {
+            throw new IllegalStateException("cliente.criptografia." + nome + " não configurada");
+        }
+        return Base64.getDecoder().decode(chave.trim());
+    }
+}
@@ -0,0 +1,43 @@
+package com.sea.desafio_backend.config;
+
+import com.sea.desafio_backend.service.EnderecoRevalidacaoService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint do Actuator para a revalidação dos endereços no ViaCEP
+ *
+ * - GET  /actuator/revalidacaoenderecos - Progresso, vazão e contagem de alterações
+ * - POST /actuator/revalidacaoenderecos - Inicia (ou retoma do checkpoint) em background
+ *   Corpo opcional {"reiniciar": true} ignora o checkpoint e começa do primeiro endereço
+ *
+ * Precisa estar em management.endpoints.web.exposure.include
+ */
+@Component
+@Endpoint(id = "revalidacaoenderecos")
+public class EnderecoRevalidacaoEndpoint {
+
+    private final EnderecoRevalidacaoService enderecoRevalidacaoService;
+
+    public EnderecoRevalidacaoEndpoint(EnderecoRevalidacaoService enderecoRevalidacaoService) {
+        this.enderecoRevalidacaoService = enderecoRevalidacaoService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return enderecoRevalidacaoService.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> iniciar(@Nullable Boolean reiniciar) {
+        boolean iniciado = enderecoRevalidacaoService.iniciar(Boolean.TRUE.equals(reiniciar));
+        Map<String, Object> status = enderecoRevalidacaoService.status();
+        status.put("iniciado", iniciado);
+        return status;
+    }
+}
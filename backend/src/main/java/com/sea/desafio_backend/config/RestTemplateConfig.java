@@ -1,32 +1,124 @@
 package com.sea.desafio_backend.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configuração do RestTemplate para chamadas HTTP
  * Utilizado para consumir APIs externas como ViaCEP
+ *
+ * Usa pool de conexões keep-alive (Apache HttpClient): as conexões TCP/TLS
+ * são reaproveitadas entre chamadas, eliminando o handshake por requisição.
+ * Parâmetros em viacep.http.* (ver ViaCepProperties.Http)
+ *
+ * Métricas do pool (Actuator): httpcomponents.httpclient.pool.total.connections
+ * (state=leased|available), httpcomponents.httpclient.pool.total.pending
+ *
+ * Também expõe um cliente HTTP assíncrono (NIO) para as consultas não bloqueantes
+ * (ViaCepAsyncClient): poucas threads de I/O atendem todas as chamadas em andamento.
  */
 @Configuration
 public class RestTemplateConfig {
 
+    static final String NOME_POOL = "viacep";
+
+    /**
+     * Pool de conexões HTTP compartilhado pelo RestTemplate
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(ViaCepProperties properties) {
+        ViaCepProperties.Http http = properties.getHttp();
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                http.getTtlConexao().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(http.getConexoesMaximas());
+        connectionManager.setDefaultMaxPerRoute(http.getConexoesPorRota());
+        // Revalida conexões ociosas há mais de 2s antes de reutilizá-las (servidor pode tê-las fechado)
+        connectionManager.setValidateAfterInactivity(2000);
+        return connectionManager;
+    }
+
     /**
-     * Bean RestTemplate com timeout configurado
+     * Cliente HTTP síncrono (RestTemplate) sobre o pool de conexões
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager,
+                                          ViaCepProperties properties) {
+        ViaCepProperties.Http http = properties.getHttp();
+
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(requestConfig(http))
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(http.getOciosidadeMaxima().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Cliente HTTP assíncrono: a thread chamadora não fica bloqueada durante a chamada
+     * Mesmos limites de conexões e timeouts do cliente síncrono (pool próprio)
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient httpAsyncClient(ViaCepProperties properties) {
+        ViaCepProperties.Http http = properties.getHttp();
+
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(http.getThreadsIo())
+                .setConnectTimeout((int) http.getTimeoutConexao().toMillis())
+                .setSoTimeout((int) http.getTimeoutLeitura().toMillis())
+                .build();
+
+        CloseableHttpAsyncClient httpAsyncClient = HttpAsyncClients.custom()
+                .setDefaultIOReactorConfig(ioReactorConfig)
+                .setDefaultRequestConfig(requestConfig(http))
+                .setMaxConnTotal(http.getConexoesMaximas())
+                .setMaxConnPerRoute(http.getConexoesPorRota())
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .build();
+        httpAsyncClient.start();
+        return httpAsyncClient;
+    }
+
+    /**
+     * Bean RestTemplate sobre o pool de conexões
      * @return RestTemplate configurado e pronto para uso
      */
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
-        
-        // Configuração de timeout para evitar travamentos
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000); // 5 segundos para conectar
-        factory.setReadTimeout(5000);    // 5 segundos para ler resposta
-        
-        restTemplate.setRequestFactory(factory);
-        
-        return restTemplate;
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    /**
+     * Publica métricas do pool (leased, pending, available) no Actuator
+     */
+    @Bean
+    public MeterBinder httpConnectionPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, NOME_POOL);
+    }
+
+    /**
+     * Timeouts separados para conexão, leitura e espera no pool
+     */
+    private static RequestConfig requestConfig(ViaCepProperties.Http http) {
+        return RequestConfig.custom()
+                .setConnectTimeout((int) http.getTimeoutConexao().toMillis())
+                .setSocketTimeout((int) http.getTimeoutLeitura().toMillis())
+                .setConnectionRequestTimeout((int) http.getTimeoutPool().toMillis())
+                .build();
     }
 }
@@ -0,0 +1,57 @@
+package com.sea.desafio_backend.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Configuração do circuit breaker das chamadas ao ViaCEP (Resilience4j)
+ *
+ * - Abre por taxa de falhas ou de chamadas lentas na janela deslizante
+ * - Aberto: chamadas falham imediatamente (sem ocupar thread pelo timeout de leitura)
+ * - Meio-aberto: apenas N chamadas de teste passam; as demais continuam falhando rápido
+ *
+ * Parâmetros em viacep.circuit-breaker.* (ver ViaCepProperties.CircuitBreaker)
+ * Métricas (Actuator): resilience4j.circuitbreaker.state, .calls, .failure.rate, .slow.call.rate
+ */
+@Configuration
+@Slf4j
+public class ViaCepCircuitBreakerConfig {
+
+    public static final String NOME = "viacep";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(ViaCepProperties properties, MeterRegistry meterRegistry) {
+        ViaCepProperties.CircuitBreaker config = properties.getCircuitBreaker();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(config.getJanela())
+                .minimumNumberOfCalls(config.getMinimoChamadas())
+                .failureRateThreshold(config.getTaxaFalha())
+                .slowCallRateThreshold(config.getTaxaChamadasLentas())
+                .slowCallDurationThreshold(config.getLimiteChamadaLenta())
+                .waitDurationInOpenState(config.getEsperaAberto())
+                .permittedNumberOfCallsInHalfOpenState(config.getChamadasMeioAberto())
+                // Apenas falhas de comunicação contam; {"erro": true} é resposta válida
+                .recordExceptions(RestClientException.class)
+                .build());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public CircuitBreaker viaCepCircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(NOME);
+        circuitBreaker.getEventPublisher().onStateTransition(evento ->
+                log.warn("Circuit breaker do ViaCEP: {}", evento.getStateTransition()));
+        return circuitBreaker;
+    }
+}
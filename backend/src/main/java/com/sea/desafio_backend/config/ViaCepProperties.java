@@ -0,0 +1,290 @@
+package com.sea.desafio_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propriedades de configuração da integração com ViaCEP
+ * Prefixo: viacep.*
+ *
+ * Exemplo (application.properties):
+ * <pre>
+ * viacep.url=http://localhost:8089/ws/{cep}/json/
+ * viacep.url-busca=http://localhost:8089/ws/{uf}/{cidade}/{logradouro}/json/
+ * viacep.cache.tamanho-maximo=10000
+ * viacep.cache.ttl=24h
+ * viacep.cache.ttl-negativo=10m
+ * viacep.offline.arquivo=/dados/ceps.idx
+ * viacep.http.conexoes-por-rota=20
+ * viacep.http.timeout-leitura=5s
+ * viacep.circuit-breaker.espera-aberto=30s
+ * viacep.lote.concorrencia=8
+ * viacep.aquecimento.chamadas-por-segundo=5
+ * viacep.hedge.habilitado=true
+ * viacep.revalidacao.concorrencia=4
+ * viacep.enriquecimento.adiado=true
+ * viacep.busca.ttl=24h
+ * </pre>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "viacep")
+public class ViaCepProperties {
+
+    public static final String URL_PADRAO = "https://viacep.com.br/ws/{cep}/json/";
+    public static final String URL_BUSCA_PADRAO = "https://viacep.com.br/ws/{uf}/{cidade}/{logradouro}/json/";
+
+    /** Template da URL do ViaCEP ({cep} = CEP sem máscara); troque para apontar a um servidor simulado */
+    private String url = URL_PADRAO;
+
+    /** Template da URL de busca de CEP por endereço do ViaCEP */
+    private String urlBusca = URL_BUSCA_PADRAO;
+
+    private Cache cache = new Cache();
+
+    private Offline offline = new Offline();
+
+    private Http http = new Http();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Lote lote = new Lote();
+
+    private Aquecimento aquecimento = new Aquecimento();
+
+    private Hedge hedge = new Hedge();
+
+    private Revalidacao revalidacao = new Revalidacao();
+
+    private Enriquecimento enriquecimento = new Enriquecimento();
+
+    private Busca busca = new Busca();
+
+    /**
+     * Configuração do cache em memória de CEPs
+     */
+    @Data
+    public static class Cache {
+
+        /** Quantidade máxima de CEPs mantidos em memória (evicção por tamanho) */
+        private long tamanhoMaximo = 10_000;
+
+        /** Tempo de vida de um CEP encontrado */
+        private Duration ttl = Duration.ofHours(24);
+
+        /** Tempo de vida de um CEP inexistente ({"erro": true}) */
+        private Duration ttlNegativo = Duration.ofMinutes(10);
+
+        /**
+         * Por quanto tempo o último valor conhecido de um CEP é mantido (além do TTL)
+         * para ser servido quando o ViaCEP estiver indisponível
+         */
+        private Duration retencaoObsoleto = Duration.ofDays(7);
+
+        /** Usa a tabela cep_cache como segundo nível, compartilhado entre as instâncias */
+        private boolean compartilhado = true;
+
+        /** Idade máxima de um CEP na tabela cep_cache antes de consultar o ViaCEP de novo */
+        private Duration ttlCompartilhado = Duration.ofDays(30);
+    }
+
+    /**
+     * Índice offline de CEPs (arquivo gerado por CepIndexBuilder)
+     */
+    @Data
+    public static class Offline {
+
+        /** Caminho do arquivo de índice; vazio desabilita a consulta offline */
+        private String arquivo = "";
+    }
+
+    /**
+     * Pool de conexões HTTP keep-alive usado pelo RestTemplate e pelo cliente assíncrono
+     */
+    @Data
+    public static class Http {
+
+        /** Máximo de conexões abertas no pool (todas as rotas) */
+        private int conexoesMaximas = 50;
+
+        /** Máximo de conexões simultâneas por rota (host:porta) */
+        private int conexoesPorRota = 20;
+
+        /** Tempo máximo para estabelecer a conexão TCP/TLS */
+        private Duration timeoutConexao = Duration.ofSeconds(5);
+
+        /** Tempo máximo de espera por dados na conexão (socket timeout) */
+        private Duration timeoutLeitura = Duration.ofSeconds(5);
+
+        /** Tempo máximo de espera por uma conexão livre no pool */
+        private Duration timeoutPool = Duration.ofSeconds(1);
+
+        /** Tempo de vida máximo de uma conexão, mesmo em uso contínuo */
+        private Duration ttlConexao = Duration.ofMinutes(5);
+
+        /** Conexões ociosas por mais tempo que isso são fechadas em background */
+        private Duration ociosidadeMaxima = Duration.ofSeconds(30);
+
+        /** Threads de I/O do cliente assíncrono (atendem todas as chamadas em andamento) */
+        private int threadsIo = 2;
+    }
+
+    /**
+     * Circuit breaker das chamadas ao ViaCEP
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        /** Percentual de falhas (0-100) na janela que abre o circuito */
+        private float taxaFalha = 50;
+
+        /** Percentual de chamadas lentas (0-100) na janela que abre o circuito */
+        private float taxaChamadasLentas = 50;
+
+        /** Duração a partir da qual uma chamada é considerada lenta */
+        private Duration limiteChamadaLenta = Duration.ofSeconds(2);
+
+        /** Tamanho da janela deslizante (quantidade de chamadas avaliadas) */
+        private int janela = 20;
+
+        /** Mínimo de chamadas na janela antes de calcular as taxas */
+        private int minimoChamadas = 10;
+
+        /** Tempo que o circuito fica aberto antes de liberar chamadas de teste */
+        private Duration esperaAberto = Duration.ofSeconds(30);
+
+        /** Chamadas de teste permitidas no estado meio-aberto (as demais falham rápido) */
+        private int chamadasMeioAberto = 3;
+    }
+
+    /**
+     * Consulta de CEPs em lote (POST /api/cep/lote)
+     */
+    @Data
+    public static class Lote {
+
+        /** Máximo de CEPs do mesmo lote consultados no ViaCEP ao mesmo tempo */
+        private int concorrencia = 8;
+
+        /** Tempo máximo da resposta em stream; CEPs não resolvidos até lá são descartados */
+        private Duration timeout = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Aquecimento do cache de CEP a partir dos endereços cadastrados
+     */
+    @Data
+    public static class Aquecimento {
+
+        /** Executa o aquecimento em background ao iniciar a aplicação */
+        private boolean habilitado = true;
+
+        /** Quantidade de CEPs mais frequentes carregados */
+        private int quantidade = 1000;
+
+        /** Limite de chamadas ao ViaCEP por segundo durante o aquecimento */
+        private int chamadasPorSegundo = 5;
+    }
+
+    /**
+     * Requisições "hedged" ao ViaCEP (segunda requisição quando a primeira demora)
+     */
+    @Data
+    public static class Hedge {
+
+        /** Dispara a segunda requisição quando a primeira passa do percentil de latência */
+        private boolean habilitado = false;
+
+        /** Percentil da latência recente usado como espera antes do hedge (0.95 = p95) */
+        private double percentil = 0.95;
+
+        /** Limites da espera calculada pelo percentil */
+        private Duration atrasoMinimo = Duration.ofMillis(50);
+        private Duration atrasoMaximo = Duration.ofSeconds(1);
+
+        /** Amostras de latência necessárias antes de usar o percentil (antes disso: atraso-maximo) */
+        private int amostrasMinimas = 50;
+
+        /** Fração máxima das consultas que pode gerar hedge (0.05 = 5%) */
+        private double orcamento = 0.05;
+    }
+
+    /**
+     * Revalidação dos endereços cadastrados contra o ViaCEP
+     */
+    @Data
+    public static class Revalidacao {
+
+        /** Endereços lidos por página (cada página é aplicada e salva no checkpoint) */
+        private int tamanhoPagina = 500;
+
+        /** Máximo de CEPs da página consultados no ViaCEP ao mesmo tempo */
+        private int concorrencia = 4;
+
+        /** Limite global de chamadas ao ViaCEP por segundo durante a revalidação */
+        private int chamadasPorSegundo = 5;
+
+        /**
+         * Máximo de CEPs já resolvidos guardados durante uma execução: CEP repetido em outra
+         * página reaproveita a resposta em vez de consultar o ViaCEP de novo
+         */
+        private int cepsResolvidosMaximo = 100_000;
+    }
+
+    /**
+     * Enriquecimento adiado dos endereços (fila na tabela endereco_enriquecimento)
+     */
+    @Data
+    public static class Enriquecimento {
+
+        /**
+         * Cria/atualiza endereços com ViaCEP sem esperar a resposta: o endereço é salvo na hora
+         * e os campos faltantes são preenchidos depois pela fila
+         */
+        private boolean adiado = false;
+
+        /** Threads que consultam o ViaCEP para as tarefas da fila */
+        private int threads = 2;
+
+        /** Máximo de tarefas reservadas a cada leitura da fila */
+        private int lote = 20;
+
+        /** Intervalo entre leituras da fila */
+        private Duration intervalo = Duration.ofSeconds(2);
+
+        /** Por quanto tempo uma tarefa fica reservada; se a instância cair, volta para a fila depois disso */
+        private Duration reserva = Duration.ofMinutes(2);
+
+        /** Tentativas com falha de comunicação antes de desistir (a tarefa fica na tabela, sem nova tentativa) */
+        private int tentativasMaximas = 10;
+
+        /** Espera antes da nova tentativa, dobrada a cada falha até espera-maxima */
+        private Duration esperaBase = Duration.ofSeconds(30);
+        private Duration esperaMaxima = Duration.ofHours(1);
+    }
+
+    /**
+     * Busca de CEP por endereço (GET /api/cep/busca)
+     */
+    @Data
+    public static class Busca {
+
+        /** Quantidade máxima de buscas (uf + cidade + logradouro) mantidas em cache */
+        private long tamanhoMaximo = 5_000;
+
+        /** Tempo de vida de uma busca respondida pelo ViaCEP (inclusive sem resultados) */
+        private Duration ttl = Duration.ofHours(24);
+
+        /** Intervalo de recarga do índice local montado a partir da tabela enderecos */
+        private Duration atualizacaoIndice = Duration.ofMinutes(10);
+
+        /**
+         * Máximo de logradouros carregados no índice local a cada recarga; os que ficarem
+         * de fora são buscados no ViaCEP, como qualquer logradouro não cadastrado
+         */
+        private int tamanhoMaximoIndice = 100_000;
+    }
+}
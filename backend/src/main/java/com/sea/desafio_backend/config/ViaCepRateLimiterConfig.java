@@ -0,0 +1,27 @@
+package com.sea.desafio_backend.config;
+
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registro dos rate limiters das chamadas ao ViaCEP feitas em background (Resilience4j)
+ *
+ * Cada rotina (ex.: aquecimento do cache) cria o seu limitador no registro com a
+ * própria configuração; as consultas dos usuários não passam por rate limiter.
+ *
+ * Métricas (Actuator): resilience4j.ratelimiter.available.permissions,
+ * resilience4j.ratelimiter.waiting_threads (tag name=nome do limitador)
+ */
+@Configuration
+public class ViaCepRateLimiterConfig {
+
+    @Bean
+    public RateLimiterRegistry rateLimiterRegistry(MeterRegistry meterRegistry) {
+        RateLimiterRegistry registry = RateLimiterRegistry.ofDefaults();
+        TaggedRateLimiterMetrics.ofRateLimiterRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+}
@@ -4,7 +4,9 @@ import com.sea.desafio_backend.dto.request.ClienteRequest;
 import com.sea.desafio_backend.dto.response.ApiResponse;
 import com.sea.desafio_backend.dto.response.ClienteResponse;
 import com.sea.desafio_backend.dto.response.ErrorResponse;
+import com.sea.desafio_backend.dto.response.PaginaCursorResponse;
 import com.sea.desafio_backend.model.entity.Cliente;
+import com.sea.desafio_backend.model.vo.Cpf;
 import com.sea.desafio_backend.service.ClienteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,7 +31,8 @@ import java.util.stream.Collectors;
  * 
  * Endpoints:
  * - POST   /api/clientes              - Criar cliente completo
- * - GET    /api/clientes              - Listar todos
+ * - GET    /api/clientes              - Listar todos (paginado por número de página)
+ * - GET    /api/clientes?after=       - Listar por cursor (keyset)
  * - GET    /api/clientes/{id}         - Buscar por ID
  * - GET    /api/clientes/cpf/{cpf}    - Buscar por CPF
  * - PUT    /api/clientes/{id}         - Atualizar dados básicos
@@ -112,6 +115,45 @@ public class ClienteController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * GET /api/clientes?after={cursor}&size=10
+     * Lista clientes por cursor, ordenados por nome e ID
+     *
+     * Sem OFFSET: páginas profundas custam o mesmo que a primeira. Começa com after vazio
+     * (?after=) e segue com o nextCursor/prevCursor da resposta. O modo por número de
+     * página (?page=) continua disponível.
+     */
+    @Operation(
+        summary = "Listar clientes por cursor",
+        description = "Retorna uma página de clientes a partir do cursor (after vazio para a primeira página), " +
+                      "com nextCursor e prevCursor para navegar"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Página de clientes retornada com sucesso"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Cursor inválido ou tamanho de página fora de 1.." + ClienteService.TAMANHO_MAXIMO_PAGINA_CURSOR,
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping(params = "after")
+    public ResponseEntity<PaginaCursorResponse<ClienteResponse>> listarPorCursor(
+            @Parameter(description = "Cursor da página (nextCursor ou prevCursor); vazio para a primeira", example = "")
+            @RequestParam String after,
+            @Parameter(description = "Tamanho da página (máximo " + ClienteService.TAMANHO_MAXIMO_PAGINA_CURSOR + ")",
+                       example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("GET /api/clientes?after={}&size={} - Listando clientes por cursor", after, size);
+
+        PaginaCursorResponse<ClienteResponse> pagina = clienteService.listarPorCursor(after, size)
+                .map(ClienteResponse::fromEntity);
+
+        return ResponseEntity.ok(pagina);
+    }
+
     /**
      * GET /api/clientes/{id}
      * Busca cliente por ID
@@ -166,9 +208,10 @@ public class ClienteController {
     })
     @GetMapping("/cpf/{cpf}")
     public ResponseEntity<ClienteResponse> buscarPorCpf(
-            @Parameter(description = "CPF do cliente (com ou sem máscara)", required = true, example = "12345678901")
-            @PathVariable String cpf) {
-        log.info("GET /api/clientes/cpf/{} - Buscando cliente", cpf);
+            @Parameter(description = "CPF do cliente (com ou sem máscara)", required = true, example = "12345678901",
+                       schema = @Schema(type = "string"))
+            @PathVariable Cpf cpf) {
+        log.info("GET /api/clientes/cpf/{} - Buscando cliente", cpf.getOculto());
         
         Cliente cliente = clienteService.buscarPorCpf(cpf);
         ClienteResponse response = ClienteResponse.fromEntity(cliente);
@@ -0,0 +1,101 @@
+package com.sea.desafio_backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sea.desafio_backend.dto.response.CpfValidacaoResponse;
+import com.sea.desafio_backend.service.CpfLoteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Controller REST para operações sobre CPF
+ *
+ * Endpoints:
+ * - POST   /api/cpf/validar       - Validar CPFs em lote (stream texto/NDJSON → NDJSON)
+ */
+@RestController
+@RequestMapping("/api/cpf")
+@Slf4j
+@Tag(name = "CPF", description = "API para validação de CPFs em lote")
+public class CpfController {
+
+    private final CpfLoteService cpfLoteService;
+    private final ObjectMapper objectMapper;
+
+    public CpfController(CpfLoteService cpfLoteService, ObjectMapper objectMapper) {
+        this.cpfLoteService = cpfLoteService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * POST /api/cpf/validar
+     * Valida uma lista de CPFs enviada em streaming (um por linha)
+     *
+     * Corpo: texto puro (text/plain) ou NDJSON (application/x-ndjson) com
+     * {"cpf":"..."} ou "..." por linha. Resposta em stream NDJSON, um
+     * CpfValidacaoResponse por linha na ordem da entrada, enviada a cada lote.
+     *
+     * Lido e escrito direto no request/response da thread do Tomcat: arquivos com
+     * centenas de milhares de CPFs não ficam presos ao timeout de requisições assíncronas,
+     * e nem a entrada nem a saída são montadas inteiras em memória.
+     *
+     * Exemplo: curl -X POST --data-binary @cpfs.txt -H "Content-Type: text/plain" /api/cpf/validar
+     */
+    @Operation(
+        summary = "Validar CPFs em lote",
+        description = "Recebe um CPF por linha (texto ou NDJSON) e responde, em NDJSON, formato, " +
+                      "dígitos verificadores e se o CPF já está cadastrado"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Uma linha JSON por CPF",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = CpfValidacaoResponse.class))
+        )
+    })
+    @PostMapping(value = "/validar", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void validarCpfs(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("POST /api/cpf/validar - Validando CPFs em lote");
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        Reader entrada = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8);
+        PrintWriter saida = response.getWriter();
+        try {
+            cpfLoteService.validar(entrada, lote -> {
+                try {
+                    for (CpfValidacaoResponse item : lote) {
+                        saida.write(objectMapper.writeValueAsString(item));
+                        saida.write('\n');
+                    }
+                    // Envia o lote já validado antes de ler o próximo
+                    response.flushBuffer();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Cliente desconectou no meio do stream: não há mais para quem responder
+            log.debug("Validação de CPFs em lote interrompida: {}", e.getMessage());
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.sea.desafio_backend.controller;
 
+import com.sea.desafio_backend.dto.request.CepLoteRequest;
 import com.sea.desafio_backend.dto.request.EnderecoRequest;
+import com.sea.desafio_backend.dto.response.CepLoteResponse;
 import com.sea.desafio_backend.dto.response.ErrorResponse;
 import com.sea.desafio_backend.dto.response.ViaCepResponse;
 import com.sea.desafio_backend.model.entity.Endereco;
+import com.sea.desafio_backend.service.CepBuscaService;
+import com.sea.desafio_backend.service.CepLoteService;
 import com.sea.desafio_backend.service.EnderecoService;
 import com.sea.desafio_backend.service.ViaCepService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,16 +17,24 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Controller REST para gerenciamento de Endereços
  * 
  * Endpoints:
  * - GET    /api/cep/{cep}         - Consultar CEP (ViaCEP)
+ * - GET    /api/cep/busca         - Buscar CEP por UF, cidade e logradouro
+ * - POST   /api/cep/lote          - Consultar CEPs em lote (stream NDJSON)
  * - GET    /api/enderecos/{id}    - Buscar endereço por ID
  * - PUT    /api/enderecos/{id}    - Atualizar endereço
  */
@@ -34,29 +46,118 @@ public class EnderecoController {
 
     private final EnderecoService enderecoService;
     private final ViaCepService viaCepService;
+    private final CepLoteService cepLoteService;
+    private final CepBuscaService cepBuscaService;
 
-    public EnderecoController(EnderecoService enderecoService, ViaCepService viaCepService) {
+    public EnderecoController(EnderecoService enderecoService, ViaCepService viaCepService,
+                              CepLoteService cepLoteService, CepBuscaService cepBuscaService) {
         this.enderecoService = enderecoService;
         this.viaCepService = viaCepService;
+        this.cepLoteService = cepLoteService;
+        this.cepBuscaService = cepBuscaService;
     }
 
     /**
      * GET /api/cep/{cep}
      * Consulta CEP na API ViaCEP
      * 
+     * Processamento assíncrono: a thread do Tomcat é liberada enquanto a chamada
+     * ao ViaCEP está em andamento e a resposta é escrita quando o future completa
+     * 
      * @param cep CEP a ser consultado (com ou sem máscara)
      * @return 200 OK com dados do endereço
      * 
      * Exemplo: GET /api/cep/01001000 ou GET /api/cep/01001-000
      */
     @GetMapping("/cep/{cep}")
-    public ResponseEntity<ViaCepResponse> consultarCep(@PathVariable String cep) {
+    public CompletableFuture<ResponseEntity<ViaCepResponse>> consultarCep(@PathVariable String cep) {
         
         log.info("GET /api/cep/{} - Consultando CEP no ViaCEP", cep);
         
-        ViaCepResponse endereco = viaCepService.buscarEnderecoPorCep(cep);
+        return viaCepService.buscarEnderecoPorCepAsync(cep)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * GET /api/cep/busca
+     * Busca os CEPs de um logradouro (contrato de busca por endereço do ViaCEP)
+     * 
+     * Buscas repetidas (ignorando acentos e maiúsculas) vêm do cache com o resultado completo
+     * do ViaCEP; o nome exato de um logradouro já cadastrado na tabela enderecos é respondido
+     * localmente, com os CEPs cadastrados dele. Trechos de nome sempre consultam o ViaCEP
+     * 
+     * @param uf Sigla da UF
+     * @param cidade Cidade (mínimo 3 caracteres)
+     * @param logradouro Logradouro ou trecho dele (mínimo 3 caracteres)
+     * @return 200 OK com a lista de endereços (vazia se nenhum); para o nome exato de um logradouro
+     *         cadastrado, só os CEPs dele presentes na tabela enderecos
+     * 
+     * Exemplo: GET /api/cep/busca?uf=RS&cidade=Porto Alegre&logradouro=Domingos Jose
+     */
+    @GetMapping("/cep/busca")
+    public ResponseEntity<List<ViaCepResponse>> buscarCepPorEndereco(
+            @Parameter(description = "Sigla da UF", required = true, example = "SP") @RequestParam String uf,
+            @Parameter(description = "Cidade", required = true, example = "São Paulo") @RequestParam String cidade,
+            @Parameter(description = "Logradouro", required = true, example = "Praça da Sé") @RequestParam String logradouro) {
+
+        log.info("GET /api/cep/busca - Buscando CEP de {}/{}/{}", uf, cidade, logradouro);
+
+        return ResponseEntity.ok(cepBuscaService.buscar(uf, cidade, logradouro));
+    }
+
+    /**
+     * POST /api/cep/lote
+     * Consulta vários CEPs de uma vez
+     * 
+     * Resposta em stream NDJSON (application/x-ndjson): uma linha JSON por CEP distinto,
+     * enviada assim que o CEP é resolvido. CEPs em cache chegam primeiro; os demais
+     * são consultados em paralelo (viacep.lote.concorrencia), sem ordem garantida.
+     * 
+     * @param request Lista de CEPs (até 1000, com ou sem máscara)
+     * @return 200 OK com um CepLoteResponse por linha
+     * 
+     * Exemplo: POST /api/cep/lote {"ceps": ["01001-000", "20040020", "99999999"]}
+     */
+    @PostMapping("/cep/lote")
+    public ResponseEntity<ResponseBodyEmitter> consultarCepsEmLote(@Valid @RequestBody CepLoteRequest request) {
         
-        return ResponseEntity.ok(endereco);
+        log.info("POST /api/cep/lote - Consultando {} CEPs em lote", request.getCeps().size());
+        
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(cepLoteService.getTimeoutMillis());
+        AtomicBoolean desconectado = new AtomicBoolean();
+        
+        cepLoteService.resolver(request.getCeps(), item -> enviarLinha(emitter, item, desconectado))
+                .whenComplete((ok, erro) -> {
+                    if (erro != null) {
+                        emitter.completeWithError(erro);
+                    } else {
+                        emitter.complete();
+                    }
+                });
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    /**
+     * Escreve um item do lote como uma linha NDJSON
+     * Chamado de várias threads: JSON e quebra de linha precisam sair juntos
+     */
+    private void enviarLinha(ResponseBodyEmitter emitter, CepLoteResponse item, AtomicBoolean desconectado) {
+        if (desconectado.get()) {
+            return;
+        }
+        try {
+            synchronized (emitter) {
+                emitter.send(item, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou ou timeout: descarta os resultados restantes
+            desconectado.set(true);
+            log.debug("Consulta em lote interrompida: {}", e.getMessage());
+        }
     }
 
     /**
@@ -0,0 +1,32 @@
+package com.sea.desafio_backend.dto.request;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO de requisição para consulta de CEPs em lote
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lista de CEPs a consultar")
+public class CepLoteRequest {
+
+    public static final int TAMANHO_MAXIMO = 1000;
+
+    @ArraySchema(
+        arraySchema = @Schema(description = "CEPs (com ou sem hífen); repetidos são consultados uma única vez"),
+        schema = @Schema(example = "01001-000"),
+        maxItems = TAMANHO_MAXIMO
+    )
+    @NotEmpty(message = "Informe ao menos um CEP")
+    @Size(max = TAMANHO_MAXIMO, message = "Máximo de " + TAMANHO_MAXIMO + " CEPs por lote")
+    private List<String> ceps;
+}
@@ -1,5 +1,6 @@
 package com.sea.desafio_backend.dto.request;
 
+import com.sea.desafio_backend.model.vo.Cpf;
 import com.sea.desafio_backend.validation.CPF;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
@@ -38,12 +39,14 @@ public class ClienteRequest {
 
     @Schema(
         description = "CPF do cliente no formato XXX.XXX.XXX-XX ou apenas números",
+        type = "string",
         example = "123.456.789-09",
         required = true
     )
     @NotBlank(message = "CPF é obrigatório")
     @CPF(message = "CPF inválido (dígitos verificadores incorretos)")
-    private String cpf;
+    // Normalizado uma vez na desserialização (Cpf.de): dígitos, número e máscara já prontos
+    private Cpf cpf;
 
     @Schema(description = "Endereço do cliente", required = true)
     @NotNull(message = "Endereço é obrigatório")
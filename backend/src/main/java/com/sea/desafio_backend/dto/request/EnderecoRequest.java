@@ -1,5 +1,6 @@
 package com.sea.desafio_backend.dto.request;
 
+import com.sea.desafio_backend.validation.CepCompativelComUf;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,7 +12,9 @@ import javax.validation.constraints.Size;
 
 /**
  * DTO de requisição para criação/atualização de Endereço
+ * CEP e UF são conferidos entre si pelas faixas de CEP de cada UF (@CepCompativelComUf)
  */
+@CepCompativelComUf
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,45 @@
+package com.sea.desafio_backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de resposta de um CEP da consulta em lote
+ * Cada item é uma linha do stream NDJSON de POST /api/cep/lote
+ *
+ * Exemplo:
+ * {"cep":"01001-000","status":"ENCONTRADO","endereco":{"cep":"01001-000",...}}
+ * {"cep":"123","status":"INVALIDO","mensagem":"CEP deve ter 8 dígitos. Recebido: 123"}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CepLoteResponse {
+
+    /** CEP como enviado na requisição (primeira ocorrência, se repetido) */
+    private String cep;
+
+    private Status status;
+
+    private ViaCepResponse endereco;
+
+    private String mensagem;
+
+    public enum Status {
+        ENCONTRADO,
+        NAO_ENCONTRADO,
+        INVALIDO,
+        ERRO
+    }
+
+    public static CepLoteResponse encontrado(String cep, ViaCepResponse endereco) {
+        return new CepLoteResponse(cep, Status.ENCONTRADO, endereco, null);
+    }
+
+    public static CepLoteResponse falha(String cep, Status status, String mensagem) {
+        return new CepLoteResponse(cep, status, null, mensagem);
+    }
+}
@@ -0,0 +1,40 @@
+package com.sea.desafio_backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de resposta de uma linha da validação de CPFs em lote
+ * Cada item é uma linha do stream NDJSON de POST /api/cpf/validar, na ordem da entrada
+ *
+ * Exemplo:
+ * {"linha":1,"cpf":"123.456.789-09","formatoValido":true,"digitosValidos":true,"cadastrado":false}
+ * {"linha":2,"cpf":"123.456.789-00","formatoValido":true,"digitosValidos":false}
+ * {"linha":3,"cpf":"12345","formatoValido":false,"digitosValidos":false}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CpfValidacaoResponse {
+
+    /** Número da linha na entrada (começa em 1, linhas em branco contam) */
+    private long linha;
+
+    /** CPF como enviado */
+    private String cpf;
+
+    /** 11 dígitos ou máscara completa (000.000.000-00) */
+    private boolean formatoValido;
+
+    /** Dígitos verificadores corretos (e não todos iguais) */
+    private boolean digitosValidos;
+
+    /** Já cadastrado na base de clientes; ausente se o CPF não é válido */
+    private Boolean cadastrado;
+
+    /** Motivo quando a linha não pôde ser lida (JSON inválido, linha longa demais) */
+    private String mensagem;
+}
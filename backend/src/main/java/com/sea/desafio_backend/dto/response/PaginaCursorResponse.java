@@ -0,0 +1,40 @@
+package com.sea.desafio_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Página da listagem por cursor (keyset), sem total nem número de página
+ *
+ * Exemplo:
+ * {"content":[...],"size":10,"nextCursor":"RDo0MjpNYXJpYQ","prevCursor":null}
+ *
+ * nextCursor / prevCursor: valor para ?after= da página seguinte / anterior; null quando não há
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorResponse<T> {
+
+    private List<T> content;
+
+    /** Tamanho de página solicitado */
+    private int size;
+
+    private String nextCursor;
+
+    private String prevCursor;
+
+    /**
+     * @return Mesma página com o conteúdo convertido (ex.: Cliente → ClienteResponse)
+     */
+    public <R> PaginaCursorResponse<R> map(Function<? super T, ? extends R> conversor) {
+        List<R> convertido = content.stream().map(conversor).collect(Collectors.toList());
+        return new PaginaCursorResponse<>(convertido, size, nextCursor, prevCursor);
+    }
+}
@@ -46,4 +46,12 @@ public class ViaCepResponse {
 
     @JsonProperty("erro") // Campo "erro": true quando CEP não existe
     private Boolean erro;
+
+    /**
+     * Cópia defensiva: o DTO é mutável e não deve ser compartilhado entre requisições
+     * (usada pelos caches antes de entregar um valor armazenado)
+     */
+    public ViaCepResponse copiar() {
+        return new ViaCepResponse(cep, logradouro, complemento, bairro, localidade, uf, erro);
+    }
 }
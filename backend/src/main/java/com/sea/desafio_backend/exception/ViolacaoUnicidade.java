@@ -0,0 +1,59 @@
+package com.sea.desafio_backend.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Identifica qual restrição única o banco recusou em um insert/update
+ *
+ * A unicidade de CPF, email e telefone é garantida pelos índices únicos abaixo, e não por
+ * consultas antes de gravar: a escrita vai direto ao banco e, se violar um deles, o service
+ * traduz a DataIntegrityViolationException na exceção de negócio pelo nome do índice.
+ * Dois cadastros simultâneos do mesmo CPF terminam sempre em um sucesso e um 409.
+ *
+ * O nome vem do Hibernate (ConstraintViolationException.getConstraintName): exato no
+ * PostgreSQL; no H2 vem com schema e sufixo (PUBLIC.IDX_CLIENTE_CPF_HASH_INDEX_5 ...),
+ * por isso a comparação é por "contém", sem diferenciar maiúsculas.
+ */
+public final class ViolacaoUnicidade {
+
+    /** clientes(cpf_hash): o CPF é gravado cifrado, a unicidade é pelo índice cego */
+    public static final String CLIENTE_CPF = "idx_cliente_cpf_hash";
+
+    /** emails(cliente_id, endereco_email) */
+    public static final String EMAIL_CLIENTE = "idx_email_cliente_endereco";
+
+    /** telefones(cliente_id, numero) */
+    public static final String TELEFONE_CLIENTE = "idx_telefone_cliente_numero";
+
+    private ViolacaoUnicidade() {
+    }
+
+    /**
+     * @param e Exceção do Spring Data ao gravar
+     * @param restricao Uma das constantes desta classe
+     * @return true se o banco recusou a escrita por causa dessa restrição
+     */
+    public static boolean violou(DataIntegrityViolationException e, String restricao) {
+        String nome = nomeDaRestricao(e);
+        return nome != null && nome.toLowerCase(Locale.ROOT).contains(restricao);
+    }
+
+    /**
+     * Nome da restrição informado pelo Hibernate; sem ele, a mensagem do driver
+     * (que também cita o índice violado)
+     */
+    private static String nomeDaRestricao(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException) {
+                String nome = ((ConstraintViolationException) causa).getConstraintName();
+                if (nome != null) {
+                    return nome;
+                }
+            }
+        }
+        return e.getMostSpecificCause().getMessage();
+    }
+}
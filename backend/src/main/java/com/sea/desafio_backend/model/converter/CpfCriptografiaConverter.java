@@ -0,0 +1,33 @@
+package com.sea.desafio_backend.model.converter;
+
+import com.sea.desafio_backend.util.CpfCriptografia;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Cifra a coluna clientes.cpf na gravação e decifra na leitura (Cliente.cpf)
+ *
+ * Criado pelo Hibernate através do contêiner de beans do Spring, que injeta a CpfCriptografia.
+ * Linhas anteriores à criptografia (CPF em texto claro) são lidas como estão até a
+ * ClienteCpfMigracao cifrá-las.
+ */
+@Converter
+public class CpfCriptografiaConverter implements AttributeConverter<String, String> {
+
+    private final CpfCriptografia criptografia;
+
+    public CpfCriptografiaConverter(CpfCriptografia criptografia) {
+        this.criptografia = criptografia;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String cpf) {
+        return cpf == null ? null : criptografia.cifrar(cpf);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String valor) {
+        return CpfCriptografia.estaCifrado(valor) ? criptografia.decifrar(valor) : valor;
+    }
+}
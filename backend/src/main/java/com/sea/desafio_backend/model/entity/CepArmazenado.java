@@ -0,0 +1,45 @@
+package com.sea.desafio_backend.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade CepArmazenado
+ * Cache de CEPs compartilhado entre as instâncias do backend (tabela cep_cache)
+ *
+ * Guarda apenas respostas de sucesso do ViaCEP; updated_at controla quando o
+ * CEP volta a ser consultado no ViaCEP (viacep.cache.ttl-compartilhado)
+ */
+@Entity
+@Table(name = "cep_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CepArmazenado {
+
+    @Id
+    @Column(length = 8) // SEM máscara (8 dígitos)
+    private String cep;
+
+    @Column(length = 200)
+    private String logradouro;
+
+    @Column(length = 200)
+    private String complemento;
+
+    @Column(length = 100)
+    private String bairro;
+
+    @Column(length = 100)
+    private String localidade;
+
+    @Column(length = 2)
+    private String uf;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
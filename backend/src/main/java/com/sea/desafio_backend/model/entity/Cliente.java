@@ -1,5 +1,6 @@
 package com.sea.desafio_backend.model.entity;
 
+import com.sea.desafio_backend.model.converter.CpfCriptografiaConverter;
 import com.sea.desafio_backend.model.entity.BaseEntity;
 import com.sea.desafio_backend.model.entity.ClienteEmail;
 import com.sea.desafio_backend.model.entity.Endereco;
@@ -21,7 +22,9 @@ import java.util.List;
 
 @Entity
 @Table(name = "clientes", indexes = {
-    @Index(name = "idx_cliente_cpf", columnList = "cpf", unique = true)
+    @Index(name = "idx_cliente_cpf_hash", columnList = "cpf_hash", unique = true),
+    // Listagem por cursor: busca e ordena por (nome, id), ver CursorCliente
+    @Index(name = "idx_cliente_nome_id", columnList = "nome, id")
 })
 @Getter
 @Setter
@@ -42,10 +45,17 @@ public class Cliente extends BaseEntity {
     private String nome;
 
     @NotBlank(message = "CPF é obrigatório")
-    // REGRA: Persistido COM máscara (14 caracteres: 111.222.333-44)
-    @Column(nullable = false, unique = true, length = 14)
+    // REGRA: Em memória COM máscara (111.222.333-44); no banco CIFRADO (AES-GCM, ver CpfCriptografia)
+    @Convert(converter = CpfCriptografiaConverter.class)
+    @Column(nullable = false, length = 64)
     private String cpf;
 
+    // Índice cego do CPF (HMAC, ver CpfCriptografia.indice): chave das buscas por CPF e da
+    // unicidade (idx_cliente_cpf_hash, ver ViolacaoUnicidade). Preenchido pelo ClienteService
+    // junto com o cpf; nulo apenas em linhas antigas ainda não migradas (ClienteCpfMigracao)
+    @Column(name = "cpf_hash")
+    private Long cpfHash;
+
     // CascadeType.ALL garante que ao salvar Cliente, salva o Endereço junto
     @OneToOne(mappedBy = "cliente", cascade = CascadeType.ALL, orphanRemoval = true)
     private Endereco endereco;
@@ -11,7 +11,9 @@ import javax.validation.constraints.NotBlank;
 @Table(name = "emails", indexes = {
     @Index(name = "idx_email_cliente_id", columnList = "cliente_id"),
     @Index(name = "idx_email_endereco", columnList = "enderecoEmail"),
-    @Index(name = "idx_email_principal", columnList = "cliente_id, principal")
+    @Index(name = "idx_email_principal", columnList = "cliente_id, principal"),
+    // Unicidade do email por cliente garantida pelo banco (ver ViolacaoUnicidade)
+    @Index(name = "idx_email_cliente_endereco", columnList = "cliente_id, enderecoEmail", unique = true)
 })
 @Data
 @NoArgsConstructor
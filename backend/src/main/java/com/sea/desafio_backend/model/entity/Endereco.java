@@ -11,6 +11,10 @@ import javax.validation.constraints.Size;
 /**
  * Entidade Endereco
  * Relacionamento 1:1 com Cliente
+ *
+ * Logradouro, bairro, cidade e UF podem ficar vazios enquanto o endereço aguarda
+ * o enriquecimento pelo ViaCEP (viacep.enriquecimento.adiado); a obrigatoriedade
+ * na API é validada pelo EnderecoRequest
  */
 @Entity
 @Table(name = "enderecos")
@@ -32,23 +36,19 @@ public class Endereco extends BaseEntity {
     @Column(nullable = false, length = 8) // Persistido SEM máscara (8 dígitos)
     private String cep;
 
-    @NotBlank(message = "Logradouro é obrigatório")
-    @Column(nullable = false, length = 200)
+    @Column(length = 200)
     private String logradouro;
 
     @Column(length = 100)
     private String complemento;
 
-    @NotBlank(message = "Bairro é obrigatório")
-    @Column(nullable = false, length = 100)
+    @Column(length = 100)
     private String bairro;
 
-    @NotBlank(message = "Cidade é obrigatória")
-    @Column(nullable = false, length = 100)
+    @Column(length = 100)
     private String cidade;
 
-    @NotBlank(message = "UF é obrigatório")
     @Size(min = 2, max = 2, message = "UF deve ter 2 caracteres")
-    @Column(nullable = false, length = 2)
+    @Column(length = 2)
     private String uf;
 }
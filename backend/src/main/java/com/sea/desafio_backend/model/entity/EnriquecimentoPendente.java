@@ -0,0 +1,46 @@
+package com.sea.desafio_backend.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade EnriquecimentoPendente
+ * Tarefa da fila de enriquecimento de endereços pelo ViaCEP (tabela endereco_enriquecimento)
+ *
+ * Gravada na mesma transação do endereço; removida quando o ViaCEP responde.
+ * proxima_tentativa nula: desistiu após viacep.enriquecimento.tentativas-maximas
+ */
+@Entity
+@Table(name = "endereco_enriquecimento",
+       indexes = @Index(name = "idx_endereco_enriquecimento_proxima", columnList = "proxima_tentativa"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnriquecimentoPendente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "endereco_id", nullable = false, unique = true)
+    private Long enderecoId;
+
+    @Column(nullable = false, length = 8) // SEM máscara (8 dígitos)
+    private String cep;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa")
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "ultimo_erro", length = 500)
+    private String ultimoErro;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,33 @@
+package com.sea.desafio_backend.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade RevalidacaoCheckpoint
+ * Ponto de retomada de uma rotina que percorre a tabela enderecos por ID (tabela revalidacao_checkpoint)
+ *
+ * Salvo na mesma transação das atualizações de cada página: se a aplicação cair,
+ * a próxima execução continua a partir do último ID aplicado
+ */
+@Entity
+@Table(name = "revalidacao_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevalidacaoCheckpoint {
+
+    @Id
+    @Column(length = 50)
+    private String nome;
+
+    @Column(name = "ultimo_id", nullable = false)
+    private Long ultimoId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -17,7 +17,9 @@ import javax.validation.constraints.NotBlank;
 @Table(name = "telefones", indexes = {
     @Index(name = "idx_telefone_cliente_id", columnList = "cliente_id"),
     @Index(name = "idx_telefone_numero", columnList = "numero"),
-    @Index(name = "idx_telefone_principal", columnList = "cliente_id, principal")
+    @Index(name = "idx_telefone_principal", columnList = "cliente_id, principal"),
+    // Unicidade do número por cliente garantida pelo banco (ver ViolacaoUnicidade)
+    @Index(name = "idx_telefone_cliente_numero", columnList = "cliente_id, numero", unique = true)
 })
 @Data
 @NoArgsConstructor
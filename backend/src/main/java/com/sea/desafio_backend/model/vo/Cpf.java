@@ -0,0 +1,148 @@
+package com.sea.desafio_backend.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.sea.desafio_backend.exception.CpfInvalidoException;
+import com.sea.desafio_backend.util.CpfUtil;
+
+/**
+ * CPF já normalizado: o texto recebido é lido uma única vez (na desserialização do
+ * JSON ou na conversão do @PathVariable) e o resultado segue pela requisição
+ *
+ * - texto: como veio na requisição (usado em mensagens de erro e pelo @NotBlank)
+ * - numero: os 11 dígitos como long, entrada do índice cego (ver CpfCriptografia.indice)
+ * - digitos / comMascara: formatos de exibição e persistência, montados a partir do número
+ *
+ * Um CPF inválido também vira Cpf (com o motivo), para que a validação continue a cargo
+ * do Bean Validation (@CPF) e do service, com as mesmas mensagens de antes.
+ * Implementa CharSequence sobre o texto recebido, então @NotBlank e @CPF funcionam nele.
+ */
+public final class Cpf implements CharSequence {
+
+    private final String texto;
+    private final long numero;
+    private final String motivoInvalido;
+    private final String digitos;
+    private final String comMascara;
+
+    private Cpf(String texto) {
+        this.texto = texto;
+        this.motivoInvalido = CpfUtil.motivoInvalido(texto);
+        if (motivoInvalido == null) {
+            this.numero = CpfUtil.paraNumero(texto);
+            this.digitos = CpfUtil.semMascara(numero);
+            this.comMascara = CpfUtil.comMascara(numero);
+        } else {
+            this.numero = -1;
+            this.digitos = null;
+            this.comMascara = null;
+        }
+    }
+
+    /**
+     * @param texto CPF com ou sem máscara
+     * @return Cpf normalizado (válido ou não), ou null se o texto for nulo
+     */
+    @JsonCreator
+    public static Cpf de(String texto) {
+        return texto == null ? null : new Cpf(texto);
+    }
+
+    public boolean isValido() {
+        return motivoInvalido == null;
+    }
+
+    /**
+     * @return Este CPF, se válido
+     * @throws CpfInvalidoException com o motivo (tamanho, dígitos iguais ou verificadores)
+     */
+    public Cpf validarOuLancarExcecao() {
+        if (motivoInvalido != null) {
+            throw new CpfInvalidoException(texto, motivoInvalido);
+        }
+        return this;
+    }
+
+    /**
+     * @return Texto como recebido
+     */
+    @JsonValue
+    public String getTexto() {
+        return texto;
+    }
+
+    /**
+     * @return 11 dígitos como long (ver CpfUtil.paraNumero); -1 se inválido
+     */
+    public long getNumero() {
+        return numero;
+    }
+
+    /**
+     * @return 11 dígitos sem máscara; null se inválido
+     */
+    public String getDigitos() {
+        return digitos;
+    }
+
+    /**
+     * @return Formato 000.000.000-00; null se inválido
+     */
+    public String getComMascara() {
+        return comMascara;
+    }
+
+    /**
+     * @return Formato para logs (***.***.789-**, ver CpfUtil.ocultar); "***" se inválido
+     */
+    public String getOculto() {
+        return isValido() ? CpfUtil.ocultar(numero) : "***";
+    }
+
+    /**
+     * @return Motivo da invalidade (mesmas mensagens de CpfUtil.validarOuLancarExcecao); null se válido
+     */
+    public String getMotivoInvalido() {
+        return motivoInvalido;
+    }
+
+    @Override
+    public int length() {
+        return texto.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return texto.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return texto.subSequence(start, end);
+    }
+
+    /**
+     * Válidos são iguais pelo número (123.456.789-09 == 12345678909); inválidos pelo texto
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Cpf)) {
+            return false;
+        }
+        Cpf outro = (Cpf) o;
+        return isValido() ? outro.isValido() && numero == outro.numero : texto.equals(outro.texto);
+    }
+
+    @Override
+    public int hashCode() {
+        return isValido() ? Long.hashCode(numero) : texto.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return texto;
+    }
+}
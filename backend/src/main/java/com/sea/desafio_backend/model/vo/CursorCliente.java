@@ -0,0 +1,92 @@
+package com.sea.desafio_backend.model.vo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor da listagem de clientes por keyset (GET /api/clientes?after=...)
+ *
+ * Guarda a posição (nome, id) de um cliente e o sentido da próxima busca: DEPOIS
+ * (nextCursor, a partir do último da página) ou ANTES (prevCursor, a partir do primeiro).
+ * A busca parte dessa posição pelo índice idx_cliente_nome_id, sem OFFSET: qualquer
+ * página custa o mesmo que a primeira.
+ *
+ * Para o cliente é opaco: Base64 URL-safe de "D:id:nome" ou "A:id:nome".
+ */
+public final class CursorCliente {
+
+    private static final char DEPOIS = 'D';
+    private static final char ANTES = 'A';
+
+    private final boolean antes;
+    private final String nome;
+    private final long id;
+
+    private CursorCliente(boolean antes, String nome, long id) {
+        this.antes = antes;
+        this.nome = nome;
+        this.id = id;
+    }
+
+    /**
+     * @return Cursor para a página seguinte ao cliente (nome, id)
+     */
+    public static CursorCliente depois(String nome, long id) {
+        return new CursorCliente(false, nome, id);
+    }
+
+    /**
+     * @return Cursor para a página anterior ao cliente (nome, id)
+     */
+    public static CursorCliente antes(String nome, long id) {
+        return new CursorCliente(true, nome, id);
+    }
+
+    /**
+     * @param cursor Texto gerado por codificar
+     * @return Cursor decodificado
+     * @throws IllegalArgumentException se o texto não for um cursor válido
+     */
+    public static CursorCliente de(String cursor) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = texto.indexOf(':', 2);
+            if (texto.length() < 4 || texto.charAt(1) != ':' || separador < 0
+                    || (texto.charAt(0) != DEPOIS && texto.charAt(0) != ANTES)) {
+                throw new IllegalArgumentException("formato");
+            }
+            long id = Long.parseLong(texto.substring(2, separador));
+            return new CursorCliente(texto.charAt(0) == ANTES, texto.substring(separador + 1), id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido: " + cursor, e);
+        }
+    }
+
+    /**
+     * @return Texto opaco enviado ao cliente
+     */
+    public String codificar() {
+        String texto = (antes ? ANTES : DEPOIS) + ":" + id + ":" + nome;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return true para buscar os clientes antes da posição (prevCursor)
+     */
+    public boolean isAntes() {
+        return antes;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return codificar();
+    }
+}
@@ -0,0 +1,13 @@
+package com.sea.desafio_backend.repository;
+
+import com.sea.desafio_backend.model.entity.CepArmazenado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository para CepArmazenado (cache de CEP compartilhado)
+ * Chave: CEP sem máscara
+ */
+@Repository
+public interface CepArmazenadoRepository extends JpaRepository<CepArmazenado, String> {
+}
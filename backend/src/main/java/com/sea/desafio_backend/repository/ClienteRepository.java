@@ -1,14 +1,21 @@
 package com.sea.desafio_backend.repository;
 
 import com.sea.desafio_backend.model.entity.Cliente;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository para Cliente
@@ -18,18 +25,126 @@ import java.util.Optional;
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
 
     /**
-     * Busca cliente por CPF
-     * @param cpf CPF do cliente (sem máscara)
+     * Busca cliente pelo índice cego do CPF (idx_cliente_cpf_hash)
+     * O CPF fica cifrado na coluna cpf; a busca é pela coluna cpf_hash, sem decifrar nada
+     * @param cpfHash Índice do CPF (ver CpfCriptografia.indice)
      * @return Optional com cliente se encontrado
      */
-    Optional<Cliente> findByCpf(String cpf);
+    Optional<Cliente> findByCpfHash(Long cpfHash);
 
     /**
-     * Verifica se CPF já existe no banco
-     * @param cpf CPF a verificar
+     * Verifica se o CPF já existe no banco, pelo índice cego
+     * @param cpfHash Índice do CPF (ver CpfCriptografia.indice)
      * @return true se existir
      */
-    boolean existsByCpf(String cpf);
+    boolean existsByCpfHash(Long cpfHash);
+
+    /**
+     * Quais dos CPFs informados já estão cadastrados (validação de CPFs em lote)
+     * @param cpfHashes Índices dos CPFs (até cliente.validacao-lote.tamanho-lote por consulta)
+     * @return Subconjunto dos índices informados que existem na tabela clientes
+     */
+    @Query("SELECT c.cpfHash FROM Cliente c WHERE c.cpfHash IN :cpfHashes")
+    List<Long> findCpfHashesCadastrados(@Param("cpfHashes") Collection<Long> cpfHashes);
+
+    /**
+     * Índices de todos os CPFs cadastrados, lidos em streaming (carga do FiltroCpfService)
+     * Precisa de transação aberta e deve ser fechado após o uso (try-with-resources)
+     * @return Índices (cpf_hash) não nulos
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.cpfHash FROM Cliente c WHERE c.cpfHash IS NOT NULL")
+    Stream<Long> streamCpfHashes();
+
+    /**
+     * Clientes gravados antes da criptografia do CPF (migração em ClienteCpfMigracao)
+     * Lê o valor gravado como está (texto claro), sem passar pelo conversor da entidade
+     * @param ultimoId Maior ID já visto (0 no primeiro lote)
+     * @param pageable Tamanho do lote
+     * @return Próximo lote de {id, cpf} com cpf_hash nulo, em ordem de ID
+     */
+    @Query(value = "SELECT id, cpf FROM clientes WHERE cpf_hash IS NULL AND id > :ultimoId ORDER BY id",
+           nativeQuery = true)
+    List<Object[]> findCpfsSemHash(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Tamanho da coluna clientes.cpf no banco (bancos criados com ddl-auto=update antes da
+     * criptografia continuam com VARCHAR(14): o Hibernate não altera colunas existentes)
+     * @return Tamanho máximo em caracteres, ou null se a coluna não for encontrada
+     */
+    @Query(value = "SELECT character_maximum_length FROM information_schema.columns " +
+                   "WHERE lower(table_name) = 'clientes' AND lower(column_name) = 'cpf' " +
+                   "AND table_schema = current_schema", nativeQuery = true)
+    Number tamanhoColunaCpf();
+
+    /**
+     * Grava o CPF cifrado e o índice de um cliente antigo (migração em ClienteCpfMigracao)
+     * @param id ID do cliente
+     * @param cpfCifrado CPF já cifrado (ver CpfCriptografia.cifrar)
+     * @param cpfHash Índice do CPF
+     */
+    @Modifying
+    @Query(value = "UPDATE clientes SET cpf = :cpfCifrado, cpf_hash = :cpfHash WHERE id = :id", nativeQuery = true)
+    void gravarCpfCifrado(@Param("id") Long id, @Param("cpfCifrado") String cpfCifrado, @Param("cpfHash") Long cpfHash);
+
+    /**
+     * Página de clientes com endereço (primeira fase da listagem paginada)
+     * Endereço é to-one, então o JOIN FETCH não impede a paginação no banco (LIMIT/OFFSET)
+     * @param pageable Página solicitada
+     * @return Página de clientes com endereço, com o total (countQuery)
+     */
+    @Query(value = "SELECT c FROM Cliente c LEFT JOIN FETCH c.endereco",
+           countQuery = "SELECT COUNT(c) FROM Cliente c")
+    Page<Cliente> findPageWithEndereco(Pageable pageable);
+
+    /**
+     * Carrega os telefones de vários clientes em uma única consulta (segunda fase da listagem paginada)
+     * Os clientes já carregados na transação têm a coleção preenchida pelo Hibernate
+     * @param ids IDs dos clientes da página
+     * @return Clientes com telefones (uma linha por telefone)
+     */
+    @Query("SELECT c FROM Cliente c LEFT JOIN FETCH c.telefones WHERE c.id IN :ids")
+    List<Cliente> findByIdInWithTelefones(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Carrega os emails de vários clientes em uma única consulta (segunda fase da listagem paginada)
+     * Separado dos telefones para evitar MultipleBagFetchException e o produto cartesiano
+     * @param ids IDs dos clientes da página
+     * @return Clientes com emails (uma linha por email)
+     */
+    @Query("SELECT c FROM Cliente c LEFT JOIN FETCH c.emails WHERE c.id IN :ids")
+    List<Cliente> findByIdInWithEmails(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Primeira página da listagem por cursor, ordenada por (nome, id) (idx_cliente_nome_id)
+     * @param pageable Só o tamanho (página 0, tamanho + 1 para saber se há próxima)
+     * @return Clientes com endereço
+     */
+    @Query("SELECT c FROM Cliente c LEFT JOIN FETCH c.endereco ORDER BY c.nome, c.id")
+    List<Cliente> findOrderByNomeAndId(Pageable pageable);
+
+    /**
+     * Clientes depois da posição (nome, id), em ordem crescente (keyset, sem OFFSET)
+     * "nome >= :nome" limita a faixa do índice; o OR desempata pelo id entre nomes iguais
+     * @param nome Nome do último cliente da página anterior
+     * @param id ID do último cliente da página anterior
+     * @param pageable Só o tamanho
+     * @return Clientes com endereço
+     */
+    @Query("SELECT c FROM Cliente c LEFT JOIN FETCH c.endereco " +
+           "WHERE c.nome >= :nome AND (c.nome > :nome OR c.id > :id) ORDER BY c.nome, c.id")
+    List<Cliente> findAfterNomeAndId(@Param("nome") String nome, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Clientes antes da posição (nome, id), do mais próximo ao mais distante (ordem decrescente)
+     * @param nome Nome do primeiro cliente da página seguinte
+     * @param id ID do primeiro cliente da página seguinte
+     * @param pageable Só o tamanho
+     * @return Clientes com endereço, em ordem decrescente de (nome, id)
+     */
+    @Query("SELECT c FROM Cliente c LEFT JOIN FETCH c.endereco " +
+           "WHERE c.nome <= :nome AND (c.nome < :nome OR c.id < :id) ORDER BY c.nome DESC, c.id DESC")
+    List<Cliente> findBeforeNomeAndId(@Param("nome") String nome, @Param("id") Long id, Pageable pageable);
 
     /**
      * Busca clientes por nome (ignora maiúsculas/minúsculas)
@@ -1,9 +1,15 @@
 package com.sea.desafio_backend.repository;
 
 import com.sea.desafio_backend.model.entity.Endereco;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -32,4 +38,79 @@ public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
      * @param clienteId ID do cliente
      */
     void deleteByClienteId(Long clienteId);
-}
\ No newline at end of file
+
+    /**
+     * CEPs distintos ordenados pela quantidade de endereços (mais frequentes primeiro)
+     * Usado no aquecimento do cache de CEP
+     * @param pageable Limite de CEPs (ex.: PageRequest.of(0, 1000))
+     * @return CEPs sem máscara
+     */
+    @Query("SELECT e.cep FROM Endereco e GROUP BY e.cep ORDER BY COUNT(e) DESC, e.cep")
+    List<String> findCepsMaisFrequentes(Pageable pageable);
+
+    /**
+     * Próxima página de endereços para a revalidação no ViaCEP (keyset: id > ultimoId)
+     * Projeção só com os campos vindos do ViaCEP: não carrega o Cliente de cada endereço
+     * @param ultimoId Maior ID já processado (0 no início)
+     * @param pageable Tamanho da página (ex.: PageRequest.of(0, 500))
+     * @return Endereços ordenados por ID
+     */
+    @Query("SELECT e.id AS id, e.cep AS cep, e.logradouro AS logradouro, e.bairro AS bairro, " +
+           "e.cidade AS cidade, e.uf AS uf FROM Endereco e WHERE e.id > :ultimoId ORDER BY e.id")
+    List<DadosViaCep> findParaRevalidacao(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Atualiza em uma única instrução os campos vindos do ViaCEP
+     * (UPDATE em massa não passa pelo @UpdateTimestamp: updatedAt é definido aqui)
+     *
+     * Só altera os endereços que ainda têm os valores lidos antes da consulta (campos
+     * nulos comparados como ""): um endereço editado pelo usuário durante a revalidação
+     * não é sobrescrito.
+     * @param ids IDs dos endereços
+     * @param anterior Valores lidos (logradouro, bairro, cidade e uf; nulos como "")
+     * @return Quantidade de endereços atualizados
+     */
+    @Modifying
+    @Query("UPDATE Endereco e SET e.logradouro = :logradouro, e.bairro = :bairro, e.cidade = :cidade, " +
+           "e.uf = :uf, e.updatedAt = CURRENT_TIMESTAMP WHERE e.id IN :ids " +
+           "AND COALESCE(e.logradouro, '') = :logradouroAnterior AND COALESCE(e.bairro, '') = :bairroAnterior " +
+           "AND COALESCE(e.cidade, '') = :cidadeAnterior AND COALESCE(e.uf, '') = :ufAnterior")
+    int atualizarDadosViaCep(@Param("ids") Collection<Long> ids,
+                             @Param("logradouro") String logradouro,
+                             @Param("bairro") String bairro,
+                             @Param("cidade") String cidade,
+                             @Param("uf") String uf,
+                             @Param("logradouroAnterior") String logradouroAnterior,
+                             @Param("bairroAnterior") String bairroAnterior,
+                             @Param("cidadeAnterior") String cidadeAnterior,
+                             @Param("ufAnterior") String ufAnterior);
+
+    /**
+     * Combinações distintas de CEP e logradouro já cadastradas (endereços completos)
+     * Usado no índice local da busca de CEP por endereço
+     * @param limite Quantidade máxima de linhas (PageRequest.of(0, máximo))
+     * @return Logradouros com CEP, bairro, cidade e UF
+     */
+    @Query("SELECT DISTINCT e.cep AS cep, e.logradouro AS logradouro, e.bairro AS bairro, " +
+           "e.cidade AS cidade, e.uf AS uf FROM Endereco e " +
+           "WHERE e.logradouro IS NOT NULL AND e.cidade IS NOT NULL AND e.uf IS NOT NULL")
+    List<LogradouroCep> findLogradourosDistintos(Pageable limite);
+
+    /**
+     * CEP e campos de logradouro de um endereço (projeção de findLogradourosDistintos)
+     */
+    interface LogradouroCep {
+        String getCep();
+        String getLogradouro();
+        String getBairro();
+        String getCidade();
+        String getUf();
+    }
+
+    /**
+     * Campos de um endereço preenchidos pelo ViaCEP (projeção de findParaRevalidacao)
+     */
+    interface DadosViaCep extends LogradouroCep {
+        Long getId();
+    }
+}
@@ -0,0 +1,49 @@
+package com.sea.desafio_backend.repository;
+
+import com.sea.desafio_backend.model.entity.EnriquecimentoPendente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para EnriquecimentoPendente (fila de enriquecimento de endereços)
+ */
+@Repository
+public interface EnriquecimentoPendenteRepository extends JpaRepository<EnriquecimentoPendente, Long> {
+
+    /**
+     * Tarefa pendente de um endereço (no máximo uma por endereço)
+     * @param enderecoId ID do endereço
+     * @return Optional com a tarefa se existir
+     */
+    Optional<EnriquecimentoPendente> findByEnderecoId(Long enderecoId);
+
+    /**
+     * Tarefas cuja próxima tentativa já venceu, mais antigas primeiro
+     * @param agora Momento atual
+     * @param pageable Limite de tarefas (ex.: PageRequest.of(0, 20))
+     * @return Tarefas prontas para processar
+     */
+    @Query("SELECT p FROM EnriquecimentoPendente p WHERE p.proximaTentativa <= :agora ORDER BY p.proximaTentativa")
+    List<EnriquecimentoPendente> findProntas(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    /**
+     * Reserva uma tarefa adiando a próxima tentativa para o fim da reserva
+     * Só uma instância consegue: a condição exige a próxima tentativa lida por ela
+     * @return 1 se a tarefa foi reservada, 0 se outra instância chegou antes
+     */
+    @Modifying
+    @Query("UPDATE EnriquecimentoPendente p SET p.proximaTentativa = :reserva " +
+           "WHERE p.id = :id AND p.proximaTentativa = :esperada")
+    int reservar(@Param("id") Long id,
+                 @Param("esperada") LocalDateTime esperada,
+                 @Param("reserva") LocalDateTime reserva);
+
+}
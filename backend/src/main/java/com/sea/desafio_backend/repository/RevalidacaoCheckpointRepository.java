@@ -0,0 +1,13 @@
+package com.sea.desafio_backend.repository;
+
+import com.sea.desafio_backend.model.entity.RevalidacaoCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository para RevalidacaoCheckpoint
+ * Chave: nome da rotina
+ */
+@Repository
+public interface RevalidacaoCheckpointRepository extends JpaRepository<RevalidacaoCheckpoint, String> {
+}
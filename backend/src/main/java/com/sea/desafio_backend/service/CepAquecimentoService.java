@@ -0,0 +1,222 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.repository.EnderecoRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aquecimento do cache de CEP a partir dos endereços cadastrados
+ *
+ * Ao iniciar a aplicação (ApplicationReadyEvent) ou por disparo manual
+ * (POST /actuator/aquecimentocep), lê os CEPs mais frequentes da tabela enderecos
+ * e os consulta pelo ViaCepService, preenchendo o CepCache.
+ *
+ * - Roda em uma thread própria: não atrasa o readiness nem ocupa threads de requisição
+ * - CEPs já conhecidos (índice offline / cache) não geram chamada ao ViaCEP
+ * - Chamadas ao ViaCEP limitadas por viacep.aquecimento.chamadas-por-segundo
+ * - Com o circuit breaker aberto, aguarda o ViaCEP voltar em vez de consumir a lista
+ *
+ * Métricas: viacep.aquecimento.total, viacep.aquecimento.processados,
+ * viacep.aquecimento.em.andamento e viacep.aquecimento.ceps (tag resultado)
+ */
+@Service
+@Slf4j
+public class CepAquecimentoService {
+
+    static final String NOME_LIMITADOR = "viacep-aquecimento";
+    static final String NOME_METRICA = "viacep.aquecimento";
+
+    private final EnderecoRepository enderecoRepository;
+    private final ViaCepService viaCepService;
+    private final CircuitBreaker circuitBreaker;
+    private final RateLimiter rateLimiter;
+    private final ViaCepProperties.Aquecimento config;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "cep-aquecimento");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean emAndamento = new AtomicBoolean();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger processados = new AtomicInteger();
+    private volatile LocalDateTime ultimaConclusao;
+
+    private final Counter aquecidos;
+    private final Counter jaConhecidos;
+    private final Counter naoEncontrados;
+    private final Counter erros;
+
+    public CepAquecimentoService(EnderecoRepository enderecoRepository, ViaCepService viaCepService,
+                                 CircuitBreaker circuitBreaker, RateLimiterRegistry rateLimiterRegistry,
+                                 ViaCepProperties properties, MeterRegistry meterRegistry) {
+        this.enderecoRepository = enderecoRepository;
+        this.viaCepService = viaCepService;
+        this.circuitBreaker = circuitBreaker;
+        this.config = properties.getAquecimento();
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(NOME_LIMITADOR, RateLimiterConfig.custom()
+                .limitForPeriod(Math.max(1, config.getChamadasPorSegundo()))
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofSeconds(5))
+                .build());
+
+        Gauge.builder(NOME_METRICA + ".total", total, AtomicInteger::get)
+                .description("CEPs selecionados no aquecimento atual (ou último)")
+                .register(meterRegistry);
+        Gauge.builder(NOME_METRICA + ".processados", processados, AtomicInteger::get)
+                .description("CEPs já processados no aquecimento atual (ou último)")
+                .register(meterRegistry);
+        Gauge.builder(NOME_METRICA + ".em.andamento", emAndamento, a -> a.get() ? 1 : 0)
+                .description("1 enquanto o aquecimento do cache de CEP está rodando")
+                .register(meterRegistry);
+        this.aquecidos = contador(meterRegistry, "aquecido");
+        this.jaConhecidos = contador(meterRegistry, "ja_conhecido");
+        this.naoEncontrados = contador(meterRegistry, "nao_encontrado");
+        this.erros = contador(meterRegistry, "erro");
+    }
+
+    /**
+     * Dispara o aquecimento ao final da inicialização (viacep.aquecimento.habilitado)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciarAplicacao() {
+        if (config.isHabilitado()) {
+            iniciar();
+        }
+    }
+
+    /**
+     * Inicia o aquecimento em background
+     * @return false se já houver um aquecimento em andamento
+     */
+    public boolean iniciar() {
+        if (!emAndamento.compareAndSet(false, true)) {
+            log.info("Aquecimento do cache de CEP já está em andamento");
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                aquecer();
+            } catch (RuntimeException e) {
+                log.error("Falha no aquecimento do cache de CEP", e);
+            } finally {
+                emAndamento.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Situação do aquecimento (exposta em GET /actuator/aquecimentocep)
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("emAndamento", emAndamento.get());
+        status.put("total", total.get());
+        status.put("processados", processados.get());
+        status.put("ultimaConclusao", ultimaConclusao);
+        return status;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Executa o aquecimento na thread atual
+     */
+    void aquecer() {
+        List<String> ceps = enderecoRepository.findCepsMaisFrequentes(PageRequest.of(0, config.getQuantidade()));
+        total.set(ceps.size());
+        processados.set(0);
+        log.info("Aquecimento do cache de CEP iniciado: {} CEPs", ceps.size());
+
+        long inicio = System.nanoTime();
+        for (String cep : ceps) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("Aquecimento do cache de CEP interrompido após {} CEPs", processados.get());
+                return;
+            }
+            aquecerCep(cep);
+            processados.incrementAndGet();
+        }
+
+        ultimaConclusao = LocalDateTime.now();
+        log.info("Aquecimento do cache de CEP concluído: {} CEPs em {} ms", ceps.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    private void aquecerCep(String cep) {
+        try {
+            if (viaCepService.buscarEnderecoConhecido(cep, OrigemConsulta.AQUECIMENTO).isPresent()) {
+                jaConhecidos.increment();
+                return;
+            }
+            if (!aguardarPermissao()) {
+                return;
+            }
+            viaCepService.buscarEnderecoPorCep(cep, OrigemConsulta.AQUECIMENTO);
+            aquecidos.increment();
+        } catch (CepNotFoundException e) {
+            // Com causa: falha de comunicação; sem causa: CEP inexistente (fica no cache negativo)
+            (e.getCause() != null ? erros : naoEncontrados).increment();
+        } catch (RuntimeException e) {
+            log.warn("Erro ao aquecer CEP {}: {}", cep, e.getMessage());
+            erros.increment();
+        }
+    }
+
+    /**
+     * Aguarda o circuito fechar e uma permissão do rate limiter
+     * @return false se a thread foi interrompida (aplicação encerrando)
+     */
+    private boolean aguardarPermissao() {
+        try {
+            while (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+                TimeUnit.SECONDS.sleep(1);
+            }
+            while (!rateLimiter.acquirePermission()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder(NOME_METRICA + ".ceps")
+                .description("CEPs processados pelo aquecimento do cache, por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
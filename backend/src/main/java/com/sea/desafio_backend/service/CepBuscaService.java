@@ -0,0 +1,302 @@
+package com.sea.desafio_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.repository.EnderecoRepository;
+import com.sea.desafio_backend.repository.EnderecoRepository.LogradouroCep;
+import com.sea.desafio_backend.util.SingleFlight;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PreDestroy;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Busca de CEP por endereço (UF + cidade + logradouro)
+ *
+ * Ordem de consulta:
+ * 1. Cache das buscas já feitas ao ViaCEP (resultado completo), com chave normalizada
+ *    (sem acentos, minúsculas, espaços simples): "São Paulo" e "sao  paulo" são a mesma busca
+ * 2. Índice local montado a partir dos logradouros da tabela enderecos
+ *    (recarregado a cada viacep.busca.atualizacao-indice, com até viacep.busca.tamanho-maximo-indice
+ *    logradouros), só para o nome exato de um logradouro
+ *    cadastrado: um trecho ("Paulista") casaria só com as ruas cadastradas e esconderia as demais
+ * 3. ViaCEP (/ws/{uf}/{cidade}/{logradouro}/json/), protegido pelo circuit breaker;
+ *    buscas simultâneas iguais compartilham a mesma requisição
+ *
+ * Como no ViaCEP, cidade e logradouro precisam de pelo menos 3 caracteres e o logradouro
+ * é comparado por "contém" (no índice local, por igualdade). Buscas sem resultado também
+ * ficam em cache. Cache e índice guardam os DTOs originais e cada chamada recebe cópias.
+ *
+ * Métricas: viacep.busca.consultas (tag fonte=indice_local|cache|viacep),
+ * cache.* com a tag cache=viacep.busca
+ */
+@Service
+@Slf4j
+public class CepBuscaService {
+
+    static final String NOME_METRICA = "viacep.busca";
+    static final int TAMANHO_MINIMO = 3;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final EnderecoRepository enderecoRepository;
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final ViaCepMetricas metricas;
+    private final String urlBusca;
+    private final ViaCepProperties.Busca config;
+
+    private final Cache<String, List<ViaCepResponse>> cache;
+    private final SingleFlight<String, List<ViaCepResponse>> buscasEmAndamento = new SingleFlight<>();
+
+    /** Chave "uf|cidade" normalizada → logradouros cadastrados; trocado inteiro a cada recarga */
+    private volatile Map<String, List<EntradaIndice>> indice = Collections.emptyMap();
+
+    private final ScheduledExecutorService atualizador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "cep-busca-indice");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter indiceLocal;
+    private final Counter emCache;
+    private final Counter viaCep;
+
+    public CepBuscaService(EnderecoRepository enderecoRepository, RestTemplate restTemplate,
+                           CircuitBreaker circuitBreaker, ViaCepMetricas metricas,
+                           ViaCepProperties properties, MeterRegistry meterRegistry) {
+        this.enderecoRepository = enderecoRepository;
+        this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.metricas = metricas;
+        this.urlBusca = properties.getUrlBusca();
+        this.config = properties.getBusca();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getTamanhoMaximo())
+                .expireAfterWrite(config.getTtl().toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME_METRICA);
+
+        this.indiceLocal = contador(meterRegistry, "indice_local");
+        this.emCache = contador(meterRegistry, "cache");
+        this.viaCep = contador(meterRegistry, "viacep");
+    }
+
+    /**
+     * Carrega o índice local ao final da inicialização e agenda as recargas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciarAplicacao() {
+        long intervalo = Math.max(1, config.getAtualizacaoIndice().toMillis());
+        atualizador.scheduleWithFixedDelay(() -> {
+            try {
+                atualizarIndice();
+            } catch (RuntimeException e) {
+                log.error("Falha ao recarregar o índice local de busca de CEP", e);
+            }
+        }, 0, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        atualizador.shutdownNow();
+    }
+
+    /**
+     * Busca CEPs de um logradouro
+     * @param uf Sigla da UF (2 letras)
+     * @param cidade Nome da cidade (mínimo 3 caracteres)
+     * @param logradouro Nome ou trecho do logradouro (mínimo 3 caracteres)
+     * @return Endereços encontrados (lista vazia se nenhum). Pelo índice local (nome exato de
+     *         logradouro cadastrado), só os CEPs desse logradouro já cadastrados em enderecos
+     * @throws IllegalArgumentException se os parâmetros não atenderem ao mínimo do ViaCEP
+     * @throws CepNotFoundException se o ViaCEP estiver indisponível
+     */
+    public List<ViaCepResponse> buscar(String uf, String cidade, String logradouro) {
+        validar(uf, cidade, logradouro);
+        String ufNormalizada = normalizar(uf);
+        String cidadeNormalizada = normalizar(cidade);
+        String logradouroNormalizado = normalizar(logradouro);
+
+        String chave = ufNormalizada + "|" + cidadeNormalizada + "|" + logradouroNormalizado;
+        List<ViaCepResponse> armazenados = cache.getIfPresent(chave);
+        if (armazenados != null) {
+            emCache.increment();
+            return copiar(armazenados);
+        }
+
+        List<ViaCepResponse> locais = buscarNoIndice(ufNormalizada, cidadeNormalizada, logradouroNormalizado);
+        if (!locais.isEmpty()) {
+            log.debug("Busca {}/{}/{} respondida pelo índice local", uf, cidade, logradouro);
+            indiceLocal.increment();
+            return copiar(locais);
+        }
+
+        // Cópia fora do SingleFlight: as buscas simultâneas recebem a mesma lista do cache
+        return copiar(buscasEmAndamento.executar(chave, () -> {
+            List<ViaCepResponse> preenchidoPorOutraBusca = cache.getIfPresent(chave);
+            if (preenchidoPorOutraBusca != null) {
+                emCache.increment();
+                return preenchidoPorOutraBusca;
+            }
+            List<ViaCepResponse> resultados = consultarViaCep(uf.trim().toUpperCase(Locale.ROOT),
+                    cidade.trim(), logradouro.trim());
+            viaCep.increment();
+            cache.put(chave, resultados);
+            return resultados;
+        }));
+    }
+
+    /**
+     * Recarrega o índice local a partir da tabela enderecos (até viacep.busca.tamanho-maximo-indice logradouros)
+     */
+    void atualizarIndice() {
+        int limite = Math.max(1, config.getTamanhoMaximoIndice());
+        List<LogradouroCep> logradouros = enderecoRepository.findLogradourosDistintos(PageRequest.of(0, limite));
+        if (logradouros.size() >= limite) {
+            log.warn("Índice local de busca de CEP limitado a {} logradouros; os demais seguem para o ViaCEP", limite);
+        }
+        Map<String, List<EntradaIndice>> novo = new HashMap<>();
+        for (LogradouroCep logradouro : logradouros) {
+            String chave = normalizar(logradouro.getUf()) + "|" + normalizar(logradouro.getCidade());
+            novo.computeIfAbsent(chave, k -> new ArrayList<>())
+                    .add(new EntradaIndice(normalizar(logradouro.getLogradouro()), paraResposta(logradouro)));
+        }
+        indice = novo;
+        log.info("Índice local de busca de CEP recarregado: {} logradouros em {} cidades",
+                logradouros.size(), novo.size());
+    }
+
+    /**
+     * @return CEPs cadastrados do logradouro com exatamente esse nome (normalizado)
+     */
+    private List<ViaCepResponse> buscarNoIndice(String uf, String cidade, String logradouro) {
+        List<EntradaIndice> daCidade = indice.get(uf + "|" + cidade);
+        if (daCidade == null) {
+            return Collections.emptyList();
+        }
+        List<ViaCepResponse> encontrados = new ArrayList<>();
+        for (EntradaIndice entrada : daCidade) {
+            if (entrada.logradouroNormalizado.equals(logradouro)) {
+                encontrados.add(entrada.resposta);
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Requisição ao ViaCEP (protegida pelo circuit breaker)
+     */
+    private List<ViaCepResponse> consultarViaCep(String uf, String cidade, String logradouro) {
+        ViaCepMetricas.Chamada chamada = metricas.iniciarChamada(OrigemConsulta.BUSCA);
+        ViaCepResponse[] resposta;
+        try {
+            resposta = circuitBreaker.executeSupplier(() ->
+                    restTemplate.getForObject(urlBusca, ViaCepResponse[].class, uf, cidade, logradouro));
+        } catch (CallNotPermittedException | RestClientException e) {
+            chamada.falhar(e);
+            log.error("Erro ao buscar CEP por endereço no ViaCEP: {}/{}/{}", uf, cidade, logradouro, e);
+            throw new CepNotFoundException(uf + "/" + cidade + "/" + logradouro, e);
+        } catch (RuntimeException e) {
+            chamada.falhar(e);
+            throw e;
+        }
+
+        List<ViaCepResponse> resultados = resposta == null
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(resposta));
+        chamada.concluir(!resultados.isEmpty());
+        log.info("Busca de CEP por endereço {}/{}/{}: {} resultados", uf, cidade, logradouro, resultados.size());
+        return resultados;
+    }
+
+    private static void validar(String uf, String cidade, String logradouro) {
+        if (uf == null || !uf.trim().matches("[A-Za-z]{2}")) {
+            throw new IllegalArgumentException("UF deve ter 2 letras. Recebido: " + uf);
+        }
+        if (cidade == null || cidade.trim().length() < TAMANHO_MINIMO) {
+            throw new IllegalArgumentException("Cidade deve ter pelo menos " + TAMANHO_MINIMO + " caracteres");
+        }
+        if (logradouro == null || logradouro.trim().length() < TAMANHO_MINIMO) {
+            throw new IllegalArgumentException("Logradouro deve ter pelo menos " + TAMANHO_MINIMO + " caracteres");
+        }
+    }
+
+    /**
+     * Sem acentos, minúsculas e com espaços simples (ex.: "  Praça da  Sé" → "praca da se")
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Cópia defensiva dos resultados: o DTO é mutável e o original fica no cache ou no índice
+     */
+    private static List<ViaCepResponse> copiar(List<ViaCepResponse> resultados) {
+        List<ViaCepResponse> copias = new ArrayList<>(resultados.size());
+        for (ViaCepResponse resultado : resultados) {
+            copias.add(resultado.copiar());
+        }
+        return copias;
+    }
+
+    private static ViaCepResponse paraResposta(LogradouroCep logradouro) {
+        String cep = logradouro.getCep();
+        String cepComMascara = cep != null && cep.length() == 8 ? cep.substring(0, 5) + "-" + cep.substring(5) : cep;
+        return new ViaCepResponse(cepComMascara, logradouro.getLogradouro(), "", logradouro.getBairro(),
+                logradouro.getCidade(), logradouro.getUf(), null);
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String fonte) {
+        return Counter.builder(NOME_METRICA + ".consultas")
+                .description("Buscas de CEP por endereço, por fonte da resposta")
+                .tag("fonte", fonte)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Logradouro cadastrado no índice local, com o nome já normalizado para comparação
+     */
+    private static final class EntradaIndice {
+
+        private final String logradouroNormalizado;
+        private final ViaCepResponse resposta;
+
+        private EntradaIndice(String logradouroNormalizado, ViaCepResponse resposta) {
+            this.logradouroNormalizado = logradouroNormalizado;
+            this.resposta = resposta;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.sea.desafio_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cache em memória das consultas ao ViaCEP
+ *
+ * - Chave: CEP normalizado (8 dígitos, sem máscara)
+ * - Evicção por tamanho (viacep.cache.tamanho-maximo)
+ * - TTL para CEPs encontrados (viacep.cache.ttl)
+ * - TTL curto para CEPs inexistentes (viacep.cache.ttl-negativo), evitando
+ *   que CEPs digitados errado voltem ao ViaCEP a cada tentativa
+ * - Último valor conhecido de cada CEP encontrado, mantido além do TTL
+ *   (viacep.cache.retencao-obsoleto) para uso quando o ViaCEP estiver fora;
+ *   fora da memória, vale o que estiver na tabela cep_cache, de qualquer idade
+ * - Segundo nível compartilhado entre instâncias (tabela cep_cache, ver
+ *   CepCacheCompartilhado): consultado quando o CEP não está em memória.
+ *   Os métodos *Async leem a tabela no taskExecutor (busca não bloqueante de CEP)
+ *
+ * Métricas (Actuator): cache.gets, cache.puts, cache.evictions, cache.size
+ * com a tag cache=viacep.cep; viacep.cep.obsoleto.servido;
+ * viacep.cep.compartilhado (tag resultado=hit|miss)
+ */
+@Component
+@Slf4j
+public class CepCache {
+
+    static final String NOME_METRICA = "viacep.cep";
+
+    private final Cache<String, Entrada> cache;
+    private final Cache<String, Entrada> ultimosValoresConhecidos;
+    private final Counter obsoletosServidos;
+    private final CepCacheCompartilhado compartilhado;
+    private final Counter compartilhadoHits;
+    private final Counter compartilhadoMisses;
+
+    @Autowired
+    public CepCache(ViaCepProperties properties, MeterRegistry meterRegistry, CepCacheCompartilhado compartilhado) {
+        this(properties, meterRegistry, Ticker.systemTicker(), compartilhado);
+    }
+
+    /**
+     * Construtor com relógio customizável (usado nos testes de expiração), sem segundo nível
+     */
+    CepCache(ViaCepProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this(properties, meterRegistry, ticker, null);
+    }
+
+    /**
+     * @param compartilhado cache da tabela cep_cache (null desabilita o segundo nível)
+     */
+    CepCache(ViaCepProperties properties, MeterRegistry meterRegistry, Ticker ticker,
+             CepCacheCompartilhado compartilhado) {
+        this.compartilhado = compartilhado;
+        ViaCepProperties.Cache config = properties.getCache();
+        long ttlPositivo = config.getTtl().toNanos();
+        long ttlNegativo = config.getTtlNegativo().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getTamanhoMaximo())
+                .expireAfter(new Expiry<String, Entrada>() {
+                    @Override
+                    public long expireAfterCreate(String cep, Entrada entrada, long agora) {
+                        return entrada.isNaoEncontrado() ? ttlNegativo : ttlPositivo;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String cep, Entrada entrada, long agora, long duracaoAtual) {
+                        return expireAfterCreate(cep, entrada, agora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String cep, Entrada entrada, long agora, long duracaoAtual) {
+                        return duracaoAtual; // Leitura não renova o TTL
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        // Sem estatísticas: não deve distorcer hit/miss do cache principal
+        this.ultimosValoresConhecidos = Caffeine.newBuilder()
+                .maximumSize(config.getTamanhoMaximo())
+                .expireAfterWrite(config.getTtl().plus(config.getRetencaoObsoleto()).toNanos(), TimeUnit.NANOSECONDS)
+                .ticker(ticker)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME_METRICA);
+        this.obsoletosServidos = Counter.builder(NOME_METRICA + ".obsoleto.servido")
+                .description("CEPs servidos com o último valor conhecido (ViaCEP indisponível)")
+                .register(meterRegistry);
+        this.compartilhadoHits = contadorCompartilhado(meterRegistry, "hit");
+        this.compartilhadoMisses = contadorCompartilhado(meterRegistry, "miss");
+    }
+
+    /**
+     * Busca CEP no cache (memória e, se ausente, tabela cep_cache)
+     * @param cepLimpo CEP com 8 dígitos (sem máscara)
+     * @return Entrada do cache (encontrado ou inexistente) ou vazio se não houver
+     */
+    public Optional<Entrada> buscar(String cepLimpo) {
+        Entrada entrada = cache.getIfPresent(cepLimpo);
+        if (entrada != null || compartilhado == null) {
+            return Optional.ofNullable(entrada);
+        }
+        return guardarDoCompartilhado(cepLimpo, compartilhado.buscar(cepLimpo));
+    }
+
+    /**
+     * {@link #buscar} sem bloquear a thread chamadora: a falta em memória lê a tabela
+     * cep_cache no taskExecutor
+     */
+    public CompletableFuture<Optional<Entrada>> buscarAsync(String cepLimpo) {
+        Entrada entrada = cache.getIfPresent(cepLimpo);
+        if (entrada != null || compartilhado == null) {
+            return CompletableFuture.completedFuture(Optional.ofNullable(entrada));
+        }
+        return compartilhado.buscarAsync(cepLimpo)
+                .thenApply(armazenado -> guardarDoCompartilhado(cepLimpo, armazenado));
+    }
+
+    /**
+     * Busca CEP só em memória (nunca acessa o banco)
+     */
+    public Optional<Entrada> buscarEmMemoria(String cepLimpo) {
+        return Optional.ofNullable(cache.getIfPresent(cepLimpo));
+    }
+
+    /**
+     * Carrega para a memória os CEPs ausentes dela com uma única consulta à tabela cep_cache
+     * (consulta em lote: evita um SELECT por CEP)
+     * @param cepsLimpos CEPs com 8 dígitos (sem máscara)
+     */
+    public void carregarDoCompartilhado(Collection<String> cepsLimpos) {
+        if (compartilhado == null) {
+            return;
+        }
+        // asMap não conta nas estatísticas: a busca em memória seguinte é que conta
+        List<String> ausentes = cepsLimpos.stream()
+                .filter(cep -> !cache.asMap().containsKey(cep))
+                .distinct()
+                .collect(Collectors.toList());
+        if (ausentes.isEmpty()) {
+            return;
+        }
+        Map<String, ViaCepResponse> armazenados = compartilhado.buscarVarios(ausentes);
+        for (String cep : ausentes) {
+            guardarDoCompartilhado(cep, Optional.ofNullable(armazenados.get(cep)));
+        }
+    }
+
+    /**
+     * Copia para a memória o CEP lido da tabela cep_cache, contando hit/miss
+     */
+    private Optional<Entrada> guardarDoCompartilhado(String cepLimpo, Optional<ViaCepResponse> armazenado) {
+        if (!armazenado.isPresent()) {
+            compartilhadoMisses.increment();
+            return Optional.empty();
+        }
+        compartilhadoHits.increment();
+        log.debug("CEP {} encontrado no cache compartilhado", cepLimpo);
+        Entrada entrada = new Entrada(armazenado.get());
+        cache.put(cepLimpo, entrada);
+        ultimosValoresConhecidos.put(cepLimpo, entrada);
+        return Optional.of(entrada);
+    }
+
+    /**
+     * Armazena CEP encontrado no ViaCEP (memória e tabela cep_cache)
+     */
+    public void armazenar(String cepLimpo, ViaCepResponse response) {
+        Entrada entrada = new Entrada(response.copiar());
+        cache.put(cepLimpo, entrada);
+        ultimosValoresConhecidos.put(cepLimpo, entrada);
+        if (compartilhado != null) {
+            compartilhado.armazenar(cepLimpo, response);
+        }
+    }
+
+    /**
+     * Busca o último valor conhecido do CEP, mesmo que o TTL já tenha expirado
+     * (memória e, se ausente, tabela cep_cache sem limite de idade)
+     * Usado como fallback quando o ViaCEP falha ou o circuit breaker está aberto
+     * @return endereço obsoleto ou vazio se o CEP nunca foi encontrado (ou já saiu da retenção)
+     */
+    public Optional<ViaCepResponse> buscarUltimoValorConhecido(String cepLimpo) {
+        Entrada entrada = ultimosValoresConhecidos.getIfPresent(cepLimpo);
+        if (entrada != null || compartilhado == null) {
+            return servirObsoleto(entrada == null ? Optional.empty() : Optional.of(entrada.getResponse()));
+        }
+        return servirObsoleto(compartilhado.buscarUltimoValorConhecido(cepLimpo));
+    }
+
+    /**
+     * {@link #buscarUltimoValorConhecido} lendo a tabela cep_cache no taskExecutor
+     */
+    public CompletableFuture<Optional<ViaCepResponse>> buscarUltimoValorConhecidoAsync(String cepLimpo) {
+        Entrada entrada = ultimosValoresConhecidos.getIfPresent(cepLimpo);
+        if (entrada != null || compartilhado == null) {
+            return CompletableFuture.completedFuture(
+                    servirObsoleto(entrada == null ? Optional.empty() : Optional.of(entrada.getResponse())));
+        }
+        return compartilhado.buscarUltimoValorConhecidoAsync(cepLimpo).thenApply(this::servirObsoleto);
+    }
+
+    private Optional<ViaCepResponse> servirObsoleto(Optional<ViaCepResponse> obsoleto) {
+        obsoleto.ifPresent(response -> obsoletosServidos.increment());
+        return obsoleto;
+    }
+
+    /**
+     * Armazena CEP inexistente ({"erro": true}) com TTL negativo
+     */
+    public void armazenarNaoEncontrado(String cepLimpo) {
+        log.debug("CEP inexistente armazenado no cache negativo: {}", cepLimpo);
+        cache.put(cepLimpo, new Entrada(null));
+    }
+
+    public void invalidar(String cepLimpo) {
+        cache.invalidate(cepLimpo);
+        ultimosValoresConhecidos.invalidate(cepLimpo);
+    }
+
+    public long tamanho() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static Counter contadorCompartilhado(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder(NOME_METRICA + ".compartilhado")
+                .description("Consultas ao cache compartilhado (tabela cep_cache) após falta em memória")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Entrada imutável do cache
+     * response == null indica CEP inexistente (cache negativo)
+     */
+    public static final class Entrada {
+
+        private final ViaCepResponse response;
+
+        private Entrada(ViaCepResponse response) {
+            this.response = response;
+        }
+
+        public boolean isNaoEncontrado() {
+            return response == null;
+        }
+
+        /**
+         * @return cópia do endereço armazenado (null se CEP inexistente)
+         */
+        public ViaCepResponse getResponse() {
+            return response != null ? response.copiar() : null;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.model.entity.CepArmazenado;
+import com.sea.desafio_backend.repository.CepArmazenadoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Cache de CEP compartilhado entre as instâncias do backend (tabela cep_cache)
+ *
+ * Segundo nível do CepCache: consultado quando o CEP não está em memória e
+ * gravado a cada resposta de sucesso do ViaCEP. Uma instância nova (ou reiniciada)
+ * aproveita os CEPs que as outras já consultaram.
+ *
+ * - Leitura: CEP com updated_at dentro de viacep.cache.ttl-compartilhado; sem limite de idade
+ *   como último valor conhecido (ViaCEP fora). Versões assíncronas leem no taskExecutor,
+ *   para a busca não bloqueante de CEP não fazer JDBC na thread chamadora
+ * - Escrita: em background (taskExecutor), sem atrasar a resposta
+ * - Falhas de banco não quebram a consulta de CEP: são registradas e ignoradas
+ */
+@Component
+@Slf4j
+public class CepCacheCompartilhado {
+
+    private final CepArmazenadoRepository repository;
+    private final ViaCepProperties.Cache config;
+    private final Executor taskExecutor;
+    private final Clock clock;
+
+    @Autowired
+    public CepCacheCompartilhado(CepArmazenadoRepository repository, ViaCepProperties properties,
+                                 @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                 Executor taskExecutor) {
+        this(repository, properties, taskExecutor, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Construtor com relógio customizável (usado nos testes de expiração)
+     */
+    CepCacheCompartilhado(CepArmazenadoRepository repository, ViaCepProperties properties,
+                          Executor taskExecutor, Clock clock) {
+        this.repository = repository;
+        this.config = properties.getCache();
+        this.taskExecutor = taskExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Busca CEP ainda dentro do TTL compartilhado
+     * @param cepLimpo CEP com 8 dígitos (sem máscara)
+     * @return endereço ou vazio se não existir, estiver expirado ou o banco falhar
+     */
+    public Optional<ViaCepResponse> buscar(String cepLimpo) {
+        LocalDateTime limite = LocalDateTime.now(clock).minus(config.getTtlCompartilhado());
+        return buscarRegistro(cepLimpo)
+                .filter(registro -> registro.getUpdatedAt().isAfter(limite))
+                .map(CepCacheCompartilhado::paraResponse);
+    }
+
+    /**
+     * Busca vários CEPs dentro do TTL compartilhado com uma única consulta (IN)
+     * @param cepsLimpos CEPs com 8 dígitos (sem máscara)
+     * @return CEP sem máscara → endereço, só dos encontrados (vazio se o banco falhar)
+     */
+    public Map<String, ViaCepResponse> buscarVarios(Collection<String> cepsLimpos) {
+        if (!config.isCompartilhado() || cepsLimpos.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        LocalDateTime limite = LocalDateTime.now(clock).minus(config.getTtlCompartilhado());
+        try {
+            Map<String, ViaCepResponse> encontrados = new HashMap<>();
+            for (CepArmazenado registro : repository.findAllById(cepsLimpos)) {
+                if (registro.getUpdatedAt().isAfter(limite)) {
+                    encontrados.put(registro.getCep(), paraResponse(registro));
+                }
+            }
+            return encontrados;
+        } catch (DataAccessException e) {
+            log.warn("Falha ao consultar {} CEPs no cache compartilhado: {}", cepsLimpos.size(), e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * {@link #buscar} no taskExecutor
+     */
+    public CompletableFuture<Optional<ViaCepResponse>> buscarAsync(String cepLimpo) {
+        return emBackground(cepLimpo, this::buscar);
+    }
+
+    /**
+     * Busca o CEP independente da idade (fallback quando o ViaCEP está fora)
+     */
+    public Optional<ViaCepResponse> buscarUltimoValorConhecido(String cepLimpo) {
+        return buscarRegistro(cepLimpo).map(CepCacheCompartilhado::paraResponse);
+    }
+
+    /**
+     * {@link #buscarUltimoValorConhecido} no taskExecutor
+     */
+    public CompletableFuture<Optional<ViaCepResponse>> buscarUltimoValorConhecidoAsync(String cepLimpo) {
+        return emBackground(cepLimpo, this::buscarUltimoValorConhecido);
+    }
+
+    /**
+     * Grava (ou atualiza) o CEP em background, renovando updated_at
+     */
+    public void armazenar(String cepLimpo, ViaCepResponse response) {
+        if (!config.isCompartilhado()) {
+            return;
+        }
+        CepArmazenado registro = new CepArmazenado(cepLimpo, response.getLogradouro(), response.getComplemento(),
+                response.getBairro(), response.getLocalidade(), response.getUf(), LocalDateTime.now(clock));
+        taskExecutor.execute(() -> {
+            try {
+                repository.save(registro);
+            } catch (DataAccessException e) {
+                // Ex.: outra instância gravou o mesmo CEP ao mesmo tempo
+                log.warn("Falha ao gravar CEP {} no cache compartilhado: {}", cepLimpo, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Desabilitado, responde vazio sem passar pelo executor
+     */
+    private CompletableFuture<Optional<ViaCepResponse>> emBackground(
+            String cepLimpo, Function<String, Optional<ViaCepResponse>> leitura) {
+        if (!config.isCompartilhado()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return CompletableFuture.supplyAsync(() -> leitura.apply(cepLimpo), taskExecutor);
+    }
+
+    private Optional<CepArmazenado> buscarRegistro(String cepLimpo) {
+        if (!config.isCompartilhado()) {
+            return Optional.empty();
+        }
+        try {
+            return repository.findById(cepLimpo);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao consultar CEP {} no cache compartilhado: {}", cepLimpo, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static ViaCepResponse paraResponse(CepArmazenado registro) {
+        String cep = registro.getCep();
+        return new ViaCepResponse(cep.substring(0, 5) + "-" + cep.substring(5), registro.getLogradouro(),
+                registro.getComplemento(), registro.getBairro(), registro.getLocalidade(), registro.getUf(), null);
+    }
+}
@@ -0,0 +1,194 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.CepLoteResponse;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.util.CepUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Service para consulta de CEPs em lote
+ *
+ * - CEPs repetidos (com ou sem máscara) são consultados uma única vez
+ * - CEPs inválidos e CEPs já conhecidos (índice offline / cache) são respondidos na hora;
+ *   os ausentes da memória são buscados na tabela cep_cache com uma única consulta por lote
+ * - Os demais são consultados no ViaCEP em paralelo, no máximo viacep.lote.concorrencia
+ *   ao mesmo tempo, e cada resultado é entregue assim que fica pronto
+ *   (um CEP lento não atrasa os outros)
+ */
+@Service
+@Slf4j
+public class CepLoteService {
+
+    private final ViaCepService viaCepService;
+    private final ViaCepProperties properties;
+    private final Executor taskExecutor;
+
+    /**
+     * @param taskExecutor Executor do Spring onde os resultados são entregues
+     *                     (fora das threads de I/O do cliente HTTP)
+     */
+    public CepLoteService(ViaCepService viaCepService, ViaCepProperties properties,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                          Executor taskExecutor) {
+        this.viaCepService = viaCepService;
+        this.properties = properties;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Resolve os CEPs do lote entregando cada resultado ao consumidor assim que fica pronto
+     *
+     * @param ceps CEPs a consultar (com ou sem máscara, podem repetir)
+     * @param aoResolver Recebe um resultado por CEP distinto; pode ser chamado de várias threads
+     * @return future completado quando todos os CEPs foram entregues
+     */
+    public CompletableFuture<Void> resolver(List<String> ceps, Consumer<CepLoteResponse> aoResolver) {
+        // Chave: CEP sem máscara; valor: CEP como enviado (primeira ocorrência).
+        // Sem 8 dígitos a chave é o texto enviado: "abc" e "" não podem virar a mesma chave
+        // vazia, cada entrada malformada tem a sua linha de erro
+        Map<String, String> distintos = new LinkedHashMap<>();
+        for (String cep : ceps) {
+            String cepLimpo = CepUtil.removerMascara(cep);
+            distintos.putIfAbsent(cepLimpo.length() == 8 ? cepLimpo : cep, cep);
+        }
+        log.info("Consulta em lote: {} CEPs ({} distintos)", ceps.size(), distintos.size());
+
+        // CEPs inválidos ou já conhecidos: resposta imediata, sem ocupar vaga de concorrência
+        List<Map.Entry<String, String>> foraDaMemoria = new ArrayList<>();
+        for (Map.Entry<String, String> cep : distintos.entrySet()) {
+            if (!responderSeConhecido(cep.getValue(), aoResolver)) {
+                foraDaMemoria.add(cep);
+            }
+        }
+
+        // Uma única consulta à tabela cep_cache para todos os CEPs fora da memória
+        Queue<Map.Entry<String, String>> pendentes = new ConcurrentLinkedQueue<>();
+        if (!foraDaMemoria.isEmpty()) {
+            List<String> chaves = new ArrayList<>(foraDaMemoria.size());
+            foraDaMemoria.forEach(cep -> chaves.add(cep.getKey()));
+            viaCepService.carregarCacheCompartilhado(chaves);
+            for (Map.Entry<String, String> cep : foraDaMemoria) {
+                if (!responderSeConhecido(cep.getValue(), aoResolver)) {
+                    pendentes.add(cep);
+                }
+            }
+        }
+
+        log.debug("Consulta em lote: {} CEPs respondidos localmente, {} pendentes",
+                distintos.size() - pendentes.size(), pendentes.size());
+        return new Execucao(pendentes, aoResolver).iniciar(properties.getLote().getConcorrencia());
+    }
+
+    /**
+     * @return tempo máximo da resposta em stream (viacep.lote.timeout)
+     */
+    public long getTimeoutMillis() {
+        return properties.getLote().getTimeout().toMillis();
+    }
+
+    /**
+     * Responde o CEP inválido ou conhecido em memória (índice offline / cache)
+     * @return false se o CEP ainda precisa ser consultado
+     */
+    private boolean responderSeConhecido(String cep, Consumer<CepLoteResponse> aoResolver) {
+        try {
+            Optional<ViaCepResponse> conhecido = viaCepService.buscarEnderecoEmMemoria(cep, OrigemConsulta.LOTE);
+            if (!conhecido.isPresent()) {
+                return false;
+            }
+            aoResolver.accept(CepLoteResponse.encontrado(cep, conhecido.get()));
+        } catch (RuntimeException e) {
+            aoResolver.accept(falha(cep, e));
+        }
+        return true;
+    }
+
+    private static CepLoteResponse falha(String cep, Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        if (causa instanceof IllegalArgumentException) {
+            return CepLoteResponse.falha(cep, CepLoteResponse.Status.INVALIDO, causa.getMessage());
+        }
+        if (causa instanceof CepNotFoundException) {
+            return CepLoteResponse.falha(cep, CepLoteResponse.Status.NAO_ENCONTRADO, causa.getMessage());
+        }
+        log.error("Erro inesperado na consulta em lote do CEP: {}", cep, causa);
+        return CepLoteResponse.falha(cep, CepLoteResponse.Status.ERRO, "Erro ao consultar CEP");
+    }
+
+    /**
+     * Consultas pendentes de um lote com paralelismo limitado:
+     * cada consulta concluída libera a vaga para a próxima da fila
+     */
+    private final class Execucao {
+
+        private final Queue<Map.Entry<String, String>> pendentes;
+        private final Consumer<CepLoteResponse> aoResolver;
+        private final AtomicInteger restantes;
+        private final CompletableFuture<Void> concluido = new CompletableFuture<>();
+
+        private Execucao(Queue<Map.Entry<String, String>> pendentes, Consumer<CepLoteResponse> aoResolver) {
+            this.pendentes = pendentes;
+            this.aoResolver = aoResolver;
+            this.restantes = new AtomicInteger(pendentes.size());
+        }
+
+        private CompletableFuture<Void> iniciar(int concorrencia) {
+            if (restantes.get() == 0) {
+                concluido.complete(null);
+                return concluido;
+            }
+            for (int i = 0; i < Math.max(1, concorrencia); i++) {
+                proxima();
+            }
+            return concluido;
+        }
+
+        private void proxima() {
+            Map.Entry<String, String> cep = pendentes.poll();
+            if (cep == null) {
+                return;
+            }
+
+            CompletableFuture<ViaCepResponse> consulta;
+            try {
+                consulta = viaCepService.buscarEnderecoPorCepAsync(cep.getKey(), OrigemConsulta.LOTE);
+            } catch (RuntimeException e) {
+                consulta = new CompletableFuture<>();
+                consulta.completeExceptionally(e);
+            }
+
+            // Async: a próxima consulta parte de outra thread (sem recursão quando o future já está completo)
+            consulta.whenCompleteAsync((endereco, erro) -> {
+                try {
+                    aoResolver.accept(erro == null
+                            ? CepLoteResponse.encontrado(cep.getValue(), endereco)
+                            : falha(cep.getValue(), erro));
+                } finally {
+                    if (restantes.decrementAndGet() == 0) {
+                        concluido.complete(null);
+                    } else {
+                        proxima();
+                    }
+                }
+            }, taskExecutor);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.util.CepIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Consulta offline de CEPs a partir do índice mapeado em memória
+ *
+ * Carrega o arquivo configurado em viacep.offline.arquivo na inicialização.
+ * Sem arquivo configurado (ou com arquivo inválido), todas as consultas
+ * retornam vazio e o ViaCepService segue para a API ViaCEP.
+ */
+@Service
+@Slf4j
+public class CepOfflineService {
+
+    private final CepIndex indice;
+
+    public CepOfflineService(ViaCepProperties properties) {
+        this.indice = carregar(properties.getOffline().getArquivo());
+    }
+
+    /**
+     * Busca CEP no índice offline
+     * @param cepLimpo CEP com 8 dígitos (sem máscara)
+     * @return endereço no formato ViaCEP ou vazio se o CEP não estiver no índice
+     */
+    public Optional<ViaCepResponse> buscar(String cepLimpo) {
+        if (indice == null) {
+            return Optional.empty();
+        }
+        int cep = CepIndex.cepParaInt(cepLimpo);
+        return cep < 0 ? Optional.empty() : Optional.ofNullable(indice.buscar(cep));
+    }
+
+    public boolean isHabilitado() {
+        return indice != null;
+    }
+
+    private static CepIndex carregar(String arquivo) {
+        if (arquivo == null || arquivo.trim().isEmpty()) {
+            log.info("Índice offline de CEPs não configurado (viacep.offline.arquivo)");
+            return null;
+        }
+        Path caminho = Paths.get(arquivo.trim());
+        try {
+            CepIndex indice = CepIndex.abrir(caminho);
+            log.info("Índice offline de CEPs carregado: {} CEPs, {} strings distintas ({})",
+                    indice.quantidade(), indice.quantidadeStrings(), caminho);
+            return indice;
+        } catch (IOException e) {
+            // Índice indisponível não impede a aplicação de subir: consultas seguem para o ViaCEP
+            log.error("Falha ao carregar índice offline de CEPs: {}", caminho, e);
+            return null;
+        }
+    }
+}
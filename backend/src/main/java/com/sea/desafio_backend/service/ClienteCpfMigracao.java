@@ -0,0 +1,116 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.model.vo.Cpf;
+import com.sea.desafio_backend.repository.ClienteRepository;
+import com.sea.desafio_backend.util.CpfCriptografia;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Cifra o CPF e preenche o índice cego (cpf_hash) dos clientes gravados antes da criptografia
+ *
+ * As chaves só existem na aplicação, então o init.sql cria a coluna e o índice mas não
+ * consegue preenchê-los: as linhas antigas (CPF em texto claro, cpf_hash nulo) são
+ * migradas aqui. Roda uma vez na inicialização, antes de o servidor web aceitar requisições
+ * (depois de criados os beans, antes do fim do refresh do contexto), em lotes por faixa de ID,
+ * cada lote na sua transação. Sem linhas pendentes custa duas consultas.
+ *
+ * Qualquer falha derruba a inicialização: com CPFs não migrados as buscas por cpf_hash não os
+ * encontram e o índice único deixa passar duplicados. Também falha se clientes.cpf ainda não
+ * comporta o valor cifrado (banco criado com ddl-auto=update antes da criptografia: o Hibernate
+ * não altera colunas existentes; ver o ALTER em init.sql).
+ *
+ * Lê e grava por SQL nativo: o CpfCriptografiaConverter decifra na leitura e o valor
+ * em texto claro não seria regravado cifrado pela entidade.
+ */
+@Service
+@Slf4j
+public class ClienteCpfMigracao implements SmartInitializingSingleton {
+
+    static final int TAMANHO_LOTE = 500;
+    /** Tamanho de Cliente.cpf: Base64 de IV + CPF com máscara cifrado + tag */
+    static final int TAMANHO_COLUNA_CPF = 64;
+
+    private final ClienteRepository clienteRepository;
+    private final CpfCriptografia criptografia;
+    private final TransactionTemplate transactionTemplate;
+
+    public ClienteCpfMigracao(ClienteRepository clienteRepository, CpfCriptografia criptografia,
+                              PlatformTransactionManager transactionManager) {
+        this.clienteRepository = clienteRepository;
+        this.criptografia = criptografia;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Roda antes do servidor web e do ApplicationReadyEvent (o FiltroCpfService carrega a partir
+     * de cpf_hash); uma exceção aqui interrompe a inicialização
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        verificarColunaCpf();
+        migrar();
+    }
+
+    /**
+     * @throws IllegalStateException se clientes.cpf é menor que o valor cifrado
+     */
+    void verificarColunaCpf() {
+        Number tamanho = clienteRepository.tamanhoColunaCpf();
+        if (tamanho != null && tamanho.intValue() < TAMANHO_COLUNA_CPF) {
+            throw new IllegalStateException(String.format(
+                    "Coluna clientes.cpf com VARCHAR(%d) não comporta o CPF cifrado (%d caracteres). " +
+                    "Execute: ALTER TABLE clientes ALTER COLUMN cpf TYPE VARCHAR(%d)",
+                    tamanho.intValue(), TAMANHO_COLUNA_CPF, TAMANHO_COLUNA_CPF));
+        }
+    }
+
+    /**
+     * @return Quantidade de clientes atualizados
+     */
+    int migrar() {
+        long ultimoId = 0;
+        int atualizados = 0;
+        while (true) {
+            long inicio = ultimoId;
+            long[] resultado = transactionTemplate.execute(status -> migrarLote(inicio));
+            if (resultado == null || resultado[0] == 0) {
+                break;
+            }
+            atualizados += (int) resultado[1];
+            ultimoId = resultado[2];
+        }
+        if (atualizados > 0) {
+            log.info("CPF cifrado e cpf_hash preenchido para {} clientes", atualizados);
+        }
+        return atualizados;
+    }
+
+    /**
+     * @return {lidos, atualizados, último ID do lote}
+     */
+    private long[] migrarLote(long ultimoId) {
+        List<Object[]> linhas = clienteRepository.findCpfsSemHash(ultimoId, PageRequest.of(0, TAMANHO_LOTE));
+        int atualizados = 0;
+        long maiorId = ultimoId;
+        for (Object[] linha : linhas) {
+            long id = ((Number) linha[0]).longValue();
+            maiorId = id;
+            Cpf cpf = Cpf.de((String) linha[1]);
+            if (cpf == null || !cpf.isValido()) {
+                log.warn("Cliente {} com CPF fora do formato, CPF não cifrado", id);
+                continue;
+            }
+            clienteRepository.gravarCpfCifrado(id, criptografia.cifrar(cpf.getComMascara()),
+                    criptografia.indice(cpf.getNumero()));
+            atualizados++;
+        }
+        return new long[]{linhas.size(), atualizados, maiorId};
+    }
+}
@@ -1,45 +1,68 @@
 package com.sea.desafio_backend.service;
 
 import com.sea.desafio_backend.dto.request.ClienteRequest;
+import com.sea.desafio_backend.dto.response.PaginaCursorResponse;
 import com.sea.desafio_backend.exception.CpfInvalidoException;
 import com.sea.desafio_backend.exception.CpfJaCadastradoException;
 import com.sea.desafio_backend.exception.DadosMinimosException;
+import com.sea.desafio_backend.exception.EmailJaCadastradoException;
 import com.sea.desafio_backend.exception.ResourceNotFoundException;
+import com.sea.desafio_backend.exception.ViolacaoUnicidade;
 import com.sea.desafio_backend.model.entity.Cliente;
 import com.sea.desafio_backend.model.entity.ClienteEmail;
 import com.sea.desafio_backend.model.entity.Endereco;
 import com.sea.desafio_backend.model.entity.Telefone;
+import com.sea.desafio_backend.model.vo.Cpf;
+import com.sea.desafio_backend.model.vo.CursorCliente;
 import com.sea.desafio_backend.repository.ClienteRepository;
+import com.sea.desafio_backend.util.CpfCriptografia;
 import com.sea.desafio_backend.util.CpfUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.Valid;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service para gerenciamento de Clientes
  * Orquestra validações e persistência em cascata
+ *
+ * Unicidade de CPF (e de email/telefone dentro do cliente) não é consultada antes de gravar:
+ * o insert/update vai direto ao banco e a violação do índice único vira
+ * CpfJaCadastradoException/EmailJaCadastradoException (ver salvar e ViolacaoUnicidade)
  */
 @Service
 @Slf4j
 public class ClienteService {
 
+    /** Maior página da listagem por cursor (cada página traz endereço, telefones e emails) */
+    public static final int TAMANHO_MAXIMO_PAGINA_CURSOR = 100;
+
     private final ClienteRepository clienteRepository;
     private final EnderecoService enderecoService;
     private final TelefoneService telefoneService;
     private final EmailService emailService;
+    private final FiltroCpfService filtroCpf;
+    private final CpfCriptografia criptografia;
 
-    public ClienteService(ClienteRepository clienteRepository,EnderecoService enderecoService,TelefoneService telefoneService, EmailService emailService) {
+    public ClienteService(ClienteRepository clienteRepository,EnderecoService enderecoService,TelefoneService telefoneService, EmailService emailService, FiltroCpfService filtroCpf, CpfCriptografia criptografia) {
         this.clienteRepository = clienteRepository;
         this.enderecoService = enderecoService;
         this.telefoneService = telefoneService;
         this.emailService = emailService;
+        this.filtroCpf = filtroCpf;
+        this.criptografia = criptografia;
     }
 
     // ==================== CRIAR CLIENTE ====================
@@ -48,8 +71,8 @@ public class ClienteService {
     public Cliente criarCliente(@Valid ClienteRequest request) {
         log.info("Criando novo cliente: {}", request.getNome());
 
-        // Valida e processa CPF
-        String cpfProcessado = validarEProcessarCpf(request.getCpf(), null);
+        // Valida formato do CPF (unicidade fica a cargo do índice único no insert)
+        Cpf cpfProcessado = validarCpf(request.getCpf());
 
         // Converte DTO → Entity
         Cliente cliente = converterRequestParaEntity(request, cpfProcessado);
@@ -58,7 +81,8 @@ public class ClienteService {
         validarDadosMinimos(cliente);
 
         // Salva tudo com cascade
-        Cliente clienteSalvo = clienteRepository.save(cliente);
+        Cliente clienteSalvo = salvar(cliente);
+        filtroCpf.adicionar(cliente.getCpfHash());
         log.info("Cliente e dependências criados com sucesso. ID: {}", clienteSalvo.getId());
 
         return clienteSalvo;
@@ -67,10 +91,10 @@ public class ClienteService {
     /**
      * Converte ClienteRequest para entidade Cliente
      */
-    private Cliente converterRequestParaEntity(ClienteRequest request, String cpfProcessado) {
+    private Cliente converterRequestParaEntity(ClienteRequest request, Cpf cpfProcessado) {
         Cliente cliente = new Cliente();
         cliente.setNome(request.getNome());
-        cliente.setCpf(cpfProcessado);
+        aplicarCpf(cliente, cpfProcessado);
 
         // Converte e associa entidades relacionadas
         if (request.getEndereco() != null) {
@@ -135,20 +159,17 @@ public class ClienteService {
     }
 
     /**
-     * Valida CPF e retorna formatado com máscara
-     * @param cpf CPF com ou sem máscara
-     * @param clienteId ID do cliente (null se for criação)
-     * @return CPF formatado com máscara
+     * Valida CPF (formato e dígitos verificadores)
+     * @param cpf CPF já normalizado na desserialização
+     * @return O próprio CPF, se válido
      */
-    private String validarEProcessarCpf(String cpf, Long clienteId) {
-        // Valida formato e dígitos verificadores
-        CpfUtil.validarOuLancarExcecao(cpf);
-        
-        // Valida unicidade
-        String cpfComMascara = CpfUtil.aplicarMascara(cpf);
-        validarCpfUnico(cpfComMascara, clienteId);
-        
-        return cpfComMascara;
+    private Cpf validarCpf(Cpf cpf) {
+        if (cpf == null) {
+            throw new CpfInvalidoException(null, "deve conter 11 dígitos");
+        }
+
+        // Resultado já calculado em Cpf.de
+        return cpf.validarOuLancarExcecao();
     }
 
     // ==================== BUSCAR CLIENTES ====================
@@ -164,9 +185,96 @@ public class ClienteService {
         return clienteRepository.findAll();
     }
 
+    /**
+     * Lista clientes paginado, já com endereço, telefones e emails carregados
+     *
+     * Número fixo de consultas por página, qualquer que seja o tamanho:
+     * 1. página de clientes com endereço (JOIN FETCH) e 2. contagem;
+     * 3. telefones e 4. emails dos clientes da página, cada um com um único IN.
+     * Antes eram 1 + 3 por cliente (endereço, telefones e emails carregados um a um
+     * ao montar o ClienteResponse).
+     */
+    @Transactional(readOnly = true)
     public Page<Cliente> listarTodosPaginado(Pageable pageable) {
         log.info("Listando clientes paginado - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
-        return clienteRepository.findAll(pageable);
+        Page<Cliente> pagina = clienteRepository.findPageWithEndereco(pageable);
+        carregarTelefonesEEmails(pagina.getContent());
+        return pagina;
+    }
+
+    /**
+     * Lista clientes por cursor (keyset), ordenados por (nome, id)
+     *
+     * Busca a partir da posição do cursor pelo índice idx_cliente_nome_id, sem OFFSET nem
+     * contagem: qualquer página custa 3 consultas (página com endereço, telefones e emails),
+     * seja a primeira ou a de número 10.000.
+     *
+     * @param after Cursor recebido em nextCursor/prevCursor; vazio ou nulo para a primeira página
+     * @param size Tamanho da página
+     * @throws IllegalArgumentException se o cursor for inválido ou o tamanho fora de 1..TAMANHO_MAXIMO_PAGINA_CURSOR
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorResponse<Cliente> listarPorCursor(String after, int size) {
+        log.info("Listando clientes por cursor - after: {}, size: {}", after, size);
+        if (size < 1) {
+            throw new IllegalArgumentException("Tamanho da página deve ser maior que zero");
+        }
+        if (size > TAMANHO_MAXIMO_PAGINA_CURSOR) {
+            throw new IllegalArgumentException("Tamanho da página deve ser no máximo " + TAMANHO_MAXIMO_PAGINA_CURSOR);
+        }
+        CursorCliente cursor = after == null || after.isEmpty() ? null : CursorCliente.de(after);
+
+        // Um a mais que o tamanho: indica se há página seguinte (ou anterior, no sentido ANTES)
+        Pageable limite = PageRequest.of(0, size + 1);
+        List<Cliente> clientes;
+        if (cursor == null) {
+            clientes = clienteRepository.findOrderByNomeAndId(limite);
+        } else if (cursor.isAntes()) {
+            clientes = clienteRepository.findBeforeNomeAndId(cursor.getNome(), cursor.getId(), limite);
+        } else {
+            clientes = clienteRepository.findAfterNomeAndId(cursor.getNome(), cursor.getId(), limite);
+        }
+
+        boolean temMais = clientes.size() > size;
+        clientes = new ArrayList<>(temMais ? clientes.subList(0, size) : clientes);
+        boolean antes = cursor != null && cursor.isAntes();
+        if (antes) {
+            // Veio do mais próximo ao mais distante: volta para a ordem crescente
+            Collections.reverse(clientes);
+        }
+        carregarTelefonesEEmails(clientes);
+
+        String proximo = null;
+        String anterior = null;
+        if (!clientes.isEmpty()) {
+            Cliente primeiro = clientes.get(0);
+            Cliente ultimo = clientes.get(clientes.size() - 1);
+            // Voltando, sempre há página seguinte; avançando, sempre há anterior (exceto na primeira)
+            boolean temProxima = antes || temMais;
+            boolean temAnterior = antes ? temMais : cursor != null;
+            if (temProxima) {
+                proximo = CursorCliente.depois(ultimo.getNome(), ultimo.getId()).codificar();
+            }
+            if (temAnterior) {
+                anterior = CursorCliente.antes(primeiro.getNome(), primeiro.getId()).codificar();
+            }
+        }
+        return new PaginaCursorResponse<>(clientes, size, proximo, anterior);
+    }
+
+    /**
+     * Segunda fase das listagens: telefones e emails dos clientes já carregados, com um IN cada
+     * As consultas preenchem as coleções no contexto de persistência
+     */
+    private void carregarTelefonesEEmails(List<Cliente> clientes) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        List<Long> ids = clientes.stream()
+                .map(Cliente::getId)
+                .collect(Collectors.toList());
+        clienteRepository.findByIdInWithTelefones(ids);
+        clienteRepository.findByIdInWithEmails(ids);
     }
 
     // ==================== ATUALIZAR CLIENTE ====================
@@ -178,16 +286,20 @@ public class ClienteService {
         Cliente clienteExistente = buscarPorId(id);
 
         // Valida e processa CPF se houver alteração
-        String novoCpfMascarado = CpfUtil.aplicarMascara(clienteAtualizado.getCpf());
-        if (!clienteExistente.getCpf().equals(novoCpfMascarado)) {
-            validarEProcessarCpf(clienteAtualizado.getCpf(), id);
+        Cpf novoCpf = Cpf.de(clienteAtualizado.getCpf());
+        boolean cpfAlterado = !mesmoCpf(clienteExistente, novoCpf);
+        if (cpfAlterado) {
+            validarCpf(novoCpf);
         }
 
         // Atualiza dados básicos
         clienteExistente.setNome(clienteAtualizado.getNome());
-        clienteExistente.setCpf(novoCpfMascarado);
+        if (cpfAlterado) {
+            aplicarCpf(clienteExistente, novoCpf);
+            registrarTrocaDeCpf(clienteExistente);
+        }
 
-        Cliente clienteSalvo = clienteRepository.save(clienteExistente);
+        Cliente clienteSalvo = salvar(clienteExistente);
         log.info("Cliente atualizado com sucesso. ID: {}", id);
 
         return clienteSalvo;
@@ -200,8 +312,11 @@ public class ClienteService {
         Cliente clienteExistente = buscarPorId(id);
 
         // Valida e atualiza CPF se houver alteração
-        String novoCpf = validarEProcessarCpf(request.getCpf(), id);
-        clienteExistente.setCpf(novoCpf);
+        Cpf novoCpf = validarCpf(request.getCpf());
+        if (!mesmoCpf(clienteExistente, novoCpf)) {
+            aplicarCpf(clienteExistente, novoCpf);
+            registrarTrocaDeCpf(clienteExistente);
+        }
         
         // Atualiza nome
         clienteExistente.setNome(request.getNome());
@@ -223,23 +338,27 @@ public class ClienteService {
             }
         }
 
-        // Atualiza telefones - remove os antigos e adiciona os novos
+        // Atualiza telefones e emails - remove os antigos e adiciona os novos
         if (request.getTelefones() != null) {
             clienteExistente.getTelefones().clear();
-            if (!request.getTelefones().isEmpty()) {
-                clienteExistente.getTelefones().addAll(converterTelefones(request, clienteExistente));
-            }
         }
-
-        // Atualiza emails - remove os antigos e adiciona os novos
         if (request.getEmails() != null) {
             clienteExistente.getEmails().clear();
-            if (!request.getEmails().isEmpty()) {
-                clienteExistente.getEmails().addAll(converterEmails(request, clienteExistente));
-            }
+        }
+        if (request.getTelefones() != null || request.getEmails() != null) {
+            // Apaga os antigos antes de inserir os novos: o Hibernate executa os inserts (IDENTITY)
+            // antes das remoções de órfãos, e os índices únicos (cliente_id, numero/email)
+            // recusariam os mesmos valores reenviados
+            salvar(clienteExistente);
+        }
+        if (request.getTelefones() != null && !request.getTelefones().isEmpty()) {
+            clienteExistente.getTelefones().addAll(converterTelefones(request, clienteExistente));
+        }
+        if (request.getEmails() != null && !request.getEmails().isEmpty()) {
+            clienteExistente.getEmails().addAll(converterEmails(request, clienteExistente));
         }
 
-        Cliente clienteSalvo = clienteRepository.save(clienteExistente);
+        Cliente clienteSalvo = salvar(clienteExistente);
         log.info("Cliente completo atualizado com sucesso. ID: {}", id);
 
         return clienteSalvo;
@@ -254,6 +373,7 @@ public class ClienteService {
 
         // Deleta relacionamentos automaticamente (cascata via JPA orphanRemoval=true)
         clienteRepository.delete(cliente);
+        filtroCpf.registrarRemocao();
 
         log.info("Cliente deletado com sucesso. ID: {}", id);
     }
@@ -261,16 +381,65 @@ public class ClienteService {
     // ==================== VALIDAÇÕES ====================
 
     /**
-     * Valida se CPF já está cadastrado para outro cliente
+     * Grava já executando o SQL (flush), para a violação de um índice único aparecer aqui
+     * e não no commit, e a traduz pelo nome do índice
+     * @throws CpfJaCadastradoException se outro cliente já tiver o CPF
+     * @throws EmailJaCadastradoException se o mesmo email vier repetido no cliente
+     * @throws IllegalArgumentException se o mesmo telefone vier repetido no cliente
      */
-    private void validarCpfUnico(String cpf, Long clienteId) {
-        Optional<Cliente> clienteExistente = clienteRepository.findByCpf(cpf);
+    private Cliente salvar(Cliente cliente) {
+        try {
+            return clienteRepository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException e) {
+            if (ViolacaoUnicidade.violou(e, ViolacaoUnicidade.CLIENTE_CPF)) {
+                throw new CpfJaCadastradoException(cliente.getCpf(), e);
+            }
+            if (ViolacaoUnicidade.violou(e, ViolacaoUnicidade.EMAIL_CLIENTE)) {
+                throw new EmailJaCadastradoException(primeiroRepetido(cliente.getEmails().stream()
+                        .map(ClienteEmail::getEnderecoEmail).collect(Collectors.toList())), e);
+            }
+            if (ViolacaoUnicidade.violou(e, ViolacaoUnicidade.TELEFONE_CLIENTE)) {
+                throw new IllegalArgumentException("Este número de telefone já está cadastrado para este cliente.", e);
+            }
+            throw e;
+        }
+    }
 
-        if (clienteExistente.isPresent()) {
-            if (clienteId == null || !clienteExistente.get().getId().equals(clienteId)) {
-                throw new CpfJaCadastradoException(cpf);
+    /**
+     * Primeiro valor que aparece mais de uma vez (para a mensagem de erro); todos, se nenhum repetir
+     */
+    private static String primeiroRepetido(List<String> valores) {
+        Set<String> vistos = new HashSet<>();
+        for (String valor : valores) {
+            if (!vistos.add(valor)) {
+                return valor;
             }
         }
+        return String.join(", ", valores);
+    }
+
+    /**
+     * CPF com máscara (cifrado pelo CpfCriptografiaConverter ao gravar) e o seu índice cego,
+     * usado nas buscas e no índice único
+     */
+    private void aplicarCpf(Cliente cliente, Cpf cpf) {
+        cliente.setCpf(cpf.getComMascara());
+        cliente.setCpfHash(criptografia.indice(cpf.getNumero()));
+    }
+
+    /**
+     * Compara pelo número, sem formatar a máscara (o CPF da entidade já vem decifrado)
+     */
+    private boolean mesmoCpf(Cliente cliente, Cpf cpf) {
+        return cpf != null && cpf.isValido() && CpfUtil.paraNumero(cliente.getCpf()) == cpf.getNumero();
+    }
+
+    /**
+     * Novo CPF entra no filtro; o antigo fica como falso positivo até a próxima reconstrução
+     */
+    private void registrarTrocaDeCpf(Cliente cliente) {
+        filtroCpf.adicionar(cliente.getCpfHash());
+        filtroCpf.registrarRemocao();
     }
 
     /**
@@ -328,10 +497,14 @@ public class ClienteService {
         return CpfUtil.validar(cpf);
     }
 
-    public Cliente buscarPorCpf(String cpf) {
-        log.info("Buscando cliente por CPF: {}", cpf);
-        String cpfComMascara = CpfUtil.aplicarMascara(cpf);
-        return clienteRepository.findByCpf(cpfComMascara)
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente com CPF " + cpfComMascara + " não encontrado"));
+    public Cliente buscarPorCpf(Cpf cpf) {
+        log.info("Buscando cliente por CPF: {}", cpf.getOculto());
+        // Busca pelo índice cego (cpf_hash): a coluna cpf é cifrada; CPF inválido não existe na base
+        Optional<Cliente> cliente = cpf.isValido()
+                ? clienteRepository.findByCpfHash(criptografia.indice(cpf.getNumero()))
+                : Optional.empty();
+        return cliente
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente com CPF "
+                        + cpf.getOculto() + " não encontrado"));
     }
 }
\ No newline at end of file
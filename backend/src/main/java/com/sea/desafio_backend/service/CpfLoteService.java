@@ -0,0 +1,219 @@
+package com.sea.desafio_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sea.desafio_backend.config.ClienteProperties;
+import com.sea.desafio_backend.dto.response.CpfValidacaoResponse;
+import com.sea.desafio_backend.repository.ClienteRepository;
+import com.sea.desafio_backend.util.CpfCriptografia;
+import com.sea.desafio_backend.util.CpfUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Validação de CPFs em lote (POST /api/cpf/validar)
+ *
+ * A entrada é lida em streaming, uma linha por CPF, em texto puro (123.456.789-09)
+ * ou NDJSON ({"cpf":"123.456.789-09"} ou "123.456.789-09"). Para cada linha informa
+ * formato, dígitos verificadores e se o CPF já está cadastrado.
+ *
+ * As linhas são processadas em lotes de cliente.validacao-lote.tamanho-lote:
+ * - CPFs válidos passam pelo filtro de CPF (FiltroCpfService); os "com certeza ausentes"
+ *   nem vão ao banco
+ * - Os demais são conferidos com uma única consulta IN por lote, pelo índice cego
+ *   do CPF (cpf_hash, ver CpfCriptografia.indice)
+ * - O lote é entregue inteiro, na ordem da entrada, e descartado antes de ler o próximo
+ *
+ * Memória constante: no máximo um lote de linhas, cada uma limitada a
+ * cliente.validacao-lote.tamanho-maximo-linha caracteres.
+ */
+@Service
+@Slf4j
+public class CpfLoteService {
+
+    private final ClienteRepository clienteRepository;
+    private final FiltroCpfService filtroCpf;
+    private final CpfCriptografia criptografia;
+    private final ObjectMapper objectMapper;
+    private final ClienteProperties.ValidacaoLote config;
+
+    public CpfLoteService(ClienteRepository clienteRepository, FiltroCpfService filtroCpf,
+                          CpfCriptografia criptografia, ObjectMapper objectMapper, ClienteProperties properties) {
+        this.clienteRepository = clienteRepository;
+        this.filtroCpf = filtroCpf;
+        this.criptografia = criptografia;
+        this.objectMapper = objectMapper;
+        this.config = properties.getValidacaoLote();
+    }
+
+    /**
+     * Valida os CPFs lidos da entrada, entregando os resultados lote a lote
+     * @param entrada Uma linha por CPF (texto ou NDJSON); linhas em branco são ignoradas
+     * @param saida Recebe cada lote de resultados, na ordem da entrada
+     * @return Quantidade de CPFs validados
+     * @throws IOException se a leitura da entrada falhar
+     */
+    public long validar(Reader entrada, Consumer<List<CpfValidacaoResponse>> saida) throws IOException {
+        int tamanhoLote = Math.max(1, config.getTamanhoLote());
+        LeitorLinhas leitor = new LeitorLinhas(entrada, Math.max(1, config.getTamanhoMaximoLinha()));
+        List<CpfValidacaoResponse> lote = new ArrayList<>(tamanhoLote);
+        long total = 0;
+
+        String linha;
+        while ((linha = leitor.proxima()) != null) {
+            if (linha.trim().isEmpty() && !leitor.cortada) {
+                continue;
+            }
+            lote.add(validarLinha(leitor.numero, linha, leitor.cortada));
+            if (lote.size() == tamanhoLote) {
+                total += entregar(lote, saida);
+            }
+        }
+        total += entregar(lote, saida);
+        log.info("Validação de CPFs em lote concluída: {} CPFs em {} linhas", total, leitor.numero);
+        return total;
+    }
+
+    private CpfValidacaoResponse validarLinha(long numero, String linha, boolean cortada) {
+        if (cortada) {
+            return new CpfValidacaoResponse(numero, linha, false, false, null,
+                    "Linha maior que " + config.getTamanhoMaximoLinha() + " caracteres");
+        }
+        String cpf;
+        try {
+            cpf = extrairCpf(linha.trim());
+        } catch (JsonProcessingException e) {
+            return new CpfValidacaoResponse(numero, linha, false, false, null, "JSON inválido");
+        }
+        boolean formatoValido = CpfUtil.formatoValido(cpf);
+        boolean digitosValidos = formatoValido && CpfUtil.validar(cpf);
+        return new CpfValidacaoResponse(numero, cpf, formatoValido, digitosValidos, null, null);
+    }
+
+    /**
+     * Texto puro, string JSON ("...") ou objeto JSON com o campo "cpf"
+     */
+    private String extrairCpf(String linha) throws JsonProcessingException {
+        if (linha.startsWith("{")) {
+            JsonNode no = objectMapper.readTree(linha);
+            JsonNode cpf = no.get("cpf");
+            return cpf == null || cpf.isNull() ? null : cpf.asText();
+        }
+        if (linha.startsWith("\"")) {
+            return objectMapper.readValue(linha, String.class);
+        }
+        return linha;
+    }
+
+    /**
+     * Preenche "cadastrado" dos CPFs válidos do lote (uma consulta IN) e entrega o lote
+     * @return Quantidade de itens entregues
+     */
+    private int entregar(List<CpfValidacaoResponse> lote, Consumer<List<CpfValidacaoResponse>> saida) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        // Índice cego de cada CPF válido, calculado uma vez por item
+        long[] indices = new long[lote.size()];
+        Set<Long> consultar = new LinkedHashSet<>();
+        for (int i = 0; i < lote.size(); i++) {
+            CpfValidacaoResponse item = lote.get(i);
+            if (item.isDigitosValidos()) {
+                indices[i] = criptografia.indice(CpfUtil.paraNumero(item.getCpf()));
+                if (filtroCpf.talvezCadastrado(indices[i])) {
+                    consultar.add(indices[i]);
+                }
+            }
+        }
+        Set<Long> cadastrados = consultar.isEmpty()
+                ? Collections.emptySet()
+                : new HashSet<>(clienteRepository.findCpfHashesCadastrados(consultar));
+        for (Long cpfHash : consultar) {
+            if (!cadastrados.contains(cpfHash)) {
+                filtroCpf.registrarFalsoPositivo();
+            }
+        }
+        for (int i = 0; i < lote.size(); i++) {
+            CpfValidacaoResponse item = lote.get(i);
+            if (item.isDigitosValidos()) {
+                item.setCadastrado(cadastrados.contains(indices[i]));
+            }
+        }
+
+        saida.accept(lote);
+        int entregues = lote.size();
+        lote.clear();
+        return entregues;
+    }
+
+    /**
+     * Lê linhas (\n ou \r\n) sem guardar mais que o tamanho máximo de cada uma:
+     * o excesso é descartado e a linha marcada como cortada
+     */
+    private static final class LeitorLinhas {
+
+        private final Reader entrada;
+        private final int tamanhoMaximo;
+        private final StringBuilder buffer = new StringBuilder();
+        private final char[] bloco = new char[8192];
+        private int posicao;
+        private int limite;
+
+        private long numero;
+        private boolean cortada;
+
+        private LeitorLinhas(Reader entrada, int tamanhoMaximo) {
+            this.entrada = entrada;
+            this.tamanhoMaximo = tamanhoMaximo;
+        }
+
+        /**
+         * @return Próxima linha (sem a quebra) ou null no fim da entrada
+         */
+        private String proxima() throws IOException {
+            buffer.setLength(0);
+            cortada = false;
+            boolean leuAlgo = false;
+            while (true) {
+                if (posicao == limite) {
+                    limite = entrada.read(bloco);
+                    posicao = 0;
+                    if (limite <= 0) {
+                        limite = 0;
+                        if (!leuAlgo) {
+                            return null;
+                        }
+                        break;
+                    }
+                }
+                char c = bloco[posicao++];
+                leuAlgo = true;
+                if (c == '\n') {
+                    break;
+                }
+                if (buffer.length() < tamanhoMaximo) {
+                    buffer.append(c);
+                } else if (c != '\r') {
+                    cortada = true;
+                }
+            }
+            int tamanho = buffer.length();
+            if (tamanho > 0 && buffer.charAt(tamanho - 1) == '\r') {
+                buffer.setLength(tamanho - 1);
+            }
+            numero++;
+            return buffer.toString();
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.sea.desafio_backend.service;
 
+import com.sea.desafio_backend.exception.EmailJaCadastradoException;
 import com.sea.desafio_backend.exception.ResourceNotFoundException;
+import com.sea.desafio_backend.exception.ViolacaoUnicidade;
 import com.sea.desafio_backend.model.entity.ClienteEmail;
 import com.sea.desafio_backend.repository.EmailRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Service para gerenciamento de Emails
  * Responsável por CRUD, validações (email principal, duplicidade) e performance
+ *
+ * Duplicidade (mesmo email no mesmo cliente) é recusada pelo índice único
+ * idx_email_cliente_endereco, sem consulta prévia: ver ViolacaoUnicidade
  */
 @Service
 @Slf4j
@@ -31,10 +36,7 @@ public class EmailService {
         Long clienteId = email.getCliente().getId();
         log.info("Criando novo email para cliente ID: {}", clienteId);
 
-        // 1. Validação de duplicidade
-        validarEmailDuplicado(clienteId, email.getEnderecoEmail(), null);
-
-        // 2. Regra de Negócio: Primeiro email DEVE ser o principal
+        // Regra de Negócio: Primeiro email DEVE ser o principal
         long totalEmails = contarEmails(clienteId);
         if (totalEmails == 0) {
             email.setPrincipal(true);
@@ -45,7 +47,8 @@ public class EmailService {
             email.setPrincipal(false); // Null safety
         }
 
-        ClienteEmail emailSalvo = emailRepository.save(email);
+        // Duplicidade validada pelo banco no insert
+        ClienteEmail emailSalvo = salvar(email);
         log.info("Email criado com sucesso. ID: {}", emailSalvo.getId());
 
         return emailSalvo;
@@ -83,11 +86,6 @@ public class EmailService {
         ClienteEmail emailExistente = buscarPorId(id);
         Long clienteId = emailExistente.getCliente().getId();
 
-        // Valida duplicidade se o endereço mudou
-        if (!emailExistente.getEnderecoEmail().equalsIgnoreCase(emailAtualizado.getEnderecoEmail())) {
-            validarEmailDuplicado(clienteId, emailAtualizado.getEnderecoEmail(), id);
-        }
-
         emailExistente.setEnderecoEmail(emailAtualizado.getEnderecoEmail());
 
         // Se marcar como principal, desmarca os outros
@@ -98,7 +96,8 @@ public class EmailService {
 
         emailExistente.setPrincipal(emailAtualizado.getPrincipal());
 
-        ClienteEmail emailSalvo = emailRepository.save(emailExistente);
+        // Duplicidade (se o endereço mudou) validada pelo banco no update
+        ClienteEmail emailSalvo = salvar(emailExistente);
         log.info("Email atualizado com sucesso. ID: {}", id);
 
         return emailSalvo;
@@ -155,18 +154,18 @@ public class EmailService {
     // ==================== MÉTODOS AUXILIARES ====================
 
     /**
-     * Valida duplicidade de forma performática (1 query apenas).
-     * Requer método no Repository: Optional<ClienteEmail> findByClienteIdAndEnderecoEmail(Long clienteId, String enderecoEmail)
+     * Grava já executando o SQL (flush), para a violação do índice único aparecer aqui
+     * e não no commit
+     * @throws EmailJaCadastradoException se o cliente já tiver esse email
      */
-    private void validarEmailDuplicado(Long clienteId, String enderecoEmail, Long emailIdIgnorar) {
-        Optional<ClienteEmail> emailExistenteOpt = emailRepository.findByClienteIdAndEnderecoEmail(clienteId, enderecoEmail);
-
-        if (emailExistenteOpt.isPresent()) {
-            ClienteEmail emailExistente = emailExistenteOpt.get();
-            // Se for criação (ignorar null) ou se o ID encontrado for diferente do ID atual
-            if (emailIdIgnorar == null || !emailExistente.getId().equals(emailIdIgnorar)) {
-                throw new IllegalArgumentException("Este e-mail já está cadastrado para este cliente.");
+    private ClienteEmail salvar(ClienteEmail email) {
+        try {
+            return emailRepository.saveAndFlush(email);
+        } catch (DataIntegrityViolationException e) {
+            if (ViolacaoUnicidade.violou(e, ViolacaoUnicidade.EMAIL_CLIENTE)) {
+                throw new EmailJaCadastradoException(email.getEnderecoEmail(), e);
             }
+            throw e;
         }
     }
 
@@ -0,0 +1,283 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.model.entity.Endereco;
+import com.sea.desafio_backend.model.entity.EnriquecimentoPendente;
+import com.sea.desafio_backend.repository.EnderecoRepository;
+import com.sea.desafio_backend.repository.EnriquecimentoPendenteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fila de enriquecimento adiado dos endereços pelo ViaCEP
+ *
+ * Com viacep.enriquecimento.adiado=true o EnderecoService salva o endereço só com o CEP
+ * e os campos informados, e grava uma tarefa na tabela endereco_enriquecimento na mesma
+ * transação. Este serviço lê a fila periodicamente e preenche logradouro/bairro/cidade/uf
+ * que estiverem vazios quando o ViaCEP responde:
+ *
+ * - A chamada ao ViaCEP roda fora de transação; só a gravação do resultado abre conexão
+ * - Tarefas são reservadas com UPDATE condicional: várias instâncias podem ler a mesma fila
+ * - Falha de comunicação (ViaCEP fora, circuito aberto) reagenda com espera exponencial;
+ *   após tentativas-maximas a tarefa fica na tabela sem próxima tentativa
+ * - CEP inexistente remove a tarefa (o endereço fica com os campos informados)
+ *
+ * Métricas: viacep.enriquecimento.tarefas (tag resultado)
+ */
+@Service
+@Slf4j
+public class EnderecoEnriquecimentoService {
+
+    static final String NOME_METRICA = "viacep.enriquecimento";
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    private final EnderecoRepository enderecoRepository;
+    private final EnriquecimentoPendenteRepository pendenteRepository;
+    private final ViaCepService viaCepService;
+    private final TransactionTemplate transactionTemplate;
+    private final ViaCepProperties.Enriquecimento config;
+    private final Clock clock;
+
+    private final ScheduledExecutorService leitor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "endereco-enriquecimento");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService consultas;
+
+    private final Map<String, Counter> contadores = new LinkedHashMap<>();
+
+    @Autowired
+    public EnderecoEnriquecimentoService(EnderecoRepository enderecoRepository,
+                                         EnriquecimentoPendenteRepository pendenteRepository,
+                                         ViaCepService viaCepService, PlatformTransactionManager transactionManager,
+                                         ViaCepProperties properties, MeterRegistry meterRegistry) {
+        this(enderecoRepository, pendenteRepository, viaCepService, transactionManager, properties,
+                meterRegistry, Clock.systemDefaultZone());
+    }
+
+    EnderecoEnriquecimentoService(EnderecoRepository enderecoRepository,
+                                  EnriquecimentoPendenteRepository pendenteRepository,
+                                  ViaCepService viaCepService, PlatformTransactionManager transactionManager,
+                                  ViaCepProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.enderecoRepository = enderecoRepository;
+        this.pendenteRepository = pendenteRepository;
+        this.viaCepService = viaCepService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getEnriquecimento();
+        this.clock = clock;
+
+        AtomicInteger sequencia = new AtomicInteger();
+        this.consultas = Executors.newFixedThreadPool(Math.max(1, config.getThreads()), tarefa -> {
+            Thread thread = new Thread(tarefa, "endereco-enriquecimento-cep-" + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (String resultado : Arrays.asList("enriquecido", "nao_encontrado", "reagendado", "desistiu",
+                "endereco_removido", "cep_alterado")) {
+            contadores.put(resultado, Counter.builder(NOME_METRICA + ".tarefas")
+                    .description("Tarefas da fila de enriquecimento de endereços, por resultado")
+                    .tag("resultado", resultado)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @return true se criação/atualização com ViaCEP deve usar a fila (viacep.enriquecimento.adiado)
+     */
+    public boolean isAdiado() {
+        return config.isAdiado();
+    }
+
+    /**
+     * Agenda o enriquecimento de um endereço já salvo
+     * Deve ser chamado na transação que salvou o endereço: os dois são gravados juntos.
+     * Um endereço tem no máximo uma tarefa; reagendar troca o CEP e zera as tentativas
+     */
+    public void agendar(Endereco endereco) {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        EnriquecimentoPendente tarefa = pendenteRepository.findByEnderecoId(endereco.getId())
+                .orElseGet(() -> new EnriquecimentoPendente(null, endereco.getId(), null, 0, null, null, agora));
+        tarefa.setCep(endereco.getCep());
+        tarefa.setTentativas(0);
+        tarefa.setProximaTentativa(agora);
+        tarefa.setUltimoErro(null);
+        pendenteRepository.save(tarefa);
+        log.info("Enriquecimento do endereço ID {} agendado (CEP {})", endereco.getId(), endereco.getCep());
+    }
+
+    /**
+     * Começa a ler a fila ao final da inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciarAplicacao() {
+        long intervalo = Math.max(1, config.getIntervalo().toMillis());
+        leitor.scheduleWithFixedDelay(() -> {
+            try {
+                processarPendentes();
+            } catch (RuntimeException e) {
+                log.error("Falha ao processar a fila de enriquecimento de endereços", e);
+            }
+        }, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        leitor.shutdownNow();
+        consultas.shutdownNow();
+    }
+
+    /**
+     * Lê a fila uma vez, reserva as tarefas prontas e aguarda o processamento delas
+     * @return Quantidade de tarefas processadas
+     */
+    int processarPendentes() {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        LocalDateTime reserva = agora.plus(config.getReserva());
+        List<EnriquecimentoPendente> prontas = pendenteRepository.findProntas(agora,
+                PageRequest.of(0, Math.max(1, config.getLote())));
+
+        List<CompletableFuture<Void>> execucoes = new ArrayList<>();
+        for (EnriquecimentoPendente tarefa : prontas) {
+            Integer reservadas = transactionTemplate.execute(status ->
+                    pendenteRepository.reservar(tarefa.getId(), tarefa.getProximaTentativa(), reserva));
+            if (reservadas != null && reservadas == 1) {
+                execucoes.add(CompletableFuture.runAsync(() -> processar(tarefa), consultas));
+            }
+        }
+        CompletableFuture.allOf(execucoes.toArray(new CompletableFuture[0])).join();
+        return execucoes.size();
+    }
+
+    /**
+     * Consulta o ViaCEP (fora de transação) e grava o resultado
+     */
+    private void processar(EnriquecimentoPendente tarefa) {
+        ViaCepResponse dadosViaCep;
+        try {
+            dadosViaCep = viaCepService.buscarEnderecoPorCep(tarefa.getCep(), OrigemConsulta.ENRIQUECIMENTO);
+        } catch (CepNotFoundException e) {
+            if (e.getCause() == null) {
+                // CEP inexistente: não adianta tentar de novo
+                log.warn("CEP {} do endereço ID {} não existe no ViaCEP; endereço mantém os campos informados",
+                        tarefa.getCep(), tarefa.getEnderecoId());
+                transactionTemplate.executeWithoutResult(status -> pendenteRepository.deleteById(tarefa.getId()));
+                contadores.get("nao_encontrado").increment();
+                return;
+            }
+            reagendar(tarefa, e.getCause());
+            return;
+        } catch (RuntimeException e) {
+            reagendar(tarefa, e);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> aplicar(tarefa, dadosViaCep));
+    }
+
+    /**
+     * Preenche os campos vazios do endereço com os dados do ViaCEP e remove a tarefa
+     */
+    private void aplicar(EnriquecimentoPendente tarefa, ViaCepResponse dadosViaCep) {
+        Endereco endereco = enderecoRepository.findById(tarefa.getEnderecoId()).orElse(null);
+        if (endereco == null) {
+            pendenteRepository.deleteById(tarefa.getId());
+            contadores.get("endereco_removido").increment();
+            return;
+        }
+        if (!tarefa.getCep().equals(endereco.getCep())) {
+            // CEP trocado depois do agendamento: a tarefa foi reagendada com o CEP novo
+            contadores.get("cep_alterado").increment();
+            return;
+        }
+
+        if (vazio(endereco.getLogradouro())) {
+            endereco.setLogradouro(dadosViaCep.getLogradouro());
+        }
+        if (vazio(endereco.getBairro())) {
+            endereco.setBairro(dadosViaCep.getBairro());
+        }
+        if (vazio(endereco.getCidade())) {
+            endereco.setCidade(dadosViaCep.getLocalidade());
+        }
+        if (vazio(endereco.getUf())) {
+            endereco.setUf(dadosViaCep.getUf());
+        }
+        enderecoRepository.save(endereco);
+        pendenteRepository.deleteById(tarefa.getId());
+        contadores.get("enriquecido").increment();
+        log.info("Endereço ID {} enriquecido com ViaCEP (CEP {})", endereco.getId(), endereco.getCep());
+    }
+
+    /**
+     * Agenda nova tentativa com espera exponencial, ou desiste após tentativas-maximas
+     */
+    private void reagendar(EnriquecimentoPendente tarefa, Throwable causa) {
+        int tentativas = tarefa.getTentativas() + 1;
+        boolean desistiu = tentativas >= config.getTentativasMaximas();
+        LocalDateTime proximaTentativa = desistiu ? null : LocalDateTime.now(clock).plus(espera(tentativas));
+        String erro = String.valueOf(causa.getMessage());
+
+        transactionTemplate.executeWithoutResult(status -> pendenteRepository.findById(tarefa.getId())
+                .filter(atual -> atual.getCep().equals(tarefa.getCep()))
+                .ifPresent(atual -> {
+                    atual.setTentativas(tentativas);
+                    atual.setProximaTentativa(proximaTentativa);
+                    atual.setUltimoErro(erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro);
+                    pendenteRepository.save(atual);
+                }));
+
+        if (desistiu) {
+            log.error("Enriquecimento do endereço ID {} abandonado após {} tentativas: {}",
+                    tarefa.getEnderecoId(), tentativas, erro);
+            contadores.get("desistiu").increment();
+        } else {
+            log.warn("Enriquecimento do endereço ID {} falhou (tentativa {}), nova tentativa às {}: {}",
+                    tarefa.getEnderecoId(), tentativas, proximaTentativa, erro);
+            contadores.get("reagendado").increment();
+        }
+    }
+
+    /**
+     * espera-base * 2^(tentativas-1), limitada a espera-maxima
+     */
+    Duration espera(int tentativas) {
+        Duration espera = config.getEsperaBase();
+        for (int i = 1; i < tentativas && espera.compareTo(config.getEsperaMaxima()) < 0; i++) {
+            espera = espera.multipliedBy(2);
+        }
+        return espera.compareTo(config.getEsperaMaxima()) > 0 ? config.getEsperaMaxima() : espera;
+    }
+
+    private static boolean vazio(String valor) {
+        return valor == null || valor.trim().isEmpty();
+    }
+}
@@ -0,0 +1,405 @@
+package com.sea.desafio_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.model.entity.RevalidacaoCheckpoint;
+import com.sea.desafio_backend.repository.EnderecoRepository;
+import com.sea.desafio_backend.repository.EnderecoRepository.DadosViaCep;
+import com.sea.desafio_backend.repository.RevalidacaoCheckpointRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revalidação dos endereços cadastrados contra o ViaCEP
+ *
+ * Disparada por POST /actuator/revalidacaoenderecos, percorre a tabela enderecos
+ * em páginas por faixa de ID (id > último ID processado) e, para cada página:
+ *
+ * - Agrupa os endereços por CEP: cada CEP distinto é consultado uma única vez na execução;
+ *   CEP já resolvido numa página anterior reaproveita a resposta (até
+ *   viacep.revalidacao.ceps-resolvidos-maximo CEPs, descartados ao fim da execução)
+ * - Consulta os CEPs em paralelo (viacep.revalidacao.concorrencia), com limite global
+ *   de chamadas por segundo ao ViaCEP (viacep.revalidacao.chamadas-por-segundo)
+ * - Consulta o ViaCEP direto (ViaCepService.consultarViaCepDireto), sem índice offline nem
+ *   cache: falha de comunicação deixa os endereços do CEP como estão, nunca aplica valor antigo
+ * - Atualiza só os endereços cujo logradouro/bairro/cidade/uf mudou, com um UPDATE
+ *   em massa por combinação de valores novos e anteriores. O UPDATE confere os valores
+ *   anteriores: endereço editado durante a revalidação não é sobrescrito (resultado conflito)
+ * - Salva o checkpoint (último ID da página) na mesma transação das atualizações
+ *
+ * Interrompida (encerramento da aplicação), a próxima execução retoma do checkpoint;
+ * ao chegar ao fim da tabela o checkpoint volta a zero.
+ * Campos vazios no ViaCEP (ex.: CEP geral de cidade, sem logradouro) mantêm o valor cadastrado.
+ *
+ * Métricas: viacep.revalidacao.em.andamento, viacep.revalidacao.ceps e
+ * viacep.revalidacao.enderecos (tag resultado)
+ */
+@Service
+@Slf4j
+public class EnderecoRevalidacaoService {
+
+    static final String NOME_CHECKPOINT = "revalidacao-enderecos";
+    static final String NOME_LIMITADOR = "viacep-revalidacao";
+    static final String NOME_METRICA = "viacep.revalidacao";
+
+    private static final String ATUALIZADO = "atualizado";
+    private static final String SEM_ALTERACAO = "sem_alteracao";
+    private static final String NAO_ENCONTRADO = "nao_encontrado";
+    private static final String ERRO = "erro";
+    private static final String CONFLITO = "conflito";
+
+    private final EnderecoRepository enderecoRepository;
+    private final RevalidacaoCheckpointRepository checkpointRepository;
+    private final ViaCepService viaCepService;
+    private final CircuitBreaker circuitBreaker;
+    private final RateLimiter rateLimiter;
+    private final TransactionTemplate transactionTemplate;
+    private final ViaCepProperties.Revalidacao config;
+
+    private final ExecutorService coordenador = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "endereco-revalidacao");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService consultas;
+
+    private final AtomicBoolean emAndamento = new AtomicBoolean();
+    private final AtomicInteger paginas = new AtomicInteger();
+    private final AtomicLong lidos = new AtomicLong();
+    private final AtomicLong cepsConsultados = new AtomicLong();
+    private final Map<String, AtomicLong> enderecosPorResultado = new LinkedHashMap<>();
+    private volatile long ultimoId;
+    private volatile long inicioNanos;
+    private volatile long fimNanos;
+    private volatile LocalDateTime ultimaConclusao;
+
+    private final Map<String, Counter> contadoresCep = new LinkedHashMap<>();
+    private final Map<String, Counter> contadoresEndereco = new LinkedHashMap<>();
+
+    public EnderecoRevalidacaoService(EnderecoRepository enderecoRepository,
+                                      RevalidacaoCheckpointRepository checkpointRepository,
+                                      ViaCepService viaCepService, CircuitBreaker circuitBreaker,
+                                      RateLimiterRegistry rateLimiterRegistry,
+                                      PlatformTransactionManager transactionManager,
+                                      ViaCepProperties properties, MeterRegistry meterRegistry) {
+        this.enderecoRepository = enderecoRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.viaCepService = viaCepService;
+        this.circuitBreaker = circuitBreaker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getRevalidacao();
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(NOME_LIMITADOR, RateLimiterConfig.custom()
+                .limitForPeriod(Math.max(1, config.getChamadasPorSegundo()))
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofSeconds(5))
+                .build());
+
+        AtomicInteger sequencia = new AtomicInteger();
+        this.consultas = Executors.newFixedThreadPool(Math.max(1, config.getConcorrencia()), tarefa -> {
+            Thread thread = new Thread(tarefa, "endereco-revalidacao-cep-" + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder(NOME_METRICA + ".em.andamento", emAndamento, a -> a.get() ? 1 : 0)
+                .description("1 enquanto a revalidação dos endereços está rodando")
+                .register(meterRegistry);
+        for (String resultado : Arrays.asList(ATUALIZADO, SEM_ALTERACAO, NAO_ENCONTRADO, ERRO, CONFLITO)) {
+            enderecosPorResultado.put(resultado, new AtomicLong());
+            contadoresEndereco.put(resultado, Counter.builder(NOME_METRICA + ".enderecos")
+                    .description("Endereços revalidados no ViaCEP, por resultado")
+                    .tag("resultado", resultado)
+                    .register(meterRegistry));
+        }
+        for (String resultado : Arrays.asList("encontrado", NAO_ENCONTRADO, ERRO)) {
+            contadoresCep.put(resultado, Counter.builder(NOME_METRICA + ".ceps")
+                    .description("CEPs distintos consultados na revalidação, por resultado")
+                    .tag("resultado", resultado)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Inicia a revalidação em background
+     * @param reiniciar true ignora o checkpoint e começa do primeiro endereço
+     * @return false se já houver uma revalidação em andamento
+     */
+    public boolean iniciar(boolean reiniciar) {
+        if (!emAndamento.compareAndSet(false, true)) {
+            log.info("Revalidação de endereços já está em andamento");
+            return false;
+        }
+        coordenador.execute(() -> {
+            try {
+                revalidar(reiniciar);
+            } catch (RuntimeException e) {
+                log.error("Falha na revalidação de endereços (retoma do checkpoint {})", ultimoId, e);
+            } finally {
+                fimNanos = System.nanoTime();
+                emAndamento.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Situação da revalidação (exposta em GET /actuator/revalidacaoenderecos)
+     */
+    public Map<String, Object> status() {
+        long fim = emAndamento.get() ? System.nanoTime() : fimNanos;
+        double segundos = inicioNanos == 0 ? 0 : Math.max(1, fim - inicioNanos) / 1e9;
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("emAndamento", emAndamento.get());
+        status.put("ultimoId", ultimoId);
+        status.put("paginas", paginas.get());
+        status.put("enderecosLidos", lidos.get());
+        status.put("cepsConsultados", cepsConsultados.get());
+        for (Map.Entry<String, AtomicLong> entrada : enderecosPorResultado.entrySet()) {
+            status.put(entrada.getKey(), entrada.getValue().get());
+        }
+        status.put("duracaoSegundos", Math.round(segundos));
+        status.put("enderecosPorSegundo", segundos == 0 ? 0 : Math.round(lidos.get() / segundos));
+        status.put("cepsPorSegundo", segundos == 0 ? 0 : Math.round(cepsConsultados.get() / segundos));
+        status.put("ultimaConclusao", ultimaConclusao);
+        return status;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        coordenador.shutdownNow();
+        consultas.shutdownNow();
+    }
+
+    /**
+     * Executa a revalidação na thread atual, página a página, até o fim da tabela
+     */
+    void revalidar(boolean reiniciar) {
+        ultimoId = reiniciar ? 0L : checkpointRepository.findById(NOME_CHECKPOINT)
+                .map(RevalidacaoCheckpoint::getUltimoId)
+                .orElse(0L);
+        paginas.set(0);
+        lidos.set(0);
+        cepsConsultados.set(0);
+        enderecosPorResultado.values().forEach(contagem -> contagem.set(0));
+        inicioNanos = System.nanoTime();
+        log.info("Revalidação de endereços iniciada a partir do ID {}", ultimoId);
+
+        // Respostas da execução, compartilhadas entre as páginas; falhas de comunicação não entram
+        Cache<String, ViaCepResponse> resolvidos = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, config.getCepsResolvidosMaximo()))
+                .build();
+        try {
+            while (true) {
+                List<DadosViaCep> pagina = enderecoRepository.findParaRevalidacao(ultimoId,
+                        PageRequest.of(0, Math.max(1, config.getTamanhoPagina())));
+                if (pagina.isEmpty()) {
+                    break;
+                }
+                if (!processarPagina(pagina, resolvidos)) {
+                    log.info("Revalidação de endereços interrompida no ID {}", ultimoId);
+                    return;
+                }
+            }
+        } finally {
+            resolvidos.invalidateAll();
+        }
+
+        salvarCheckpoint(0L);
+        ultimaConclusao = LocalDateTime.now();
+        log.info("Revalidação de endereços concluída: {} endereços, {} CEPs, {} atualizados em {} ms",
+                lidos.get(), cepsConsultados.get(), enderecosPorResultado.get(ATUALIZADO).get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos));
+    }
+
+    /**
+     * Consulta os CEPs distintos da página ainda não resolvidos na execução e aplica as alterações
+     * @param resolvidos Respostas das páginas anteriores da mesma execução
+     * @return false se a thread foi interrompida (página não aplicada)
+     */
+    private boolean processarPagina(List<DadosViaCep> pagina, Cache<String, ViaCepResponse> resolvidos) {
+        Map<String, List<DadosViaCep>> porCep = new LinkedHashMap<>();
+        for (DadosViaCep endereco : pagina) {
+            porCep.computeIfAbsent(endereco.getCep(), cep -> new ArrayList<>()).add(endereco);
+        }
+
+        Map<String, CompletableFuture<ViaCepResponse>> respostas = new LinkedHashMap<>();
+        for (String cep : porCep.keySet()) {
+            ViaCepResponse conhecida = resolvidos.getIfPresent(cep);
+            respostas.put(cep, conhecida != null
+                    ? CompletableFuture.completedFuture(conhecida)
+                    : CompletableFuture.supplyAsync(() -> consultar(cep), consultas));
+        }
+
+        Map<List<String>, List<Long>> alteracoes = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, List<DadosViaCep>> grupo : porCep.entrySet()) {
+                ViaCepResponse resposta = respostas.get(grupo.getKey()).get();
+                if (resposta != null) {
+                    resolvidos.put(grupo.getKey(), resposta);
+                }
+                classificar(grupo.getValue(), resposta, alteracoes);
+            }
+        } catch (InterruptedException e) {
+            respostas.values().forEach(resposta -> resposta.cancel(true));
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha inesperada na consulta de CEP da revalidação", e.getCause());
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+
+        long ultimoIdPagina = pagina.get(pagina.size() - 1).getId();
+        int[] atualizados = new int[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Map.Entry<List<String>, List<Long>> alteracao : alteracoes.entrySet()) {
+                List<String> valores = alteracao.getKey();
+                atualizados[0] += enderecoRepository.atualizarDadosViaCep(alteracao.getValue(),
+                        valores.get(0), valores.get(1), valores.get(2), valores.get(3),
+                        valores.get(4), valores.get(5), valores.get(6), valores.get(7));
+            }
+            salvarCheckpoint(ultimoIdPagina);
+        });
+        int alterados = alteracoes.values().stream().mapToInt(List::size).sum();
+        contarEnderecos(ATUALIZADO, atualizados[0]);
+        contarEnderecos(CONFLITO, alterados - atualizados[0]);
+
+        ultimoId = ultimoIdPagina;
+        paginas.incrementAndGet();
+        lidos.addAndGet(pagina.size());
+        return true;
+    }
+
+    /**
+     * Compara os endereços de um CEP com a resposta do ViaCEP e agrupa os IDs alterados
+     * pelos valores novos e anteriores (chave: logradouro, bairro, cidade e uf novos,
+     * seguidos dos anteriores com nulo como ""). Os alterados são contados após o UPDATE
+     * @param resposta null quando o CEP não foi encontrado ou a consulta falhou
+     */
+    private void classificar(List<DadosViaCep> enderecos, ViaCepResponse resposta,
+                             Map<List<String>, List<Long>> alteracoes) {
+        if (resposta == null || Boolean.TRUE.equals(resposta.getErro())) {
+            contarEnderecos(resposta == null ? ERRO : NAO_ENCONTRADO, enderecos.size());
+            return;
+        }
+        int alterados = 0;
+        for (DadosViaCep endereco : enderecos) {
+            String logradouro = valorOuAtual(resposta.getLogradouro(), endereco.getLogradouro());
+            String bairro = valorOuAtual(resposta.getBairro(), endereco.getBairro());
+            String cidade = valorOuAtual(resposta.getLocalidade(), endereco.getCidade());
+            String uf = valorOuAtual(resposta.getUf(), endereco.getUf());
+            if (Objects.equals(logradouro, endereco.getLogradouro()) && Objects.equals(bairro, endereco.getBairro())
+                    && Objects.equals(cidade, endereco.getCidade()) && Objects.equals(uf, endereco.getUf())) {
+                continue;
+            }
+            List<String> chave = Arrays.asList(logradouro, bairro, cidade, uf,
+                    anterior(endereco.getLogradouro()), anterior(endereco.getBairro()),
+                    anterior(endereco.getCidade()), anterior(endereco.getUf()));
+            alteracoes.computeIfAbsent(chave, k -> new ArrayList<>()).add(endereco.getId());
+            alterados++;
+        }
+        contarEnderecos(SEM_ALTERACAO, enderecos.size() - alterados);
+    }
+
+    /**
+     * Consulta um CEP direto no ViaCEP, sem cache (roda no pool de consultas)
+     * @return Resposta do ViaCEP, resposta com erro=true se o CEP não existe ou null se a consulta
+     *         falhou (os endereços do CEP ficam como estão)
+     */
+    private ViaCepResponse consultar(String cep) {
+        cepsConsultados.incrementAndGet();
+        try {
+            if (!aguardarPermissao()) {
+                return null;
+            }
+            ViaCepResponse resposta = viaCepService.consultarViaCepDireto(cep, OrigemConsulta.REVALIDACAO);
+            contadoresCep.get("encontrado").increment();
+            return resposta;
+        } catch (CepNotFoundException e) {
+            // Com causa: falha de comunicação; sem causa: CEP inexistente
+            if (e.getCause() != null) {
+                contadoresCep.get(ERRO).increment();
+                return null;
+            }
+            contadoresCep.get(NAO_ENCONTRADO).increment();
+            ViaCepResponse inexistente = new ViaCepResponse();
+            inexistente.setErro(true);
+            return inexistente;
+        } catch (RuntimeException e) {
+            log.warn("Erro ao revalidar CEP {}: {}", cep, e.getMessage());
+            contadoresCep.get(ERRO).increment();
+            return null;
+        }
+    }
+
+    /**
+     * Aguarda o circuito fechar e uma permissão do rate limiter
+     * @return false se a thread foi interrompida (aplicação encerrando)
+     */
+    private boolean aguardarPermissao() {
+        try {
+            while (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+                TimeUnit.SECONDS.sleep(1);
+            }
+            while (!rateLimiter.acquirePermission()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void salvarCheckpoint(long id) {
+        checkpointRepository.save(new RevalidacaoCheckpoint(NOME_CHECKPOINT, id, LocalDateTime.now()));
+    }
+
+    private void contarEnderecos(String resultado, int quantidade) {
+        enderecosPorResultado.get(resultado).addAndGet(quantidade);
+        contadoresEndereco.get(resultado).increment(quantidade);
+    }
+
+    private static String anterior(String valor) {
+        return valor == null ? "" : valor;
+    }
+
+    private static String valorOuAtual(String valorViaCep, String atual) {
+        return valorViaCep == null || valorViaCep.trim().isEmpty() ? atual : valorViaCep;
+    }
+}
@@ -4,11 +4,13 @@ import com.sea.desafio_backend.dto.response.ViaCepResponse;
 import com.sea.desafio_backend.exception.ResourceNotFoundException;
 import com.sea.desafio_backend.model.entity.Endereco;
 import com.sea.desafio_backend.repository.EnderecoRepository;
+import com.sea.desafio_backend.util.CepUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service para gerenciamento de Endereços
@@ -20,10 +22,16 @@ public class EnderecoService {
 
     private final EnderecoRepository enderecoRepository;
     private final ViaCepService viaCepService;
+    private final EnderecoEnriquecimentoService enriquecimentoService;
 
-    public EnderecoService(EnderecoRepository enderecoRepository, ViaCepService viaCepService) {
+    /**
+     * @param enriquecimentoService Fila usada no lugar da chamada ao ViaCEP quando viacep.enriquecimento.adiado=true
+     */
+    public EnderecoService(EnderecoRepository enderecoRepository, ViaCepService viaCepService,
+                           EnderecoEnriquecimentoService enriquecimentoService) {
         this.enderecoRepository = enderecoRepository;
         this.viaCepService = viaCepService;
+        this.enriquecimentoService = enriquecimentoService;
     }
 
     // ==================== CRIAR ENDEREÇO ====================
@@ -48,13 +56,25 @@ public class EnderecoService {
 
     /**
      * Cria endereço preenchendo automaticamente com dados do ViaCEP
+     * Com viacep.enriquecimento.adiado=true salva na hora e agenda o preenchimento
+     * (sem chamada de rede com a conexão do banco aberta)
+     *
+     * Continua síncrono de propósito: nenhum endpoint cria endereço pelo ViaCEP
+     * (POST /api/clientes recebe os campos prontos) e o caminho sem espera na consulta
+     * é o enriquecimento adiado acima, que devolve o endereço salvo e consulta o ViaCEP
+     * fora da requisição. A versão com CompletableFuture só existe para GET /api/cep/{cep}.
      */
     @Transactional
     public Endereco criarEnderecoComViaCep(String cep, Endereco endereco) {
         log.info("Criando endereço com busca ViaCEP: {}", cep);
+
+        if (enriquecimentoService.isAdiado()) {
+            endereco.setCep(removerMascaraCEP(cep));
+            return salvarParaEnriquecimento(endereco);
+        }
         
         // Busca dados do CEP na API ViaCEP
-        ViaCepResponse dadosViaCep = viaCepService.buscarEnderecoPorCep(cep);
+        ViaCepResponse dadosViaCep = viaCepService.buscarEnderecoPorCep(cep, OrigemConsulta.ENDERECO);
         
         // Preenche dados do endereço
         String cepSemMascara = removerMascaraCEP(dadosViaCep.getCep());
@@ -73,6 +93,43 @@ public class EnderecoService {
         return enderecoSalvo;
     }
 
+    /**
+     * Salva o endereço com o CEP e os campos já preenchidos, completando-o na hora se o CEP
+     * for conhecido localmente (índice offline / cache) ou agendando o enriquecimento
+     */
+    private Endereco salvarParaEnriquecimento(Endereco endereco) {
+        Optional<ViaCepResponse> conhecido = viaCepService.buscarEnderecoConhecido(endereco.getCep(),
+                OrigemConsulta.ENDERECO);
+        conhecido.ifPresent(dadosViaCep -> preencherCamposVazios(endereco, dadosViaCep));
+
+        Endereco enderecoSalvo = enderecoRepository.save(endereco);
+        if (!conhecido.isPresent()) {
+            enriquecimentoService.agendar(enderecoSalvo);
+        }
+        log.info("Endereço salvo com enriquecimento {}. ID: {}", conhecido.isPresent() ? "imediato" : "agendado",
+                enderecoSalvo.getId());
+
+        return enderecoSalvo;
+    }
+
+    /**
+     * Completa logradouro/bairro/cidade/uf não informados com os dados do ViaCEP
+     */
+    private void preencherCamposVazios(Endereco endereco, ViaCepResponse dadosViaCep) {
+        if (vazio(endereco.getLogradouro())) {
+            endereco.setLogradouro(dadosViaCep.getLogradouro());
+        }
+        if (vazio(endereco.getBairro())) {
+            endereco.setBairro(dadosViaCep.getBairro());
+        }
+        if (vazio(endereco.getCidade())) {
+            endereco.setCidade(dadosViaCep.getLocalidade());
+        }
+        if (vazio(endereco.getUf())) {
+            endereco.setUf(dadosViaCep.getUf());
+        }
+    }
+
     // ==================== BUSCAR ENDEREÇOS ====================
 
     public Endereco buscarPorId(Long id) {
@@ -118,15 +175,26 @@ public class EnderecoService {
 
     /**
      * Atualiza endereço buscando novos dados no ViaCEP
+     * Com viacep.enriquecimento.adiado=true troca o CEP, limpa os campos do CEP antigo
+     * e agenda o preenchimento
      */
     @Transactional
     public Endereco atualizarComViaCep(Long id, String novoCep) {
         log.info("Atualizando endereço ID: {} com novo CEP: {}", id, novoCep);
         
         Endereco enderecoExistente = buscarPorId(id);
+
+        if (enriquecimentoService.isAdiado()) {
+            enderecoExistente.setCep(removerMascaraCEP(novoCep));
+            enderecoExistente.setLogradouro(null);
+            enderecoExistente.setBairro(null);
+            enderecoExistente.setCidade(null);
+            enderecoExistente.setUf(null);
+            return salvarParaEnriquecimento(enderecoExistente);
+        }
         
         // Busca novos dados no ViaCEP
-        ViaCepResponse dadosViaCep = viaCepService.buscarEnderecoPorCep(novoCep);
+        ViaCepResponse dadosViaCep = viaCepService.buscarEnderecoPorCep(novoCep, OrigemConsulta.ENDERECO);
         
         // Atualiza dados
         String cepSemMascara = removerMascaraCEP(dadosViaCep.getCep());
@@ -162,10 +230,11 @@ public class EnderecoService {
      * Exemplo: 12345-678 → 12345678
      */
     public String removerMascaraCEP(String cep) {
-        if (cep == null) {
-            return "";
-        }
-        return cep.replaceAll("[^0-9]", "");
+        return CepUtil.removerMascara(cep);
+    }
+
+    private static boolean vazio(String valor) {
+        return valor == null || valor.trim().isEmpty();
     }
 
     /**
@@ -0,0 +1,257 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ClienteProperties;
+import com.sea.desafio_backend.repository.ClienteRepository;
+import com.sea.desafio_backend.util.FiltroBloom;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom dos CPFs cadastrados, na frente das consultas "CPF já cadastrado?"
+ * da validação em lote (CpfLoteService)
+ *
+ * A maioria dos CPFs consultados não está cadastrada: quando o filtro responde "com certeza
+ * ausente" a consulta ao banco é pulada; só "talvez presente" (CPF cadastrado ou falso positivo)
+ * vai ao banco. Enquanto o filtro não termina de carregar, tudo vai ao banco.
+ * (O cadastro de clientes não consulta: a unicidade é do índice único, ver ViolacaoUnicidade.)
+ *
+ * - Chave: índice cego do CPF (cpf_hash, ver CpfCriptografia.indice), o mesmo usado nas consultas
+ * - Carregado em background ao final da inicialização, lendo a coluna cpf_hash em streaming
+ * - Cadastro e troca de CPF adicionam o CPF novo na hora (antes do commit: um rollback
+ *   só deixa um falso positivo a mais) e de novo após o commit: um cadastro que não entrou
+ *   na leitura da reconstrução (commit depois dela) cai no filtro novo, publicado antes da leitura.
+ *   Adição e troca de filtro usam a mesma trava, para a adição não cair só no filtro descartado
+ * - Filtro de Bloom não remove: exclusões e trocas de CPF deixam o CPF antigo como
+ *   falso positivo até a próxima reconstrução, disparada quando passam de 10% da capacidade
+ *   ou quando os CPFs cadastrados passam da capacidade (reconstruído com o dobro)
+ *
+ * Métricas: cliente.cpf.filtro.consultas (tag resultado=ausente|talvez|falso_positivo),
+ * cliente.cpf.filtro.memoria (bytes), cliente.cpf.filtro.elementos,
+ * cliente.cpf.filtro.falsos.positivos.estimada e cliente.cpf.filtro.falsos.positivos.configurada
+ */
+@Service
+@Slf4j
+public class FiltroCpfService {
+
+    static final String NOME_METRICA = "cliente.cpf.filtro";
+
+    private final ClienteRepository clienteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ClienteProperties.FiltroCpf config;
+
+    private volatile FiltroBloom filtro;
+    /** Filtro sendo montado: recebe também os CPFs cadastrados durante a carga */
+    private volatile FiltroBloom emConstrucao;
+    /** Protege a leitura de filtro/emConstrucao na adição contra a troca feita pela reconstrução */
+    private final Object trava = new Object();
+
+    private final AtomicLong elementos = new AtomicLong();
+    private final AtomicLong obsoletos = new AtomicLong();
+    private final AtomicBoolean reconstrucaoAgendada = new AtomicBoolean();
+
+    private final ExecutorService construtor = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "filtro-cpf");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter ausentes;
+    private final Counter talvez;
+    private final Counter falsosPositivos;
+
+    public FiltroCpfService(ClienteRepository clienteRepository, PlatformTransactionManager transactionManager,
+                            ClienteProperties properties, MeterRegistry meterRegistry) {
+        this.clienteRepository = clienteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.config = properties.getFiltroCpf();
+
+        this.ausentes = contador(meterRegistry, "ausente");
+        this.talvez = contador(meterRegistry, "talvez");
+        this.falsosPositivos = contador(meterRegistry, "falso_positivo");
+
+        Gauge.builder(NOME_METRICA + ".memoria", this, s -> s.filtro == null ? 0 : s.filtro.getTamanhoEmBytes())
+                .description("Memória ocupada pelos bits do filtro de CPF")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder(NOME_METRICA + ".elementos", elementos, AtomicLong::get)
+                .description("CPFs adicionados ao filtro")
+                .register(meterRegistry);
+        Gauge.builder(NOME_METRICA + ".falsos.positivos.estimada", this, FiltroCpfService::taxaEstimada)
+                .description("Taxa de falsos positivos estimada para os CPFs atuais")
+                .register(meterRegistry);
+        Gauge.builder(NOME_METRICA + ".falsos.positivos.configurada", config, ClienteProperties.FiltroCpf::getTaxaFalsosPositivos)
+                .description("Taxa de falsos positivos configurada (cliente.filtro-cpf.taxa-falsos-positivos)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carrega o filtro ao final da inicialização (depois da migração do CPF, ver ClienteCpfMigracao)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciarAplicacao() {
+        if (config.isHabilitado()) {
+            agendarReconstrucao();
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        construtor.shutdownNow();
+    }
+
+    /**
+     * @param cpfHash Índice do CPF (ver CpfCriptografia.indice)
+     * @return false se o CPF com certeza não está cadastrado (dispensa a consulta ao banco)
+     */
+    public boolean talvezCadastrado(long cpfHash) {
+        FiltroBloom atual = filtro;
+        if (!config.isHabilitado() || atual == null) {
+            return true;
+        }
+        if (atual.talvezContenha(cpfHash)) {
+            talvez.increment();
+            return true;
+        }
+        ausentes.increment();
+        return false;
+    }
+
+    /**
+     * O filtro respondeu "talvez" e o banco não encontrou o CPF
+     */
+    public void registrarFalsoPositivo() {
+        if (config.isHabilitado() && filtro != null) {
+            falsosPositivos.increment();
+        }
+    }
+
+    /**
+     * Registra um CPF cadastrado (novo cliente ou troca de CPF)
+     * Dentro de uma transação, adiciona de novo após o commit (ver doc da classe)
+     * @param cpfHash Índice do CPF; ignorado se nulo
+     */
+    public void adicionar(Long cpfHash) {
+        if (!config.isHabilitado() || cpfHash == null) {
+            return;
+        }
+        FiltroBloom atual = adicionarAosFiltros(cpfHash);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adicionarAosFiltros(cpfHash);
+                }
+            });
+        }
+        if (atual != null && elementos.incrementAndGet() > atual.getCapacidade()) {
+            agendarReconstrucao();
+        }
+    }
+
+    /**
+     * @return Filtro atual (null antes da primeira carga)
+     */
+    private FiltroBloom adicionarAosFiltros(long cpfHash) {
+        synchronized (trava) {
+            FiltroBloom atual = filtro;
+            if (atual != null) {
+                atual.adicionar(cpfHash);
+            }
+            FiltroBloom novo = emConstrucao;
+            if (novo != null) {
+                novo.adicionar(cpfHash);
+            }
+            return atual;
+        }
+    }
+
+    /**
+     * Registra um CPF que deixou de estar cadastrado (exclusão ou troca de CPF)
+     */
+    public void registrarRemocao() {
+        FiltroBloom atual = filtro;
+        if (config.isHabilitado() && atual != null && obsoletos.incrementAndGet() > atual.getCapacidade() / 10) {
+            agendarReconstrucao();
+        }
+    }
+
+    private void agendarReconstrucao() {
+        if (reconstrucaoAgendada.compareAndSet(false, true)) {
+            construtor.execute(() -> {
+                try {
+                    reconstruir();
+                } catch (RuntimeException e) {
+                    log.error("Falha ao carregar o filtro de CPF; a unicidade segue sendo validada no banco", e);
+                } finally {
+                    synchronized (trava) {
+                        emConstrucao = null;
+                    }
+                    reconstrucaoAgendada.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Monta um filtro novo a partir da tabela clientes e troca o atual por ele
+     */
+    void reconstruir() {
+        long inicio = System.nanoTime();
+        long cadastrados = clienteRepository.count();
+        long capacidade = Math.max(config.getCapacidade(), cadastrados * 2);
+        FiltroBloom novo = new FiltroBloom(capacidade, config.getTaxaFalsosPositivos());
+        synchronized (trava) {
+            emConstrucao = novo;
+        }
+
+        Long carregados = transactionTemplate.execute(status -> {
+            long quantidade = 0;
+            try (Stream<Long> cpfs = clienteRepository.streamCpfHashes()) {
+                for (Long cpfHash : (Iterable<Long>) cpfs::iterator) {
+                    novo.adicionar(cpfHash);
+                    quantidade++;
+                }
+            }
+            return quantidade;
+        });
+
+        synchronized (trava) {
+            filtro = novo;
+            emConstrucao = null;
+        }
+        elementos.set(carregados == null ? 0 : carregados);
+        obsoletos.set(0);
+        log.info("Filtro de CPF carregado: {} CPFs, capacidade {}, {} KB, {} hashes em {} ms",
+                elementos.get(), capacidade, novo.getTamanhoEmBytes() / 1024, novo.getQuantidadeHashes(),
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private double taxaEstimada() {
+        FiltroBloom atual = filtro;
+        return atual == null ? 0 : atual.taxaFalsosPositivosEstimada(elementos.get());
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder(NOME_METRICA + ".consultas")
+                .description("Consultas ao filtro de CPF antes da validação de unicidade")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.sea.desafio_backend.service;
+
+/**
+ * Origem de uma consulta de CEP (tag "origem" das métricas do ViaCEP)
+ * Separa consultas diretas do usuário das feitas por cadastros e rotinas internas
+ */
+public enum OrigemConsulta {
+
+    /** GET /api/cep/{cep} (EnderecoController.consultarCep) */
+    CONSULTA("consulta"),
+
+    /** Criação/atualização de endereço com ViaCEP (EnderecoService) */
+    ENDERECO("endereco"),
+
+    /** POST /api/cep/lote (CepLoteService) */
+    LOTE("lote"),
+
+    /** Aquecimento do cache (CepAquecimentoService) */
+    AQUECIMENTO("aquecimento"),
+
+    /** Revalidação dos endereços cadastrados (EnderecoRevalidacaoService) */
+    REVALIDACAO("revalidacao"),
+
+    /** Fila de enriquecimento adiado dos endereços (EnderecoEnriquecimentoService) */
+    ENRIQUECIMENTO("enriquecimento"),
+
+    /** GET /api/cep/busca, busca de CEP por endereço (CepBuscaService) */
+    BUSCA("busca");
+
+    private final String tag;
+
+    OrigemConsulta(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
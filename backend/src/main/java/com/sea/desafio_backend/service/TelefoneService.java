@@ -1,15 +1,16 @@
 package com.sea.desafio_backend.service;
 
 import com.sea.desafio_backend.exception.ResourceNotFoundException;
+import com.sea.desafio_backend.exception.ViolacaoUnicidade;
 import com.sea.desafio_backend.model.entity.Telefone;
 import com.sea.desafio_backend.model.enums.TipoTelefone;
 import com.sea.desafio_backend.repository.TelefoneRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Service para gerenciamento de Telefones
@@ -31,7 +32,7 @@ public class TelefoneService {
      * Cria um novo telefone
      * Remove máscara do número antes de salvar
      * ✅ MELHORIA: Primeiro telefone automaticamente é principal
-     * ✅ MELHORIA: Valida duplicidade de número
+     * ✅ MELHORIA: Valida duplicidade de número (índice único, sem consulta prévia)
      *
      * @param telefone Telefone a ser criado
      * @return Telefone salvo
@@ -45,9 +46,6 @@ public class TelefoneService {
         String numeroSemMascara = removerMascaraTelefone(telefone.getNumero());
         telefone.setNumero(numeroSemMascara);
 
-        // ✅ MELHORIA: Valida duplicidade
-        validarTelefoneDuplicado(clienteId, numeroSemMascara, null);
-
         // ✅ MELHORIA: Regra de Negócio - Primeiro telefone DEVE ser o principal
         long totalTelefones = contarTelefones(clienteId);
         if (totalTelefones == 0) {
@@ -59,7 +57,8 @@ public class TelefoneService {
             telefone.setPrincipal(false); // Null safety
         }
 
-        Telefone telefoneSalvo = telefoneRepository.save(telefone);
+        // Duplicidade validada pelo banco no insert
+        Telefone telefoneSalvo = salvar(telefone);
         log.info("Telefone criado com sucesso. ID: {}", telefoneSalvo.getId());
 
         return telefoneSalvo;
@@ -130,12 +129,7 @@ public class TelefoneService {
 
         // Remove máscara antes de salvar
         String numeroSemMascara = removerMascaraTelefone(telefoneAtualizado.getNumero());
-        
-        // ✅ MELHORIA: Valida duplicidade se o número mudou
-        if (!telefoneExistente.getNumero().equals(numeroSemMascara)) {
-            validarTelefoneDuplicado(clienteId, numeroSemMascara, id);
-        }
-        
+
         telefoneExistente.setNumero(numeroSemMascara);
         telefoneExistente.setTipo(telefoneAtualizado.getTipo());
 
@@ -147,7 +141,8 @@ public class TelefoneService {
 
         telefoneExistente.setPrincipal(telefoneAtualizado.getPrincipal());
 
-        Telefone telefoneSalvo = telefoneRepository.save(telefoneExistente);
+        // Duplicidade (se o número mudou) validada pelo banco no update
+        Telefone telefoneSalvo = salvar(telefoneExistente);
         log.info("Telefone atualizado com sucesso. ID: {}", id);
 
         return telefoneSalvo;
@@ -267,22 +262,21 @@ public class TelefoneService {
     }
 
     /**
-     * ✅ PERFORMANCE: Valida duplicidade de forma otimizada (1 query)
-     * Requer método no Repository: Optional<Telefone> findByClienteIdAndNumero(Long clienteId, String numero)
+     * Grava já executando o SQL (flush): a duplicidade de número é recusada pelo índice
+     * único idx_telefone_cliente_numero, sem consulta prévia (ver ViolacaoUnicidade)
      *
-     * @param clienteId ID do cliente
-     * @param numero Número do telefone (sem máscara)
-     * @param telefoneIdIgnorar ID do telefone a ignorar (útil em updates)
+     * @param telefone Telefone a gravar
+     * @return Telefone salvo
+     * @throws IllegalArgumentException se o cliente já tiver esse número
      */
-    private void validarTelefoneDuplicado(Long clienteId, String numero, Long telefoneIdIgnorar) {
-        Optional<Telefone> telefoneExistenteOpt = telefoneRepository.findByClienteIdAndNumero(clienteId, numero);
-
-        if (telefoneExistenteOpt.isPresent()) {
-            Telefone telefoneExistente = telefoneExistenteOpt.get();
-            // Se for criação (ignorar null) ou se o ID encontrado for diferente do ID atual
-            if (telefoneIdIgnorar == null || !telefoneExistente.getId().equals(telefoneIdIgnorar)) {
-                throw new IllegalArgumentException("Este número de telefone já está cadastrado para este cliente.");
+    private Telefone salvar(Telefone telefone) {
+        try {
+            return telefoneRepository.saveAndFlush(telefone);
+        } catch (DataIntegrityViolationException e) {
+            if (ViolacaoUnicidade.violou(e, ViolacaoUnicidade.TELEFONE_CLIENTE)) {
+                throw new IllegalArgumentException("Este número de telefone já está cadastrado para este cliente.", e);
             }
+            throw e;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.sea.desafio_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.util.EntityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Cliente HTTP não bloqueante do ViaCEP (Apache HttpAsyncClient)
+ *
+ * A requisição é enviada pelas threads de I/O do cliente (viacep.http.threads-io)
+ * e a thread chamadora é liberada imediatamente; o resultado chega pelo CompletableFuture.
+ *
+ * Falhas viram as mesmas exceções do RestTemplate (RestClientException e subclasses),
+ * então circuit breaker e fallback tratam os caminhos síncrono e assíncrono igualmente.
+ * Os callbacks rodam nas threads de I/O: quem encadear trabalho bloqueante
+ * (ex.: JPA) deve usar um executor próprio. Cancelar o future aborta a requisição HTTP.
+ */
+@Component
+public class ViaCepAsyncClient {
+
+    private final CloseableHttpAsyncClient httpAsyncClient;
+    private final ObjectMapper objectMapper;
+    private final String urlTemplate;
+
+    @Autowired
+    public ViaCepAsyncClient(CloseableHttpAsyncClient httpAsyncClient, ObjectMapper objectMapper,
+                             ViaCepProperties properties) {
+        this(httpAsyncClient, objectMapper, properties.getUrl());
+    }
+
+    /**
+     * Construtor com URL customizável (usado nos testes com servidor local)
+     */
+    ViaCepAsyncClient(CloseableHttpAsyncClient httpAsyncClient, ObjectMapper objectMapper, String urlTemplate) {
+        this.httpAsyncClient = httpAsyncClient;
+        this.objectMapper = objectMapper;
+        this.urlTemplate = urlTemplate;
+    }
+
+    /**
+     * Consulta o CEP no ViaCEP sem bloquear a thread chamadora
+     * @param cepLimpo CEP com 8 dígitos (sem máscara)
+     * @return resposta do ViaCEP (null se corpo vazio) ou falha com RestClientException;
+     *         cancel() aborta a requisição em andamento
+     */
+    public CompletableFuture<ViaCepResponse> consultar(String cepLimpo) {
+        URI uri = UriComponentsBuilder.fromUriString(urlTemplate).buildAndExpand(cepLimpo).toUri();
+        HttpGet requisicao = new HttpGet(uri);
+        requisicao.setHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+
+        CompletableFuture<ViaCepResponse> resultado = new CompletableFuture<>();
+        Future<HttpResponse> envio = httpAsyncClient.execute(requisicao, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    resultado.complete(ler(uri, response));
+                } catch (RestClientException e) {
+                    resultado.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                resultado.completeExceptionally(e instanceof IOException
+                        ? new ResourceAccessException("I/O error on GET request for \"" + uri + "\": "
+                                + e.getMessage(), (IOException) e)
+                        : new RestClientException("Erro na requisição GET para " + uri, e));
+            }
+
+            @Override
+            public void cancelled() {
+                resultado.completeExceptionally(new RestClientException("Requisição GET cancelada: " + uri));
+            }
+        });
+        resultado.whenComplete((response, erro) -> {
+            if (resultado.isCancelled()) {
+                envio.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Converte a resposta HTTP (corpo já está em memória: leitura não bloqueia)
+     */
+    private ViaCepResponse ler(URI uri, HttpResponse response) {
+        int status = response.getStatusLine().getStatusCode();
+        byte[] corpo;
+        try {
+            corpo = response.getEntity() != null ? EntityUtils.toByteArray(response.getEntity()) : new byte[0];
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+
+        if (status >= 400) {
+            throw new RestClientResponseException("Resposta " + status + " do ViaCEP para " + uri, status,
+                    response.getStatusLine().getReasonPhrase(), null, corpo, StandardCharsets.UTF_8);
+        }
+        if (corpo.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(corpo, ViaCepResponse.class);
+        } catch (IOException e) {
+            throw new RestClientException("Resposta inválida do ViaCEP para " + uri, e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Requisições "hedged" ao ViaCEP para cortar a latência de cauda (p99)
+ *
+ * Se a primeira requisição não responder dentro do percentil configurado da latência
+ * recente (viacep.hedge.percentil), uma segunda requisição idêntica é enviada.
+ * A primeira resposta de sucesso vence e a outra é cancelada (conexão abortada).
+ *
+ * - Desabilitado (padrão): repassa direto ao ViaCepAsyncClient
+ * - Orçamento global: cada consulta acumula viacep.hedge.orcamento de saldo e cada
+ *   hedge consome 1, limitando os hedges a essa fração do tráfego
+ * - Falha de uma das requisições não encerra a consulta enquanto a outra estiver em andamento
+ *
+ * Métricas: viacep.hedge.consultas, viacep.hedge.disparados, viacep.hedge.sem.orcamento,
+ * viacep.hedge.vitorias (hedge respondeu primeiro) e viacep.hedge.latencia (por requisição)
+ */
+@Component
+@Slf4j
+public class ViaCepHedgedClient {
+
+    static final String NOME_METRICA = "viacep.hedge";
+
+    /** Saldo máximo acumulado: limita a rajada de hedges após um período tranquilo */
+    private static final double SALDO_MAXIMO = 10;
+
+    private final ViaCepAsyncClient viaCepAsyncClient;
+    private final ViaCepProperties.Hedge config;
+
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "viacep-hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer latencia;
+    private final Counter consultas;
+    private final Counter disparados;
+    private final Counter semOrcamento;
+    private final Counter vitorias;
+
+    private double saldo; // Protegido por synchronized
+
+    public ViaCepHedgedClient(ViaCepAsyncClient viaCepAsyncClient, ViaCepProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.viaCepAsyncClient = viaCepAsyncClient;
+        this.config = properties.getHedge();
+
+        this.latencia = Timer.builder(NOME_METRICA + ".latencia")
+                .description("Latência de cada requisição ao ViaCEP (original ou hedge) com sucesso")
+                .publishPercentiles(config.getPercentil())
+                .register(meterRegistry);
+        this.consultas = contador(meterRegistry, ".consultas", "Consultas ao ViaCEP com hedge habilitado");
+        this.disparados = contador(meterRegistry, ".disparados", "Requisições hedge enviadas");
+        this.semOrcamento = contador(meterRegistry, ".sem.orcamento", "Hedges não enviados por falta de orçamento");
+        this.vitorias = contador(meterRegistry, ".vitorias", "Consultas em que o hedge respondeu primeiro");
+    }
+
+    public boolean isHabilitado() {
+        return config.isHabilitado();
+    }
+
+    /**
+     * Consulta o CEP no ViaCEP, enviando uma segunda requisição se a primeira demorar
+     * @param cepLimpo CEP com 8 dígitos (sem máscara)
+     * @return primeira resposta de sucesso ou a falha da última requisição a terminar
+     */
+    public CompletableFuture<ViaCepResponse> consultar(String cepLimpo) {
+        if (!config.isHabilitado()) {
+            return viaCepAsyncClient.consultar(cepLimpo);
+        }
+        consultas.increment();
+        depositar();
+
+        Corrida corrida = new Corrida();
+        corrida.participar(cepLimpo, false);
+
+        ScheduledFuture<?> hedge = agendador.schedule(() -> {
+            if (corrida.resultado.isDone()) {
+                return;
+            }
+            if (!consumirSaldo()) {
+                semOrcamento.increment();
+                return;
+            }
+            log.debug("ViaCEP sem resposta após o atraso do hedge, enviando segunda requisição: {}", cepLimpo);
+            disparados.increment();
+            corrida.participar(cepLimpo, true);
+        }, atrasoNanos(), TimeUnit.NANOSECONDS);
+
+        corrida.resultado.whenComplete((response, erro) -> hedge.cancel(false));
+        return corrida.resultado;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+
+    /**
+     * Espera antes do hedge: percentil da latência recente, limitado a [atraso-minimo, atraso-maximo]
+     */
+    long atrasoNanos() {
+        long minimo = config.getAtrasoMinimo().toNanos();
+        long maximo = config.getAtrasoMaximo().toNanos();
+        if (latencia.count() < config.getAmostrasMinimas()) {
+            return maximo;
+        }
+        for (ValueAtPercentile valor : latencia.takeSnapshot().percentileValues()) {
+            long percentil = (long) valor.value(TimeUnit.NANOSECONDS);
+            return Math.max(minimo, Math.min(maximo, percentil));
+        }
+        return maximo;
+    }
+
+    private synchronized void depositar() {
+        saldo = Math.min(SALDO_MAXIMO, saldo + config.getOrcamento());
+    }
+
+    private synchronized boolean consumirSaldo() {
+        if (saldo < 1) {
+            return false;
+        }
+        saldo -= 1;
+        return true;
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String sufixo, String descricao) {
+        return Counter.builder(NOME_METRICA + sufixo)
+                .description(descricao)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Requisições concorrentes de uma mesma consulta: a primeira resposta de sucesso vence
+     */
+    private final class Corrida {
+
+        private final CompletableFuture<ViaCepResponse> resultado = new CompletableFuture<>();
+        private final List<CompletableFuture<ViaCepResponse>> requisicoes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger emAndamento = new AtomicInteger();
+
+        Corrida() {
+            // Resultado definido (ou consulta cancelada): aborta as requisições restantes
+            resultado.whenComplete((response, erro) -> requisicoes.forEach(r -> r.cancel(true)));
+        }
+
+        void participar(String cepLimpo, boolean hedge) {
+            emAndamento.incrementAndGet();
+            long inicio = System.nanoTime();
+            CompletableFuture<ViaCepResponse> requisicao = viaCepAsyncClient.consultar(cepLimpo);
+            requisicoes.add(requisicao);
+            if (resultado.isDone()) {
+                requisicao.cancel(true);
+            }
+
+            requisicao.whenComplete((response, erro) -> {
+                if (erro == null) {
+                    latencia.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                    if (resultado.complete(response) && hedge) {
+                        vitorias.increment();
+                    }
+                } else if (emAndamento.decrementAndGet() == 0) {
+                    resultado.completeExceptionally(erro);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas das consultas de CEP, com a tag origem (ver OrigemConsulta)
+ *
+ * - viacep.chamadas (timer com histograma de percentis): latência de cada chamada ao ViaCEP,
+ *   tags origem e resultado (encontrado, nao_encontrado, timeout, erro_io, erro_http, erro)
+ * - viacep.chamadas.resultado (contador): chamadas por origem e resultado,
+ *   incluindo circuito_aberto (rejeitada sem ir à rede)
+ * - viacep.chamadas.em.andamento (gauge): chamadas aguardando o ViaCEP, por origem
+ * - viacep.consultas.locais (contador): consultas respondidas sem rede, por origem e
+ *   fonte (offline, cache, cache_negativo)
+ *
+ * Consultas simultâneas ao mesmo CEP (SingleFlight) geram uma única chamada,
+ * registrada com a origem de quem a iniciou.
+ */
+@Component
+public class ViaCepMetricas {
+
+    static final String NOME_METRICA = "viacep";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<OrigemConsulta, AtomicInteger> emAndamento = new EnumMap<>(OrigemConsulta.class);
+
+    public ViaCepMetricas(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (OrigemConsulta origem : OrigemConsulta.values()) {
+            AtomicInteger contador = new AtomicInteger();
+            emAndamento.put(origem, contador);
+            Gauge.builder(NOME_METRICA + ".chamadas.em.andamento", contador, AtomicInteger::get)
+                    .description("Chamadas ao ViaCEP aguardando resposta")
+                    .tag("origem", origem.getTag())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Marca o início de uma chamada ao ViaCEP
+     * @return chamada a ser concluída com {@link Chamada#concluir} ou {@link Chamada#falhar}
+     */
+    public Chamada iniciarChamada(OrigemConsulta origem) {
+        emAndamento.get(origem).incrementAndGet();
+        return new Chamada(origem);
+    }
+
+    /**
+     * Registra consulta respondida pelo índice offline ou pelo cache
+     * @param fonte offline, cache ou cache_negativo
+     */
+    public void registrarConsultaLocal(OrigemConsulta origem, String fonte) {
+        Counter.builder(NOME_METRICA + ".consultas.locais")
+                .description("Consultas de CEP respondidas sem chamar o ViaCEP")
+                .tag("origem", origem.getTag())
+                .tag("fonte", fonte)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Classifica a falha de uma chamada ao ViaCEP
+     */
+    static String classificar(Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        if (causa instanceof CallNotPermittedException) {
+            return "circuito_aberto";
+        }
+        if (causa instanceof ResourceAccessException) {
+            // Timeouts de conexão, leitura e espera no pool são InterruptedIOException
+            return causa.getCause() instanceof InterruptedIOException ? "timeout" : "erro_io";
+        }
+        if (causa instanceof RestClientResponseException) {
+            return "erro_http";
+        }
+        return "erro";
+    }
+
+    /**
+     * Chamada em andamento: registra latência e resultado uma única vez
+     */
+    public final class Chamada {
+
+        private final OrigemConsulta origem;
+        private final long inicio = System.nanoTime();
+        private final AtomicBoolean concluida = new AtomicBoolean();
+
+        private Chamada(OrigemConsulta origem) {
+            this.origem = origem;
+        }
+
+        /**
+         * Resposta recebida ({"erro": true} ou corpo vazio contam como nao_encontrado)
+         */
+        public void concluir(ViaCepResponse response) {
+            concluir(response != null && !Boolean.TRUE.equals(response.getErro()));
+        }
+
+        /**
+         * Resposta recebida (busca por endereço: encontrado = pelo menos um resultado)
+         */
+        public void concluir(boolean encontrado) {
+            registrar(encontrado ? "encontrado" : "nao_encontrado");
+        }
+
+        public void falhar(Throwable erro) {
+            registrar(classificar(erro));
+        }
+
+        private void registrar(String resultado) {
+            if (!concluida.compareAndSet(false, true)) {
+                return;
+            }
+            emAndamento.get(origem).decrementAndGet();
+            long duracao = System.nanoTime() - inicio;
+
+            Counter.builder(NOME_METRICA + ".chamadas.resultado")
+                    .description("Chamadas ao ViaCEP por resultado")
+                    .tag("origem", origem.getTag())
+                    .tag("resultado", resultado)
+                    .register(meterRegistry)
+                    .increment();
+            if ("circuito_aberto".equals(resultado)) {
+                return; // Não foi à rede: não entra na latência
+            }
+            Timer.builder(NOME_METRICA + ".chamadas")
+                    .description("Latência das chamadas ao ViaCEP")
+                    .tag("origem", origem.getTag())
+                    .tag("resultado", resultado)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry)
+                    .record(duracao, TimeUnit.NANOSECONDS);
+        }
+    }
+}
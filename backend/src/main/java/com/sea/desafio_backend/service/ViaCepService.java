@@ -1,12 +1,25 @@
 package com.sea.desafio_backend.service;
 
+import com.sea.desafio_backend.config.ViaCepProperties;
 import com.sea.desafio_backend.dto.response.ViaCepResponse;
 import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.util.CepUtil;
+import com.sea.desafio_backend.util.FaixasCep;
+import com.sea.desafio_backend.util.SingleFlight;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Service para integração com API ViaCEP
  * Busca endereços completos a partir do CEP
@@ -16,59 +29,416 @@ import org.springframework.web.client.RestTemplate;
 @Slf4j // Lombok: Gera logger automático
 public class ViaCepService {
 
-    private static final String VIACEP_URL = "https://viacep.com.br/ws/{cep}/json/";
-    
     private final RestTemplate restTemplate;
+    private final String viaCepUrl;
+    private final CepCache cepCache;
+    private final CepOfflineService cepOfflineService;
+    private final CircuitBreaker circuitBreaker;
+    private final ViaCepHedgedClient viaCepHedgedClient;
+    private final ViaCepMetricas metricas;
+    private final SingleFlight<String, ViaCepResponse> chamadasEmAndamento = new SingleFlight<>();
 
     /**
      * Constructor Injection (melhor prática do Spring)
      * @param restTemplate Bean configurado em RestTemplateConfig
+     * @param properties Configuração do ViaCEP (URL em viacep.url)
+     * @param cepCache Cache em memória das consultas (positivas e negativas)
+     * @param cepOfflineService Índice offline de CEPs (consultado antes da rede)
+     * @param circuitBreaker Circuit breaker das chamadas ao ViaCEP (ViaCepCircuitBreakerConfig)
+     * @param viaCepHedgedClient Cliente HTTP não bloqueante com hedge opcional (usado por
+     *                           buscarEnderecoPorCepAsync e, com hedge habilitado, também pela busca síncrona)
+     * @param metricas Latência, resultados e chamadas em andamento, por origem da consulta
      */
-    public ViaCepService(RestTemplate restTemplate) {
+    public ViaCepService(RestTemplate restTemplate, ViaCepProperties properties, CepCache cepCache,
+                         CepOfflineService cepOfflineService, CircuitBreaker circuitBreaker,
+                         ViaCepHedgedClient viaCepHedgedClient, ViaCepMetricas metricas) {
         this.restTemplate = restTemplate;
+        this.viaCepUrl = properties.getUrl();
+        this.cepCache = cepCache;
+        this.cepOfflineService = cepOfflineService;
+        this.circuitBreaker = circuitBreaker;
+        this.viaCepHedgedClient = viaCepHedgedClient;
+        this.metricas = metricas;
     }
 
     /**
      * Busca endereço completo por CEP na API ViaCEP
+     * Consulta primeiro o índice offline (CepOfflineService) e o cache em memória (CepCache);
+     * a API ViaCEP só é chamada quando nenhum dos dois conhece o CEP. CEPs inexistentes
+     * também ficam em cache por um TTL curto.
+     * Consultas simultâneas ao mesmo CEP compartilham uma única requisição (SingleFlight).
+     * Com o ViaCEP fora (erro ou circuit breaker aberto), serve o último valor conhecido do CEP
      * 
      * @param cep CEP a ser consultado (aceita com ou sem máscara: "01001-000" ou "01001000")
      * @return ViaCepResponse com dados completos do endereço
      * @throws CepNotFoundException se CEP for inválido ou não encontrado
-     * @throws CepNotFoundException se houver erro de comunicação com API
+     * @throws CepNotFoundException se houver erro de comunicação com API e o CEP nunca foi encontrado antes
      */
     public ViaCepResponse buscarEnderecoPorCep(String cep) {
+        return buscarEnderecoPorCep(cep, OrigemConsulta.CONSULTA);
+    }
+
+    /**
+     * {@link #buscarEnderecoPorCep(String)} informando a origem da consulta (tag das métricas)
+     */
+    public ViaCepResponse buscarEnderecoPorCep(String cep, OrigemConsulta origem) {
         log.info("Buscando CEP na API ViaCEP: {}", cep);
         
         // Remove máscara do CEP (transforma "01001-000" em "01001000")
-        String cepLimpo = removerMascara(cep);
+        String cepLimpo = CepUtil.removerMascara(cep);
         
-        // Valida formato do CEP (deve ter exatamente 8 dígitos)
+        // Valida formato do CEP (deve ter exatamente 8 dígitos) e a faixa de CEP
         validarFormatoCep(cepLimpo);
+        validarFaixaCep(cep, cepLimpo, origem);
+
+        // Índice offline ou cache hit: evita a chamada de rede
+        ViaCepResponse local = buscarLocalmente(cep, cepLimpo, origem);
+        if (local != null) {
+            return local;
+        }
+
+        // Chamadas concorrentes para o mesmo CEP compartilham uma única requisição
+        return chamadasEmAndamento.executar(cepLimpo, () -> {
+            // Outra chamada pode ter preenchido o cache entre a consulta acima e este ponto;
+            // a tabela cep_cache já foi lida acima, então basta conferir a memória
+            ViaCepResponse preenchidoPorOutraChamada =
+                    respostaDoCache(cep, cepCache.buscarEmMemoria(cepLimpo), origem);
+            if (preenchidoPorOutraChamada != null) {
+                return preenchidoPorOutraChamada;
+            }
+            return consultarViaCep(cep, cepLimpo, origem);
+        });
+    }
+
+    /**
+     * Versão não bloqueante de {@link #buscarEnderecoPorCep}
+     * Mesmo fluxo (offline, cache, SingleFlight, circuit breaker, último valor conhecido),
+     * mas a chamada ao ViaCEP usa o cliente assíncrono: nenhuma thread fica parada
+     * esperando a resposta. Índice offline e cache em memória respondem com o future já
+     * completo; as leituras da tabela cep_cache (segundo nível e último valor conhecido)
+     * rodam no taskExecutor, sem JDBC na thread chamadora.
+     *
+     * @param cep CEP a ser consultado (aceita com ou sem máscara)
+     * @return future com o endereço; falha com CepNotFoundException ou IllegalArgumentException
+     */
+    public CompletableFuture<ViaCepResponse> buscarEnderecoPorCepAsync(String cep) {
+        return buscarEnderecoPorCepAsync(cep, OrigemConsulta.CONSULTA);
+    }
 
+    /**
+     * {@link #buscarEnderecoPorCepAsync(String)} informando a origem da consulta (tag das métricas)
+     */
+    public CompletableFuture<ViaCepResponse> buscarEnderecoPorCepAsync(String cep, OrigemConsulta origem) {
+        log.info("Buscando CEP na API ViaCEP (assíncrono): {}", cep);
+
+        String cepLimpo = CepUtil.removerMascara(cep);
+        try {
+            validarFormatoCep(cepLimpo);
+            validarFaixaCep(cep, cepLimpo, origem);
+
+            ViaCepResponse offline = buscarOffline(cep, cepLimpo, origem);
+            if (offline != null) {
+                return CompletableFuture.completedFuture(offline);
+            }
+            ViaCepResponse emMemoria = respostaDoCache(cep, cepCache.buscarEmMemoria(cepLimpo), origem);
+            if (emMemoria != null) {
+                return CompletableFuture.completedFuture(emMemoria);
+            }
+        } catch (RuntimeException e) {
+            CompletableFuture<ViaCepResponse> falha = new CompletableFuture<>();
+            falha.completeExceptionally(e);
+            return falha;
+        }
+
+        // Falta em memória: tabela cep_cache (no taskExecutor) e, sem ela, o ViaCEP
+        // Exceções lançadas aqui (cache negativo) viram falha do future no SingleFlight
+        return chamadasEmAndamento.executarAsync(cepLimpo, () -> cepCache.buscarAsync(cepLimpo)
+                .thenCompose(emCache -> {
+                    ViaCepResponse armazenado = respostaDoCache(cep, emCache, origem);
+                    return armazenado != null
+                            ? CompletableFuture.completedFuture(armazenado)
+                            : consultarViaCepAsync(cep, cepLimpo, origem);
+                }));
+    }
+
+    /**
+     * Consulta apenas o índice offline e o cache em memória, sem chamar o ViaCEP
+     * Usado pela consulta em lote para responder na hora os CEPs já conhecidos
+     *
+     * @param cep CEP a ser consultado (aceita com ou sem máscara)
+     * @return endereço conhecido localmente ou vazio se for preciso consultar o ViaCEP
+     * @throws IllegalArgumentException se o CEP tiver formato inválido
+     * @throws CepNotFoundException se o CEP estiver no cache negativo
+     */
+    public Optional<ViaCepResponse> buscarEnderecoConhecido(String cep) {
+        return buscarEnderecoConhecido(cep, OrigemConsulta.CONSULTA);
+    }
+
+    /**
+     * {@link #buscarEnderecoConhecido(String)} informando a origem da consulta (tag das métricas)
+     */
+    public Optional<ViaCepResponse> buscarEnderecoConhecido(String cep, OrigemConsulta origem) {
+        String cepLimpo = CepUtil.removerMascara(cep);
+        validarFormatoCep(cepLimpo);
+        validarFaixaCep(cep, cepLimpo, origem);
+        return Optional.ofNullable(buscarLocalmente(cep, cepLimpo, origem));
+    }
+
+    /**
+     * Consulta apenas o índice offline e o cache em memória, sem banco nem ViaCEP
+     * Usado pela consulta em lote junto com {@link #carregarCacheCompartilhado}
+     *
+     * @param cep CEP a ser consultado (aceita com ou sem máscara)
+     * @return endereço conhecido em memória ou vazio
+     * @throws IllegalArgumentException se o CEP tiver formato inválido
+     * @throws CepNotFoundException se o CEP estiver no cache negativo
+     */
+    public Optional<ViaCepResponse> buscarEnderecoEmMemoria(String cep, OrigemConsulta origem) {
+        String cepLimpo = CepUtil.removerMascara(cep);
+        validarFormatoCep(cepLimpo);
+        validarFaixaCep(cep, cepLimpo, origem);
+        ViaCepResponse offline = buscarOffline(cep, cepLimpo, origem);
+        if (offline != null) {
+            return Optional.of(offline);
+        }
+        return Optional.ofNullable(respostaDoCache(cep, cepCache.buscarEmMemoria(cepLimpo), origem));
+    }
+
+    /**
+     * Traz para o cache em memória, com uma única consulta à tabela cep_cache, os CEPs
+     * informados que estiverem lá
+     * @param ceps CEPs com ou sem máscara
+     */
+    public void carregarCacheCompartilhado(Collection<String> ceps) {
+        cepCache.carregarDoCompartilhado(ceps.stream().map(CepUtil::removerMascara).collect(Collectors.toList()));
+    }
+
+    /**
+     * Consulta o CEP direto no ViaCEP, sem índice offline, cache nem último valor conhecido
+     * Usado pela revalidação dos endereços, que precisa da resposta atual do ViaCEP.
+     * A resposta atualiza os caches (memória e tabela cep_cache) como uma consulta normal.
+     *
+     * @param cep CEP a ser consultado (aceita com ou sem máscara)
+     * @param origem Origem da consulta (tag das métricas)
+     * @return Endereço atual do ViaCEP
+     * @throws CepNotFoundException sem causa se o CEP não existe; com causa se a comunicação
+     *         falhou ou o circuito está aberto (nesse caso nada deve ser alterado)
+     */
+    public ViaCepResponse consultarViaCepDireto(String cep, OrigemConsulta origem) {
+        String cepLimpo = CepUtil.removerMascara(cep);
+        validarFormatoCep(cepLimpo);
+        validarFaixaCep(cep, cepLimpo, origem);
+
+        ViaCepMetricas.Chamada chamada = metricas.iniciarChamada(origem);
+        ViaCepResponse response;
+        try {
+            response = circuitBreaker.executeSupplier(() -> chamar(cepLimpo));
+        } catch (CallNotPermittedException | RestClientException e) {
+            chamada.falhar(e);
+            log.warn("ViaCEP indisponível para o CEP {}: {}", cep, e.getMessage());
+            throw new CepNotFoundException(cep, e);
+        } catch (RuntimeException e) {
+            chamada.falhar(e);
+            throw e;
+        }
+        chamada.concluir(response);
+        return tratarResposta(cep, cepLimpo, response);
+    }
+
+    /**
+     * Recusa sem chamada de rede CEPs que não pertencem a nenhuma UF (FaixasCep)
+     * @throws CepNotFoundException mesmo resultado que o ViaCEP daria ({"erro": true})
+     */
+    private void validarFaixaCep(String cep, String cepLimpo, OrigemConsulta origem) {
+        if (!FaixasCep.existe(cepLimpo)) {
+            log.warn("CEP fora das faixas de CEP do Brasil: {}", cep);
+            metricas.registrarConsultaLocal(origem, "faixa_invalida");
+            throw new CepNotFoundException(cep);
+        }
+    }
+
+    /**
+     * Consulta o índice offline e depois o cache em memória
+     * @return endereço conhecido localmente ou null se for preciso consultar o ViaCEP
+     * @throws CepNotFoundException se o CEP estiver no cache negativo
+     */
+    private ViaCepResponse buscarLocalmente(String cep, String cepLimpo, OrigemConsulta origem) {
+        ViaCepResponse offline = buscarOffline(cep, cepLimpo, origem);
+        return offline != null ? offline : buscarNoCache(cep, cepLimpo, origem);
+    }
+
+    /**
+     * Índice offline: responde sem rede para CEPs presentes no arquivo
+     * @return endereço do índice ou null se o CEP não estiver nele
+     */
+    private ViaCepResponse buscarOffline(String cep, String cepLimpo, OrigemConsulta origem) {
+        Optional<ViaCepResponse> offline = cepOfflineService.buscar(cepLimpo);
+        if (!offline.isPresent()) {
+            return null;
+        }
+        log.debug("CEP encontrado no índice offline: {}", cep);
+        metricas.registrarConsultaLocal(origem, "offline");
+        return offline.get();
+    }
+
+    /**
+     * Consulta o cache (memória e tabela cep_cache)
+     * @return endereço em cache ou null se não houver entrada
+     * @throws CepNotFoundException se o CEP estiver no cache negativo
+     */
+    private ViaCepResponse buscarNoCache(String cep, String cepLimpo, OrigemConsulta origem) {
+        return respostaDoCache(cep, cepCache.buscar(cepLimpo), origem);
+    }
+
+    /**
+     * @return endereço da entrada do cache ou null se não houver entrada
+     * @throws CepNotFoundException se a entrada for do cache negativo
+     */
+    private ViaCepResponse respostaDoCache(String cep, Optional<CepCache.Entrada> emCache, OrigemConsulta origem) {
+        if (!emCache.isPresent()) {
+            return null;
+        }
+        if (emCache.get().isNaoEncontrado()) {
+            log.debug("CEP inexistente (cache negativo): {}", cep);
+            metricas.registrarConsultaLocal(origem, "cache_negativo");
+            throw new CepNotFoundException(cep);
+        }
+        log.debug("CEP encontrado no cache: {}", cep);
+        metricas.registrarConsultaLocal(origem, "cache");
+        return emCache.get().getResponse();
+    }
+
+    /**
+     * Faz a requisição HTTP ao ViaCEP (protegida pelo circuit breaker) e atualiza o cache
+     * Em falha de comunicação ou circuito aberto, serve o último valor conhecido do CEP
+     * Com hedge habilitado (viacep.hedge.habilitado), usa o cliente com hedge e aguarda a resposta
+     */
+    private ViaCepResponse consultarViaCep(String cep, String cepLimpo, OrigemConsulta origem) {
+        ViaCepMetricas.Chamada chamada = metricas.iniciarChamada(origem);
+        ViaCepResponse response;
         try {
             // Faz requisição GET para API ViaCEP
             // {cep} na URL é substituído pelo valor de cepLimpo
-            ViaCepResponse response = restTemplate.getForObject(
-                VIACEP_URL, 
-                ViaCepResponse.class, 
-                cepLimpo
-            );
-
-            // Verifica se API retornou erro (CEP não encontrado)
-            // ViaCEP retorna {"erro": true} quando CEP não existe
-            if (response == null || Boolean.TRUE.equals(response.getErro())) {
-                log.warn("CEP não encontrado na base do ViaCEP: {}", cep);
-                throw new CepNotFoundException(cep);
+            response = circuitBreaker.executeSupplier(() -> chamar(cepLimpo));
+        } catch (CallNotPermittedException | RestClientException e) {
+            chamada.falhar(e);
+            return tratarFalha(cep, cepLimpo, e);
+        } catch (RuntimeException e) {
+            chamada.falhar(e);
+            throw e;
+        }
+        chamada.concluir(response);
+        return tratarResposta(cep, cepLimpo, response);
+    }
+
+    /**
+     * Requisição HTTP ao ViaCEP; com hedge habilitado (viacep.hedge.habilitado), usa o
+     * cliente com hedge e aguarda a resposta
+     */
+    private ViaCepResponse chamar(String cepLimpo) {
+        return viaCepHedgedClient.isHabilitado()
+                ? aguardar(viaCepHedgedClient.consultar(cepLimpo))
+                : restTemplate.getForObject(viaCepUrl, ViaCepResponse.class, cepLimpo);
+    }
+
+    /**
+     * Versão assíncrona de {@link #consultarViaCep}: o circuit breaker mede a chamada até
+     * a conclusão do future, e o tratamento da resposta roda na thread que a completou
+     * (o último valor conhecido, em caso de falha, é lido no taskExecutor)
+     */
+    private CompletableFuture<ViaCepResponse> consultarViaCepAsync(String cep, String cepLimpo,
+                                                                  OrigemConsulta origem) {
+        ViaCepMetricas.Chamada chamada = metricas.iniciarChamada(origem);
+        return circuitBreaker.executeCompletionStage(() -> viaCepHedgedClient.consultar(cepLimpo))
+                .toCompletableFuture()
+                .handle((response, erro) -> {
+                    if (erro != null) {
+                        chamada.falhar(erro);
+                        RuntimeException causa = falhaDeComunicacao(cep, erro);
+                        return cepCache.buscarUltimoValorConhecidoAsync(cepLimpo)
+                                .thenApply(obsoleto -> servirUltimoValorConhecido(cep, obsoleto, causa));
+                    }
+                    chamada.concluir(response);
+                    return CompletableFuture.completedFuture(tratarResposta(cep, cepLimpo, response));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Aguarda o future do cliente assíncrono, relançando a RestClientException original
+     */
+    private static ViaCepResponse aguardar(CompletableFuture<ViaCepResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw e;
+        }
+    }
 
-            log.info("CEP encontrado com sucesso: {} - {}/{}", cep, response.getLocalidade(), response.getUf());
-            return response;
+    /**
+     * Atualiza o cache com a resposta do ViaCEP
+     * @throws CepNotFoundException se o ViaCEP responder {"erro": true}
+     */
+    private ViaCepResponse tratarResposta(String cep, String cepLimpo, ViaCepResponse response) {
+        // Verifica se API retornou erro (CEP não encontrado)
+        // ViaCEP retorna {"erro": true} quando CEP não existe
+        if (response == null || Boolean.TRUE.equals(response.getErro())) {
+            log.warn("CEP não encontrado na base do ViaCEP: {}", cep);
+            cepCache.armazenarNaoEncontrado(cepLimpo);
+            throw new CepNotFoundException(cep);
+        }
 
-        } catch (RestClientException e) {
-            // Captura erros de rede, timeout, etc
-            log.error("Erro ao comunicar com API ViaCEP para o CEP: {}", cep, e);
-            throw new CepNotFoundException(cep, e);
+        log.info("CEP encontrado com sucesso: {} - {}/{}", cep, response.getLocalidade(), response.getUf());
+        cepCache.armazenar(cepLimpo, response);
+        return response;
+    }
+
+    /**
+     * Trata falha da chamada ao ViaCEP servindo o último valor conhecido do CEP
+     * Exceções que não são de comunicação (bugs) são propagadas sem fallback
+     */
+    private ViaCepResponse tratarFalha(String cep, String cepLimpo, Throwable erro) {
+        RuntimeException causa = falhaDeComunicacao(cep, erro);
+        return servirUltimoValorConhecido(cep, cepCache.buscarUltimoValorConhecido(cepLimpo), causa);
+    }
+
+    /**
+     * @return a falha de comunicação (erro de rede ou circuito aberto), já registrada no log
+     * @throws RuntimeException a própria exceção, se não for de comunicação
+     */
+    private static RuntimeException falhaDeComunicacao(String cep, Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+
+        if (causa instanceof CallNotPermittedException) {
+            // Circuito aberto: falha rápido, sem ocupar a thread pelo timeout de leitura
+            log.warn("Circuit breaker do ViaCEP aberto, CEP não consultado: {}", cep);
+            return (RuntimeException) causa;
+        }
+        if (causa instanceof RestClientException) {
+            // Captura erros de rede, timeout, etc (não entram no cache: são transitórios)
+            log.error("Erro ao comunicar com API ViaCEP para o CEP: {}", cep, causa);
+            return (RuntimeException) causa;
+        }
+        if (causa instanceof RuntimeException) {
+            throw (RuntimeException) causa;
         }
+        throw new CompletionException(causa);
+    }
+
+    /**
+     * Fallback para ViaCEP indisponível: último valor conhecido do CEP, mesmo após o TTL
+     * @throws CepNotFoundException se o CEP nunca foi encontrado antes
+     */
+    private ViaCepResponse servirUltimoValorConhecido(String cep, Optional<ViaCepResponse> obsoleto,
+                                                      RuntimeException causa) {
+        if (obsoleto.isPresent()) {
+            log.warn("ViaCEP indisponível, servindo último valor conhecido do CEP: {}", cep);
+            return obsoleto.get();
+        }
+        throw new CepNotFoundException(cep, causa);
     }
 
     /**
@@ -83,7 +453,7 @@ public class ViaCepService {
             throw new IllegalArgumentException("CEP não pode ser nulo ou vazio");
         }
         
-        String cepLimpo = removerMascara(cep);
+        String cepLimpo = CepUtil.removerMascara(cep);
         
         if (cepLimpo.length() != 8) {
             log.warn("CEP com formato inválido (deve ter 8 dígitos): {}", cep);
@@ -92,18 +462,4 @@ public class ViaCepService {
         
         return true;
     }
-
-    /**
-     * Remove máscara do CEP (mantém apenas números)
-     * Exemplo: "01001-000" vira "01001000"
-     * 
-     * @param cep CEP com ou sem máscara
-     * @return CEP apenas com números
-     */
-    private String removerMascara(String cep) {
-        if (cep == null) {
-            return "";
-        }
-        return cep.replaceAll("[^0-9]", "");
-    }
 }
@@ -0,0 +1,181 @@
+package com.sea.desafio_backend.util;
+
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Índice binário de CEPs mapeado em memória (somente leitura)
+ *
+ * Formato do arquivo (big-endian), gerado por {@link CepIndexBuilder}:
+ * <pre>
+ * Cabeçalho (16 bytes)
+ *   int magic        "CEPX"
+ *   int versao       1
+ *   int registros    quantidade de CEPs
+ *   int strings      quantidade de strings distintas
+ * Registros (24 bytes cada, ordenados por CEP)
+ *   int cep          8 dígitos como inteiro (01001000 → 1001000)
+ *   int logradouro   índice na tabela de strings (-1 = vazio)
+ *   int complemento
+ *   int bairro
+ *   int localidade
+ *   int uf
+ * Tabela de strings (cada string distinta aparece uma única vez)
+ *   short tamanho + bytes UTF-8
+ * </pre>
+ *
+ * A busca é binária direto sobre o buffer mapeado: nenhuma alocação além do
+ * ViaCepResponse retornado. As strings são decodificadas uma única vez na
+ * abertura, então UF e localidade repetidas apontam para a mesma instância.
+ */
+public final class CepIndex {
+
+    static final int MAGIC = 0x43455058; // "CEPX"
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 16;
+    static final int TAMANHO_REGISTRO = 24;
+    static final int SEM_VALOR = -1;
+
+    private final ByteBuffer registros;
+    private final int quantidade;
+    private final String[] strings;
+
+    private CepIndex(ByteBuffer registros, int quantidade, String[] strings) {
+        this.registros = registros;
+        this.quantidade = quantidade;
+        this.strings = strings;
+    }
+
+    /**
+     * Abre o arquivo de índice mapeando-o em memória
+     * @param arquivo Arquivo gerado por CepIndexBuilder
+     * @throws IOException se o arquivo não existir ou estiver em formato inválido
+     */
+    public static CepIndex abrir(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+            if (mapa.remaining() < TAMANHO_CABECALHO || mapa.getInt(0) != MAGIC) {
+                throw new IOException("Arquivo não é um índice de CEP válido: " + arquivo);
+            }
+            if (mapa.getInt(4) != VERSAO) {
+                throw new IOException("Versão de índice de CEP não suportada: " + mapa.getInt(4));
+            }
+
+            int quantidade = mapa.getInt(8);
+            int quantidadeStrings = mapa.getInt(12);
+            // Arquivo truncado ou cabeçalho corrompido: as contagens não cabem no tamanho do arquivo
+            // (cada string ocupa ao menos os 2 bytes do tamanho)
+            long fimRegistrosEsperado = TAMANHO_CABECALHO + (long) quantidade * TAMANHO_REGISTRO;
+            if (quantidade < 0 || quantidadeStrings < 0
+                    || fimRegistrosEsperado + 2L * quantidadeStrings > canal.size()) {
+                throw new IOException("Índice de CEP truncado ou corrompido (" + quantidade + " registros, "
+                        + quantidadeStrings + " strings, " + canal.size() + " bytes): " + arquivo);
+            }
+            int fimRegistros = (int) fimRegistrosEsperado;
+
+            // Tabela de strings: decodificada uma única vez
+            String[] strings = new String[quantidadeStrings];
+            ByteBuffer tabela = mapa.duplicate();
+            tabela.position(fimRegistros);
+            try {
+                for (int i = 0; i < quantidadeStrings; i++) {
+                    byte[] bytes = new byte[tabela.getShort() & 0xFFFF];
+                    tabela.get(bytes);
+                    strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Tabela de strings do índice de CEP truncada: " + arquivo, e);
+            }
+
+            ByteBuffer registros = mapa.duplicate();
+            registros.position(TAMANHO_CABECALHO);
+            registros.limit(fimRegistros);
+            return new CepIndex(registros.slice(), quantidade, strings);
+        }
+    }
+
+    /**
+     * Busca CEP no índice
+     * @param cep CEP com 8 dígitos como inteiro
+     * @return endereço no formato ViaCEP ou null se o CEP não estiver no índice
+     */
+    public ViaCepResponse buscar(int cep) {
+        int posicao = posicaoDe(cep);
+        if (posicao < 0) {
+            return null;
+        }
+        int base = posicao * TAMANHO_REGISTRO;
+
+        ViaCepResponse response = new ViaCepResponse();
+        response.setCep(CepIndexBuilder.formatarCep(cep));
+        response.setLogradouro(string(registros.getInt(base + 4)));
+        response.setComplemento(string(registros.getInt(base + 8)));
+        response.setBairro(string(registros.getInt(base + 12)));
+        response.setLocalidade(string(registros.getInt(base + 16)));
+        response.setUf(string(registros.getInt(base + 20)));
+        return response;
+    }
+
+    public boolean contem(int cep) {
+        return posicaoDe(cep) >= 0;
+    }
+
+    public int quantidade() {
+        return quantidade;
+    }
+
+    public int quantidadeStrings() {
+        return strings.length;
+    }
+
+    /**
+     * Busca binária sobre os registros ordenados (leituras absolutas: thread-safe)
+     */
+    private int posicaoDe(int cep) {
+        int inicio = 0;
+        int fim = quantidade - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int atual = registros.getInt(meio * TAMANHO_REGISTRO);
+            if (atual < cep) {
+                inicio = meio + 1;
+            } else if (atual > cep) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -1;
+    }
+
+    private String string(int indice) {
+        return indice == SEM_VALOR ? "" : strings[indice];
+    }
+
+    /**
+     * Converte CEP sem máscara ("01001000") para inteiro
+     * @return CEP como inteiro ou -1 se não tiver exatamente 8 dígitos
+     */
+    public static int cepParaInt(String cepLimpo) {
+        if (cepLimpo == null || cepLimpo.length() != 8) {
+            return -1;
+        }
+        int valor = 0;
+        for (int i = 0; i < 8; i++) {
+            char c = cepLimpo.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+}
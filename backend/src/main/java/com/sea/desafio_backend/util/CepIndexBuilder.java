@@ -0,0 +1,246 @@
+package com.sea.desafio_backend.util;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ferramenta de (re)construção do índice offline de CEPs ({@link CepIndex})
+ *
+ * Entrada: CSV separado por ';' com cabeçalho contendo as colunas
+ * cep;logradouro;complemento;bairro;localidade;uf (em qualquer ordem).
+ * CEPs podem vir com ou sem máscara; CEPs repetidos mantêm a última linha.
+ *
+ * Uso (a partir de backend/, após mvn package):
+ * <pre>
+ * java -cp target/classes com.sea.desafio_backend.util.CepIndexBuilder ceps.csv ceps.idx
+ * </pre>
+ * O arquivo de destino é escrito em um temporário e movido ao final,
+ * então um índice antigo nunca fica parcialmente sobrescrito.
+ */
+public final class CepIndexBuilder {
+
+    private static final String[] COLUNAS = {"cep", "logradouro", "complemento", "bairro", "localidade", "uf"};
+
+    private CepIndexBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CepIndexBuilder <entrada.csv> <saida.idx>");
+            System.exit(1);
+        }
+        long inicio = System.nanoTime();
+        Resultado resultado;
+        try (Reader csv = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            resultado = construir(csv, Paths.get(args[1]));
+        }
+        System.out.printf("Índice gerado: %d CEPs, %d strings distintas, %d linhas ignoradas (%d ms)%n",
+                resultado.getRegistros(), resultado.getStrings(), resultado.getIgnoradas(),
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Lê o CSV e grava o índice binário
+     * @param csv Conteúdo CSV (com cabeçalho)
+     * @param destino Arquivo de índice a ser criado/substituído
+     * @return estatísticas da construção
+     */
+    public static Resultado construir(Reader csv, Path destino) throws IOException {
+        BufferedReader leitor = csv instanceof BufferedReader ? (BufferedReader) csv : new BufferedReader(csv);
+
+        String cabecalho = leitor.readLine();
+        if (cabecalho == null) {
+            throw new IOException("CSV vazio: cabeçalho não encontrado");
+        }
+        int[] posicoes = mapearColunas(dividir(removerBom(cabecalho)));
+
+        // Ordenado por CEP (requisito da busca binária)
+        TreeMap<Integer, String[]> registros = new TreeMap<>();
+        int ignoradas = 0;
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            if (linha.trim().isEmpty()) {
+                continue;
+            }
+            List<String> campos = dividir(linha);
+            int cep = CepIndex.cepParaInt(somenteDigitos(campo(campos, posicoes[0])));
+            if (cep < 0) {
+                ignoradas++;
+                continue;
+            }
+            String[] valores = new String[COLUNAS.length - 1];
+            for (int i = 1; i < COLUNAS.length; i++) {
+                valores[i - 1] = campo(campos, posicoes[i]);
+            }
+            registros.put(cep, valores);
+        }
+
+        // Tabela de strings deduplicada (UF, localidade e bairro se repetem muito)
+        Map<String, Integer> indiceStrings = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+
+        Path temporario = Files.createTempFile(destino.toAbsolutePath().getParent(), "ceps", ".tmp");
+        try (OutputStream arquivo = Files.newOutputStream(temporario);
+             DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(arquivo, 1 << 16))) {
+
+            saida.writeInt(CepIndex.MAGIC);
+            saida.writeInt(CepIndex.VERSAO);
+            saida.writeInt(registros.size());
+            saida.writeInt(0); // Quantidade de strings: preenchida ao final
+
+            for (Map.Entry<Integer, String[]> registro : registros.entrySet()) {
+                saida.writeInt(registro.getKey());
+                for (String valor : registro.getValue()) {
+                    saida.writeInt(indiceDe(valor, indiceStrings, strings));
+                }
+            }
+
+            for (String valor : strings) {
+                byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+                saida.writeShort(Math.min(bytes.length, 0xFFFF));
+                saida.write(bytes, 0, Math.min(bytes.length, 0xFFFF));
+            }
+        }
+
+        // Atualiza quantidade de strings no cabeçalho
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.allocate(4).putInt(0, strings.size()), 12);
+        }
+
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Resultado(registros.size(), strings.size(), ignoradas);
+    }
+
+    /**
+     * Formata CEP inteiro com máscara (1001000 → "01001-000")
+     */
+    public static String formatarCep(int cep) {
+        char[] c = new char[9];
+        for (int i = 8; i >= 0; i--) {
+            if (i == 5) {
+                c[i] = '-';
+                continue;
+            }
+            c[i] = (char) ('0' + cep % 10);
+            cep /= 10;
+        }
+        return new String(c);
+    }
+
+    private static int indiceDe(String valor, Map<String, Integer> indiceStrings, List<String> strings) {
+        if (valor == null || valor.isEmpty()) {
+            return CepIndex.SEM_VALOR;
+        }
+        Integer indice = indiceStrings.get(valor);
+        if (indice == null) {
+            indice = strings.size();
+            strings.add(valor);
+            indiceStrings.put(valor, indice);
+        }
+        return indice;
+    }
+
+    private static int[] mapearColunas(List<String> cabecalho) throws IOException {
+        int[] posicoes = new int[COLUNAS.length];
+        for (int i = 0; i < COLUNAS.length; i++) {
+            posicoes[i] = cabecalho.indexOf(COLUNAS[i]);
+        }
+        if (posicoes[0] < 0) {
+            throw new IOException("CSV sem coluna obrigatória 'cep'. Cabeçalho: " + cabecalho);
+        }
+        return posicoes;
+    }
+
+    private static String campo(List<String> campos, int posicao) {
+        if (posicao < 0 || posicao >= campos.size()) {
+            return "";
+        }
+        return campos.get(posicao).trim();
+    }
+
+    /**
+     * Divide linha CSV por ';' respeitando campos entre aspas duplas
+     */
+    private static List<String> dividir(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if (c == ';' && !entreAspas) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private static String somenteDigitos(String valor) {
+        StringBuilder digitos = new StringBuilder(8);
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    private static String removerBom(String linha) {
+        return linha.startsWith("\uFEFF") ? linha.substring(1) : linha;
+    }
+
+    /**
+     * Estatísticas da construção do índice
+     */
+    public static final class Resultado {
+        private final int registros;
+        private final int strings;
+        private final int ignoradas;
+
+        Resultado(int registros, int strings, int ignoradas) {
+            this.registros = registros;
+            this.strings = strings;
+            this.ignoradas = ignoradas;
+        }
+
+        public int getRegistros() {
+            return registros;
+        }
+
+        public int getStrings() {
+            return strings;
+        }
+
+        public int getIgnoradas() {
+            return ignoradas;
+        }
+    }
+}
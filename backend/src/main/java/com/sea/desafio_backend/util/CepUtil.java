@@ -0,0 +1,25 @@
+package com.sea.desafio_backend.util;
+
+/**
+ * Utilitário para manipulação de CEP
+ * Conversão do CEP para inteiro fica em {@link CepIndex#cepParaInt(String)}
+ */
+public final class CepUtil {
+
+    private CepUtil() {
+    }
+
+    /**
+     * Remove máscara do CEP (mantém apenas números)
+     * Exemplo: "01001-000" vira "01001000"
+     *
+     * @param cep CEP com ou sem máscara
+     * @return CEP apenas com números ("" se nulo)
+     */
+    public static String removerMascara(String cep) {
+        if (cep == null) {
+            return "";
+        }
+        return cep.replaceAll("[^0-9]", "");
+    }
+}
@@ -0,0 +1,158 @@
+package com.sea.desafio_backend.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Criptografia do CPF em repouso e índice cego (blind index) para as buscas
+ *
+ * - cifrar / decifrar: AES-256-GCM com IV aleatório; o texto gravado é Base64(IV + cifra + tag).
+ *   O mesmo CPF gera cifras diferentes a cada gravação, então a coluna cifrada não serve para busca
+ * - indice: HMAC-SHA256 dos 11 dígitos, truncado nos primeiros 64 bits. Determinístico, é a chave
+ *   das buscas e da unicidade (coluna cpf_hash, BIGINT indexado como era o cpf_num). Sem a chave
+ *   não dá para recalcular, então o índice não revela o CPF. Com 64 bits, mesmo entre todos os
+ *   ~10^9 CPFs válidos a chance de existir um único par com o mesmo índice é de cerca de 3%.
+ *
+ * As chaves são lidas uma vez (SecretKeySpec); Mac e Cipher são criados uma vez por thread e
+ * reaproveitados, e o HMAC roda sobre buffers da própria thread: o índice não aloca.
+ * Instâncias são thread-safe.
+ */
+public class CpfCriptografia {
+
+    private static final String ALGORITMO_CIFRA = "AES/GCM/NoPadding";
+    private static final String ALGORITMO_INDICE = "HmacSHA256";
+    private static final int TAMANHO_CHAVE = 32;
+    private static final int TAMANHO_IV = 12;
+    private static final int TAMANHO_TAG_BITS = 128;
+
+    /** Maior texto gravado sem cifra (CPF com máscara): linhas anteriores à criptografia */
+    private static final int TAMANHO_MAXIMO_TEXTO_CLARO = 14;
+
+    private final SecretKeySpec chaveCifra;
+    private final SecretKeySpec chaveIndice;
+    private final SecureRandom random = new SecureRandom();
+
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<Cipher> cifras;
+    private final ThreadLocal<byte[]> digitos = ThreadLocal.withInitial(() -> new byte[11]);
+    private final ThreadLocal<byte[]> resumos = ThreadLocal.withInitial(() -> new byte[32]);
+
+    /**
+     * @param chaveCifra Chave AES de 32 bytes
+     * @param chaveIndice Chave do HMAC de 32 bytes (diferente da chave de cifra)
+     */
+    public CpfCriptografia(byte[] chaveCifra, byte[] chaveIndice) {
+        validarChave(chaveCifra, "cifra");
+        validarChave(chaveIndice, "índice");
+        this.chaveCifra = new SecretKeySpec(chaveCifra, "AES");
+        this.chaveIndice = new SecretKeySpec(chaveIndice, ALGORITMO_INDICE);
+        this.macs = ThreadLocal.withInitial(this::novoMac);
+        this.cifras = ThreadLocal.withInitial(CpfCriptografia::novaCifra);
+        // Falha na inicialização, e não na primeira gravação, se o provedor não suportar os algoritmos
+        novoMac();
+        novaCifra();
+    }
+
+    /**
+     * Índice cego do CPF
+     * @param cpfNum CPF como número (ver CpfUtil.paraNumero)
+     * @return Primeiros 64 bits do HMAC-SHA256 dos 11 dígitos
+     */
+    public long indice(long cpfNum) {
+        byte[] entrada = digitos.get();
+        long resto = cpfNum;
+        for (int i = entrada.length - 1; i >= 0; i--) {
+            entrada[i] = (byte) ('0' + (int) (resto % 10));
+            resto /= 10;
+        }
+        byte[] resumo = resumos.get();
+        Mac mac = macs.get();
+        try {
+            mac.update(entrada);
+            mac.doFinal(resumo, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao calcular o índice do CPF", e);
+        }
+        long indice = 0;
+        for (int i = 0; i < 8; i++) {
+            indice = (indice << 8) | (resumo[i] & 0xFF);
+        }
+        return indice;
+    }
+
+    /**
+     * @param cpf CPF em texto claro (com máscara)
+     * @return Base64(IV + cifra + tag)
+     */
+    public String cifrar(String cpf) {
+        byte[] iv = new byte[TAMANHO_IV];
+        random.nextBytes(iv);
+        try {
+            Cipher cifra = cifras.get();
+            cifra.init(Cipher.ENCRYPT_MODE, chaveCifra, new GCMParameterSpec(TAMANHO_TAG_BITS, iv));
+            byte[] texto = cpf.getBytes(StandardCharsets.UTF_8);
+            byte[] saida = new byte[TAMANHO_IV + cifra.getOutputSize(texto.length)];
+            System.arraycopy(iv, 0, saida, 0, TAMANHO_IV);
+            cifra.doFinal(texto, 0, texto.length, saida, TAMANHO_IV);
+            return Base64.getEncoder().encodeToString(saida);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao cifrar o CPF", e);
+        }
+    }
+
+    /**
+     * @param cifrado Texto gerado por cifrar
+     * @return CPF em texto claro
+     * @throws IllegalStateException se o texto foi adulterado ou cifrado com outra chave
+     */
+    public String decifrar(String cifrado) {
+        byte[] entrada = Base64.getDecoder().decode(cifrado);
+        try {
+            Cipher cifra = cifras.get();
+            cifra.init(Cipher.DECRYPT_MODE, chaveCifra, new GCMParameterSpec(TAMANHO_TAG_BITS, entrada, 0, TAMANHO_IV));
+            byte[] texto = cifra.doFinal(entrada, TAMANHO_IV, entrada.length - TAMANHO_IV);
+            return new String(texto, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao decifrar o CPF", e);
+        }
+    }
+
+    /**
+     * @return true se o valor gravado já está cifrado; false para CPF em texto claro
+     *         (linhas gravadas antes da criptografia, ver ClienteCpfMigracao)
+     */
+    public static boolean estaCifrado(String valor) {
+        return valor != null && valor.length() > TAMANHO_MAXIMO_TEXTO_CLARO;
+    }
+
+    private Mac novoMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO_INDICE);
+            mac.init(chaveIndice);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponível", e);
+        }
+    }
+
+    private static Cipher novaCifra() {
+        try {
+            return Cipher.getInstance(ALGORITMO_CIFRA);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM indisponível", e);
+        }
+    }
+
+    private static void validarChave(byte[] chave, String nome) {
+        if (chave == null || chave.length != TAMANHO_CHAVE) {
+            throw new IllegalArgumentException("Chave de " + nome + " do CPF deve ter " + TAMANHO_CHAVE
+                    + " bytes. Recebido: " + (chave == null ? "nenhuma" : chave.length + " bytes"));
+        }
+    }
+}
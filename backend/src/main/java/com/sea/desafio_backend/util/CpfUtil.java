@@ -1,11 +1,43 @@
 package com.sea.desafio_backend.util;
 
+import com.sea.desafio_backend.exception.CpfInvalidoException;
+
 /**
  * Utilitário para validação e manipulação de CPF
  * Implementa o algoritmo oficial de validação com dígitos verificadores
+ *
+ * Roda em todo cadastro, atualização e busca por CPF, por isso nada aqui usa regex:
+ * cada operação percorre o texto recebido uma única vez, caractere a caractere,
+ * ignorando o que não for dígito (pontos, traço, espaços). A validação não aloca nada.
+ * Remover e aplicar a máscara (e semMascara/comMascara) montam o resultado num char[]
+ * pré-alocado por thread e alocam apenas a String de resultado (e nem isso quando
+ * o CPF recebido já está no formato pedido). Texto com mais de 14 caracteres em
+ * removerMascara não é um CPF comum e usa um char[] próprio.
  */
 public class CpfUtil {
 
+    private static final int TAMANHO = 11;
+    private static final int TAMANHO_COM_MASCARA = 14;
+
+    /** Resultados da varredura (ver {@link #verificar(String)}) */
+    private static final int VALIDO = 0;
+    private static final int TAMANHO_INVALIDO = 1;
+    private static final int DIGITOS_IGUAIS = 2;
+    private static final int VERIFICADORES_INVALIDOS = 3;
+
+    /**
+     * Buffers por thread, reaproveitados a cada chamada: o conteúdo é copiado para a String
+     * de resultado antes de retornar, então nenhuma chamada vê o buffer de outra
+     */
+    private static final ThreadLocal<char[]> DIGITOS = ThreadLocal.withInitial(() -> new char[TAMANHO_COM_MASCARA]);
+    private static final ThreadLocal<char[]> MASCARA = ThreadLocal.withInitial(() -> {
+        char[] formatado = new char[TAMANHO_COM_MASCARA];
+        formatado[3] = '.';
+        formatado[7] = '.';
+        formatado[11] = '-';
+        return formatado;
+    });
+
     /**
      * Remove máscara do CPF (mantém apenas números)
      * @param cpf CPF com ou sem máscara
@@ -15,7 +47,24 @@ public class CpfUtil {
         if (cpf == null) {
             return "";
         }
-        return cpf.replaceAll("[^0-9]", "");
+        int tamanho = cpf.length();
+        char[] digitos = null;
+        int quantidade = 0;
+        for (int i = 0; i < tamanho; i++) {
+            char c = cpf.charAt(i);
+            if (ehDigito(c)) {
+                if (digitos != null) {
+                    digitos[quantidade] = c;
+                }
+                quantidade++;
+            } else if (digitos == null) {
+                // Primeiro caractere a descartar: copia os dígitos vistos até aqui
+                digitos = tamanho <= TAMANHO_COM_MASCARA ? DIGITOS.get() : new char[tamanho];
+                cpf.getChars(0, i, digitos, 0);
+            }
+        }
+        // Só dígitos: devolve a própria String
+        return digitos == null ? cpf : new String(digitos, 0, quantidade);
     }
 
     /**
@@ -24,89 +73,258 @@ public class CpfUtil {
      * @return CPF formatado
      */
     public static String aplicarMascara(String cpf) {
-        String cpfLimpo = removerMascara(cpf);
-        if (cpfLimpo.length() == 11) {
-            return cpfLimpo.replaceFirst("(\\d{3})(\\d{3})(\\d{3})(\\d{2})", "$1.$2.$3-$4");
+        if (cpf == null) {
+            return null;
+        }
+        if (cpf.length() == TAMANHO_COM_MASCARA && possuiMascara(cpf)) {
+            return cpf;
+        }
+
+        // Separadores já estão no buffer; os 11 dígitos são sobrescritos a cada chamada
+        char[] formatado = MASCARA.get();
+        int quantidade = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (!ehDigito(c)) {
+                continue;
+            }
+            if (quantidade == TAMANHO) {
+                // Mais de 11 dígitos: não é CPF, devolve como recebido
+                return cpf;
+            }
+            formatado[posicaoComMascara(quantidade++)] = c;
+        }
+        return quantidade == TAMANHO ? new String(formatado) : cpf;
+    }
+
+    /**
+     * CPF como número (os 11 dígitos em um long), entrada do índice cego (CpfCriptografia.indice)
+     * @param cpf CPF com ou sem máscara
+     * @return 11 dígitos como long (012.345.678-90 → 1234567890) ou -1 se não tiver 11 dígitos
+     */
+    public static long paraNumero(String cpf) {
+        if (cpf == null) {
+            return -1;
+        }
+        long valor = 0;
+        int quantidade = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (!ehDigito(c)) {
+                continue;
+            }
+            if (quantidade == TAMANHO) {
+                return -1;
+            }
+            valor = valor * 10 + (c - '0');
+            quantidade++;
         }
-        return cpf;
+        return quantidade == TAMANHO ? valor : -1;
+    }
+
+    /**
+     * Confere só o formato: 11 dígitos (12345678909) ou máscara completa (123.456.789-09)
+     * @param cpf CPF a conferir
+     * @return true se estiver em um dos dois formatos (sem olhar os dígitos verificadores)
+     */
+    public static boolean formatoValido(String cpf) {
+        if (cpf == null) {
+            return false;
+        }
+        if (cpf.length() == TAMANHO_COM_MASCARA) {
+            return possuiMascara(cpf);
+        }
+        if (cpf.length() != TAMANHO) {
+            return false;
+        }
+        for (int i = 0; i < TAMANHO; i++) {
+            if (!ehDigito(cpf.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
      * Valida CPF usando algoritmo oficial com dígitos verificadores
-     * 
+     *
      * Algoritmo:
      * 1. Remove máscara
      * 2. Verifica se tem 11 dígitos
      * 3. Verifica se não são todos iguais (111.111.111-11)
      * 4. Calcula primeiro dígito verificador
      * 5. Calcula segundo dígito verificador
-     * 
+     *
      * @param cpf CPF com ou sem máscara
      * @return true se CPF é válido
      */
     public static boolean validar(String cpf) {
-        String cpfLimpo = removerMascara(cpf);
+        return verificar(cpf) == VALIDO;
+    }
 
-        // Verifica tamanho
-        if (cpfLimpo.length() != 11) {
-            return false;
+    /**
+     * Valida e lança exceção se CPF inválido
+     * @param cpf CPF a validar
+     * @throws com.sea.desafio_backend.exception.CpfInvalidoException se inválido
+     */
+    public static void validarOuLancarExcecao(String cpf) {
+        String motivo = motivoInvalido(cpf);
+        if (motivo != null) {
+            throw new CpfInvalidoException(cpf, motivo);
         }
+    }
 
-        // Verifica se todos os dígitos são iguais (ex: 111.111.111-11)
-        if (cpfLimpo.matches("(\\d)\\1{10}")) {
-            return false;
+    /**
+     * Motivo pelo qual o CPF é inválido, na mesma ordem de validarOuLancarExcecao
+     * @param cpf CPF com ou sem máscara
+     * @return null se o CPF é válido
+     */
+    public static String motivoInvalido(String cpf) {
+        switch (verificar(cpf)) {
+            case TAMANHO_INVALIDO:
+                return "deve conter 11 dígitos";
+            case DIGITOS_IGUAIS:
+                return "dígitos não podem ser todos iguais";
+            case VERIFICADORES_INVALIDOS:
+                return "dígitos verificadores inválidos";
+            default:
+                return null;
         }
+    }
+
+    /**
+     * CPF como número (ver paraNumero) de volta para os 11 dígitos, com zeros à esquerda
+     * @param numero CPF como número (0 a 99999999999)
+     * @return CPF sem máscara
+     */
+    public static String semMascara(long numero) {
+        char[] digitos = DIGITOS.get();
+        escreverDigitos(numero, digitos, false);
+        return new String(digitos, 0, TAMANHO);
+    }
+
+    /**
+     * CPF como número (ver paraNumero) no formato 000.000.000-00
+     * @param numero CPF como número (0 a 99999999999)
+     * @return CPF com máscara
+     */
+    public static String comMascara(long numero) {
+        char[] formatado = MASCARA.get();
+        escreverDigitos(numero, formatado, true);
+        return new String(formatado);
+    }
+
+    /**
+     * CPF para logs, com só o terceiro grupo visível (ex.: ***.***.789-**)
+     * O CPF completo é cifrado em repouso e não deve aparecer em texto claro nos logs
+     * @param numero CPF como número (0 a 99999999999)
+     * @return CPF oculto
+     */
+    public static String ocultar(long numero) {
+        int grupo = (int) (numero / 100 % 1000);
+        return "***.***." + (char) ('0' + grupo / 100) + (char) ('0' + grupo / 10 % 10)
+                + (char) ('0' + grupo % 10) + "-**";
+    }
 
-        // Calcula primeiro dígito verificador
-        int soma = 0;
-        for (int i = 0; i < 9; i++) {
-            soma += Character.getNumericValue(cpfLimpo.charAt(i)) * (10 - i);
+    private static void escreverDigitos(long numero, char[] destino, boolean mascara) {
+        long restante = numero;
+        for (int i = TAMANHO - 1; i >= 0; i--) {
+            destino[mascara ? posicaoComMascara(i) : i] = (char) ('0' + restante % 10);
+            restante /= 10;
         }
-        int primeiroDigito = 11 - (soma % 11);
-        if (primeiroDigito >= 10) {
-            primeiroDigito = 0;
+    }
+
+    /**
+     * Percorre o CPF uma vez, acumulando as somas dos dois dígitos verificadores
+     * (pesos 10..2 e 11..2) e conferindo se todos os dígitos são iguais
+     * @param cpf CPF com ou sem máscara
+     * @return VALIDO, TAMANHO_INVALIDO, DIGITOS_IGUAIS ou VERIFICADORES_INVALIDOS
+     */
+    private static int verificar(String cpf) {
+        if (cpf == null) {
+            return TAMANHO_INVALIDO;
         }
+        int quantidade = 0;
+        int primeiro = -1;
+        boolean todosIguais = true;
+        int somaPrimeiro = 0;
+        int somaSegundo = 0;
+        int primeiroVerificador = 0;
+        int segundoVerificador = 0;
 
-        // Verifica primeiro dígito
-        if (Character.getNumericValue(cpfLimpo.charAt(9)) != primeiroDigito) {
-            return false;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (!ehDigito(c)) {
+                continue;
+            }
+            if (quantidade == TAMANHO) {
+                return TAMANHO_INVALIDO;
+            }
+            int digito = c - '0';
+            if (quantidade == 0) {
+                primeiro = digito;
+            } else if (digito != primeiro) {
+                todosIguais = false;
+            }
+            if (quantidade < 9) {
+                somaPrimeiro += digito * (10 - quantidade);
+                somaSegundo += digito * (11 - quantidade);
+            } else if (quantidade == 9) {
+                primeiroVerificador = digito;
+                somaSegundo += digito * 2;
+            } else {
+                segundoVerificador = digito;
+            }
+            quantidade++;
         }
 
-        // Calcula segundo dígito verificador
-        soma = 0;
-        for (int i = 0; i < 10; i++) {
-            soma += Character.getNumericValue(cpfLimpo.charAt(i)) * (11 - i);
+        if (quantidade != TAMANHO) {
+            return TAMANHO_INVALIDO;
         }
-        int segundoDigito = 11 - (soma % 11);
-        if (segundoDigito >= 10) {
-            segundoDigito = 0;
+        if (todosIguais) {
+            return DIGITOS_IGUAIS;
         }
+        return primeiroVerificador == digitoVerificador(somaPrimeiro)
+                && segundoVerificador == digitoVerificador(somaSegundo)
+                ? VALIDO
+                : VERIFICADORES_INVALIDOS;
+    }
 
-        // Verifica segundo dígito
-        return Character.getNumericValue(cpfLimpo.charAt(10)) == segundoDigito;
+    private static int digitoVerificador(int soma) {
+        int digito = 11 - (soma % 11);
+        return digito >= 10 ? 0 : digito;
     }
 
     /**
-     * Valida e lança exceção se CPF inválido
-     * @param cpf CPF a validar
-     * @throws com.sea.desafio_backend.exception.CpfInvalidoException se inválido
+     * @return true se o texto (14 caracteres) já está no formato 000.000.000-00
      */
-    public static void validarOuLancarExcecao(String cpf) {
-        String cpfLimpo = removerMascara(cpf);
-        
-        if (cpfLimpo.length() != 11) {
-            throw new com.sea.desafio_backend.exception.CpfInvalidoException(
-                cpf, "deve conter 11 dígitos");
-        }
-        
-        if (cpfLimpo.matches("(\\d)\\1{10}")) {
-            throw new com.sea.desafio_backend.exception.CpfInvalidoException(
-                cpf, "dígitos não podem ser todos iguais");
-        }
-        
-        if (!validar(cpf)) {
-            throw new com.sea.desafio_backend.exception.CpfInvalidoException(
-                cpf, "dígitos verificadores inválidos");
+    private static boolean possuiMascara(String cpf) {
+        for (int i = 0; i < TAMANHO_COM_MASCARA; i++) {
+            char c = cpf.charAt(i);
+            boolean valido;
+            if (i == 3 || i == 7) {
+                valido = c == '.';
+            } else if (i == 11) {
+                valido = c == '-';
+            } else {
+                valido = ehDigito(c);
+            }
+            if (!valido) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    /**
+     * Posição do n-ésimo dígito no CPF formatado (pula '.', '.' e '-')
+     */
+    private static int posicaoComMascara(int indice) {
+        return indice < 3 ? indice : indice < 6 ? indice + 1 : indice < 9 ? indice + 2 : indice + 3;
+    }
+
+    /** Apenas 0-9 ASCII, como o [^0-9] da versão anterior */
+    private static boolean ehDigito(char c) {
+        return c >= '0' && c <= '9';
     }
 }
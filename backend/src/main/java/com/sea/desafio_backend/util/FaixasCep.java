@@ -0,0 +1,117 @@
+package com.sea.desafio_backend.util;
+
+/**
+ * Tabela das faixas de CEP atribuídas a cada UF (Correios)
+ *
+ * Mantida em memória como arrays primitivos ordenados pelo início da faixa:
+ * <pre>
+ * inicios[i]  primeiro CEP da faixa (8 dígitos como inteiro: 01000000 → 1000000)
+ * fins[i]     último CEP da faixa
+ * ufs[i]      UF dona da faixa
+ * </pre>
+ *
+ * A consulta é uma busca binária sobre inicios, sem alocação (nem para converter o CEP).
+ * Usada para recusar localmente CEPs que não existem em nenhuma UF (ex.: 00000000)
+ * e para conferir a UF informada junto com o CEP, antes de qualquer chamada ao ViaCEP.
+ */
+public final class FaixasCep {
+
+    /** Faixas por UF: {UF, início, fim}; DF e GO se intercalam, AM tem duas faixas */
+    private static final Object[][] FAIXAS = {
+            {"SP", 1000000, 19999999},
+            {"RJ", 20000000, 28999999},
+            {"ES", 29000000, 29999999},
+            {"MG", 30000000, 39999999},
+            {"BA", 40000000, 48999999},
+            {"SE", 49000000, 49999999},
+            {"PE", 50000000, 56999999},
+            {"AL", 57000000, 57999999},
+            {"PB", 58000000, 58999999},
+            {"RN", 59000000, 59999999},
+            {"CE", 60000000, 63999999},
+            {"PI", 64000000, 64999999},
+            {"MA", 65000000, 65999999},
+            {"PA", 66000000, 68899999},
+            {"AP", 68900000, 68999999},
+            {"AM", 69000000, 69299999},
+            {"RR", 69300000, 69399999},
+            {"AM", 69400000, 69899999},
+            {"AC", 69900000, 69999999},
+            {"DF", 70000000, 72799999},
+            {"GO", 72800000, 72999999},
+            {"DF", 73000000, 73699999},
+            {"GO", 73700000, 76799999},
+            {"RO", 76800000, 76999999},
+            {"TO", 77000000, 77999999},
+            {"MT", 78000000, 78899999},
+            {"MS", 79000000, 79999999},
+            {"PR", 80000000, 87999999},
+            {"SC", 88000000, 89999999},
+            {"RS", 90000000, 99999999},
+    };
+
+    private static final int[] INICIOS = new int[FAIXAS.length];
+    private static final int[] FINS = new int[FAIXAS.length];
+    private static final String[] UFS = new String[FAIXAS.length];
+
+    static {
+        // FAIXAS já está em ordem crescente e sem sobreposição (conferido em FaixasCepTest)
+        for (int i = 0; i < FAIXAS.length; i++) {
+            UFS[i] = (String) FAIXAS[i][0];
+            INICIOS[i] = (Integer) FAIXAS[i][1];
+            FINS[i] = (Integer) FAIXAS[i][2];
+        }
+    }
+
+    private FaixasCep() {
+    }
+
+    /**
+     * UF dona do CEP
+     * @param cep CEP como inteiro (01001000 → 1001000)
+     * @return Sigla da UF ou null se o CEP não pertence a nenhuma faixa
+     */
+    public static String uf(int cep) {
+        int baixo = 0;
+        int alto = INICIOS.length - 1;
+        // Última faixa com início <= cep
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (INICIOS[meio] <= cep) {
+                baixo = meio + 1;
+            } else {
+                alto = meio - 1;
+            }
+        }
+        return alto >= 0 && cep <= FINS[alto] ? UFS[alto] : null;
+    }
+
+    /**
+     * UF dona do CEP
+     * @param cepLimpo CEP sem máscara (8 dígitos)
+     * @return Sigla da UF ou null se o CEP não tem 8 dígitos ou não pertence a nenhuma faixa
+     */
+    public static String uf(String cepLimpo) {
+        int cep = CepIndex.cepParaInt(cepLimpo);
+        return cep < 0 ? null : uf(cep);
+    }
+
+    /**
+     * @param cepLimpo CEP sem máscara (8 dígitos)
+     * @return true se o CEP está em alguma faixa atribuída a uma UF
+     */
+    public static boolean existe(String cepLimpo) {
+        return uf(cepLimpo) != null;
+    }
+
+    /**
+     * Faixas na ordem da tabela (início, fim); usado nos testes de consistência
+     */
+    static int[][] faixas() {
+        int[][] copia = new int[INICIOS.length][];
+        for (int i = 0; i < INICIOS.length; i++) {
+            copia[i] = new int[]{INICIOS[i], FINS[i]};
+        }
+        return copia;
+    }
+}
@@ -0,0 +1,114 @@
+package com.sea.desafio_backend.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para chaves long (ex.: índice do CPF, ver CpfCriptografia.indice)
+ *
+ * Responde "com certeza ausente" ou "talvez presente": nunca dá falso negativo,
+ * e a taxa de falsos positivos fica perto da configurada enquanto o número de
+ * elementos não passar da capacidade.
+ *
+ * Os bits ficam em um AtomicLongArray (64 bits por posição): adicionar é lock-free
+ * e um bit ligado por uma thread é visto pelas demais logo em seguida, então um CPF
+ * recém-cadastrado nunca aparece como ausente. As k posições vêm de duplo hashing
+ * (h1 + i * h2) sobre a chave embaralhada, sem alocação.
+ */
+public final class FiltroBloom {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long quantidadeBits;
+    private final int quantidadeHashes;
+    private final long capacidade;
+
+    /**
+     * @param capacidade Número esperado de elementos
+     * @param taxaFalsosPositivos Taxa desejada de falsos positivos na capacidade (0 a 1, exclusivo)
+     */
+    public FiltroBloom(long capacidade, double taxaFalsosPositivos) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva. Recebido: " + capacidade);
+        }
+        if (taxaFalsosPositivos <= 0 || taxaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException(
+                    "Taxa de falsos positivos deve estar entre 0 e 1. Recebido: " + taxaFalsosPositivos);
+        }
+        // m = -n ln(p) / ln(2)^2, arredondado para múltiplo de 64; k = m/n ln(2)
+        long minimoBits = (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (LN2 * LN2));
+        int palavras = (int) Math.max(1, (minimoBits + 63) >>> 6);
+        this.bits = new AtomicLongArray(palavras);
+        this.quantidadeBits = (long) palavras << 6;
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidade * LN2));
+        this.capacidade = capacidade;
+    }
+
+    public void adicionar(long chave) {
+        long hash = embaralhar(chave);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long posicao = Long.remainderUnsigned(h1 + i * h2, quantidadeBits);
+            int palavra = (int) (posicao >>> 6);
+            long mascara = 1L << posicao;
+            long atual = bits.get(palavra);
+            while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara)) {
+                atual = bits.get(palavra);
+            }
+        }
+    }
+
+    /**
+     * @return false se a chave com certeza nunca foi adicionada; true se talvez tenha sido
+     */
+    public boolean talvezContenha(long chave) {
+        long hash = embaralhar(chave);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long posicao = Long.remainderUnsigned(h1 + i * h2, quantidadeBits);
+            if ((bits.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falsos positivos estimada para a quantidade de elementos informada:
+     * (1 - e^(-k n / m))^k
+     */
+    public double taxaFalsosPositivosEstimada(long elementos) {
+        return Math.pow(1 - Math.exp(-quantidadeHashes * (double) elementos / quantidadeBits), quantidadeHashes);
+    }
+
+    public long getCapacidade() {
+        return capacidade;
+    }
+
+    public long getQuantidadeBits() {
+        return quantidadeBits;
+    }
+
+    public int getQuantidadeHashes() {
+        return quantidadeHashes;
+    }
+
+    /**
+     * Memória ocupada pelos bits, em bytes
+     */
+    public long getTamanhoEmBytes() {
+        return quantidadeBits >>> 3;
+    }
+
+    /**
+     * Finalizador do SplitMix64: espalha chaves sequenciais (CPFs próximos) por todos os bits
+     */
+    private static long embaralhar(long chave) {
+        long z = chave + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,116 @@
+package com.sea.desafio_backend.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de chamadas concorrentes idênticas ("single-flight")
+ *
+ * Enquanto uma operação para a chave K estiver em andamento, novas chamadas
+ * para a mesma chave não executam a operação de novo: aguardam o resultado
+ * (ou a exceção) da chamada original.
+ *
+ * Exemplo: 50 requisições simultâneas para o CEP 01001000 geram
+ * apenas 1 chamada ao ViaCEP.
+ *
+ * Chamadas síncronas (executar) e assíncronas (executarAsync) para a mesma
+ * chave compartilham a mesma execução.
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do resultado
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    /**
+     * Executa a operação ou aguarda a execução já em andamento para a mesma chave
+     *
+     * @param chave Chave de coalescência
+     * @param operacao Operação executada apenas pela primeira chamada (líder)
+     * @return Resultado compartilhado entre todas as chamadas concorrentes
+     */
+    public V executar(K chave, Supplier<V> operacao) {
+        CompletableFuture<V> chamada = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, chamada);
+
+        if (existente != null) {
+            return aguardar(existente);
+        }
+
+        try {
+            V resultado = operacao.get();
+            chamada.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            chamada.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, chamada);
+        }
+    }
+
+    /**
+     * Versão não bloqueante de {@link #executar}: seguidores recebem o mesmo
+     * CompletableFuture da chamada em andamento, sem ocupar uma thread esperando
+     *
+     * @param chave Chave de coalescência
+     * @param operacao Operação assíncrona iniciada apenas pela primeira chamada (líder)
+     * @return Resultado compartilhado (falhas chegam sem CompletionException em volta)
+     */
+    public CompletableFuture<V> executarAsync(K chave, Supplier<CompletableFuture<V>> operacao) {
+        CompletableFuture<V> chamada = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, chamada);
+
+        if (existente != null) {
+            return existente;
+        }
+
+        CompletableFuture<V> execucao;
+        try {
+            execucao = operacao.get();
+        } catch (RuntimeException | Error e) {
+            execucao = new CompletableFuture<>();
+            execucao.completeExceptionally(e);
+        }
+
+        execucao.whenComplete((resultado, erro) -> {
+            emAndamento.remove(chave, chamada);
+            if (erro != null) {
+                chamada.completeExceptionally(desembrulhar(erro));
+            } else {
+                chamada.complete(resultado);
+            }
+        });
+        return chamada;
+    }
+
+    /**
+     * @return quantidade de chaves com chamada em andamento
+     */
+    public int emAndamento() {
+        return emAndamento.size();
+    }
+
+    private static Throwable desembrulhar(Throwable erro) {
+        return erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> chamada) {
+        try {
+            return chamada.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw e;
+        }
+    }
+}
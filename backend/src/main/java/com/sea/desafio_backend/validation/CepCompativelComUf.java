@@ -0,0 +1,31 @@
+package com.sea.desafio_backend.validation;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.*;
+
+/**
+ * Annotation de classe que confere o CEP com a UF de um endereço
+ * Usa a tabela de faixas de CEP por UF (FaixasCep), sem consultar o ViaCEP
+ *
+ * - CEP fora de todas as faixas: erro no campo cep
+ * - CEP de outra UF: erro no campo uf
+ *
+ * Uso:
+ * <pre>
+ * &#64;CepCompativelComUf
+ * public class EnderecoRequest { ... }
+ * </pre>
+ */
+@Documented
+@Constraint(validatedBy = CepCompativelComUfValidator.class)
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CepCompativelComUf {
+
+    String message() default "CEP não pertence à UF informada";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,45 @@
+package com.sea.desafio_backend.validation;
+
+import com.sea.desafio_backend.dto.request.EnderecoRequest;
+import com.sea.desafio_backend.util.CepIndex;
+import com.sea.desafio_backend.util.CepUtil;
+import com.sea.desafio_backend.util.FaixasCep;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * Validador para a annotation @CepCompativelComUf
+ * Formato inválido de CEP/UF fica a cargo de @NotBlank/@Pattern dos próprios campos
+ */
+public class CepCompativelComUfValidator implements ConstraintValidator<CepCompativelComUf, EnderecoRequest> {
+
+    @Override
+    public boolean isValid(EnderecoRequest endereco, ConstraintValidatorContext context) {
+        if (endereco == null || endereco.getCep() == null || endereco.getUf() == null) {
+            return true;
+        }
+
+        int cep = CepIndex.cepParaInt(CepUtil.removerMascara(endereco.getCep()));
+        if (cep < 0) {
+            return true;
+        }
+
+        String ufDoCep = FaixasCep.uf(cep);
+        if (ufDoCep == null) {
+            return violacao(context, "cep", "CEP inexistente: fora das faixas de CEP do Brasil");
+        }
+        if (!ufDoCep.equals(endereco.getUf())) {
+            return violacao(context, "uf", "UF não corresponde ao CEP (esperado: " + ufDoCep + ")");
+        }
+        return true;
+    }
+
+    private static boolean violacao(ConstraintValidatorContext context, String campo, String mensagem) {
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(mensagem)
+                .addPropertyNode(campo)
+                .addConstraintViolation();
+        return false;
+    }
+}
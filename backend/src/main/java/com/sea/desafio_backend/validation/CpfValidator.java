@@ -1,5 +1,6 @@
 package com.sea.desafio_backend.validation;
 
+import com.sea.desafio_backend.model.vo.Cpf;
 import com.sea.desafio_backend.util.CpfUtil;
 
 import javax.validation.ConstraintValidator;
@@ -8,8 +9,9 @@ import javax.validation.ConstraintValidatorContext;
 /**
  * Validador para a annotation @CPF
  * Utiliza CpfUtil para validação com dígitos verificadores
+ * Em campos do tipo Cpf usa o resultado já calculado na desserialização
  */
-public class CpfValidator implements ConstraintValidator<CPF, String> {
+public class CpfValidator implements ConstraintValidator<CPF, CharSequence> {
 
     @Override
     public void initialize(CPF constraintAnnotation) {
@@ -17,13 +19,17 @@ public class CpfValidator implements ConstraintValidator<CPF, String> {
     }
 
     @Override
-    public boolean isValid(String cpf, ConstraintValidatorContext context) {
+    public boolean isValid(CharSequence cpf, ConstraintValidatorContext context) {
         // Null/empty é tratado por @NotNull/@NotBlank
-        if (cpf == null || cpf.trim().isEmpty()) {
+        if (cpf == null || cpf.toString().trim().isEmpty()) {
             return true;
         }
 
+        if (cpf instanceof Cpf) {
+            return ((Cpf) cpf).isValido();
+        }
+
         // Valida usando utilitário
-        return CpfUtil.validar(cpf);
+        return CpfUtil.validar(cpf.toString());
     }
 }
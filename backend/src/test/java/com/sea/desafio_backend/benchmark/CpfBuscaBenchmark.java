@@ -0,0 +1,165 @@
+package com.sea.desafio_backend.benchmark;
+
+import com.sea.desafio_backend.util.CpfCriptografia;
+import com.sea.desafio_backend.util.CpfUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da busca por CPF com o CPF cifrado (índice cego) contra a busca em texto claro
+ *
+ * Tabela H2 em memória com 100 mil clientes e os dois índices únicos BIGINT:
+ * - buscarTextoClaro: busca por cpf_num (como era antes da criptografia) e lê o CPF gravado
+ * - buscarCifrado: calcula o HMAC (CpfCriptografia.indice), busca por cpf_hash e decifra o CPF
+ * - indice: só o HMAC, para separar o custo da criptografia do custo da consulta
+ *
+ * No PostgreSQL a consulta custa uma ida e volta de rede a mais, então a diferença relativa
+ * fica menor do que neste banco embarcado.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark="CpfBuscaBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfBuscaBenchmark {
+
+    private static final int CLIENTES = 100_000;
+    private static final int QUANTIDADE = 1024;
+
+    private final long[] buscados = new long[QUANTIDADE];
+    private int posicao;
+
+    private CpfCriptografia criptografia;
+    private Connection conexao;
+    private PreparedStatement porNumero;
+    private PreparedStatement porIndice;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        SecureRandom chaves = new SecureRandom();
+        byte[] chaveCifra = new byte[32];
+        byte[] chaveIndice = new byte[32];
+        chaves.nextBytes(chaveCifra);
+        chaves.nextBytes(chaveIndice);
+        criptografia = new CpfCriptografia(chaveCifra, chaveIndice);
+
+        conexao = DriverManager.getConnection("jdbc:h2:mem:cpfbusca;DB_CLOSE_DELAY=-1");
+        try (Statement ddl = conexao.createStatement()) {
+            ddl.execute("CREATE TABLE clientes (id BIGINT PRIMARY KEY, cpf_claro VARCHAR(14) NOT NULL, "
+                    + "cpf_num BIGINT NOT NULL, cpf VARCHAR(64) NOT NULL, cpf_hash BIGINT NOT NULL)");
+            ddl.execute("CREATE UNIQUE INDEX idx_cliente_cpf_num ON clientes (cpf_num)");
+            ddl.execute("CREATE UNIQUE INDEX idx_cliente_cpf_hash ON clientes (cpf_hash)");
+        }
+
+        Random random = new Random(42);
+        Set<Long> gerados = new HashSet<>();
+        conexao.setAutoCommit(false);
+        try (PreparedStatement insert = conexao.prepareStatement(
+                "INSERT INTO clientes (id, cpf_claro, cpf_num, cpf, cpf_hash) VALUES (?, ?, ?, ?, ?)")) {
+            long id = 0;
+            while (id < CLIENTES) {
+                long cpfNum = cpfValido(random.nextInt(1_000_000_000));
+                if (!gerados.add(cpfNum)) {
+                    continue;
+                }
+                if (id < QUANTIDADE) {
+                    buscados[(int) id] = cpfNum;
+                }
+                String comMascara = CpfUtil.comMascara(cpfNum);
+                insert.setLong(1, ++id);
+                insert.setString(2, comMascara);
+                insert.setLong(3, cpfNum);
+                insert.setString(4, criptografia.cifrar(comMascara));
+                insert.setLong(5, criptografia.indice(cpfNum));
+                insert.addBatch();
+                if (id % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        conexao.commit();
+
+        porNumero = conexao.prepareStatement("SELECT cpf_claro FROM clientes WHERE cpf_num = ?");
+        porIndice = conexao.prepareStatement("SELECT cpf FROM clientes WHERE cpf_hash = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws SQLException {
+        conexao.close();
+    }
+
+    @Benchmark
+    public String buscarTextoClaro() throws SQLException {
+        porNumero.setLong(1, buscados[proximo()]);
+        try (ResultSet rs = porNumero.executeQuery()) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    @Benchmark
+    public String buscarCifrado() throws SQLException {
+        porIndice.setLong(1, criptografia.indice(buscados[proximo()]));
+        try (ResultSet rs = porIndice.executeQuery()) {
+            return rs.next() ? criptografia.decifrar(rs.getString(1)) : null;
+        }
+    }
+
+    @Benchmark
+    public long indice() {
+        return criptografia.indice(buscados[proximo()]);
+    }
+
+    private int proximo() {
+        posicao = (posicao + 1) & (QUANTIDADE - 1);
+        return posicao;
+    }
+
+    /**
+     * CPF válido a partir dos 9 primeiros dígitos
+     */
+    private static long cpfValido(int base) {
+        int soma = 0;
+        int resto = base;
+        int[] digitos = new int[9];
+        for (int i = 8; i >= 0; i--) {
+            digitos[i] = resto % 10;
+            resto /= 10;
+        }
+        for (int i = 0; i < 9; i++) {
+            soma += digitos[i] * (10 - i);
+        }
+        int primeiro = 11 - soma % 11 >= 10 ? 0 : 11 - soma % 11;
+        soma = primeiro * 2;
+        for (int i = 0; i < 9; i++) {
+            soma += digitos[i] * (11 - i);
+        }
+        int segundo = 11 - soma % 11 >= 10 ? 0 : 11 - soma % 11;
+        return base * 100L + primeiro * 10 + segundo;
+    }
+}
@@ -0,0 +1,153 @@
+package com.sea.desafio_backend.benchmark;
+
+import com.sea.desafio_backend.util.CpfUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do CpfUtil (varredura única, sem regex) contra a implementação anterior com regex
+ *
+ * - validar / validarRegex: CPF com máscara, metade com dígitos verificadores errados
+ * - aplicarMascara / aplicarMascaraRegex: CPF sem máscara
+ * - removerMascara / removerMascaraRegex: CPF com máscara
+ *
+ * Para ver a diferença de alocação (gc.alloc.rate.norm, em bytes por operação), rodar com -prof gc:
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark="CpfUtilBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfUtilBenchmark {
+
+    private static final int QUANTIDADE = 1024;
+
+    private final String[] comMascara = new String[QUANTIDADE];
+    private final String[] semMascara = new String[QUANTIDADE];
+    private int posicao;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        for (int i = 0; i < QUANTIDADE; i++) {
+            String base = String.format("%09d", random.nextInt(1_000_000_000));
+            String cpf = base + verificadores(base);
+            if (i % 2 == 1) {
+                cpf = base + "00";
+            }
+            semMascara[i] = cpf;
+            comMascara[i] = cpf.substring(0, 3) + "." + cpf.substring(3, 6) + "."
+                    + cpf.substring(6, 9) + "-" + cpf.substring(9);
+        }
+    }
+
+    @Benchmark
+    public boolean validar() {
+        return CpfUtil.validar(comMascara[proximo()]);
+    }
+
+    @Benchmark
+    public boolean validarRegex() {
+        return CpfRegex.validar(comMascara[proximo()]);
+    }
+
+    @Benchmark
+    public String aplicarMascara() {
+        return CpfUtil.aplicarMascara(semMascara[proximo()]);
+    }
+
+    @Benchmark
+    public String aplicarMascaraRegex() {
+        return CpfRegex.aplicarMascara(semMascara[proximo()]);
+    }
+
+    @Benchmark
+    public String removerMascara() {
+        return CpfUtil.removerMascara(comMascara[proximo()]);
+    }
+
+    @Benchmark
+    public String removerMascaraRegex() {
+        return CpfRegex.removerMascara(comMascara[proximo()]);
+    }
+
+    private int proximo() {
+        posicao = (posicao + 1) & (QUANTIDADE - 1);
+        return posicao;
+    }
+
+    private static String verificadores(String base) {
+        int soma = 0;
+        for (int i = 0; i < 9; i++) {
+            soma += (base.charAt(i) - '0') * (10 - i);
+        }
+        int primeiro = 11 - soma % 11 >= 10 ? 0 : 11 - soma % 11;
+        soma = primeiro * 2;
+        for (int i = 0; i < 9; i++) {
+            soma += (base.charAt(i) - '0') * (11 - i);
+        }
+        int segundo = 11 - soma % 11 >= 10 ? 0 : 11 - soma % 11;
+        return "" + primeiro + segundo;
+    }
+
+    /**
+     * Implementação anterior do CpfUtil (regex), mantida só como referência de comparação
+     */
+    private static final class CpfRegex {
+
+        static String removerMascara(String cpf) {
+            if (cpf == null) {
+                return "";
+            }
+            return cpf.replaceAll("[^0-9]", "");
+        }
+
+        static String aplicarMascara(String cpf) {
+            String cpfLimpo = removerMascara(cpf);
+            if (cpfLimpo.length() == 11) {
+                return cpfLimpo.replaceFirst("(\\d{3})(\\d{3})(\\d{3})(\\d{2})", "$1.$2.$3-$4");
+            }
+            return cpf;
+        }
+
+        static boolean validar(String cpf) {
+            String cpfLimpo = removerMascara(cpf);
+            if (cpfLimpo.length() != 11 || cpfLimpo.matches("(\\d)\\1{10}")) {
+                return false;
+            }
+            int soma = 0;
+            for (int i = 0; i < 9; i++) {
+                soma += Character.getNumericValue(cpfLimpo.charAt(i)) * (10 - i);
+            }
+            int primeiroDigito = 11 - (soma % 11);
+            if (primeiroDigito >= 10) {
+                primeiroDigito = 0;
+            }
+            if (Character.getNumericValue(cpfLimpo.charAt(9)) != primeiroDigito) {
+                return false;
+            }
+            soma = 0;
+            for (int i = 0; i < 10; i++) {
+                soma += Character.getNumericValue(cpfLimpo.charAt(i)) * (11 - i);
+            }
+            int segundoDigito = 11 - (soma % 11);
+            if (segundoDigito >= 10) {
+                segundoDigito = 0;
+            }
+            return Character.getNumericValue(cpfLimpo.charAt(10)) == segundoDigito;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.sea.desafio_backend.benchmark;
+
+import com.sea.desafio_backend.util.FaixasCep;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da consulta de UF na tabela de faixas de CEP (FaixasCep)
+ *
+ * - ufPorInteiro: busca binária sobre os arrays primitivos
+ * - ufPorString: inclui a conversão do CEP sem máscara (sem alocação)
+ * - regexFormato: referência, a validação de formato por regex usada no EnderecoRequest
+ *
+ * Os CEPs são sorteados com semente fixa em todo o intervalo 00000000-99999999,
+ * então parte deles cai fora das faixas (caminho de recusa).
+ *
+ * Uso: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=FaixasCepBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FaixasCepBenchmark {
+
+    private static final int QUANTIDADE = 1024;
+
+    private final int[] cepsInteiros = new int[QUANTIDADE];
+    private final String[] cepsTexto = new String[QUANTIDADE];
+    private int posicao;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        for (int i = 0; i < QUANTIDADE; i++) {
+            cepsInteiros[i] = random.nextInt(100_000_000);
+            cepsTexto[i] = String.format("%08d", cepsInteiros[i]);
+        }
+    }
+
+    @Benchmark
+    public String ufPorInteiro() {
+        return FaixasCep.uf(cepsInteiros[proximo()]);
+    }
+
+    @Benchmark
+    public String ufPorString() {
+        return FaixasCep.uf(cepsTexto[proximo()]);
+    }
+
+    @Benchmark
+    public boolean regexFormato() {
+        return cepsTexto[proximo()].matches("^\\d{5}-?\\d{3}$");
+    }
+
+    private int proximo() {
+        posicao = (posicao + 1) & (QUANTIDADE - 1);
+        return posicao;
+    }
+}
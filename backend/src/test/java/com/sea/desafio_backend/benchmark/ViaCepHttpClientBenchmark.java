@@ -0,0 +1,111 @@
+package com.sea.desafio_backend.benchmark;
+
+import com.sea.desafio_backend.config.RestTemplateConfig;
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.stub.ViaCepStubServer;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do custo de conexão nas chamadas ao ViaCEP (ViaCepStubServer, sem latência nem falhas)
+ *
+ * Compara, com 8 threads concorrentes:
+ * - novaConexaoPorChamada: handshake TCP a cada requisição (pior caso)
+ * - simpleClientHttpRequestFactory: configuração anterior do RestTemplateConfig
+ *   (HttpURLConnection, depende do keep-alive implícito do JDK: http.maxConnections=5 por host)
+ * - poolKeepAlive: configuração atual (pool Apache HttpClient via RestTemplateConfig)
+ *
+ * Ao final de cada benchmark é impressa a quantidade de conexões TCP aceitas
+ * pelo servidor local (portas de origem distintas) versus requisições atendidas.
+ * Em HTTPS (ViaCEP real) cada conexão nova custa também o handshake TLS.
+ *
+ * Uso: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ViaCepHttpClientBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ViaCepHttpClientBenchmark {
+
+    private ViaCepStubServer servidor;
+    private String url;
+
+    private CloseableHttpClient clienteSemReuso;
+    private RestTemplate semReuso;
+    private RestTemplate simple;
+    private PoolingHttpClientConnectionManager pool;
+    private CloseableHttpClient clientePool;
+    private RestTemplate comPool;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        servidor = ViaCepStubServer.iniciar(new ViaCepStubServer.Configuracao());
+        url = servidor.getUrl();
+
+        clienteSemReuso = HttpClients.custom()
+                .setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE)
+                .build();
+        semReuso = new RestTemplate(new HttpComponentsClientHttpRequestFactory(clienteSemReuso));
+
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(5000);
+        factory.setReadTimeout(5000);
+        simple = new RestTemplate(factory);
+
+        RestTemplateConfig config = new RestTemplateConfig();
+        ViaCepProperties properties = new ViaCepProperties();
+        pool = config.httpConnectionManager(properties);
+        clientePool = config.httpClient(pool, properties);
+        comPool = config.restTemplate(clientePool);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        System.out.printf("%n[servidor local] %d conexoes TCP para %d requisicoes%n",
+                servidor.getConexoes(), servidor.getRequisicoes());
+        clienteSemReuso.close();
+        clientePool.close();
+        pool.close();
+        servidor.close();
+    }
+
+    @Benchmark
+    public ViaCepResponse novaConexaoPorChamada() {
+        return semReuso.getForObject(url, ViaCepResponse.class, "01001000");
+    }
+
+    @Benchmark
+    public ViaCepResponse simpleClientHttpRequestFactory() {
+        return simple.getForObject(url, ViaCepResponse.class, "01001000");
+    }
+
+    @Benchmark
+    public ViaCepResponse poolKeepAlive() {
+        return comPool.getForObject(url, ViaCepResponse.class, "01001000");
+    }
+}
@@ -5,12 +5,14 @@ import com.sea.desafio_backend.dto.request.ClienteRequest;
 import com.sea.desafio_backend.dto.request.EmailRequest;
 import com.sea.desafio_backend.dto.request.EnderecoRequest;
 import com.sea.desafio_backend.dto.request.TelefoneRequest;
+import com.sea.desafio_backend.dto.response.PaginaCursorResponse;
 import com.sea.desafio_backend.exception.ResourceNotFoundException;
 import com.sea.desafio_backend.model.entity.Cliente;
 import com.sea.desafio_backend.model.entity.ClienteEmail;
 import com.sea.desafio_backend.model.entity.Endereco;
 import com.sea.desafio_backend.model.entity.Telefone;
 import com.sea.desafio_backend.model.enums.TipoTelefone;
+import com.sea.desafio_backend.model.vo.Cpf;
 import com.sea.desafio_backend.service.ClienteService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -82,7 +84,7 @@ class ClienteControllerTest {
     void criarCliente_ComDadosInvalidos_DeveRetornar400() throws Exception {
         // Arrange - Request sem nome (campo obrigatório)
         ClienteRequest request = new ClienteRequest();
-        request.setCpf("12345678901");
+        request.setCpf(Cpf.de("12345678901"));
         // Nome é null
 
         // Act & Assert
@@ -149,6 +151,37 @@ class ClienteControllerTest {
                 .andExpect(jsonPath("$.content", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("GET /api/clientes?after= - Listar por cursor deve retornar 200 com cursores")
+    void listarPorCursor_DeveRetornar200ComCursores() throws Exception {
+        // Arrange
+        Cliente cliente = criarClienteCompleto();
+        when(clienteService.listarPorCursor("", 1))
+                .thenReturn(new PaginaCursorResponse<>(Collections.singletonList(cliente), 1, "proximo", null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clientes").param("after", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$.nextCursor").value("proximo"))
+                .andExpect(jsonPath("$.prevCursor").value(nullValue()));
+
+        verify(clienteService, never()).listarTodosPaginado(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/clientes?after= - Cursor inválido deve retornar 400")
+    void listarPorCursor_CursorInvalido_DeveRetornar400() throws Exception {
+        // Arrange
+        when(clienteService.listarPorCursor("xyz", 10))
+                .thenThrow(new IllegalArgumentException("Cursor de paginação inválido: xyz"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clientes").param("after", "xyz"))
+                .andExpect(status().isBadRequest());
+    }
+
     // ==================== TESTES GET /api/clientes/{id} ====================
 
     @Test
@@ -189,7 +222,7 @@ class ClienteControllerTest {
     void buscarPorCpf_ClienteExistente_DeveRetornar200() throws Exception {
         // Arrange
         Cliente cliente = criarClienteCompleto();
-        when(clienteService.buscarPorCpf("123.456.789-09")).thenReturn(cliente);
+        when(clienteService.buscarPorCpf(Cpf.de("123.456.789-09"))).thenReturn(cliente);
 
         // Act & Assert
         mockMvc.perform(get("/api/clientes/cpf/123.456.789-09"))
@@ -197,14 +230,14 @@ class ClienteControllerTest {
                 .andExpect(jsonPath("$.cpf").value("123.456.789-09"))
                 .andExpect(jsonPath("$.nome").value("João Silva"));
 
-        verify(clienteService).buscarPorCpf("123.456.789-09");
+        verify(clienteService).buscarPorCpf(Cpf.de("123.456.789-09"));
     }
 
     @Test
     @DisplayName("GET /api/clientes/cpf/{cpf} - Buscar inexistente deve retornar 404")
     void buscarPorCpf_ClienteInexistente_DeveRetornar404() throws Exception {
         // Arrange
-        when(clienteService.buscarPorCpf(anyString()))
+        when(clienteService.buscarPorCpf(any(Cpf.class)))
                 .thenThrow(new ResourceNotFoundException("Cliente", "cpf", "99999999999"));
 
         // Act & Assert
@@ -244,7 +277,7 @@ class ClienteControllerTest {
     private ClienteRequest criarClienteRequestCompleto() {
         ClienteRequest request = new ClienteRequest();
         request.setNome("João Silva");
-        request.setCpf("123.456.789-09");  // CPF válido com dígitos verificadores corretos
+        request.setCpf(Cpf.de("123.456.789-09"));  // CPF válido com dígitos verificadores corretos
 
         EnderecoRequest endereco = new EnderecoRequest();
         endereco.setCep("01001000");
@@ -0,0 +1,79 @@
+package com.sea.desafio_backend.controller;
+
+import com.sea.desafio_backend.dto.response.CpfValidacaoResponse;
+import com.sea.desafio_backend.service.CpfLoteService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração para CpfController
+ * Usa @WebMvcTest para testar a camada REST sem subir o servidor completo
+ */
+@WebMvcTest(CpfController.class)
+@DisplayName("CpfController - Testes de Integração")
+class CpfControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CpfLoteService cpfLoteService;
+
+    // ==================== TESTES POST /api/cpf/validar ====================
+
+    @Test
+    @DisplayName("POST /api/cpf/validar - Deve responder uma linha NDJSON por CPF")
+    @SuppressWarnings("unchecked")
+    void validarCpfs_ComTexto_DeveRetornarNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocacao -> {
+            Consumer<List<CpfValidacaoResponse>> saida = invocacao.getArgument(1);
+            saida.accept(Arrays.asList(
+                    new CpfValidacaoResponse(1, "123.456.789-09", true, true, false, null),
+                    new CpfValidacaoResponse(2, "123", false, false, null, null)));
+            return 2L;
+        }).when(cpfLoteService).validar(any(Reader.class), any(Consumer.class));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/cpf/validar")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("123.456.789-09\n123\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"linha\":1,\"cpf\":\"123.456.789-09\",\"formatoValido\":true,\"digitosValidos\":true,\"cadastrado\":false}\n"
+                                + "{\"linha\":2,\"cpf\":\"123\",\"formatoValido\":false,\"digitosValidos\":false}\n"));
+    }
+
+    @Test
+    @DisplayName("POST /api/cpf/validar - Corpo NDJSON deve ser aceito")
+    @SuppressWarnings("unchecked")
+    void validarCpfs_ComNdjson_DeveRetornar200() throws Exception {
+        // Arrange
+        when(cpfLoteService.validar(any(Reader.class), any(Consumer.class))).thenReturn(0L);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/cpf/validar")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"cpf\":\"123.456.789-09\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+
+        verify(cpfLoteService).validar(any(Reader.class), any(Consumer.class));
+    }
+}
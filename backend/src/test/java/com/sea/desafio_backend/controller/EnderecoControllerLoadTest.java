@@ -0,0 +1,135 @@
+package com.sea.desafio_backend.controller;
+
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.service.ViaCepAsyncClient;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Teste de carga do GET /api/cep/{cep} assíncrono (Tomcat real, ViaCEP simulado)
+ *
+ * O Tomcat sobe com apenas 4 threads e o ViaCEP simulado demora 1s por CEP.
+ * No modelo bloqueante isso limitaria o endpoint a 4 consultas simultâneas
+ * (1000 CEPs levariam ~250s); com o processamento assíncrono as threads são
+ * liberadas durante a chamada e centenas de consultas ficam em andamento ao mesmo tempo.
+ * O cache compartilhado (tabela cep_cache) fica desligado: a leitura dele roda no
+ * taskExecutor e mediria o pool e o banco H2, não o cliente HTTP.
+ *
+ * Fora do mvn test padrão (tag carga): mvn -Pcarga test
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + EnderecoControllerLoadTest.THREADS_TOMCAT,
+        "server.tomcat.threads.min-spare=1",
+        "logging.level.com.sea.desafio_backend=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "spring.jpa.show-sql=false",
+        "viacep.cache.compartilhado=false"
+})
+@Tag("carga")
+@DisplayName("EnderecoController - Teste de Carga Assíncrono")
+class EnderecoControllerLoadTest {
+
+    static final int THREADS_TOMCAT = 4;
+    private static final int REQUISICOES = 1000;
+    private static final long LATENCIA_VIACEP_MS = 1000;
+
+    @LocalServerPort
+    private int porta;
+
+    @MockBean
+    private ViaCepAsyncClient viaCepAsyncClient;
+
+    private final ScheduledExecutorService viaCepSimulado = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        viaCepSimulado.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("1000 CEPs distintos com 4 threads do Tomcat devem ficar em andamento simultaneamente")
+    void consultarCep_MilConsultasSimultaneas_NaoDeveBloquearThreads() throws Exception {
+        // Arrange - ViaCEP simulado: responde cada CEP após 1s sem ocupar thread
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maximoEmAndamento = new AtomicInteger();
+        when(viaCepAsyncClient.consultar(anyString())).thenAnswer(invocation -> {
+            String cep = invocation.getArgument(0);
+            maximoEmAndamento.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            CompletableFuture<ViaCepResponse> resposta = new CompletableFuture<>();
+            viaCepSimulado.schedule(() -> {
+                emAndamento.decrementAndGet();
+                resposta.complete(new ViaCepResponse(cep, "Rua Teste", "", "Centro", "São Paulo", "SP", null));
+            }, LATENCIA_VIACEP_MS, TimeUnit.MILLISECONDS);
+            return resposta;
+        });
+
+        AtomicInteger sucessos = new AtomicInteger();
+        CountDownLatch concluidas = new CountDownLatch(REQUISICOES);
+
+        try (CloseableHttpAsyncClient cliente = HttpAsyncClients.custom()
+                .setMaxConnTotal(REQUISICOES)
+                .setMaxConnPerRoute(REQUISICOES)
+                .build()) {
+            cliente.start();
+
+            // Act
+            long inicio = System.nanoTime();
+            for (int i = 0; i < REQUISICOES; i++) {
+                String cep = String.format("%08d", 10_000_000 + i);
+                cliente.execute(new HttpGet("http://127.0.0.1:" + porta + "/api/cep/" + cep),
+                        new FutureCallback<HttpResponse>() {
+                            @Override
+                            public void completed(HttpResponse response) {
+                                if (response.getStatusLine().getStatusCode() == 200) {
+                                    sucessos.incrementAndGet();
+                                }
+                                concluidas.countDown();
+                            }
+
+                            @Override
+                            public void failed(Exception e) {
+                                concluidas.countDown();
+                            }
+
+                            @Override
+                            public void cancelled() {
+                                concluidas.countDown();
+                            }
+                        });
+            }
+            assertThat(concluidas.await(60, TimeUnit.SECONDS)).isTrue();
+            long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+            // Assert
+            long duracaoBloqueanteMs = REQUISICOES / THREADS_TOMCAT * LATENCIA_VIACEP_MS;
+            assertThat(sucessos.get()).isEqualTo(REQUISICOES);
+            assertThat(maximoEmAndamento.get())
+                    .as("pico de chamadas simultâneas ao ViaCEP")
+                    .isGreaterThan(THREADS_TOMCAT * 5);
+            assertThat(duracaoMs)
+                    .as("duração de %d consultas (bloqueante: >= %d ms)", REQUISICOES, duracaoBloqueanteMs)
+                    .isLessThan(duracaoBloqueanteMs / 2);
+        }
+    }
+}
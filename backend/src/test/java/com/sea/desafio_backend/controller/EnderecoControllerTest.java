@@ -1,11 +1,15 @@
 package com.sea.desafio_backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sea.desafio_backend.dto.request.CepLoteRequest;
 import com.sea.desafio_backend.dto.request.EnderecoRequest;
+import com.sea.desafio_backend.dto.response.CepLoteResponse;
 import com.sea.desafio_backend.dto.response.ViaCepResponse;
 import com.sea.desafio_backend.exception.CepNotFoundException;
 import com.sea.desafio_backend.exception.ResourceNotFoundException;
 import com.sea.desafio_backend.model.entity.Endereco;
+import com.sea.desafio_backend.service.CepBuscaService;
+import com.sea.desafio_backend.service.CepLoteService;
 import com.sea.desafio_backend.service.EnderecoService;
 import com.sea.desafio_backend.service.ViaCepService;
 import org.junit.jupiter.api.DisplayName;
@@ -15,8 +19,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -41,6 +54,12 @@ class EnderecoControllerTest {
     @MockBean
     private ViaCepService viaCepService;
 
+    @MockBean
+    private CepLoteService cepLoteService;
+
+    @MockBean
+    private CepBuscaService cepBuscaService;
+
     // ==================== TESTES GET /api/cep/{cep} ====================
 
     @Test
@@ -55,10 +74,15 @@ class EnderecoControllerTest {
         response.setLocalidade("São Paulo");
         response.setUf("SP");
 
-        when(viaCepService.buscarEnderecoPorCep("01001000")).thenReturn(response);
+        when(viaCepService.buscarEnderecoPorCepAsync("01001000"))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
         // Act & Assert
-        mockMvc.perform(get("/api/cep/01001000"))
+        MvcResult resultado = mockMvc.perform(get("/api/cep/01001000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.cep").value("01001-000"))
                 .andExpect(jsonPath("$.logradouro").value("Praça da Sé"))
@@ -66,21 +90,26 @@ class EnderecoControllerTest {
                 .andExpect(jsonPath("$.localidade").value("São Paulo"))
                 .andExpect(jsonPath("$.uf").value("SP"));
 
-        verify(viaCepService).buscarEnderecoPorCep("01001000");
+        verify(viaCepService).buscarEnderecoPorCepAsync("01001000");
     }
 
     @Test
     @DisplayName("GET /api/cep/{cep} - CEP não encontrado deve retornar 404")
     void consultarCep_CepNaoEncontrado_DeveRetornar404() throws Exception {
         // Arrange
-        when(viaCepService.buscarEnderecoPorCep("99999999"))
-                .thenThrow(new CepNotFoundException("99999999"));
+        CompletableFuture<ViaCepResponse> falha = new CompletableFuture<>();
+        falha.completeExceptionally(new CepNotFoundException("99999999"));
+        when(viaCepService.buscarEnderecoPorCepAsync("99999999")).thenReturn(falha);
 
         // Act & Assert
-        mockMvc.perform(get("/api/cep/99999999"))
+        MvcResult resultado = mockMvc.perform(get("/api/cep/99999999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
                 .andExpect(status().isNotFound());
 
-        verify(viaCepService).buscarEnderecoPorCep("99999999");
+        verify(viaCepService).buscarEnderecoPorCepAsync("99999999");
     }
 
     @Test
@@ -93,14 +122,107 @@ class EnderecoControllerTest {
         response.setLocalidade("São Paulo");
         response.setUf("SP");
 
-        when(viaCepService.buscarEnderecoPorCep("01001-000")).thenReturn(response);
+        when(viaCepService.buscarEnderecoPorCepAsync("01001-000"))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
         // Act & Assert
-        mockMvc.perform(get("/api/cep/01001-000"))
+        MvcResult resultado = mockMvc.perform(get("/api/cep/01001-000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.cep").value("01001-000"));
 
-        verify(viaCepService).buscarEnderecoPorCep("01001-000");
+        verify(viaCepService).buscarEnderecoPorCepAsync("01001-000");
+    }
+
+    // ==================== TESTES GET /api/cep/busca ====================
+
+    @Test
+    @DisplayName("GET /api/cep/busca - Busca por endereço deve retornar a lista de CEPs")
+    void buscarCepPorEndereco_DeveRetornar200ComLista() throws Exception {
+        // Arrange
+        ViaCepResponse response = new ViaCepResponse("01001-000", "Praça da Sé", "lado ímpar", "Sé",
+                "São Paulo", "SP", null);
+        when(cepBuscaService.buscar("SP", "São Paulo", "Praça da Sé"))
+                .thenReturn(Collections.singletonList(response));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cep/busca")
+                        .param("uf", "SP")
+                        .param("cidade", "São Paulo")
+                        .param("logradouro", "Praça da Sé"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cep").value("01001-000"))
+                .andExpect(jsonPath("$[0].localidade").value("São Paulo"));
+
+        verifyNoInteractions(viaCepService);
+    }
+
+    @Test
+    @DisplayName("GET /api/cep/busca - Parâmetros curtos demais devem retornar 400")
+    void buscarCepPorEndereco_ParametroInvalido_DeveRetornar400() throws Exception {
+        // Arrange
+        when(cepBuscaService.buscar("SP", "Sã", "Praça"))
+                .thenThrow(new IllegalArgumentException("Cidade deve ter pelo menos 3 caracteres"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cep/busca")
+                        .param("uf", "SP")
+                        .param("cidade", "Sã")
+                        .param("logradouro", "Praça"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ==================== TESTES POST /api/cep/lote ====================
+
+    @Test
+    @DisplayName("POST /api/cep/lote - Deve retornar uma linha NDJSON por CEP")
+    void consultarCepsEmLote_DeveRetornarNdjson() throws Exception {
+        // Arrange
+        ViaCepResponse endereco = new ViaCepResponse();
+        endereco.setCep("01001-000");
+        endereco.setLocalidade("São Paulo");
+
+        when(cepLoteService.resolver(anyList(), any())).thenAnswer(invocation -> {
+            Consumer<CepLoteResponse> aoResolver = invocation.getArgument(1);
+            aoResolver.accept(CepLoteResponse.encontrado("01001000", endereco));
+            aoResolver.accept(CepLoteResponse.falha("123", CepLoteResponse.Status.INVALIDO, "CEP inválido"));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        CepLoteRequest request = new CepLoteRequest(Arrays.asList("01001000", "123"));
+
+        // Act & Assert
+        MvcResult resultado = mockMvc.perform(post("/api/cep/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] linhas = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(linhas).hasSize(2);
+        assertThat(objectMapper.readValue(linhas[0], CepLoteResponse.class).getEndereco().getLocalidade())
+                .isEqualTo("São Paulo");
+        assertThat(objectMapper.readValue(linhas[1], CepLoteResponse.class).getStatus())
+                .isEqualTo(CepLoteResponse.Status.INVALIDO);
+    }
+
+    @Test
+    @DisplayName("POST /api/cep/lote - Lista vazia deve retornar 400")
+    void consultarCepsEmLote_ListaVazia_DeveRetornar400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/cep/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ceps\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(cepLoteService);
     }
 
     // ==================== TESTES GET /api/enderecos/{id} ====================
@@ -150,7 +272,7 @@ class EnderecoControllerTest {
     void atualizarEndereco_ComDadosValidos_DeveRetornar200() throws Exception {
         // Arrange
         EnderecoRequest request = new EnderecoRequest();
-        request.setCep("12345-678");
+        request.setCep("20040-002"); // CEP do RJ: CEP e UF são conferidos pelas faixas
         request.setLogradouro("Rua Nova");
         request.setComplemento("Apt 101");
         request.setBairro("Centro");
@@ -159,7 +281,7 @@ class EnderecoControllerTest {
 
         Endereco enderecoAtualizado = new Endereco();
         enderecoAtualizado.setId(1L);
-        enderecoAtualizado.setCep("12345678");
+        enderecoAtualizado.setCep("20040002");
         enderecoAtualizado.setLogradouro("Rua Nova");
         enderecoAtualizado.setComplemento("Apt 101");
         enderecoAtualizado.setBairro("Centro");
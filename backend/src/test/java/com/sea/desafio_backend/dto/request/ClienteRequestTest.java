@@ -1,6 +1,7 @@
 package com.sea.desafio_backend.dto.request;
 
 import com.sea.desafio_backend.model.enums.TipoTelefone;
+import com.sea.desafio_backend.model.vo.Cpf;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -32,7 +33,7 @@ class ClienteRequestTest {
     private ClienteRequest criarClienteValido() {
         ClienteRequest request = new ClienteRequest();
         request.setNome("João da Silva");
-        request.setCpf("123.456.789-09");  // CPF válido com dígitos verificadores corretos
+        request.setCpf(Cpf.de("123.456.789-09"));  // CPF válido com dígitos verificadores corretos
         
         EnderecoRequest endereco = new EnderecoRequest();
         endereco.setCep("01001-000");
@@ -170,7 +171,7 @@ class ClienteRequestTest {
     void cpfVazio_DeveGerarViolacao() {
         // Arrange
         ClienteRequest request = criarClienteValido();
-        request.setCpf("");
+        request.setCpf(Cpf.de(""));
 
         // Act
         Set<ConstraintViolation<ClienteRequest>> violations = validator.validate(request);
@@ -202,7 +203,7 @@ class ClienteRequestTest {
     void cpfSemMascara_MasValido_NaoDeveGerarViolacao() {
         // Arrange
         ClienteRequest request = criarClienteValido();
-        request.setCpf("12345678909");  // CPF válido sem máscara
+        request.setCpf(Cpf.de("12345678909"));  // CPF válido sem máscara
 
         // Act
         Set<ConstraintViolation<ClienteRequest>> violations = validator.validate(request);
@@ -218,7 +219,7 @@ class ClienteRequestTest {
     void cpfFormatoInvalido_DeveGerarViolacao() {
         // Arrange
         ClienteRequest request = criarClienteValido();
-        request.setCpf("123.456.789-0"); // Faltando último dígito
+        request.setCpf(Cpf.de("123.456.789-0")); // Faltando último dígito
 
         // Act
         Set<ConstraintViolation<ClienteRequest>> violations = validator.validate(request);
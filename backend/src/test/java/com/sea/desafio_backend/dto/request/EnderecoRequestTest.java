@@ -353,4 +353,53 @@ class EnderecoRequestTest {
         assertTrue(violations.stream()
                 .anyMatch(v -> v.getPropertyPath().toString().equals("complemento")));
     }
+
+    // ==================== TESTES CEP x UF ====================
+
+    @Test
+    @DisplayName("CEP de outra UF deve gerar violação no campo uf")
+    void cepDeOutraUf_DeveGerarViolacaoNaUf() {
+        // Arrange
+        EnderecoRequest request = criarEnderecoValido();
+        request.setUf("RJ"); // 01001-000 é de SP
+
+        // Act
+        Set<ConstraintViolation<EnderecoRequest>> violations = validator.validate(request);
+
+        // Assert
+        assertEquals(1, violations.size());
+        ConstraintViolation<EnderecoRequest> violacao = violations.iterator().next();
+        assertEquals("uf", violacao.getPropertyPath().toString());
+        assertTrue(violacao.getMessage().contains("SP"));
+    }
+
+    @Test
+    @DisplayName("CEP fora das faixas de todas as UFs deve gerar violação no campo cep")
+    void cepForaDasFaixas_DeveGerarViolacaoNoCep() {
+        // Arrange
+        EnderecoRequest request = criarEnderecoValido();
+        request.setCep("00500-000");
+
+        // Act
+        Set<ConstraintViolation<EnderecoRequest>> violations = validator.validate(request);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals("cep", violations.iterator().next().getPropertyPath().toString());
+    }
+
+    @Test
+    @DisplayName("CEP de faixa intercalada (DF/GO) deve aceitar a UF correta")
+    void cepFaixaIntercalada_DeveAceitarUfCorreta() {
+        // Arrange
+        EnderecoRequest request = criarEnderecoValido();
+        request.setCep("72800-000"); // Luziânia/GO, entre duas faixas do DF
+        request.setUf("GO");
+
+        // Act
+        Set<ConstraintViolation<EnderecoRequest>> violations = validator.validate(request);
+
+        // Assert
+        assertTrue(violations.isEmpty());
+    }
 }
@@ -0,0 +1,54 @@
+package com.sea.desafio_backend.model.vo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sea.desafio_backend.exception.CpfInvalidoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para o value object Cpf
+ */
+@DisplayName("Cpf - Testes do CPF normalizado")
+class CpfTest {
+
+    @Test
+    @DisplayName("Deve normalizar CPF com e sem máscara para os mesmos formatos")
+    void de_ComCpfValido_DeveNormalizar() {
+        Cpf comMascara = Cpf.de("012.345.678-90");
+        Cpf semMascara = Cpf.de("01234567890");
+
+        assertTrue(comMascara.isValido());
+        assertEquals(1234567890L, comMascara.getNumero());
+        assertEquals("01234567890", comMascara.getDigitos());
+        assertEquals("012.345.678-90", semMascara.getComMascara());
+        assertEquals(comMascara, semMascara);
+        assertEquals(comMascara.hashCode(), semMascara.hashCode());
+        assertEquals("012.345.678-90", comMascara.getTexto());
+    }
+
+    @Test
+    @DisplayName("Deve manter CPF inválido com o motivo, lançando só ao validar")
+    void de_ComCpfInvalido_DeveGuardarMotivo() {
+        Cpf cpf = Cpf.de("111.111.111-11");
+
+        assertFalse(cpf.isValido());
+        assertEquals(-1, cpf.getNumero());
+        assertNull(cpf.getComMascara());
+        assertEquals("dígitos não podem ser todos iguais", cpf.getMotivoInvalido());
+        assertThrows(CpfInvalidoException.class, cpf::validarOuLancarExcecao);
+        assertNull(Cpf.de(null));
+    }
+
+    @Test
+    @DisplayName("Deve ler e escrever CPF como string no JSON")
+    void json_DeveSerString() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        Cpf cpf = objectMapper.readValue("\"123.456.789-09\"", Cpf.class);
+
+        assertEquals(12345678909L, cpf.getNumero());
+        assertEquals("\"123.456.789-09\"", objectMapper.writeValueAsString(cpf));
+    }
+}
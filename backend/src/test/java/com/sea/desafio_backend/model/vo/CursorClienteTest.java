@@ -0,0 +1,44 @@
+package com.sea.desafio_backend.model.vo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para o value object CursorCliente
+ */
+@DisplayName("CursorCliente - Testes do cursor da listagem de clientes")
+class CursorClienteTest {
+
+    @Test
+    @DisplayName("Deve decodificar o que codificou, com acentos e sentido")
+    void de_CursorCodificado_DeveDevolverPosicao() {
+        CursorCliente depois = CursorCliente.de(CursorCliente.depois("João da Conceição", 42L).codificar());
+        CursorCliente antes = CursorCliente.de(CursorCliente.antes("Ana", 7L).codificar());
+
+        assertFalse(depois.isAntes());
+        assertEquals("João da Conceição", depois.getNome());
+        assertEquals(42L, depois.getId());
+        assertTrue(antes.isAntes());
+        assertEquals("Ana", antes.getNome());
+        assertEquals(7L, antes.getId());
+    }
+
+    @Test
+    @DisplayName("Cursor deve ser opaco e seguro para URL")
+    void codificar_DeveGerarTextoSeguroParaUrl() {
+        String cursor = CursorCliente.depois("Maria Souza", 123L).codificar();
+
+        assertFalse(cursor.contains("Maria"));
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    @DisplayName("Cursor adulterado deve lançar IllegalArgumentException")
+    void de_CursorInvalido_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> CursorCliente.de("não é base64"));
+        assertThrows(IllegalArgumentException.class, () -> CursorCliente.de("WDoxOk1hcmlh"));   // X:1:Maria
+        assertThrows(IllegalArgumentException.class, () -> CursorCliente.de("RDphYmM6TWFyaWE")); // D:abc:Maria
+    }
+}
@@ -0,0 +1,142 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.repository.EnderecoRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.sea.desafio_backend.service.OrigemConsulta.AQUECIMENTO;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para CepAquecimentoService
+ * Cobrindo: seleção dos CEPs, CEPs já conhecidos, resultados por métrica e execução única
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CepAquecimentoService - Testes Unitários")
+class CepAquecimentoServiceTest {
+
+    @Mock
+    private EnderecoRepository enderecoRepository;
+
+    @Mock
+    private ViaCepService viaCepService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ViaCepProperties properties;
+    private CepAquecimentoService cepAquecimentoService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ViaCepProperties();
+        properties.getAquecimento().setQuantidade(3);
+        properties.getAquecimento().setChamadasPorSegundo(1000);
+        cepAquecimentoService = new CepAquecimentoService(enderecoRepository, viaCepService,
+                CircuitBreaker.ofDefaults("viacep"), RateLimiterRegistry.ofDefaults(), properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cepAquecimentoService.encerrar();
+    }
+
+    @Test
+    @DisplayName("Aquecer: Deve consultar no ViaCEP apenas os CEPs que ainda não são conhecidos")
+    void aquecer_DeveConsultarSomenteCepsDesconhecidos() {
+        // Arrange
+        when(enderecoRepository.findCepsMaisFrequentes(any(Pageable.class)))
+                .thenReturn(Arrays.asList("01001000", "20040020", "99999999", "30140071"));
+        when(viaCepService.buscarEnderecoConhecido("01001000", AQUECIMENTO))
+                .thenReturn(Optional.of(new ViaCepResponse()));
+        when(viaCepService.buscarEnderecoConhecido("20040020", AQUECIMENTO)).thenReturn(Optional.empty());
+        when(viaCepService.buscarEnderecoConhecido("99999999", AQUECIMENTO)).thenReturn(Optional.empty());
+        when(viaCepService.buscarEnderecoConhecido("30140071", AQUECIMENTO)).thenReturn(Optional.empty());
+        when(viaCepService.buscarEnderecoPorCep("20040020", AQUECIMENTO)).thenReturn(new ViaCepResponse());
+        when(viaCepService.buscarEnderecoPorCep("99999999", AQUECIMENTO))
+                .thenThrow(new CepNotFoundException("99999999"));
+        when(viaCepService.buscarEnderecoPorCep("30140071", AQUECIMENTO))
+                .thenThrow(new CepNotFoundException("30140071", new RestClientException("Timeout")));
+
+        // Act
+        cepAquecimentoService.aquecer();
+
+        // Assert
+        verify(enderecoRepository).findCepsMaisFrequentes(argThat(p -> p.getPageSize() == 3));
+        verify(viaCepService, never()).buscarEnderecoPorCep("01001000", AQUECIMENTO);
+        assertThat(contador("ja_conhecido")).isEqualTo(1.0);
+        assertThat(contador("aquecido")).isEqualTo(1.0);
+        assertThat(contador("nao_encontrado")).isEqualTo(1.0);
+        assertThat(contador("erro")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("viacep.aquecimento.processados").gauge().value()).isEqualTo(4.0);
+        assertThat(cepAquecimentoService.status()).containsEntry("total", 4).containsEntry("emAndamento", false);
+    }
+
+    @Test
+    @DisplayName("Iniciar: Não deve disparar segundo aquecimento enquanto o primeiro roda")
+    void iniciar_EmAndamento_NaoDeveDispararNovamente() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch iniciado = new CountDownLatch(1);
+        when(enderecoRepository.findCepsMaisFrequentes(any(Pageable.class))).thenAnswer(invocation -> {
+            iniciado.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return Arrays.asList("01001000");
+        });
+        when(viaCepService.buscarEnderecoConhecido(anyString(), eq(AQUECIMENTO)))
+                .thenReturn(Optional.of(new ViaCepResponse()));
+
+        // Act & Assert
+        assertThat(cepAquecimentoService.iniciar()).isTrue();
+        assertThat(iniciado.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cepAquecimentoService.iniciar()).isFalse();
+        assertThat(meterRegistry.get("viacep.aquecimento.em.andamento").gauge().value()).isEqualTo(1.0);
+
+        liberar.countDown();
+        long limite = System.currentTimeMillis() + 5000;
+        while (Boolean.TRUE.equals(cepAquecimentoService.status().get("emAndamento"))
+                && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertThat(cepAquecimentoService.status()).containsEntry("processados", 1);
+        verify(enderecoRepository, times(1)).findCepsMaisFrequentes(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Aquecimento desabilitado: Não deve rodar ao iniciar a aplicação")
+    void aoIniciarAplicacao_Desabilitado_NaoDeveRodar() {
+        // Arrange
+        properties.getAquecimento().setHabilitado(false);
+
+        // Act
+        cepAquecimentoService.aoIniciarAplicacao();
+
+        // Assert
+        verifyNoInteractions(enderecoRepository, viaCepService);
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("viacep.aquecimento.ceps").tag("resultado", resultado).counter().count();
+    }
+}
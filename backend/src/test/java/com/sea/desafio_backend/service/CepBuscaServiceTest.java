@@ -0,0 +1,223 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.repository.EnderecoRepository;
+import com.sea.desafio_backend.repository.EnderecoRepository.LogradouroCep;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para CepBuscaService
+ * Cobrindo: índice local, cache por chave normalizada, cópias defensivas, validação e falha do ViaCEP
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CepBuscaService - Testes Unitários")
+class CepBuscaServiceTest {
+
+    @Mock
+    private EnderecoRepository enderecoRepository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CepBuscaService cepBuscaService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cepBuscaService = new CepBuscaService(enderecoRepository, restTemplate, CircuitBreaker.ofDefaults("viacep"),
+                new ViaCepMetricas(meterRegistry), new ViaCepProperties(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cepBuscaService.encerrar();
+    }
+
+    @Test
+    @DisplayName("Índice local: Nome exato de logradouro cadastrado deve ser respondido sem chamar o ViaCEP")
+    void buscar_LogradouroCadastrado_DeveUsarIndiceLocal() {
+        // Arrange
+        when(enderecoRepository.findLogradourosDistintos(any(Pageable.class))).thenReturn(Collections.singletonList(
+                logradouro("01001000", "Praça da Sé", "Sé", "São Paulo", "SP")));
+        cepBuscaService.atualizarIndice();
+
+        // Act - sem acentos e em minúsculas
+        List<ViaCepResponse> resultado = cepBuscaService.buscar("sp", "sao paulo", " praca  da se");
+
+        // Assert
+        assertThat(resultado).hasSize(1);
+        assertThat(resultado.get(0).getCep()).isEqualTo("01001-000");
+        assertThat(resultado.get(0).getLocalidade()).isEqualTo("São Paulo");
+        verifyNoInteractions(restTemplate);
+        assertThat(meterRegistry.get("viacep.busca.consultas").tag("fonte", "indice_local")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Índice local: Recarga deve ler no máximo viacep.busca.tamanho-maximo-indice logradouros")
+    void atualizarIndice_DeveLimitarLogradourosCarregados() {
+        // Arrange
+        ViaCepProperties properties = new ViaCepProperties();
+        properties.getBusca().setTamanhoMaximoIndice(2);
+        CepBuscaService limitado = new CepBuscaService(enderecoRepository, restTemplate,
+                CircuitBreaker.ofDefaults("viacep"), new ViaCepMetricas(meterRegistry), properties, meterRegistry);
+        when(enderecoRepository.findLogradourosDistintos(any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // Act
+        limitado.atualizarIndice();
+
+        // Assert
+        ArgumentCaptor<Pageable> limite = ArgumentCaptor.forClass(Pageable.class);
+        verify(enderecoRepository).findLogradourosDistintos(limite.capture());
+        assertThat(limite.getValue().getPageSize()).isEqualTo(2);
+        limitado.encerrar();
+    }
+
+    @Test
+    @DisplayName("Índice local: Trecho de logradouro cadastrado deve consultar o ViaCEP (resultado completo)")
+    void buscar_TrechoDeLogradouroCadastrado_DeveConsultarViaCep() {
+        // Arrange - só uma das ruas com "Paulista" está cadastrada
+        when(enderecoRepository.findLogradourosDistintos(any(Pageable.class))).thenReturn(Collections.singletonList(
+                logradouro("01310100", "Avenida Paulista", "Bela Vista", "São Paulo", "SP")));
+        cepBuscaService.atualizarIndice();
+        ViaCepResponse[] resposta = {
+                new ViaCepResponse("01310-100", "Avenida Paulista", "", "Bela Vista", "São Paulo", "SP", null),
+                new ViaCepResponse("04545-000", "Rua Paulistânia", "", "Vila Olímpia", "São Paulo", "SP", null)};
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse[].class), any(), any(), any()))
+                .thenReturn(resposta);
+
+        // Act
+        List<ViaCepResponse> resultado = cepBuscaService.buscar("SP", "São Paulo", "Paulista");
+
+        // Assert
+        assertThat(resultado).hasSize(2);
+        assertThat(meterRegistry.get("viacep.busca.consultas").tag("fonte", "indice_local")
+                .counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Cache e índice local: Alterar o resultado recebido não deve afetar as próximas buscas")
+    void buscar_ResultadoAlteradoPeloChamador_NaoDeveAlterarCacheNemIndice() {
+        // Arrange
+        when(enderecoRepository.findLogradourosDistintos(any(Pageable.class))).thenReturn(Collections.singletonList(
+                logradouro("01001000", "Praça da Sé", "Sé", "São Paulo", "SP")));
+        cepBuscaService.atualizarIndice();
+        ViaCepResponse[] resposta = {new ViaCepResponse("91420-270", "Rua Domingos José Poli", "", "Jardim Carvalho",
+                "Porto Alegre", "RS", null)};
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse[].class), any(), any(), any()))
+                .thenReturn(resposta);
+
+        // Act - o chamador edita o que recebeu
+        cepBuscaService.buscar("RS", "Porto Alegre", "Domingos José Poli").get(0).setLogradouro("Editado");
+        cepBuscaService.buscar("SP", "São Paulo", "Praça da Sé").get(0).setBairro("Editado");
+
+        // Assert
+        assertThat(cepBuscaService.buscar("RS", "Porto Alegre", "Domingos José Poli").get(0).getLogradouro())
+                .isEqualTo("Rua Domingos José Poli");
+        assertThat(cepBuscaService.buscar("SP", "São Paulo", "Praça da Sé").get(0).getBairro()).isEqualTo("Sé");
+    }
+
+    @Test
+    @DisplayName("Cache: Mesma busca com acentos e maiúsculas diferentes deve chamar o ViaCEP uma vez")
+    void buscar_BuscaEquivalente_DeveUsarCacheNormalizado() {
+        // Arrange
+        ViaCepResponse[] resposta = {new ViaCepResponse("91420-270", "Rua Domingos José Poli", "", "Jardim Carvalho",
+                "Porto Alegre", "RS", null)};
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse[].class), any(), any(), any()))
+                .thenReturn(resposta);
+
+        // Act
+        cepBuscaService.buscar("RS", "Porto Alegre", "Domingos José");
+        List<ViaCepResponse> segunda = cepBuscaService.buscar("rs", " porto  alegre ", "DOMINGOS JOSE");
+
+        // Assert
+        assertThat(segunda).hasSize(1);
+        verify(restTemplate, times(1)).getForObject(ViaCepProperties.URL_BUSCA_PADRAO, ViaCepResponse[].class,
+                "RS", "Porto Alegre", "Domingos José");
+        assertThat(meterRegistry.get("viacep.busca.consultas").tag("fonte", "cache")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Cache: Busca sem resultados também deve ficar em cache")
+    void buscar_SemResultados_DeveArmazenarListaVazia() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse[].class), any(), any(), any()))
+                .thenReturn(new ViaCepResponse[0]);
+
+        // Act
+        List<ViaCepResponse> primeira = cepBuscaService.buscar("SP", "Campinas", "Rua Inexistente");
+        List<ViaCepResponse> segunda = cepBuscaService.buscar("SP", "Campinas", "Rua Inexistente");
+
+        // Assert
+        assertThat(primeira).isEmpty();
+        assertThat(segunda).isEmpty();
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(ViaCepResponse[].class), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Validação: Cidade com menos de 3 caracteres deve falhar sem chamar o ViaCEP")
+    void buscar_CidadeCurta_DeveLancarIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> cepBuscaService.buscar("SP", "Sã", "Praça da Sé"));
+        assertThrows(IllegalArgumentException.class, () -> cepBuscaService.buscar("SPP", "São Paulo", "Praça"));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("ViaCEP indisponível: Deve lançar CepNotFoundException com a causa e não armazenar")
+    void buscar_ErroDeComunicacao_DeveLancarExceptionSemArmazenar() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse[].class), any(), any(), any()))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        // Act & Assert
+        CepNotFoundException erro = assertThrows(CepNotFoundException.class,
+                () -> cepBuscaService.buscar("SP", "São Paulo", "Paulista"));
+        assertThat(erro.getCause()).isInstanceOf(ResourceAccessException.class);
+        assertThrows(CepNotFoundException.class, () -> cepBuscaService.buscar("SP", "São Paulo", "Paulista"));
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(ViaCepResponse[].class), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Normalização: Deve remover acentos, baixar a caixa e simplificar espaços")
+    void normalizar_DeveRemoverAcentosEEspacos() {
+        assertThat(CepBuscaService.normalizar("  Praça  da Sé ")).isEqualTo("praca da se");
+        assertThat(CepBuscaService.normalizar("SÃO JOÃO DEL-REI")).isEqualTo("sao joao del-rei");
+        assertThat(CepBuscaService.normalizar(null)).isEmpty();
+    }
+
+    private static LogradouroCep logradouro(String cep, String logradouro, String bairro, String cidade, String uf) {
+        return new LogradouroCep() {
+            @Override public String getCep() { return cep; }
+            @Override public String getLogradouro() { return logradouro; }
+            @Override public String getBairro() { return bairro; }
+            @Override public String getCidade() { return cidade; }
+            @Override public String getUf() { return uf; }
+        };
+    }
+}
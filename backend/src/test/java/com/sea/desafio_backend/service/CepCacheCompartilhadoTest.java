@@ -0,0 +1,163 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.model.entity.CepArmazenado;
+import com.sea.desafio_backend.repository.CepArmazenadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para CepCacheCompartilhado
+ * Cobrindo: TTL por updated_at, gravação, falhas de banco e desabilitação
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CepCacheCompartilhado - Testes Unitários")
+class CepCacheCompartilhadoTest {
+
+    private static final Clock RELOGIO = Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneId.of("UTC"));
+
+    @Mock
+    private CepArmazenadoRepository repository;
+
+    private ViaCepProperties properties;
+    private CepCacheCompartilhado compartilhado;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ViaCepProperties();
+        properties.getCache().setTtlCompartilhado(Duration.ofDays(30));
+        compartilhado = new CepCacheCompartilhado(repository, properties, Runnable::run, RELOGIO);
+    }
+
+    @Test
+    @DisplayName("CEP dentro do TTL deve ser retornado com máscara")
+    void buscar_DentroDoTtl_DeveRetornarEndereco() {
+        when(repository.findById("01001000")).thenReturn(Optional.of(registro(Duration.ofDays(29))));
+
+        Optional<ViaCepResponse> response = compartilhado.buscar("01001000");
+
+        assertThat(response).hasValueSatisfying(r -> {
+            assertThat(r.getCep()).isEqualTo("01001-000");
+            assertThat(r.getLogradouro()).isEqualTo("Praça da Sé");
+            assertThat(r.getUf()).isEqualTo("SP");
+        });
+    }
+
+    @Test
+    @DisplayName("CEP com updated_at além do TTL só deve servir como último valor conhecido")
+    void buscar_ForaDoTtl_DeveRetornarVazio() {
+        when(repository.findById("01001000")).thenReturn(Optional.of(registro(Duration.ofDays(31))));
+
+        assertThat(compartilhado.buscar("01001000")).isEmpty();
+        assertThat(compartilhado.buscarUltimoValorConhecido("01001000")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Falha do banco na leitura não deve propagar")
+    void buscar_FalhaDeBanco_DeveRetornarVazio() {
+        when(repository.findById("01001000")).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThat(compartilhado.buscar("01001000")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Armazenar deve gravar o CEP sem máscara com updated_at atual")
+    void armazenar_DeveGravarComUpdatedAt() {
+        ViaCepResponse response = new ViaCepResponse("01001-000", "Praça da Sé", "lado ímpar", "Sé",
+                "São Paulo", "SP", null);
+
+        compartilhado.armazenar("01001000", response);
+
+        ArgumentCaptor<CepArmazenado> captor = ArgumentCaptor.forClass(CepArmazenado.class);
+        verify(repository).save(captor.capture());
+        assertThat(captor.getValue().getCep()).isEqualTo("01001000");
+        assertThat(captor.getValue().getComplemento()).isEqualTo("lado ímpar");
+        assertThat(captor.getValue().getUpdatedAt()).isEqualTo(LocalDateTime.now(RELOGIO));
+    }
+
+    @Test
+    @DisplayName("Falha do banco na gravação não deve propagar")
+    void armazenar_FalhaDeBanco_NaoDevePropagar() {
+        when(repository.save(any())).thenThrow(new DataIntegrityViolationException("duplicado"));
+
+        compartilhado.armazenar("01001000", new ViaCepResponse());
+
+        verify(repository).save(any());
+    }
+
+    @Test
+    @DisplayName("Busca de vários CEPs deve usar uma consulta e descartar os expirados")
+    void buscarVarios_DeveConsultarUmaVezERespeitarTtl() {
+        CepArmazenado expirado = new CepArmazenado("02002000", "Rua Antiga", "", "Centro", "São Paulo", "SP",
+                LocalDateTime.now(RELOGIO).minus(Duration.ofDays(31)));
+        when(repository.findAllById(Arrays.asList("01001000", "02002000", "03003000")))
+                .thenReturn(Arrays.asList(registro(Duration.ofDays(1)), expirado));
+
+        Map<String, ViaCepResponse> encontrados =
+                compartilhado.buscarVarios(Arrays.asList("01001000", "02002000", "03003000"));
+
+        assertThat(encontrados).containsOnlyKeys("01001000");
+        verify(repository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Leitura assíncrona deve consultar o banco só no executor")
+    void buscarAsync_DeveLerNoExecutor() {
+        List<Runnable> tarefas = new ArrayList<>();
+        CepCacheCompartilhado emBackground = new CepCacheCompartilhado(repository, properties, tarefas::add, RELOGIO);
+        when(repository.findById("01001000")).thenReturn(Optional.of(registro(Duration.ofDays(31))));
+
+        CompletableFuture<Optional<ViaCepResponse>> dentroDoTtl = emBackground.buscarAsync("01001000");
+        CompletableFuture<Optional<ViaCepResponse>> ultimoValor = emBackground.buscarUltimoValorConhecidoAsync("01001000");
+
+        assertThat(dentroDoTtl).isNotDone();
+        verifyNoInteractions(repository);
+        tarefas.forEach(Runnable::run);
+        assertThat(dentroDoTtl.join()).isEmpty();
+        assertThat(ultimoValor.join()).isPresent();
+    }
+
+    @Test
+    @DisplayName("Desabilitado não deve acessar o banco")
+    void desabilitado_NaoDeveAcessarBanco() {
+        properties.getCache().setCompartilhado(false);
+
+        assertThat(compartilhado.buscar("01001000")).isEmpty();
+        assertThat(compartilhado.buscarAsync("01001000").join()).isEmpty();
+        compartilhado.armazenar("01001000", new ViaCepResponse());
+
+        verifyNoInteractions(repository);
+    }
+
+    private static CepArmazenado registro(Duration idade) {
+        return new CepArmazenado("01001000", "Praça da Sé", "", "Sé", "São Paulo", "SP",
+                LocalDateTime.now(RELOGIO).minus(idade));
+    }
+}
@@ -0,0 +1,207 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para CepCache
+ * Cobrindo: TTL positivo, TTL negativo, último valor conhecido, métricas e cache compartilhado
+ */
+@DisplayName("CepCache - Testes Unitários")
+class CepCacheTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private ViaCepProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CepCache cepCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ViaCepProperties();
+        properties.getCache().setTamanhoMaximo(100);
+        properties.getCache().setTtl(Duration.ofHours(1));
+        properties.getCache().setTtlNegativo(Duration.ofMinutes(1));
+        properties.getCache().setRetencaoObsoleto(Duration.ofHours(2));
+
+        meterRegistry = new SimpleMeterRegistry();
+        cepCache = new CepCache(properties, meterRegistry, relogio::get);
+    }
+
+    @Test
+    @DisplayName("CEP encontrado deve expirar somente após o TTL")
+    void armazenar_DeveExpirarAposTtl() {
+        cepCache.armazenar("01001000", endereco("01001-000"));
+
+        avancar(30, TimeUnit.MINUTES);
+        assertThat(cepCache.buscar("01001000")).isPresent();
+
+        avancar(31, TimeUnit.MINUTES);
+        assertThat(cepCache.buscar("01001000")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("CEP inexistente deve expirar após o TTL negativo")
+    void armazenarNaoEncontrado_DeveExpirarAposTtlNegativo() {
+        cepCache.armazenarNaoEncontrado("99999999");
+
+        assertThat(cepCache.buscar("99999999")).hasValueSatisfying(e -> assertThat(e.isNaoEncontrado()).isTrue());
+
+        avancar(2, TimeUnit.MINUTES);
+        assertThat(cepCache.buscar("99999999")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Alterar o objeto retornado não deve afetar o cache")
+    void buscar_DeveRetornarCopiaDefensiva() {
+        cepCache.armazenar("01001000", endereco("01001-000"));
+
+        cepCache.buscar("01001000").get().getResponse().setLogradouro("Alterado");
+
+        assertThat(cepCache.buscar("01001000").get().getResponse().getLogradouro()).isEqualTo("Praça da Sé");
+    }
+
+    @Test
+    @DisplayName("Métricas de hit/miss devem ser publicadas no MeterRegistry")
+    void buscar_DevePublicarMetricas() {
+        cepCache.armazenar("01001000", endereco("01001-000"));
+        cepCache.buscar("01001000");
+        cepCache.buscar("02002000");
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CepCache.NOME_METRICA).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CepCache.NOME_METRICA).tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Último valor conhecido deve sobreviver ao TTL até o fim da retenção")
+    void buscarUltimoValorConhecido_DeveRespeitarRetencao() {
+        cepCache.armazenar("01001000", endereco("01001-000"));
+
+        avancar(2, TimeUnit.HOURS);
+        assertThat(cepCache.buscar("01001000")).isEmpty();
+        assertThat(cepCache.buscarUltimoValorConhecido("01001000")).isPresent();
+        assertThat(meterRegistry.get(CepCache.NOME_METRICA + ".obsoleto.servido").counter().count()).isEqualTo(1.0);
+
+        avancar(2, TimeUnit.HOURS);
+        assertThat(cepCache.buscarUltimoValorConhecido("01001000")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Falta em memória deve consultar o cache compartilhado e guardar o resultado em memória")
+    void buscar_FaltaEmMemoria_DeveConsultarCacheCompartilhado() {
+        CepCacheCompartilhado compartilhado = mock(CepCacheCompartilhado.class);
+        when(compartilhado.buscar("01001000")).thenReturn(Optional.of(endereco("01001-000")));
+        when(compartilhado.buscar("02002000")).thenReturn(Optional.empty());
+        CepCache comCompartilhado = new CepCache(properties, meterRegistry, relogio::get, compartilhado);
+
+        assertThat(comCompartilhado.buscar("01001000"))
+                .hasValueSatisfying(e -> assertThat(e.getResponse().getLogradouro()).isEqualTo("Praça da Sé"));
+        assertThat(comCompartilhado.buscar("01001000")).isPresent();
+        assertThat(comCompartilhado.buscar("02002000")).isEmpty();
+
+        verify(compartilhado, times(1)).buscar("01001000");
+        assertThat(meterRegistry.get(CepCache.NOME_METRICA + ".compartilhado").tag("resultado", "hit")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(CepCache.NOME_METRICA + ".compartilhado").tag("resultado", "miss")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Busca assíncrona deve ler o cache compartilhado pelo método assíncrono")
+    void buscarAsync_FaltaEmMemoria_DeveConsultarCacheCompartilhadoEmBackground() {
+        CepCacheCompartilhado compartilhado = mock(CepCacheCompartilhado.class);
+        CompletableFuture<Optional<ViaCepResponse>> leitura = new CompletableFuture<>();
+        when(compartilhado.buscarAsync("01001000")).thenReturn(leitura);
+        CepCache comCompartilhado = new CepCache(properties, meterRegistry, relogio::get, compartilhado);
+
+        CompletableFuture<Optional<CepCache.Entrada>> resultado = comCompartilhado.buscarAsync("01001000");
+        assertThat(resultado).isNotDone();
+        leitura.complete(Optional.of(endereco("01001-000")));
+
+        assertThat(resultado.join()).isPresent();
+        assertThat(comCompartilhado.buscarEmMemoria("01001000")).isPresent();
+        verify(compartilhado, never()).buscar(any());
+    }
+
+    @Test
+    @DisplayName("Último valor conhecido fora da memória deve vir do cache compartilhado")
+    void buscarUltimoValorConhecido_FaltaEmMemoria_DeveConsultarCacheCompartilhado() {
+        CepCacheCompartilhado compartilhado = mock(CepCacheCompartilhado.class);
+        when(compartilhado.buscarUltimoValorConhecido("01001000")).thenReturn(Optional.of(endereco("01001-000")));
+        when(compartilhado.buscarUltimoValorConhecidoAsync("01001000"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(endereco("01001-000"))));
+        CepCache comCompartilhado = new CepCache(properties, meterRegistry, relogio::get, compartilhado);
+
+        assertThat(comCompartilhado.buscarUltimoValorConhecido("01001000")).isPresent();
+        assertThat(comCompartilhado.buscarUltimoValorConhecidoAsync("01001000").join()).isPresent();
+        assertThat(meterRegistry.get(CepCache.NOME_METRICA + ".obsoleto.servido").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Carga em lote deve buscar no cache compartilhado só os CEPs fora da memória, de uma vez")
+    void carregarDoCompartilhado_DeveConsultarAusentesDeUmaVez() {
+        CepCacheCompartilhado compartilhado = mock(CepCacheCompartilhado.class);
+        when(compartilhado.buscarVarios(Arrays.asList("02002000", "03003000")))
+                .thenReturn(Collections.singletonMap("02002000", endereco("02002-000")));
+        CepCache comCompartilhado = new CepCache(properties, meterRegistry, relogio::get, compartilhado);
+        comCompartilhado.armazenar("01001000", endereco("01001-000"));
+
+        comCompartilhado.carregarDoCompartilhado(Arrays.asList("01001000", "02002000", "03003000"));
+
+        assertThat(comCompartilhado.buscarEmMemoria("02002000")).isPresent();
+        assertThat(comCompartilhado.buscarEmMemoria("03003000")).isEmpty();
+        verify(compartilhado, times(1)).buscarVarios(any());
+        verify(compartilhado, never()).buscar(any());
+        assertThat(meterRegistry.get(CepCache.NOME_METRICA + ".compartilhado").tag("resultado", "hit")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("CEP encontrado deve ser gravado também no cache compartilhado")
+    void armazenar_DeveGravarNoCacheCompartilhado() {
+        CepCacheCompartilhado compartilhado = mock(CepCacheCompartilhado.class);
+        CepCache comCompartilhado = new CepCache(properties, meterRegistry, relogio::get, compartilhado);
+        ViaCepResponse response = endereco("01001-000");
+
+        comCompartilhado.armazenar("01001000", response);
+        comCompartilhado.armazenarNaoEncontrado("99999999");
+
+        verify(compartilhado).armazenar("01001000", response);
+        verify(compartilhado, never()).armazenar(eq("99999999"), any());
+    }
+
+    private void avancar(long quantidade, TimeUnit unidade) {
+        relogio.addAndGet(unidade.toNanos(quantidade));
+    }
+
+    private ViaCepResponse endereco(String cep) {
+        ViaCepResponse response = new ViaCepResponse();
+        response.setCep(cep);
+        response.setLogradouro("Praça da Sé");
+        response.setLocalidade("São Paulo");
+        response.setUf("SP");
+        return response;
+    }
+}
@@ -0,0 +1,174 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.CepLoteResponse;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.sea.desafio_backend.service.OrigemConsulta.LOTE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para CepLoteService
+ * Cobrindo: deduplicação, respostas imediatas, limite de concorrência e erros por CEP
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CepLoteService - Testes Unitários")
+class CepLoteServiceTest {
+
+    @Mock
+    private ViaCepService viaCepService;
+
+    private CepLoteService cepLoteService;
+
+    private final List<CepLoteResponse> resultados = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        ViaCepProperties properties = new ViaCepProperties();
+        properties.getLote().setConcorrencia(2);
+        // Executor direto: resultados entregues na thread que completa a consulta
+        cepLoteService = new CepLoteService(viaCepService, properties, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("CEPs repetidos (com e sem máscara) devem ser consultados uma única vez")
+    void resolver_CepsRepetidos_DeveConsultarUmaVez() {
+        // Arrange
+        when(viaCepService.buscarEnderecoEmMemoria(anyString(), eq(LOTE))).thenReturn(Optional.empty());
+        when(viaCepService.buscarEnderecoPorCepAsync("01001000", LOTE))
+                .thenReturn(CompletableFuture.completedFuture(endereco("01001-000")));
+
+        // Act
+        cepLoteService.resolver(Arrays.asList("01001-000", "01001000", "01001-000"), resultados::add).join();
+
+        // Assert
+        assertThat(resultados).hasSize(1);
+        assertThat(resultados.get(0).getCep()).isEqualTo("01001-000");
+        assertThat(resultados.get(0).getStatus()).isEqualTo(CepLoteResponse.Status.ENCONTRADO);
+        verify(viaCepService, times(1)).buscarEnderecoPorCepAsync("01001000", LOTE);
+    }
+
+    @Test
+    @DisplayName("CEPs conhecidos, inválidos e do cache negativo devem ser respondidos sem consultar o ViaCEP")
+    void resolver_CepsConhecidos_DeveResponderNaHora() {
+        // Arrange
+        when(viaCepService.buscarEnderecoEmMemoria("01001000", LOTE)).thenReturn(Optional.of(endereco("01001-000")));
+        when(viaCepService.buscarEnderecoEmMemoria("123", LOTE))
+                .thenThrow(new IllegalArgumentException("CEP deve ter 8 dígitos. Recebido: 123"));
+        when(viaCepService.buscarEnderecoEmMemoria("99999999", LOTE)).thenThrow(new CepNotFoundException("99999999"));
+
+        // Act
+        CompletableFuture<Void> concluido = cepLoteService.resolver(
+                Arrays.asList("01001000", "123", "99999999"), resultados::add);
+
+        // Assert
+        assertThat(concluido).isDone();
+        assertThat(resultados).extracting(CepLoteResponse::getStatus).containsExactly(
+                CepLoteResponse.Status.ENCONTRADO,
+                CepLoteResponse.Status.INVALIDO,
+                CepLoteResponse.Status.NAO_ENCONTRADO);
+        verify(viaCepService, never()).buscarEnderecoPorCepAsync(anyString(), eq(LOTE));
+    }
+
+    @Test
+    @DisplayName("Cada CEP malformado deve ter a sua linha de erro no resultado")
+    void resolver_VariosCepsMalformados_DeveResponderCadaUm() {
+        // Arrange - sem a máscara, "abc" e "" virariam a mesma chave vazia
+        when(viaCepService.buscarEnderecoEmMemoria(anyString(), eq(LOTE)))
+                .thenThrow(new IllegalArgumentException("CEP deve ter 8 dígitos"));
+
+        // Act
+        cepLoteService.resolver(Arrays.asList("abc", "", "1234", "abc"), resultados::add).join();
+
+        // Assert
+        assertThat(resultados).extracting(CepLoteResponse::getCep).containsExactly("abc", "", "1234");
+        assertThat(resultados).allSatisfy(resultado ->
+                assertThat(resultado.getStatus()).isEqualTo(CepLoteResponse.Status.INVALIDO));
+        verify(viaCepService, never()).carregarCacheCompartilhado(any());
+    }
+
+    @Test
+    @DisplayName("CEPs fora da memória devem ser buscados no cache compartilhado com uma única consulta")
+    void resolver_CepsForaDaMemoria_DeveCarregarCacheCompartilhadoUmaVez() {
+        // Arrange - 01001000 está na tabela cep_cache: conhecido depois da carga
+        when(viaCepService.buscarEnderecoEmMemoria("01001000", LOTE))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(endereco("01001-000")));
+        when(viaCepService.buscarEnderecoEmMemoria("20040020", LOTE)).thenReturn(Optional.empty());
+        when(viaCepService.buscarEnderecoEmMemoria("70040900", LOTE)).thenReturn(Optional.of(endereco("70040-900")));
+        when(viaCepService.buscarEnderecoPorCepAsync("20040020", LOTE))
+                .thenReturn(CompletableFuture.completedFuture(endereco("20040-020")));
+
+        // Act
+        cepLoteService.resolver(Arrays.asList("01001000", "20040020", "70040900"), resultados::add).join();
+
+        // Assert
+        verify(viaCepService, times(1)).carregarCacheCompartilhado(Arrays.asList("01001000", "20040020"));
+        verify(viaCepService, never()).buscarEnderecoPorCepAsync("01001000", LOTE);
+        assertThat(resultados).extracting(CepLoteResponse::getCep)
+                .containsExactlyInAnyOrder("01001000", "20040020", "70040900");
+    }
+
+    @Test
+    @DisplayName("Consultas ao ViaCEP devem respeitar o limite de concorrência e não esperar CEPs lentos")
+    void resolver_CepsPendentes_DeveRespeitarConcorrencia() {
+        // Arrange
+        Map<String, CompletableFuture<ViaCepResponse>> chamadas = new HashMap<>();
+        when(viaCepService.buscarEnderecoEmMemoria(anyString(), eq(LOTE))).thenReturn(Optional.empty());
+        when(viaCepService.buscarEnderecoPorCepAsync(anyString(), eq(LOTE))).thenAnswer(invocation -> {
+            CompletableFuture<ViaCepResponse> chamada = new CompletableFuture<>();
+            chamadas.put(invocation.getArgument(0), chamada);
+            return chamada;
+        });
+
+        // Act
+        CompletableFuture<Void> concluido = cepLoteService.resolver(
+                Arrays.asList("11111111", "22222222", "33333333", "44444444"), resultados::add);
+
+        // Assert - Apenas 2 em andamento
+        assertThat(chamadas).containsOnlyKeys("11111111", "22222222");
+
+        // O segundo CEP responde antes do primeiro (lento): resultado entregue e vaga liberada
+        chamadas.get("22222222").complete(endereco("22222-222"));
+        assertThat(resultados).extracting(CepLoteResponse::getCep).containsExactly("22222222");
+        assertThat(chamadas).containsOnlyKeys("11111111", "22222222", "33333333");
+
+        CompletableFuture<ViaCepResponse> falha = chamadas.get("33333333");
+        falha.completeExceptionally(new CepNotFoundException("33333333"));
+        chamadas.get("44444444").complete(endereco("44444-444"));
+        assertThat(concluido).isNotDone();
+
+        chamadas.get("11111111").complete(endereco("11111-111"));
+        assertThat(concluido).isDone();
+        assertThat(resultados).extracting(CepLoteResponse::getCep)
+                .containsExactly("22222222", "33333333", "44444444", "11111111");
+        assertThat(resultados.get(1).getStatus()).isEqualTo(CepLoteResponse.Status.NAO_ENCONTRADO);
+    }
+
+    private ViaCepResponse endereco(String cep) {
+        ViaCepResponse response = new ViaCepResponse();
+        response.setCep(cep);
+        response.setLocalidade("São Paulo");
+        response.setUf("SP");
+        return response;
+    }
+}
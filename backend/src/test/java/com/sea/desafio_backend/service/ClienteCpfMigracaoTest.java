@@ -0,0 +1,113 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.repository.ClienteRepository;
+import com.sea.desafio_backend.util.CpfCriptografia;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ClienteCpfMigracao
+ * Cobrindo: cifra do CPF e preenchimento de cpf_hash em lotes por faixa de ID, CPF fora do formato,
+ * coluna cpf estreita e falha interrompendo a inicialização
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClienteCpfMigracao - Testes Unitários")
+class ClienteCpfMigracaoTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CpfCriptografia criptografia = new CpfCriptografia(new byte[32], new byte[32]);
+
+    private ClienteCpfMigracao migracao;
+
+    @BeforeEach
+    void setUp() {
+        migracao = new ClienteCpfMigracao(clienteRepository, criptografia, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Migrar: Deve cifrar o CPF legado, preencher cpf_hash e avançar pelo ID")
+    void migrar_ClientesSemCpfHash_DeveCifrarEmLotes() {
+        // Arrange
+        when(clienteRepository.findCpfsSemHash(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(new Object[]{1L, "123.456.789-09"}, new Object[]{7L, "012.345.678-90"}));
+        when(clienteRepository.findCpfsSemHash(eq(7L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        int atualizados = migracao.migrar();
+
+        // Assert
+        assertThat(atualizados).isEqualTo(2);
+        ArgumentCaptor<String> cifrado = ArgumentCaptor.forClass(String.class);
+        verify(clienteRepository).gravarCpfCifrado(eq(1L), cifrado.capture(), eq(criptografia.indice(12345678909L)));
+        assertThat(criptografia.decifrar(cifrado.getValue())).isEqualTo("123.456.789-09");
+        verify(clienteRepository).gravarCpfCifrado(eq(7L), anyString(), eq(criptografia.indice(1234567890L)));
+    }
+
+    @Test
+    @DisplayName("Migrar: CPF fora do formato não deve travar a migração")
+    void migrar_CpfForaDoFormato_DeveSeguirParaProximoLote() {
+        // Arrange
+        when(clienteRepository.findCpfsSemHash(eq(0L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(new Object[]{3L, "123"}));
+        when(clienteRepository.findCpfsSemHash(eq(3L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        int atualizados = migracao.migrar();
+
+        // Assert
+        assertThat(atualizados).isZero();
+        verify(clienteRepository, never()).gravarCpfCifrado(anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Inicialização: Coluna cpf sem espaço para o valor cifrado deve impedir a subida")
+    void afterSingletonsInstantiated_ColunaCpfEstreita_DeveLancarExcecao() {
+        // Arrange - banco criado com ddl-auto=update antes da criptografia
+        when(clienteRepository.tamanhoColunaCpf()).thenReturn(14);
+
+        // Act & Assert
+        assertThatThrownBy(() -> migracao.afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("VARCHAR(14)");
+        verify(clienteRepository, never()).findCpfsSemHash(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Inicialização: Falha na migração deve impedir a subida")
+    void afterSingletonsInstantiated_FalhaNaMigracao_DevePropagar() {
+        // Arrange
+        when(clienteRepository.tamanhoColunaCpf()).thenReturn(64);
+        when(clienteRepository.findCpfsSemHash(eq(0L), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("conexão perdida"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> migracao.afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("conexão perdida");
+    }
+}
@@ -0,0 +1,217 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.dto.request.ClienteRequest;
+import com.sea.desafio_backend.dto.request.EmailRequest;
+import com.sea.desafio_backend.dto.request.EnderecoRequest;
+import com.sea.desafio_backend.dto.request.TelefoneRequest;
+import com.sea.desafio_backend.dto.response.ClienteResponse;
+import com.sea.desafio_backend.dto.response.PaginaCursorResponse;
+import com.sea.desafio_backend.model.entity.Cliente;
+import com.sea.desafio_backend.model.enums.TipoTelefone;
+import com.sea.desafio_backend.model.vo.Cpf;
+import com.sea.desafio_backend.repository.ClienteRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração da listagem paginada de clientes (H2)
+ *
+ * Conta os comandos SQL pelas estatísticas do Hibernate: a página, já convertida em
+ * ClienteResponse (fora da transação, como no controller), deve custar sempre 4 consultas
+ * por número de página e 3 por cursor (sem contagem). Os nomes se repetem para que a
+ * ordem por cursor dependa do desempate pelo ID.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "logging.level.com.sea.desafio_backend=WARN"
+})
+@DisplayName("ClienteService - Listagem paginada sem N+1 (integração)")
+class ClienteListagemIntegrationTest {
+
+    private static final int CLIENTES = 25;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < CLIENTES; i++) {
+            clienteService.criarCliente(request(i));
+        }
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Página de 10 clientes com endereço, telefones e emails deve custar 4 consultas")
+    void listarTodosPaginado_DeveCustarQuatroConsultas() {
+        List<ClienteResponse> respostas = listar(1, 10);
+
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(respostas).hasSize(10);
+        assertThat(respostas).allSatisfy(resposta -> {
+            assertThat(resposta.getEndereco()).isNotNull();
+            assertThat(resposta.getTelefones()).hasSize(2);
+            assertThat(resposta.getEmails()).hasSize(2);
+        });
+    }
+
+    @Test
+    @DisplayName("Número de consultas não deve depender do tamanho da página")
+    void listarTodosPaginado_TamanhoDaPagina_NaoDeveMudarConsultas() {
+        listar(0, 5);
+        long paginaPequena = estatisticas.getPrepareStatementCount();
+        estatisticas.clear();
+
+        listar(0, 20);
+        long paginaGrande = estatisticas.getPrepareStatementCount();
+
+        assertThat(paginaPequena).isEqualTo(4);
+        assertThat(paginaGrande).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Cursor: Deve percorrer todos os clientes por (nome, id), 3 consultas por página")
+    void listarPorCursor_DevePercorrerEmOrdemComCustoFixo() {
+        List<Long> esperado = clienteRepository.findAll().stream()
+                .sorted(Comparator.comparing(Cliente::getNome).thenComparing(Cliente::getId))
+                .map(Cliente::getId)
+                .collect(Collectors.toList());
+        estatisticas.clear();
+
+        List<Long> percorrido = new ArrayList<>();
+        List<PaginaCursorResponse<ClienteResponse>> paginas = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            PaginaCursorResponse<ClienteResponse> pagina = listarPorCursor(cursor, 10);
+            assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(3);
+            estatisticas.clear();
+            pagina.getContent().forEach(cliente -> percorrido.add(cliente.getId()));
+            paginas.add(pagina);
+            cursor = pagina.getNextCursor();
+        }
+
+        assertThat(percorrido).isEqualTo(esperado);
+        assertThat(paginas).hasSize(3);
+        assertThat(paginas.get(0).getPrevCursor()).isNull();
+        assertThat(paginas.get(2).getContent()).hasSize(5);
+        assertThat(paginas.get(2).getContent()).allSatisfy(cliente -> {
+            assertThat(cliente.getTelefones()).hasSize(2);
+            assertThat(cliente.getEmails()).hasSize(2);
+        });
+    }
+
+    @Test
+    @DisplayName("Cursor: prevCursor deve voltar exatamente para a página anterior")
+    void listarPorCursor_PrevCursor_DeveVoltarUmaPagina() {
+        PaginaCursorResponse<ClienteResponse> primeira = listarPorCursor("", 10);
+        PaginaCursorResponse<ClienteResponse> segunda = listarPorCursor(primeira.getNextCursor(), 10);
+        PaginaCursorResponse<ClienteResponse> terceira = listarPorCursor(segunda.getNextCursor(), 10);
+
+        PaginaCursorResponse<ClienteResponse> voltaSegunda = listarPorCursor(terceira.getPrevCursor(), 10);
+        PaginaCursorResponse<ClienteResponse> voltaPrimeira = listarPorCursor(voltaSegunda.getPrevCursor(), 10);
+
+        assertThat(ids(voltaSegunda)).isEqualTo(ids(segunda));
+        assertThat(ids(voltaPrimeira)).isEqualTo(ids(primeira));
+        assertThat(voltaPrimeira.getPrevCursor()).isNull();
+        assertThat(ids(listarPorCursor(voltaPrimeira.getNextCursor(), 10))).isEqualTo(ids(segunda));
+    }
+
+    private PaginaCursorResponse<ClienteResponse> listarPorCursor(String cursor, int tamanho) {
+        return clienteService.listarPorCursor(cursor, tamanho).map(ClienteResponse::fromEntity);
+    }
+
+    private static List<Long> ids(PaginaCursorResponse<ClienteResponse> pagina) {
+        return pagina.getContent().stream().map(ClienteResponse::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Mesma conversão do ClienteController.listarTodos
+     */
+    private List<ClienteResponse> listar(int pagina, int tamanho) {
+        Page<Cliente> clientes = clienteService.listarTodosPaginado(PageRequest.of(pagina, tamanho));
+        assertThat(clientes.getTotalElements()).isEqualTo(CLIENTES);
+        return clientes.map(ClienteResponse::fromEntity).getContent().stream().collect(Collectors.toList());
+    }
+
+    private static ClienteRequest request(int i) {
+        ClienteRequest request = new ClienteRequest();
+        request.setNome("Cliente " + (i % 7));
+        request.setCpf(Cpf.de(cpfValido(100_000_000 + i)));
+
+        EnderecoRequest endereco = new EnderecoRequest();
+        endereco.setCep("01310-100");
+        endereco.setLogradouro("Avenida Paulista");
+        endereco.setBairro("Bela Vista");
+        endereco.setCidade("São Paulo");
+        endereco.setUf("SP");
+        request.setEndereco(endereco);
+
+        request.setTelefones(Arrays.asList(telefone("1198765432" + (i % 10)), telefone("1133334444")));
+        request.setEmails(Arrays.asList(email("cliente" + i + "@example.com"), email("outro" + i + "@example.com")));
+        return request;
+    }
+
+    private static TelefoneRequest telefone(String numero) {
+        TelefoneRequest telefone = new TelefoneRequest();
+        telefone.setNumero(numero);
+        telefone.setTipo(TipoTelefone.CELULAR);
+        return telefone;
+    }
+
+    private static EmailRequest email(String endereco) {
+        EmailRequest email = new EmailRequest();
+        email.setEnderecoEmail(endereco);
+        return email;
+    }
+
+    /**
+     * CPF válido (11 dígitos) a partir dos 9 primeiros
+     */
+    private static String cpfValido(int base) {
+        String digitos = String.format("%09d", base);
+        int soma = 0;
+        for (int i = 0; i < 9; i++) {
+            soma += (digitos.charAt(i) - '0') * (10 - i);
+        }
+        int primeiro = 11 - soma % 11 >= 10 ? 0 : 11 - soma % 11;
+        soma = primeiro * 2;
+        for (int i = 0; i < 9; i++) {
+            soma += (digitos.charAt(i) - '0') * (11 - i);
+        }
+        int segundo = 11 - soma % 11 >= 10 ? 0 : 11 - soma % 11;
+        return digitos + primeiro + segundo;
+    }
+}
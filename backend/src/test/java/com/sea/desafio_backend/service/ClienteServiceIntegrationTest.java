@@ -0,0 +1,138 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.dto.request.ClienteRequest;
+import com.sea.desafio_backend.dto.request.EmailRequest;
+import com.sea.desafio_backend.dto.request.EnderecoRequest;
+import com.sea.desafio_backend.dto.request.TelefoneRequest;
+import com.sea.desafio_backend.exception.CpfJaCadastradoException;
+import com.sea.desafio_backend.exception.EmailJaCadastradoException;
+import com.sea.desafio_backend.model.entity.Cliente;
+import com.sea.desafio_backend.model.entity.ClienteEmail;
+import com.sea.desafio_backend.model.enums.TipoTelefone;
+import com.sea.desafio_backend.model.vo.Cpf;
+import com.sea.desafio_backend.repository.ClienteRepository;
+import com.sea.desafio_backend.repository.EmailRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testes de integração da unicidade garantida pelos índices únicos (H2)
+ *
+ * Confere que os nomes de índice reportados pelo banco são reconhecidos por
+ * ViolacaoUnicidade, que a escrita não faz consulta prévia de duplicidade e que
+ * o CPF é gravado cifrado e buscado pelo índice cego.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.sea.desafio_backend=WARN"
+})
+@DisplayName("ClienteService - Unicidade pelo banco (integração)")
+class ClienteServiceIntegrationTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmailRepository emailRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Segundo cadastro com o mesmo CPF deve virar CpfJaCadastradoException")
+    void criarCliente_CpfRepetido_DeveLancarCpfJaCadastrado() {
+        clienteService.criarCliente(request("123.456.789-09", "a@example.com"));
+
+        CpfJaCadastradoException ex = assertThrows(CpfJaCadastradoException.class,
+                () -> clienteService.criarCliente(request("12345678909", "b@example.com")));
+
+        assertThat(ex.getMessage()).contains("123.456.789-09");
+        assertThat(clienteRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("CPF deve ser gravado cifrado e encontrado pelo índice cego")
+    void criarCliente_DeveGravarCpfCifradoEBuscarPeloIndice() {
+        Cliente cliente = clienteService.criarCliente(request("529.982.247-25", "a@example.com"));
+
+        String gravado = jdbcTemplate.queryForObject("SELECT cpf FROM clientes WHERE id = ?", String.class, cliente.getId());
+        assertThat(gravado).isNotEqualTo("529.982.247-25").doesNotContain("52998224725");
+
+        Cliente encontrado = clienteService.buscarPorCpf(Cpf.de("52998224725"));
+        assertThat(encontrado.getId()).isEqualTo(cliente.getId());
+        assertThat(encontrado.getCpf()).isEqualTo("529.982.247-25");
+    }
+
+    @Test
+    @DisplayName("Email repetido no mesmo cliente deve virar EmailJaCadastradoException")
+    void criarEmail_Repetido_DeveLancarEmailJaCadastrado() {
+        Cliente cliente = clienteService.criarCliente(request("111.444.777-35", "a@example.com"));
+
+        ClienteEmail repetido = new ClienteEmail();
+        repetido.setCliente(cliente);
+        repetido.setEnderecoEmail("a@example.com");
+
+        assertThrows(EmailJaCadastradoException.class, () -> emailService.criarEmail(repetido));
+        assertThat(emailRepository.countByClienteId(cliente.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Atualização completa reenviando os mesmos telefones e emails não deve violar os índices")
+    void atualizarClienteCompleto_MesmosContatos_DeveSubstituir() {
+        ClienteRequest request = request("012.345.678-90", "a@example.com");
+        Cliente cliente = clienteService.criarCliente(request);
+
+        EmailRequest novo = new EmailRequest();
+        novo.setEnderecoEmail("b@example.com");
+        request.setEmails(Arrays.asList(request.getEmails().get(0), novo));
+
+        clienteService.atualizarClienteCompleto(cliente.getId(), request);
+
+        assertThat(emailRepository.countByClienteId(cliente.getId())).isEqualTo(2);
+    }
+
+    private static ClienteRequest request(String cpf, String email) {
+        ClienteRequest request = new ClienteRequest();
+        request.setNome("Maria Souza");
+        request.setCpf(Cpf.de(cpf));
+
+        EnderecoRequest endereco = new EnderecoRequest();
+        endereco.setCep("01310-100");
+        endereco.setLogradouro("Avenida Paulista");
+        endereco.setBairro("Bela Vista");
+        endereco.setCidade("São Paulo");
+        endereco.setUf("SP");
+        request.setEndereco(endereco);
+
+        TelefoneRequest telefone = new TelefoneRequest();
+        telefone.setNumero("11987654321");
+        telefone.setTipo(TipoTelefone.CELULAR);
+        request.setTelefones(Collections.singletonList(telefone));
+
+        EmailRequest emailRequest = new EmailRequest();
+        emailRequest.setEnderecoEmail(email);
+        request.setEmails(Collections.singletonList(emailRequest));
+        return request;
+    }
+}
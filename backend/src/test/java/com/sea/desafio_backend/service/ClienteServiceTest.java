@@ -7,21 +7,32 @@ import com.sea.desafio_backend.dto.request.TelefoneRequest;
 import com.sea.desafio_backend.exception.CpfInvalidoException;
 import com.sea.desafio_backend.exception.CpfJaCadastradoException;
 import com.sea.desafio_backend.exception.DadosMinimosException;
+import com.sea.desafio_backend.exception.EmailJaCadastradoException;
 import com.sea.desafio_backend.exception.ResourceNotFoundException;
 import com.sea.desafio_backend.model.entity.Cliente;
 import com.sea.desafio_backend.model.entity.ClienteEmail;
 import com.sea.desafio_backend.model.entity.Endereco;
 import com.sea.desafio_backend.model.entity.Telefone;
 import com.sea.desafio_backend.model.enums.TipoTelefone;
+import com.sea.desafio_backend.model.vo.Cpf;
 import com.sea.desafio_backend.repository.ClienteRepository;
+import com.sea.desafio_backend.util.CpfCriptografia;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -61,6 +72,12 @@ class ClienteServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private FiltroCpfService filtroCpf;
+
+    @Spy
+    private CpfCriptografia criptografia = new CpfCriptografia(new byte[32], new byte[32]);
+
     @InjectMocks
     private ClienteService clienteService;
 
@@ -82,8 +99,7 @@ class ClienteServiceTest {
         // ARRANGE
         when(telefoneService.removerMascaraTelefone(anyString())).thenAnswer(i -> i.getArgument(0).toString().replaceAll("[^0-9]", ""));
         when(enderecoService.removerMascaraCEP(anyString())).thenAnswer(i -> i.getArgument(0).toString().replaceAll("[^0-9]", ""));
-        when(clienteRepository.findByCpf(anyString())).thenReturn(Optional.empty());
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(clienteMock);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(clienteMock);
 
         // ACT
         Cliente resultado = clienteService.criarCliente(clienteRequestValido);
@@ -97,22 +113,61 @@ class ClienteServiceTest {
         assertFalse(resultado.getEmails().isEmpty());
     }
 
+    @Test
+    @DisplayName("Deve criar cliente sem consultar o CPF antes do insert")
+    void criarCliente_NaoDeveConsultarUnicidadeAntesDoInsert() {
+        // ARRANGE
+        when(telefoneService.removerMascaraTelefone(anyString())).thenAnswer(i -> i.getArgument(0).toString().replaceAll("[^0-9]", ""));
+        when(enderecoService.removerMascaraCEP(anyString())).thenAnswer(i -> i.getArgument(0).toString().replaceAll("[^0-9]", ""));
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(clienteMock);
+
+        // ACT
+        clienteService.criarCliente(clienteRequestValido);
+
+        // ASSERT
+        verify(clienteRepository, never()).findByCpfHash(anyLong());
+        verify(filtroCpf, never()).talvezCadastrado(anyLong());
+        verify(filtroCpf).adicionar(criptografia.indice(12345678909L));
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao criar cliente com CPF duplicado")
     void criarCliente_ComCpfDuplicado_DeveLancarCpfJaCadastradoException() {
         // ARRANGE
-        when(clienteRepository.findByCpf(anyString())).thenReturn(Optional.of(clienteMock));
+        when(telefoneService.removerMascaraTelefone(anyString())).thenAnswer(i -> i.getArgument(0).toString().replaceAll("[^0-9]", ""));
+        when(enderecoService.removerMascaraCEP(anyString())).thenAnswer(i -> i.getArgument(0).toString().replaceAll("[^0-9]", ""));
+        when(clienteRepository.saveAndFlush(any(Cliente.class)))
+                .thenThrow(violacao("PUBLIC.IDX_CLIENTE_CPF_HASH_INDEX_5 ON PUBLIC.CLIENTES(CPF_HASH)"));
 
         // ACT & ASSERT
-        assertThrows(CpfJaCadastradoException.class, 
+        CpfJaCadastradoException ex = assertThrows(CpfJaCadastradoException.class,
             () -> clienteService.criarCliente(clienteRequestValido));
+        assertTrue(ex.getMessage().contains("123.456.789-09"));
+        verify(filtroCpf, never()).adicionar(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao criar cliente com o mesmo email repetido")
+    void criarCliente_ComEmailRepetido_DeveLancarEmailJaCadastradoException() {
+        // ARRANGE
+        EmailRequest repetido = new EmailRequest();
+        repetido.setEnderecoEmail("joao.silva@example.com");
+        clienteRequestValido.setEmails(Arrays.asList(clienteRequestValido.getEmails().get(0), repetido));
+        when(telefoneService.removerMascaraTelefone(anyString())).thenAnswer(i -> i.getArgument(0).toString().replaceAll("[^0-9]", ""));
+        when(enderecoService.removerMascaraCEP(anyString())).thenAnswer(i -> i.getArgument(0).toString().replaceAll("[^0-9]", ""));
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(violacao("idx_email_cliente_endereco"));
+
+        // ACT & ASSERT
+        EmailJaCadastradoException ex = assertThrows(EmailJaCadastradoException.class,
+            () -> clienteService.criarCliente(clienteRequestValido));
+        assertEquals("Email já cadastrado: joao.silva@example.com", ex.getMessage());
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao criar cliente com CPF inválido")
     void criarCliente_ComCpfInvalido_DeveLancarCpfInvalidoException() {
         // ARRANGE
-        clienteRequestValido.setCpf("123");
+        clienteRequestValido.setCpf(Cpf.de("123"));
 
         // ACT & ASSERT
         assertThrows(CpfInvalidoException.class, 
@@ -137,7 +192,6 @@ class ClienteServiceTest {
         clienteRequestValido.setEmails(Collections.emptyList());
         when(telefoneService.removerMascaraTelefone(anyString())).thenAnswer(i -> i.getArgument(0).toString().replaceAll("[^0-9]", ""));
         when(enderecoService.removerMascaraCEP(anyString())).thenAnswer(i -> i.getArgument(0).toString().replaceAll("[^0-9]", ""));
-        when(clienteRepository.findByCpf(anyString())).thenReturn(Optional.empty());
 
         // ACT & ASSERT
         assertThrows(DadosMinimosException.class, 
@@ -178,9 +232,8 @@ class ClienteServiceTest {
     @DisplayName("Deve buscar cliente por CPF existente")
     void buscarPorCpf_ComCpfExistente_DeveRetornarCliente() {
         // ARRANGE
-        String cpf = "12345678901";
-        String cpfComMascara = "123.456.789-01";
-        when(clienteRepository.findByCpf(cpfComMascara)).thenReturn(Optional.of(clienteMock));
+        Cpf cpf = Cpf.de("12345678909");
+        when(clienteRepository.findByCpfHash(criptografia.indice(12345678909L))).thenReturn(Optional.of(clienteMock));
 
         // ACT
         Cliente resultado = clienteService.buscarPorCpf(cpf);
@@ -194,9 +247,8 @@ class ClienteServiceTest {
     @DisplayName("Deve lançar ResourceNotFoundException ao buscar CPF inexistente")
     void buscarPorCpf_ComCpfInexistente_DeveLancarResourceNotFoundException() {
         // ARRANGE
-        String cpf = "12345678901";
-        String cpfComMascara = "123.456.789-01";
-        when(clienteRepository.findByCpf(cpfComMascara)).thenReturn(Optional.empty());
+        Cpf cpf = Cpf.de("12345678909");
+        when(clienteRepository.findByCpfHash(criptografia.indice(12345678909L))).thenReturn(Optional.empty());
 
         // ACT & ASSERT
         assertThrows(ResourceNotFoundException.class, 
@@ -218,6 +270,58 @@ class ClienteServiceTest {
         assertEquals(2, resultado.size());
     }
 
+    @Test
+    @DisplayName("Deve listar página carregando telefones e emails com um IN cada")
+    void listarTodosPaginado_DeveCarregarColecoesPorIds() {
+        // ARRANGE
+        Cliente primeiro = criarClienteMock();
+        Cliente segundo = criarClienteMock();
+        segundo.setId(2L);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(clienteRepository.findPageWithEndereco(pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(primeiro, segundo), pageable, 2));
+
+        // ACT
+        Page<Cliente> resultado = clienteService.listarTodosPaginado(pageable);
+
+        // ASSERT
+        assertEquals(2, resultado.getContent().size());
+        verify(clienteRepository).findByIdInWithTelefones(Arrays.asList(primeiro.getId(), 2L));
+        verify(clienteRepository).findByIdInWithEmails(Arrays.asList(primeiro.getId(), 2L));
+    }
+
+    @Test
+    @DisplayName("Página vazia não deve consultar telefones e emails")
+    void listarTodosPaginado_PaginaVazia_NaoDeveCarregarColecoes() {
+        // ARRANGE
+        Pageable pageable = PageRequest.of(3, 10);
+        when(clienteRepository.findPageWithEndereco(pageable)).thenReturn(Page.empty(pageable));
+
+        // ACT
+        clienteService.listarTodosPaginado(pageable);
+
+        // ASSERT
+        verify(clienteRepository, never()).findByIdInWithTelefones(any());
+        verify(clienteRepository, never()).findByIdInWithEmails(any());
+    }
+
+    @Test
+    @DisplayName("Listar por cursor com tamanho menor que 1 deve lançar exceção sem consultar")
+    void listarPorCursor_TamanhoInvalido_DeveLancarExcecao() {
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> clienteService.listarPorCursor("", 0));
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @Test
+    @DisplayName("Listar por cursor acima do tamanho máximo deve lançar exceção sem consultar")
+    void listarPorCursor_TamanhoAcimaDoMaximo_DeveLancarExcecao() {
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> clienteService.listarPorCursor("",
+                ClienteService.TAMANHO_MAXIMO_PAGINA_CURSOR + 1));
+        verifyNoInteractions(clienteRepository);
+    }
+
     // ==================== TESTES DE ATUALIZAÇÃO ====================
 
     @Test
@@ -230,7 +334,7 @@ class ClienteServiceTest {
         clienteAtualizado.setCpf("123.456.789-09");  // CPF válido
 
         when(clienteRepository.findById(id)).thenReturn(Optional.of(clienteMock));
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(clienteMock);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(clienteMock);
 
         // ACT
         Cliente resultado = clienteService.atualizarCliente(id, clienteAtualizado);
@@ -240,8 +344,8 @@ class ClienteServiceTest {
     }
 
     @Test
-    @DisplayName("Deve validar CPF único ao atualizar com CPF diferente")
-    void atualizarCliente_ComCpfDiferente_DeveValidarUnicidade() {
+    @DisplayName("Deve atualizar cliente com CPF diferente")
+    void atualizarCliente_ComCpfDiferente_DeveAtualizarCpf() {
         // ARRANGE
         Long id = 1L;
         Cliente clienteAtualizado = new Cliente();
@@ -252,14 +356,16 @@ class ClienteServiceTest {
         clienteExistente.setCpf("123.456.789-09");
 
         when(clienteRepository.findById(id)).thenReturn(Optional.of(clienteExistente));
-        when(clienteRepository.findByCpf("111.444.777-35")).thenReturn(Optional.empty());
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(clienteExistente);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(clienteExistente);
 
         // ACT
         Cliente resultado = clienteService.atualizarCliente(id, clienteAtualizado);
 
         // ASSERT
         assertNotNull(resultado);
+        assertEquals("111.444.777-35", resultado.getCpf());
+        assertEquals(criptografia.indice(11144477735L), resultado.getCpfHash());
+        verify(filtroCpf).adicionar(criptografia.indice(11144477735L));
     }
 
     @Test
@@ -274,11 +380,8 @@ class ClienteServiceTest {
         Cliente clienteExistente = criarClienteMock();
         clienteExistente.setCpf("123.456.789-09");
 
-        Cliente clienteComCpfDuplicado = new Cliente();
-        clienteComCpfDuplicado.setId(2L);
-
         when(clienteRepository.findById(id)).thenReturn(Optional.of(clienteExistente));
-        when(clienteRepository.findByCpf("111.444.777-35")).thenReturn(Optional.of(clienteComCpfDuplicado));
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(violacao("idx_cliente_cpf_hash"));
 
         // ACT & ASSERT
         assertThrows(CpfJaCadastradoException.class, 
@@ -413,7 +516,7 @@ class ClienteServiceTest {
     private ClienteRequest criarClienteRequestValido() {
         ClienteRequest request = new ClienteRequest();
         request.setNome("João Silva");
-        request.setCpf("123.456.789-09");  // CPF válido com dígitos verificadores corretos
+        request.setCpf(Cpf.de("123.456.789-09"));  // CPF válido com dígitos verificadores corretos
 
         EnderecoRequest endereco = new EnderecoRequest();
         endereco.setCep("01310-100");
@@ -471,4 +574,12 @@ class ClienteServiceTest {
 
         return cliente;
     }
+
+    /**
+     * Exceção do Spring Data para a violação de um índice, como vinda do Hibernate
+     */
+    private static DataIntegrityViolationException violacao(String restricao) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), restricao));
+    }
 }
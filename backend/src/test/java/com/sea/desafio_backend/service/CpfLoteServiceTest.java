@@ -0,0 +1,150 @@
+package com.sea.desafio_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sea.desafio_backend.config.ClienteProperties;
+import com.sea.desafio_backend.dto.response.CpfValidacaoResponse;
+import com.sea.desafio_backend.repository.ClienteRepository;
+import com.sea.desafio_backend.util.CpfCriptografia;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para CpfLoteService
+ * Cobrindo: texto e NDJSON, lotes com uma consulta IN pelo índice do CPF, filtro de CPF e linhas inválidas
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CpfLoteService - Testes Unitários")
+class CpfLoteServiceTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private FiltroCpfService filtroCpf;
+
+    private final CpfCriptografia criptografia = new CpfCriptografia(new byte[32], new byte[32]);
+
+    private ClienteProperties properties;
+    private CpfLoteService cpfLoteService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ClienteProperties();
+        cpfLoteService = new CpfLoteService(clienteRepository, filtroCpf, criptografia, new ObjectMapper(), properties);
+        lenient().when(filtroCpf.talvezCadastrado(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Texto: Deve informar formato, dígitos e cadastro de cada linha, na ordem")
+    void validar_Texto_DeveInformarCadaLinha() throws Exception {
+        // Arrange
+        when(clienteRepository.findCpfHashesCadastrados(anyCollection()))
+                .thenReturn(Collections.singletonList(criptografia.indice(12345678909L)));
+        String entrada = "123.456.789-09\r\n11144477735\n\n123.456.789-00\n12345\n";
+
+        // Act
+        List<CpfValidacaoResponse> resultados = new ArrayList<>();
+        long total = cpfLoteService.validar(new StringReader(entrada), resultados::addAll);
+
+        // Assert
+        assertThat(total).isEqualTo(4);
+        assertThat(resultados).extracting(CpfValidacaoResponse::getLinha).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(resultados.get(0).getCadastrado()).isTrue();
+        assertThat(resultados.get(1).getCadastrado()).isFalse();
+        assertThat(resultados.get(2).isFormatoValido()).isTrue();
+        assertThat(resultados.get(2).isDigitosValidos()).isFalse();
+        assertThat(resultados.get(2).getCadastrado()).isNull();
+        assertThat(resultados.get(3).isFormatoValido()).isFalse();
+        verify(clienteRepository).findCpfHashesCadastrados(new LinkedHashSet<>(Arrays.asList(
+                criptografia.indice(12345678909L), criptografia.indice(11144477735L))));
+    }
+
+    @Test
+    @DisplayName("NDJSON: Deve aceitar objeto com campo cpf e string JSON")
+    void validar_Ndjson_DeveExtrairCpf() throws Exception {
+        // Arrange
+        when(clienteRepository.findCpfHashesCadastrados(anyCollection())).thenReturn(Collections.emptyList());
+        String entrada = "{\"cpf\":\"123.456.789-09\"}\n\"11144477735\"\n{\"cpf\":\n";
+
+        // Act
+        List<CpfValidacaoResponse> resultados = new ArrayList<>();
+        cpfLoteService.validar(new StringReader(entrada), resultados::addAll);
+
+        // Assert
+        assertThat(resultados).hasSize(3);
+        assertThat(resultados.get(0).getCpf()).isEqualTo("123.456.789-09");
+        assertThat(resultados.get(0).isDigitosValidos()).isTrue();
+        assertThat(resultados.get(1).getCpf()).isEqualTo("11144477735");
+        assertThat(resultados.get(2).getMensagem()).isEqualTo("JSON inválido");
+    }
+
+    @Test
+    @DisplayName("Lotes: Deve fazer uma consulta IN por lote e entregar lote a lote")
+    void validar_VariosLotes_DeveConsultarPorLote() throws Exception {
+        // Arrange
+        properties.getValidacaoLote().setTamanhoLote(2);
+        when(clienteRepository.findCpfHashesCadastrados(anyCollection())).thenReturn(Collections.emptyList());
+        String entrada = "12345678909\n11144477735\n01234567890\n";
+
+        // Act
+        List<Integer> tamanhos = new ArrayList<>();
+        cpfLoteService.validar(new StringReader(entrada), lote -> tamanhos.add(lote.size()));
+
+        // Assert
+        assertThat(tamanhos).containsExactly(2, 1);
+        verify(clienteRepository, times(2)).findCpfHashesCadastrados(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Filtro de CPF: CPFs com certeza ausentes não devem ir ao banco")
+    void validar_FiltroAusente_NaoDeveConsultarBanco() throws Exception {
+        // Arrange
+        when(filtroCpf.talvezCadastrado(anyLong())).thenReturn(false);
+
+        // Act
+        List<CpfValidacaoResponse> resultados = new ArrayList<>();
+        cpfLoteService.validar(new StringReader("12345678909\n"), resultados::addAll);
+
+        // Assert
+        assertThat(resultados.get(0).getCadastrado()).isFalse();
+        verify(clienteRepository, never()).findCpfHashesCadastrados(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Linha longa: Deve ser cortada e respondida como formato inválido")
+    void validar_LinhaLonga_DeveMarcarComoInvalida() throws Exception {
+        // Arrange
+        properties.getValidacaoLote().setTamanhoMaximoLinha(20);
+        StringBuilder longa = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            longa.append('9');
+        }
+
+        // Act
+        List<CpfValidacaoResponse> resultados = new ArrayList<>();
+        cpfLoteService.validar(new StringReader(longa + "\n"), resultados::addAll);
+
+        // Assert
+        assertThat(resultados).hasSize(1);
+        assertThat(resultados.get(0).getCpf()).hasSize(20);
+        assertThat(resultados.get(0).isFormatoValido()).isFalse();
+        assertThat(resultados.get(0).getMensagem()).contains("20 caracteres");
+        verify(clienteRepository, never()).findCpfHashesCadastrados(anyCollection());
+    }
+}
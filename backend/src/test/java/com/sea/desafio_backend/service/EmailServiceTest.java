@@ -1,16 +1,20 @@
 package com.sea.desafio_backend.service;
 
+import com.sea.desafio_backend.exception.EmailJaCadastradoException;
 import com.sea.desafio_backend.exception.ResourceNotFoundException;
 import com.sea.desafio_backend.model.entity.Cliente;
 import com.sea.desafio_backend.model.entity.ClienteEmail;
 import com.sea.desafio_backend.repository.EmailRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -18,13 +22,11 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
  * Testes unitários para EmailService
- * 10 testes cobrindo: criação, atualização, deleção, validações
+ * 11 testes cobrindo: criação, atualização, deleção, validações
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("EmailService - Testes Unitários")
@@ -51,8 +53,7 @@ class EmailServiceTest {
         email.setPrincipal(false); // Cliente não marcou como principal
 
         when(emailRepository.countByClienteId(1L)).thenReturn(0L); // Primeiro email
-        when(emailRepository.findByClienteIdAndEnderecoEmail(anyLong(), anyString())).thenReturn(Optional.empty());
-        when(emailRepository.save(any(ClienteEmail.class))).thenAnswer(invocation -> {
+        when(emailRepository.saveAndFlush(any(ClienteEmail.class))).thenAnswer(invocation -> {
             ClienteEmail e = invocation.getArgument(0);
             e.setId(10L);
             return e;
@@ -65,7 +66,7 @@ class EmailServiceTest {
         assertThat(resultado.getPrincipal()).isTrue(); // ✅ Automático
         assertThat(resultado.getEnderecoEmail()).isEqualTo("usuario@example.com");
         verify(emailRepository).countByClienteId(1L);
-        verify(emailRepository).save(any(ClienteEmail.class));
+        verify(emailRepository).saveAndFlush(any(ClienteEmail.class));
     }
 
     @Test
@@ -75,23 +76,41 @@ class EmailServiceTest {
         Cliente cliente = new Cliente();
         cliente.setId(1L);
 
-        ClienteEmail emailExistente = new ClienteEmail();
-        emailExistente.setId(10L);
-        emailExistente.setEnderecoEmail("usuario@example.com");
-
         ClienteEmail novoEmail = new ClienteEmail();
         novoEmail.setCliente(cliente);
-        novoEmail.setEnderecoEmail("usuario@example.com"); // Mesmo email
+        novoEmail.setEnderecoEmail("usuario@example.com"); // Já cadastrado para o cliente
 
-        when(emailRepository.findByClienteIdAndEnderecoEmail(1L, "usuario@example.com"))
-                .thenReturn(Optional.of(emailExistente));
+        when(emailRepository.countByClienteId(1L)).thenReturn(1L);
+        when(emailRepository.saveAndFlush(any(ClienteEmail.class)))
+                .thenThrow(violacao("PUBLIC.IDX_EMAIL_CLIENTE_ENDERECO_INDEX_4 ON PUBLIC.EMAILS(CLIENTE_ID, ENDERECO_EMAIL)"));
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> {
+        EmailJaCadastradoException ex = assertThrows(EmailJaCadastradoException.class, () -> {
             emailService.criarEmail(novoEmail);
         });
 
-        verify(emailRepository, never()).save(any(ClienteEmail.class));
+        assertThat(ex.getMessage()).contains("usuario@example.com");
+        verify(emailRepository, never()).findByClienteIdAndEnderecoEmail(any(), any());
+    }
+
+    @Test
+    @DisplayName("Criar email: Violação de outra restrição deve ser propagada")
+    void criarEmail_ComOutraViolacao_DevePropagar() {
+        // Arrange
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+
+        ClienteEmail novoEmail = new ClienteEmail();
+        novoEmail.setCliente(cliente);
+        novoEmail.setEnderecoEmail("usuario@example.com");
+
+        when(emailRepository.countByClienteId(1L)).thenReturn(1L);
+        when(emailRepository.saveAndFlush(any(ClienteEmail.class))).thenThrow(violacao("fk_email_cliente"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            emailService.criarEmail(novoEmail);
+        });
     }
 
     @Test
@@ -107,8 +126,7 @@ class EmailServiceTest {
         email.setPrincipal(true); // Quer ser o principal
 
         when(emailRepository.countByClienteId(1L)).thenReturn(1L); // Já existe 1
-        when(emailRepository.findByClienteIdAndEnderecoEmail(anyLong(), anyString())).thenReturn(Optional.empty());
-        when(emailRepository.save(any(ClienteEmail.class))).thenAnswer(invocation -> {
+        when(emailRepository.saveAndFlush(any(ClienteEmail.class))).thenAnswer(invocation -> {
             ClienteEmail e = invocation.getArgument(0);
             e.setId(20L);
             return e;
@@ -119,7 +137,7 @@ class EmailServiceTest {
 
         // Assert
         verify(emailRepository).desmarcarTodosPrincipaisPorCliente(1L);
-        verify(emailRepository).save(any(ClienteEmail.class));
+        verify(emailRepository).saveAndFlush(any(ClienteEmail.class));
     }
 
     // ==================== TESTES DE BUSCA ====================
@@ -175,15 +193,14 @@ class EmailServiceTest {
         emailAtualizado.setPrincipal(false);
 
         when(emailRepository.findById(10L)).thenReturn(Optional.of(emailExistente));
-        when(emailRepository.findByClienteIdAndEnderecoEmail(1L, "novo@example.com")).thenReturn(Optional.empty());
-        when(emailRepository.save(any(ClienteEmail.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(emailRepository.saveAndFlush(any(ClienteEmail.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         ClienteEmail resultado = emailService.atualizarEmail(10L, emailAtualizado);
 
         // Assert
         assertThat(resultado.getEnderecoEmail()).isEqualTo("novo@example.com");
-        verify(emailRepository).save(any(ClienteEmail.class));
+        verify(emailRepository).saveAndFlush(any(ClienteEmail.class));
     }
 
     @Test
@@ -198,23 +215,17 @@ class EmailServiceTest {
         emailExistente.setCliente(cliente);
         emailExistente.setEnderecoEmail("antigo@example.com");
 
-        ClienteEmail outroEmail = new ClienteEmail();
-        outroEmail.setId(20L);
-        outroEmail.setEnderecoEmail("outro@example.com");
-
         ClienteEmail emailAtualizado = new ClienteEmail();
         emailAtualizado.setEnderecoEmail("outro@example.com"); // Quer usar email que já existe
 
         when(emailRepository.findById(10L)).thenReturn(Optional.of(emailExistente));
-        when(emailRepository.findByClienteIdAndEnderecoEmail(1L, "outro@example.com"))
-                .thenReturn(Optional.of(outroEmail)); // Já existe
+        when(emailRepository.saveAndFlush(any(ClienteEmail.class)))
+                .thenThrow(violacao("idx_email_cliente_endereco")); // Já existe
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(EmailJaCadastradoException.class, () -> {
             emailService.atualizarEmail(10L, emailAtualizado);
         });
-
-        verify(emailRepository, never()).save(any(ClienteEmail.class));
     }
 
     // ==================== TESTES DE DELEÇÃO ====================
@@ -301,4 +312,12 @@ class EmailServiceTest {
         assertThat(email.getPrincipal()).isTrue();
         verify(emailRepository).save(email);
     }
+
+    /**
+     * Exceção do Spring Data para a violação de um índice, como vinda do Hibernate
+     */
+    private static DataIntegrityViolationException violacao(String restricao) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), restricao));
+    }
 }
@@ -0,0 +1,226 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.model.entity.Endereco;
+import com.sea.desafio_backend.model.entity.EnriquecimentoPendente;
+import com.sea.desafio_backend.repository.EnderecoRepository;
+import com.sea.desafio_backend.repository.EnriquecimentoPendenteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Optional;
+
+import static com.sea.desafio_backend.service.OrigemConsulta.ENRIQUECIMENTO;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para EnderecoEnriquecimentoService
+ * Cobrindo: agendamento, reserva das tarefas, preenchimento dos campos vazios,
+ * reagendamento com espera exponencial e desistência
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EnderecoEnriquecimentoService - Testes Unitários")
+class EnderecoEnriquecimentoServiceTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private EnderecoRepository enderecoRepository;
+
+    @Mock
+    private EnriquecimentoPendenteRepository pendenteRepository;
+
+    @Mock
+    private ViaCepService viaCepService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ViaCepProperties properties;
+    private EnderecoEnriquecimentoService enriquecimentoService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ViaCepProperties();
+        properties.getEnriquecimento().setTentativasMaximas(3);
+        Clock clock = Clock.fixed(AGORA.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        enriquecimentoService = new EnderecoEnriquecimentoService(enderecoRepository, pendenteRepository,
+                viaCepService, transactionManager, properties, meterRegistry, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        enriquecimentoService.encerrar();
+    }
+
+    @Test
+    @DisplayName("Agendar: Deve gravar tarefa pronta para processar com o CEP do endereço")
+    void agendar_DeveGravarTarefaPronta() {
+        // Arrange
+        when(pendenteRepository.findByEnderecoId(5L)).thenReturn(Optional.empty());
+
+        // Act
+        enriquecimentoService.agendar(endereco(5L, "01001000"));
+
+        // Assert
+        ArgumentCaptor<EnriquecimentoPendente> tarefa = ArgumentCaptor.forClass(EnriquecimentoPendente.class);
+        verify(pendenteRepository).save(tarefa.capture());
+        assertThat(tarefa.getValue().getEnderecoId()).isEqualTo(5L);
+        assertThat(tarefa.getValue().getCep()).isEqualTo("01001000");
+        assertThat(tarefa.getValue().getTentativas()).isZero();
+        assertThat(tarefa.getValue().getProximaTentativa()).isEqualTo(AGORA);
+    }
+
+    @Test
+    @DisplayName("Processar: Deve preencher só os campos vazios e remover a tarefa")
+    void processarPendentes_Sucesso_DevePreencherCamposVaziosERemoverTarefa() {
+        // Arrange
+        EnriquecimentoPendente tarefa = tarefa(0);
+        Endereco endereco = endereco(5L, "01001000");
+        endereco.setLogradouro("Praça da Sé, 100");
+
+        when(pendenteRepository.findProntas(eq(AGORA), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(tarefa));
+        when(pendenteRepository.reservar(1L, AGORA, AGORA.plusMinutes(2))).thenReturn(1);
+        when(viaCepService.buscarEnderecoPorCep("01001000", ENRIQUECIMENTO))
+                .thenReturn(new ViaCepResponse("01001-000", "Praça da Sé", "", "Sé", "São Paulo", "SP", null));
+        when(enderecoRepository.findById(5L)).thenReturn(Optional.of(endereco));
+
+        // Act
+        int processadas = enriquecimentoService.processarPendentes();
+
+        // Assert
+        assertThat(processadas).isEqualTo(1);
+        assertThat(endereco.getLogradouro()).isEqualTo("Praça da Sé, 100");
+        assertThat(endereco.getBairro()).isEqualTo("Sé");
+        assertThat(endereco.getCidade()).isEqualTo("São Paulo");
+        assertThat(endereco.getUf()).isEqualTo("SP");
+        verify(enderecoRepository).save(endereco);
+        verify(pendenteRepository).deleteById(1L);
+        assertThat(meterRegistry.get("viacep.enriquecimento.tarefas").tag("resultado", "enriquecido")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Processar: Tarefa reservada por outra instância não deve ser processada")
+    void processarPendentes_ReservaPerdida_NaoDeveConsultarViaCep() {
+        // Arrange
+        when(pendenteRepository.findProntas(eq(AGORA), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(tarefa(0)));
+        when(pendenteRepository.reservar(1L, AGORA, AGORA.plusMinutes(2))).thenReturn(0);
+
+        // Act
+        int processadas = enriquecimentoService.processarPendentes();
+
+        // Assert
+        assertThat(processadas).isZero();
+        verify(viaCepService, never()).buscarEnderecoPorCep(anyString(), any(OrigemConsulta.class));
+    }
+
+    @Test
+    @DisplayName("Processar: Falha de comunicação deve reagendar com espera exponencial")
+    void processarPendentes_ViaCepIndisponivel_DeveReagendar() {
+        // Arrange
+        EnriquecimentoPendente tarefa = tarefa(1);
+        when(pendenteRepository.findProntas(eq(AGORA), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(tarefa));
+        when(pendenteRepository.reservar(1L, AGORA, AGORA.plusMinutes(2))).thenReturn(1);
+        when(viaCepService.buscarEnderecoPorCep("01001000", ENRIQUECIMENTO))
+                .thenThrow(new CepNotFoundException("01001000", new ResourceAccessException("Connection refused")));
+        when(pendenteRepository.findById(1L)).thenReturn(Optional.of(tarefa));
+
+        // Act
+        enriquecimentoService.processarPendentes();
+
+        // Assert - segunda falha: espera-base (30s) * 2
+        assertThat(tarefa.getTentativas()).isEqualTo(2);
+        assertThat(tarefa.getProximaTentativa()).isEqualTo(AGORA.plusSeconds(60));
+        assertThat(tarefa.getUltimoErro()).isEqualTo("Connection refused");
+        verify(pendenteRepository).save(tarefa);
+        verify(enderecoRepository, never()).save(any(Endereco.class));
+    }
+
+    @Test
+    @DisplayName("Processar: Última tentativa com falha deve deixar a tarefa sem próxima tentativa")
+    void processarPendentes_TentativasEsgotadas_DeveDesistir() {
+        // Arrange
+        EnriquecimentoPendente tarefa = tarefa(2);
+        when(pendenteRepository.findProntas(eq(AGORA), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(tarefa));
+        when(pendenteRepository.reservar(1L, AGORA, AGORA.plusMinutes(2))).thenReturn(1);
+        when(viaCepService.buscarEnderecoPorCep("01001000", ENRIQUECIMENTO))
+                .thenThrow(new CepNotFoundException("01001000", new ResourceAccessException("Read timed out")));
+        when(pendenteRepository.findById(1L)).thenReturn(Optional.of(tarefa));
+
+        // Act
+        enriquecimentoService.processarPendentes();
+
+        // Assert
+        assertThat(tarefa.getTentativas()).isEqualTo(3);
+        assertThat(tarefa.getProximaTentativa()).isNull();
+        assertThat(meterRegistry.get("viacep.enriquecimento.tarefas").tag("resultado", "desistiu")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Processar: CEP inexistente deve remover a tarefa sem alterar o endereço")
+    void processarPendentes_CepInexistente_DeveRemoverTarefa() {
+        // Arrange
+        when(pendenteRepository.findProntas(eq(AGORA), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(tarefa(0)));
+        when(pendenteRepository.reservar(1L, AGORA, AGORA.plusMinutes(2))).thenReturn(1);
+        when(viaCepService.buscarEnderecoPorCep("01001000", ENRIQUECIMENTO))
+                .thenThrow(new CepNotFoundException("01001000"));
+
+        // Act
+        enriquecimentoService.processarPendentes();
+
+        // Assert
+        verify(pendenteRepository).deleteById(1L);
+        verify(enderecoRepository, never()).save(any(Endereco.class));
+    }
+
+    @Test
+    @DisplayName("Espera: Deve dobrar a cada tentativa até o limite")
+    void espera_DeveDobrarAteEsperaMaxima() {
+        assertThat(enriquecimentoService.espera(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(enriquecimentoService.espera(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(enriquecimentoService.espera(50)).isEqualTo(Duration.ofHours(1));
+    }
+
+    private static EnriquecimentoPendente tarefa(int tentativas) {
+        return new EnriquecimentoPendente(1L, 5L, "01001000", tentativas, AGORA, null,
+                LocalDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC));
+    }
+
+    private static Endereco endereco(Long id, String cep) {
+        Endereco endereco = new Endereco();
+        endereco.setId(id);
+        endereco.setCep(cep);
+        return endereco;
+    }
+}
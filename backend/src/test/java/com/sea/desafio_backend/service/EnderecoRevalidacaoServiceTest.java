@@ -0,0 +1,279 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.model.entity.RevalidacaoCheckpoint;
+import com.sea.desafio_backend.repository.EnderecoRepository;
+import com.sea.desafio_backend.repository.EnderecoRepository.DadosViaCep;
+import com.sea.desafio_backend.repository.RevalidacaoCheckpointRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestClientException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.sea.desafio_backend.service.OrigemConsulta.REVALIDACAO;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para EnderecoRevalidacaoService
+ * Cobrindo: CEP consultado uma vez por execução (inclusive entre páginas), atualização só do que mudou,
+ * campos vazios do ViaCEP, conflito com edição concorrente, checkpoint (retomada e reinício) e contagens do status
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EnderecoRevalidacaoService - Testes Unitários")
+class EnderecoRevalidacaoServiceTest {
+
+    @Mock
+    private EnderecoRepository enderecoRepository;
+
+    @Mock
+    private RevalidacaoCheckpointRepository checkpointRepository;
+
+    @Mock
+    private ViaCepService viaCepService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EnderecoRevalidacaoService revalidacaoService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ViaCepProperties properties = new ViaCepProperties();
+        properties.getRevalidacao().setTamanhoPagina(3);
+        properties.getRevalidacao().setConcorrencia(2);
+        properties.getRevalidacao().setChamadasPorSegundo(1000);
+        revalidacaoService = new EnderecoRevalidacaoService(enderecoRepository, checkpointRepository,
+                viaCepService, CircuitBreaker.ofDefaults("viacep"), RateLimiterRegistry.ofDefaults(),
+                transactionManager, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        revalidacaoService.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve consultar cada CEP uma vez e atualizar só os endereços alterados")
+    void revalidar_CepRepetido_DeveConsultarUmaVezEAtualizarSoAlterados() {
+        // Arrange
+        when(enderecoRepository.findParaRevalidacao(anyLong(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(
+                        dados(1L, "01310100", "Avenida Paulista", "Bela Vista", "São Paulo", "SP"),
+                        dados(2L, "01310100", "Av Paulista", "Bela Vista", "São Paulo", "SP"),
+                        dados(3L, "70040900", "Esplanada", "Zona Cívico-Administrativa", "Brasília", "DF")))
+                .thenReturn(Collections.emptyList());
+        when(viaCepService.consultarViaCepDireto(eq("01310100"), eq(REVALIDACAO)))
+                .thenReturn(resposta("01310-100", "Avenida Paulista", "Bela Vista", "São Paulo", "SP"));
+        when(viaCepService.consultarViaCepDireto(eq("70040900"), eq(REVALIDACAO)))
+                .thenReturn(resposta("70040-900", "Esplanada", "Zona Cívico-Administrativa", "Brasília", "DF"));
+        when(enderecoRepository.atualizarDadosViaCep(anyCollection(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString(), anyString())).thenReturn(1);
+
+        // Act
+        revalidacaoService.revalidar(false);
+
+        // Assert
+        verify(viaCepService, times(1)).consultarViaCepDireto(eq("01310100"), eq(REVALIDACAO));
+        verify(enderecoRepository).atualizarDadosViaCep(Collections.singletonList(2L),
+                "Avenida Paulista", "Bela Vista", "São Paulo", "SP",
+                "Av Paulista", "Bela Vista", "São Paulo", "SP");
+        verify(enderecoRepository, times(1)).atualizarDadosViaCep(anyCollection(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+        verify(enderecoRepository).findParaRevalidacao(eq(3L), any(Pageable.class));
+
+        Map<String, Object> status = revalidacaoService.status();
+        assertThat(status.get("enderecosLidos")).isEqualTo(3L);
+        assertThat(status.get("cepsConsultados")).isEqualTo(2L);
+        assertThat(status.get("atualizado")).isEqualTo(1L);
+        assertThat(status.get("sem_alteracao")).isEqualTo(2L);
+        assertThat(meterRegistry.get("viacep.revalidacao.enderecos").tag("resultado", "atualizado")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("CEP repetido em outra página deve reaproveitar a resposta da execução")
+    void revalidar_CepEmDuasPaginas_DeveConsultarViaCepUmaVez() {
+        // Arrange - 01310100 aparece na primeira e na segunda página
+        when(enderecoRepository.findParaRevalidacao(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(
+                        dados(1L, "01310100", "Avenida Paulista", "Bela Vista", "São Paulo", "SP"),
+                        dados(2L, "70040900", "Esplanada", "Zona Cívico-Administrativa", "Brasília", "DF")));
+        when(enderecoRepository.findParaRevalidacao(eq(2L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(
+                        dados(3L, "01310100", "Av Paulista", "Bela Vista", "São Paulo", "SP")));
+        when(enderecoRepository.findParaRevalidacao(eq(3L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+        when(viaCepService.consultarViaCepDireto(eq("01310100"), eq(REVALIDACAO)))
+                .thenReturn(resposta("01310-100", "Avenida Paulista", "Bela Vista", "São Paulo", "SP"));
+        when(viaCepService.consultarViaCepDireto(eq("70040900"), eq(REVALIDACAO)))
+                .thenReturn(resposta("70040-900", "Esplanada", "Zona Cívico-Administrativa", "Brasília", "DF"));
+        when(enderecoRepository.atualizarDadosViaCep(anyCollection(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString(), anyString())).thenReturn(1);
+
+        // Act
+        revalidacaoService.revalidar(false);
+
+        // Assert - endereço 3 atualizado com a resposta da primeira página
+        verify(viaCepService, times(1)).consultarViaCepDireto(eq("01310100"), eq(REVALIDACAO));
+        verify(enderecoRepository).atualizarDadosViaCep(Collections.singletonList(3L),
+                "Avenida Paulista", "Bela Vista", "São Paulo", "SP",
+                "Av Paulista", "Bela Vista", "São Paulo", "SP");
+        assertThat(revalidacaoService.status().get("cepsConsultados")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Campos vazios no ViaCEP devem manter os valores cadastrados")
+    void revalidar_LogradouroVazioNoViaCep_DeveManterLogradouroCadastrado() {
+        // Arrange - CEP geral de cidade: ViaCEP sem logradouro/bairro
+        when(enderecoRepository.findParaRevalidacao(anyLong(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(
+                        dados(1L, "78890000", "Rua A", "Centro", "Sorriso", "SP"),
+                        dados(2L, "78890000", "Rua B", "Centro", "Sorriso", "MT")))
+                .thenReturn(Collections.emptyList());
+        when(viaCepService.consultarViaCepDireto(eq("78890000"), eq(REVALIDACAO)))
+                .thenReturn(resposta("78890-000", "", "", "Sorriso", "MT"));
+
+        // Act
+        revalidacaoService.revalidar(false);
+
+        // Assert - só a UF do endereço 1 estava errada
+        verify(enderecoRepository).atualizarDadosViaCep(Collections.singletonList(1L),
+                "Rua A", "Centro", "Sorriso", "MT",
+                "Rua A", "Centro", "Sorriso", "SP");
+        verify(enderecoRepository, times(1)).atualizarDadosViaCep(anyCollection(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Endereço editado durante a revalidação não deve ser contado como atualizado")
+    void revalidar_EnderecoEditadoDuranteConsulta_DeveContarConflito() {
+        // Arrange - o UPDATE não encontra mais os valores lidos
+        when(enderecoRepository.findParaRevalidacao(anyLong(), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(dados(1L, "01310100", "Av Paulista", null, "São Paulo", "SP")))
+                .thenReturn(Collections.emptyList());
+        when(viaCepService.consultarViaCepDireto(eq("01310100"), eq(REVALIDACAO)))
+                .thenReturn(resposta("01310-100", "Avenida Paulista", "Bela Vista", "São Paulo", "SP"));
+        when(enderecoRepository.atualizarDadosViaCep(anyCollection(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString(), anyString())).thenReturn(0);
+
+        // Act
+        revalidacaoService.revalidar(false);
+
+        // Assert - valores anteriores conferidos no UPDATE (nulo como "")
+        verify(enderecoRepository).atualizarDadosViaCep(Collections.singletonList(1L),
+                "Avenida Paulista", "Bela Vista", "São Paulo", "SP",
+                "Av Paulista", "", "São Paulo", "SP");
+        Map<String, Object> status = revalidacaoService.status();
+        assertThat(status.get("atualizado")).isEqualTo(0L);
+        assertThat(status.get("conflito")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("CEP inexistente ou com falha não deve alterar endereços")
+    void revalidar_CepNaoEncontradoOuErro_NaoDeveAtualizar() {
+        // Arrange
+        when(enderecoRepository.findParaRevalidacao(anyLong(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(
+                        dados(1L, "99999999", "Rua A", "Centro", "Cidade", "SP"),
+                        dados(2L, "01310100", "Rua B", "Centro", "Cidade", "SP")))
+                .thenReturn(Collections.emptyList());
+        when(viaCepService.consultarViaCepDireto(eq("99999999"), eq(REVALIDACAO)))
+                .thenThrow(new CepNotFoundException("99999999"));
+        when(viaCepService.consultarViaCepDireto(eq("01310100"), eq(REVALIDACAO)))
+                .thenThrow(new CepNotFoundException("01310100", new RestClientException("timeout")));
+
+        // Act
+        revalidacaoService.revalidar(false);
+
+        // Assert
+        verify(enderecoRepository, never()).atualizarDadosViaCep(anyCollection(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+        Map<String, Object> status = revalidacaoService.status();
+        assertThat(status.get("nao_encontrado")).isEqualTo(1L);
+        assertThat(status.get("erro")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Deve retomar do checkpoint, salvá-lo por página e zerá-lo ao concluir")
+    void revalidar_ComCheckpoint_DeveRetomarEZerarAoConcluir() {
+        // Arrange
+        when(checkpointRepository.findById(EnderecoRevalidacaoService.NOME_CHECKPOINT))
+                .thenReturn(Optional.of(new RevalidacaoCheckpoint(
+                        EnderecoRevalidacaoService.NOME_CHECKPOINT, 40L, LocalDateTime.now())));
+        when(enderecoRepository.findParaRevalidacao(eq(40L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(dados(41L, "01310100", "Rua A", "Centro", "São Paulo", "SP")));
+        when(enderecoRepository.findParaRevalidacao(eq(41L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+        when(viaCepService.consultarViaCepDireto(eq("01310100"), eq(REVALIDACAO)))
+                .thenReturn(resposta("01310-100", "Rua A", "Centro", "São Paulo", "SP"));
+
+        // Act
+        revalidacaoService.revalidar(false);
+
+        // Assert
+        ArgumentCaptor<RevalidacaoCheckpoint> checkpoints = ArgumentCaptor.forClass(RevalidacaoCheckpoint.class);
+        verify(checkpointRepository, times(2)).save(checkpoints.capture());
+        List<RevalidacaoCheckpoint> salvos = checkpoints.getAllValues();
+        assertThat(salvos.get(0).getUltimoId()).isEqualTo(41L);
+        assertThat(salvos.get(1).getUltimoId()).isEqualTo(0L);
+        assertThat(revalidacaoService.status().get("ultimaConclusao")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Reiniciar deve ignorar o checkpoint salvo")
+    void revalidar_Reiniciar_DeveComecarDoPrimeiroEndereco() {
+        // Arrange
+        when(enderecoRepository.findParaRevalidacao(eq(0L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        revalidacaoService.revalidar(true);
+
+        // Assert
+        verify(checkpointRepository, never()).findById(anyString());
+        verify(enderecoRepository).findParaRevalidacao(eq(0L), any(Pageable.class));
+    }
+
+    private static DadosViaCep dados(Long id, String cep, String logradouro, String bairro,
+                                     String cidade, String uf) {
+        return new DadosViaCep() {
+            @Override public Long getId() { return id; }
+            @Override public String getCep() { return cep; }
+            @Override public String getLogradouro() { return logradouro; }
+            @Override public String getBairro() { return bairro; }
+            @Override public String getCidade() { return cidade; }
+            @Override public String getUf() { return uf; }
+        };
+    }
+
+    private static ViaCepResponse resposta(String cep, String logradouro, String bairro, String cidade, String uf) {
+        return new ViaCepResponse(cep, logradouro, "", bairro, cidade, uf, null);
+    }
+}
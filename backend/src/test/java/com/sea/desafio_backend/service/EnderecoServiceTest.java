@@ -36,6 +36,9 @@ class EnderecoServiceTest {
     @Mock
     private ViaCepService viaCepService;
 
+    @Mock
+    private EnderecoEnriquecimentoService enriquecimentoService;
+
     @InjectMocks
     private EnderecoService enderecoService;
 
@@ -89,7 +92,7 @@ class EnderecoServiceTest {
         endereco.setCliente(cliente);
         endereco.setComplemento("lado ímpar");
 
-        when(viaCepService.buscarEnderecoPorCep("01001000")).thenReturn(viaCepResponse);
+        when(viaCepService.buscarEnderecoPorCep("01001000", OrigemConsulta.ENDERECO)).thenReturn(viaCepResponse);
         when(enderecoRepository.save(any(Endereco.class))).thenAnswer(invocation -> {
             Endereco e = invocation.getArgument(0);
             e.setId(20L);
@@ -106,10 +109,65 @@ class EnderecoServiceTest {
         assertThat(resultado.getCidade()).isEqualTo("São Paulo");
         assertThat(resultado.getUf()).isEqualTo("SP");
         assertThat(resultado.getComplemento()).isEqualTo("lado ímpar");
-        verify(viaCepService).buscarEnderecoPorCep("01001000");
+        verify(viaCepService).buscarEnderecoPorCep("01001000", OrigemConsulta.ENDERECO);
         verify(enderecoRepository).save(any(Endereco.class));
     }
 
+    @Test
+    @DisplayName("Criar endereço com ViaCEP adiado: Deve salvar sem chamar o ViaCEP e agendar o enriquecimento")
+    void criarEnderecoComViaCep_Adiado_DeveSalvarEAgendar() {
+        // Arrange
+        Endereco endereco = new Endereco();
+        endereco.setComplemento("Apto 1");
+
+        when(enriquecimentoService.isAdiado()).thenReturn(true);
+        when(viaCepService.buscarEnderecoConhecido("01001000", OrigemConsulta.ENDERECO)).thenReturn(Optional.empty());
+        when(enderecoRepository.save(any(Endereco.class))).thenAnswer(invocation -> {
+            Endereco salvo = invocation.getArgument(0);
+            salvo.setId(7L);
+            return salvo;
+        });
+
+        // Act
+        Endereco resultado = enderecoService.criarEnderecoComViaCep("01001-000", endereco);
+
+        // Assert
+        assertThat(resultado.getCep()).isEqualTo("01001000");
+        assertThat(resultado.getLogradouro()).isNull();
+        verify(viaCepService, never()).buscarEnderecoPorCep(anyString(), any(OrigemConsulta.class));
+        verify(enriquecimentoService).agendar(resultado);
+    }
+
+    @Test
+    @DisplayName("Criar endereço com ViaCEP adiado: CEP conhecido localmente deve preencher na hora sem agendar")
+    void criarEnderecoComViaCep_AdiadoCepConhecido_DevePreencherSemAgendar() {
+        // Arrange
+        Endereco endereco = new Endereco();
+        endereco.setLogradouro("Praça da Sé, lado ímpar"); // Informado pelo usuário: mantido
+
+        ViaCepResponse viaCepResponse = new ViaCepResponse();
+        viaCepResponse.setCep("01001-000");
+        viaCepResponse.setLogradouro("Praça da Sé");
+        viaCepResponse.setBairro("Sé");
+        viaCepResponse.setLocalidade("São Paulo");
+        viaCepResponse.setUf("SP");
+
+        when(enriquecimentoService.isAdiado()).thenReturn(true);
+        when(viaCepService.buscarEnderecoConhecido("01001000", OrigemConsulta.ENDERECO))
+                .thenReturn(Optional.of(viaCepResponse));
+        when(enderecoRepository.save(any(Endereco.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Endereco resultado = enderecoService.criarEnderecoComViaCep("01001000", endereco);
+
+        // Assert
+        assertThat(resultado.getLogradouro()).isEqualTo("Praça da Sé, lado ímpar");
+        assertThat(resultado.getBairro()).isEqualTo("Sé");
+        assertThat(resultado.getCidade()).isEqualTo("São Paulo");
+        assertThat(resultado.getUf()).isEqualTo("SP");
+        verify(enriquecimentoService, never()).agendar(any(Endereco.class));
+    }
+
     // ==================== TESTES DE BUSCA ====================
 
     @Test
@@ -246,7 +304,7 @@ class EnderecoServiceTest {
         viaCepResponse.setUf("SP");
 
         when(enderecoRepository.findById(10L)).thenReturn(Optional.of(enderecoExistente));
-        when(viaCepService.buscarEnderecoPorCep("01001000")).thenReturn(viaCepResponse);
+        when(viaCepService.buscarEnderecoPorCep("01001000", OrigemConsulta.ENDERECO)).thenReturn(viaCepResponse);
         when(enderecoRepository.save(any(Endereco.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -259,7 +317,7 @@ class EnderecoServiceTest {
         assertThat(resultado.getCidade()).isEqualTo("São Paulo");
         assertThat(resultado.getUf()).isEqualTo("SP");
         assertThat(resultado.getComplemento()).isEqualTo("Complemento Antigo"); // Mantém complemento
-        verify(viaCepService).buscarEnderecoPorCep("01001000");
+        verify(viaCepService).buscarEnderecoPorCep("01001000", OrigemConsulta.ENDERECO);
         verify(enderecoRepository).save(any(Endereco.class));
     }
 
@@ -0,0 +1,159 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ClienteProperties;
+import com.sea.desafio_backend.repository.ClienteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para FiltroCpfService
+ * Cobrindo: carga a partir de cpf_num, respostas antes e depois da carga, CPFs novos
+ * (inclusive cadastrados durante a reconstrução) e métricas
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FiltroCpfService - Testes Unitários")
+class FiltroCpfServiceTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ClienteProperties properties;
+    private FiltroCpfService filtroCpf;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ClienteProperties();
+        properties.getFiltroCpf().setCapacidade(1000);
+        filtroCpf = new FiltroCpfService(clienteRepository, transactionManager, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filtroCpf.encerrar();
+    }
+
+    @Test
+    @DisplayName("Antes da carga: Todo CPF deve ir ao banco")
+    void talvezCadastrado_SemCarga_DeveRetornarTrue() {
+        assertThat(filtroCpf.talvezCadastrado(12345678909L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Carga: CPFs cadastrados devem ser talvez presentes e os demais ausentes")
+    void reconstruir_DeveCarregarCpfsDoBanco() {
+        // Arrange
+        when(clienteRepository.count()).thenReturn(2L);
+        when(clienteRepository.streamCpfHashes()).thenReturn(Stream.of(12345678909L, 11144477735L));
+
+        // Act
+        filtroCpf.reconstruir();
+
+        // Assert
+        assertThat(filtroCpf.talvezCadastrado(12345678909L)).isTrue();
+        assertThat(filtroCpf.talvezCadastrado(11144477735L)).isTrue();
+        assertThat(filtroCpf.talvezCadastrado(1234567890L)).isFalse();
+        assertThat(meterRegistry.get("cliente.cpf.filtro.elementos").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("cliente.cpf.filtro.memoria").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("cliente.cpf.filtro.consultas").tag("resultado", "ausente")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Adicionar: CPF cadastrado depois da carga deve ser talvez presente")
+    void adicionar_AposCarga_DeveMarcarCpf() {
+        // Arrange
+        when(clienteRepository.count()).thenReturn(0L);
+        when(clienteRepository.streamCpfHashes()).thenReturn(Stream.empty());
+        filtroCpf.reconstruir();
+        assertThat(filtroCpf.talvezCadastrado(12345678909L)).isFalse();
+
+        // Act
+        filtroCpf.adicionar(12345678909L);
+
+        // Assert
+        assertThat(filtroCpf.talvezCadastrado(12345678909L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Adicionar: Cadastro antes da reconstrução com commit depois da leitura deve entrar no filtro novo")
+    void adicionar_CommitAposLeituraDaReconstrucao_DeveMarcarCpfNoFiltroNovo() {
+        // Arrange - o cadastro adiciona antes de o filtro novo ser publicado
+        when(clienteRepository.count()).thenReturn(1L, 1L);
+        when(clienteRepository.streamCpfHashes()).thenReturn(Stream.of(11144477735L), Stream.of(11144477735L));
+        filtroCpf.reconstruir();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            filtroCpf.adicionar(12345678909L);
+
+            // Act - a leitura da reconstrução não vê o cadastro ainda não commitado
+            filtroCpf.reconstruir();
+            assertThat(filtroCpf.talvezCadastrado(12345678909L)).isFalse();
+            commitar();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertThat(filtroCpf.talvezCadastrado(12345678909L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Adicionar: Commit durante a leitura da reconstrução deve entrar no filtro novo")
+    void adicionar_CommitDuranteReconstrucao_DeveMarcarCpfNoFiltroNovo() {
+        // Arrange - o commit acontece enquanto a reconstrução lê a tabela
+        when(clienteRepository.count()).thenReturn(1L);
+        when(clienteRepository.streamCpfHashes()).thenReturn(Stream.of(11144477735L).peek(cpf -> commitar()));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            filtroCpf.adicionar(12345678909L);
+
+            // Act
+            filtroCpf.reconstruir();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertThat(filtroCpf.talvezCadastrado(12345678909L)).isTrue();
+        assertThat(filtroCpf.talvezCadastrado(11144477735L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Desabilitado: Todo CPF deve ir ao banco mesmo após a carga")
+    void talvezCadastrado_Desabilitado_DeveRetornarTrue() {
+        // Arrange
+        properties.getFiltroCpf().setHabilitado(false);
+        when(clienteRepository.count()).thenReturn(0L);
+        when(clienteRepository.streamCpfHashes()).thenReturn(Stream.empty());
+        filtroCpf.reconstruir();
+
+        // Act & Assert
+        assertThat(filtroCpf.talvezCadastrado(12345678909L)).isTrue();
+    }
+
+    /**
+     * Simula o commit da transação do cadastro
+     */
+    private static void commitar() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+}
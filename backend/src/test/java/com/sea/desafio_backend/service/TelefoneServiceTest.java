@@ -5,13 +5,16 @@ import com.sea.desafio_backend.model.entity.Cliente;
 import com.sea.desafio_backend.model.entity.Telefone;
 import com.sea.desafio_backend.model.enums.TipoTelefone;
 import com.sea.desafio_backend.repository.TelefoneRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -52,8 +55,7 @@ class TelefoneServiceTest {
         telefone.setPrincipal(false); // Cliente não marcou como principal
 
         when(telefoneRepository.countByClienteId(1L)).thenReturn(0L); // Primeiro telefone
-        when(telefoneRepository.findByClienteIdAndNumero(anyLong(), anyString())).thenReturn(Optional.empty());
-        when(telefoneRepository.save(any(Telefone.class))).thenAnswer(invocation -> {
+        when(telefoneRepository.saveAndFlush(any(Telefone.class))).thenAnswer(invocation -> {
             Telefone t = invocation.getArgument(0);
             t.setId(10L);
             return t;
@@ -66,7 +68,7 @@ class TelefoneServiceTest {
         assertThat(resultado.getPrincipal()).isTrue(); // ✅ Automático
         assertThat(resultado.getNumero()).isEqualTo("11987654321"); // Sem máscara
         verify(telefoneRepository).countByClienteId(1L);
-        verify(telefoneRepository).save(any(Telefone.class));
+        verify(telefoneRepository).saveAndFlush(any(Telefone.class));
     }
 
     @Test
@@ -76,24 +78,21 @@ class TelefoneServiceTest {
         Cliente cliente = new Cliente();
         cliente.setId(1L);
 
-        Telefone telefoneExistente = new Telefone();
-        telefoneExistente.setId(10L);
-        telefoneExistente.setNumero("11987654321");
-
         Telefone novoTelefone = new Telefone();
         novoTelefone.setCliente(cliente);
         novoTelefone.setNumero("(11) 98765-4321"); // Mesmo número com máscara
         novoTelefone.setTipo(TipoTelefone.CELULAR);
 
-        when(telefoneRepository.findByClienteIdAndNumero(1L, "11987654321"))
-                .thenReturn(Optional.of(telefoneExistente));
+        when(telefoneRepository.countByClienteId(1L)).thenReturn(1L);
+        when(telefoneRepository.saveAndFlush(any(Telefone.class)))
+                .thenThrow(violacao("PUBLIC.IDX_TELEFONE_CLIENTE_NUMERO_INDEX_B ON PUBLIC.TELEFONES(CLIENTE_ID, NUMERO)"));
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> {
             telefoneService.criarTelefone(novoTelefone);
         });
 
-        verify(telefoneRepository, never()).save(any(Telefone.class));
+        verify(telefoneRepository, never()).findByClienteIdAndNumero(any(), any());
     }
 
     @Test
@@ -110,8 +109,7 @@ class TelefoneServiceTest {
         telefone.setPrincipal(true); // Quer ser o principal
 
         when(telefoneRepository.countByClienteId(1L)).thenReturn(1L); // Já existe 1
-        when(telefoneRepository.findByClienteIdAndNumero(anyLong(), anyString())).thenReturn(Optional.empty());
-        when(telefoneRepository.save(any(Telefone.class))).thenAnswer(invocation -> {
+        when(telefoneRepository.saveAndFlush(any(Telefone.class))).thenAnswer(invocation -> {
             Telefone t = invocation.getArgument(0);
             t.setId(20L);
             return t;
@@ -122,7 +120,7 @@ class TelefoneServiceTest {
 
         // Assert
         verify(telefoneRepository).desmarcarTodosPrincipaisPorCliente(1L);
-        verify(telefoneRepository).save(any(Telefone.class));
+        verify(telefoneRepository).saveAndFlush(any(Telefone.class));
     }
 
     // ==================== TESTES DE BUSCA ====================
@@ -180,8 +178,7 @@ class TelefoneServiceTest {
         telefoneAtualizado.setPrincipal(false);
 
         when(telefoneRepository.findById(10L)).thenReturn(Optional.of(telefoneExistente));
-        when(telefoneRepository.findByClienteIdAndNumero(1L, "11912345678")).thenReturn(Optional.empty());
-        when(telefoneRepository.save(any(Telefone.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(telefoneRepository.saveAndFlush(any(Telefone.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         Telefone resultado = telefoneService.atualizarTelefone(10L, telefoneAtualizado);
@@ -189,7 +186,7 @@ class TelefoneServiceTest {
         // Assert
         assertThat(resultado.getNumero()).isEqualTo("11912345678");
         assertThat(resultado.getTipo()).isEqualTo(TipoTelefone.COMERCIAL);
-        verify(telefoneRepository).save(any(Telefone.class));
+        verify(telefoneRepository).saveAndFlush(any(Telefone.class));
     }
 
     @Test
@@ -204,23 +201,17 @@ class TelefoneServiceTest {
         telefoneExistente.setCliente(cliente);
         telefoneExistente.setNumero("11987654321");
 
-        Telefone outroTelefone = new Telefone();
-        outroTelefone.setId(20L);
-        outroTelefone.setNumero("11912345678");
-
         Telefone telefoneAtualizado = new Telefone();
         telefoneAtualizado.setNumero("11912345678"); // Quer usar número que já existe
 
         when(telefoneRepository.findById(10L)).thenReturn(Optional.of(telefoneExistente));
-        when(telefoneRepository.findByClienteIdAndNumero(1L, "11912345678"))
-                .thenReturn(Optional.of(outroTelefone)); // Já existe
+        when(telefoneRepository.saveAndFlush(any(Telefone.class)))
+                .thenThrow(violacao("idx_telefone_cliente_numero")); // Já existe
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> {
             telefoneService.atualizarTelefone(10L, telefoneAtualizado);
         });
-
-        verify(telefoneRepository, never()).save(any(Telefone.class));
     }
 
     // ==================== TESTES DE DELEÇÃO ====================
@@ -343,4 +334,12 @@ class TelefoneServiceTest {
         // Assert
         assertThat(resultado).isEqualTo("(11) 3456-7890");
     }
+
+    /**
+     * Exceção do Spring Data para a violação de um índice, como vinda do Hibernate
+     */
+    private static DataIntegrityViolationException violacao(String restricao) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), restricao));
+    }
 }
@@ -0,0 +1,114 @@
+package com.sea.desafio_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sea.desafio_backend.config.RestTemplateConfig;
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testes do cliente HTTP assíncrono contra um servidor ViaCEP local
+ * Cobrindo: resposta de sucesso, {"erro": true}, status de erro e falha de conexão
+ */
+@DisplayName("ViaCepAsyncClient - Testes com servidor local")
+class ViaCepAsyncClientTest {
+
+    private HttpServer servidor;
+    private CloseableHttpAsyncClient httpAsyncClient;
+    private ViaCepAsyncClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/ws/01001000/", exchange -> responder(exchange, 200,
+                "{\"cep\":\"01001-000\",\"logradouro\":\"Praça da Sé\",\"localidade\":\"São Paulo\",\"uf\":\"SP\"}"));
+        servidor.createContext("/ws/99999999/", exchange -> responder(exchange, 200, "{\"erro\": true}"));
+        servidor.createContext("/ws/50000000/", exchange -> responder(exchange, 503, "indisponível"));
+        servidor.start();
+
+        httpAsyncClient = new RestTemplateConfig().httpAsyncClient(new ViaCepProperties());
+        client = new ViaCepAsyncClient(httpAsyncClient, new ObjectMapper(), url(servidor.getAddress().getPort()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpAsyncClient.close();
+        servidor.stop(0);
+    }
+
+    @Test
+    @DisplayName("CEP existente deve completar com o endereço")
+    void consultar_CepExistente_DeveCompletarComEndereco() throws Exception {
+        ViaCepResponse response = client.consultar("01001000").get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getCep()).isEqualTo("01001-000");
+        assertThat(response.getLogradouro()).isEqualTo("Praça da Sé");
+        assertThat(response.getLocalidade()).isEqualTo("São Paulo");
+    }
+
+    @Test
+    @DisplayName("CEP inexistente deve completar com erro=true (tratado pelo ViaCepService)")
+    void consultar_CepInexistente_DeveCompletarComErro() throws Exception {
+        ViaCepResponse response = client.consultar("99999999").get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getErro()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Status de erro HTTP deve falhar com RestClientResponseException")
+    void consultar_StatusDeErro_DeveFalhar() {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.consultar("50000000").get(5, TimeUnit.SECONDS));
+
+        assertThat(e.getCause()).isInstanceOf(RestClientResponseException.class);
+        assertThat(((RestClientResponseException) e.getCause()).getRawStatusCode()).isEqualTo(503);
+    }
+
+    @Test
+    @DisplayName("Falha de conexão deve falhar com ResourceAccessException")
+    void consultar_ServidorFora_DeveFalhar() throws IOException {
+        int portaLivre;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            portaLivre = socket.getLocalPort();
+        }
+        ViaCepAsyncClient semServidor = new ViaCepAsyncClient(httpAsyncClient, new ObjectMapper(), url(portaLivre));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> semServidor.consultar("01001000").get(5, TimeUnit.SECONDS));
+
+        assertThat(e.getCause()).isInstanceOf(ResourceAccessException.class);
+    }
+
+    private static String url(int porta) {
+        return "http://127.0.0.1:" + porta + "/ws/{cep}/json/";
+    }
+
+    private static void responder(HttpExchange exchange, int status, String corpo)
+            throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = exchange.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.sea.desafio_backend.service;
+
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para ViaCepHedgedClient
+ * Cobrindo: desabilitado, resposta rápida, hedge vencedor, original vencedor,
+ * falha de uma das requisições, orçamento e atraso pelo percentil
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ViaCepHedgedClient - Testes Unitários")
+class ViaCepHedgedClientTest {
+
+    private static final long ATRASO_MS = 50;
+
+    @Mock
+    private ViaCepAsyncClient viaCepAsyncClient;
+
+    private ViaCepProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ViaCepHedgedClient client;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ViaCepProperties();
+        properties.getHedge().setHabilitado(true);
+        properties.getHedge().setAtrasoMinimo(Duration.ofMillis(10));
+        properties.getHedge().setAtrasoMaximo(Duration.ofMillis(ATRASO_MS));
+        properties.getHedge().setAmostrasMinimas(1000);
+        properties.getHedge().setOrcamento(1.0);
+        meterRegistry = new SimpleMeterRegistry();
+        client = new ViaCepHedgedClient(viaCepAsyncClient, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.encerrar();
+    }
+
+    @Test
+    @DisplayName("Desabilitado deve repassar a chamada sem hedge")
+    void consultar_Desabilitado_DeveRepassar() {
+        properties.getHedge().setHabilitado(false);
+        CompletableFuture<ViaCepResponse> chamada = new CompletableFuture<>();
+        when(viaCepAsyncClient.consultar("01001000")).thenReturn(chamada);
+
+        assertThat(client.consultar("01001000")).isSameAs(chamada);
+        verify(viaCepAsyncClient, after(ATRASO_MS * 3).times(1)).consultar("01001000");
+    }
+
+    @Test
+    @DisplayName("Resposta antes do atraso não deve disparar hedge")
+    void consultar_RespostaRapida_NaoDeveDispararHedge() {
+        when(viaCepAsyncClient.consultar("01001000"))
+                .thenReturn(CompletableFuture.completedFuture(endereco("São Paulo")));
+
+        assertThat(client.consultar("01001000").join().getLocalidade()).isEqualTo("São Paulo");
+
+        verify(viaCepAsyncClient, after(ATRASO_MS * 3).times(1)).consultar("01001000");
+        assertThat(contador(".disparados")).isZero();
+    }
+
+    @Test
+    @DisplayName("Hedge que responde primeiro deve vencer e cancelar a requisição original")
+    void consultar_HedgeMaisRapido_DeveVencerECancelarOriginal() throws Exception {
+        CompletableFuture<ViaCepResponse> original = new CompletableFuture<>();
+        CompletableFuture<ViaCepResponse> hedge = new CompletableFuture<>();
+        when(viaCepAsyncClient.consultar("01001000")).thenReturn(original, hedge);
+
+        CompletableFuture<ViaCepResponse> resultado = client.consultar("01001000");
+        verify(viaCepAsyncClient, timeout(1000).times(2)).consultar("01001000");
+        hedge.complete(endereco("Hedge"));
+
+        assertThat(resultado.get(1, TimeUnit.SECONDS).getLocalidade()).isEqualTo("Hedge");
+        assertThat(original).isCancelled();
+        assertThat(contador(".disparados")).isEqualTo(1.0);
+        assertThat(contador(".vitorias")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Original que responde depois do disparo deve vencer e cancelar o hedge")
+    void consultar_OriginalResponde_DeveCancelarHedge() throws Exception {
+        CompletableFuture<ViaCepResponse> original = new CompletableFuture<>();
+        CompletableFuture<ViaCepResponse> hedge = new CompletableFuture<>();
+        when(viaCepAsyncClient.consultar("01001000")).thenReturn(original, hedge);
+
+        CompletableFuture<ViaCepResponse> resultado = client.consultar("01001000");
+        verify(viaCepAsyncClient, timeout(1000).times(2)).consultar("01001000");
+        original.complete(endereco("Original"));
+
+        assertThat(resultado.get(1, TimeUnit.SECONDS).getLocalidade()).isEqualTo("Original");
+        assertThat(hedge).isCancelled();
+        assertThat(contador(".vitorias")).isZero();
+    }
+
+    @Test
+    @DisplayName("Falha da original com hedge em andamento deve aguardar o hedge")
+    void consultar_FalhaDaOriginal_DeveAguardarHedge() throws Exception {
+        CompletableFuture<ViaCepResponse> original = new CompletableFuture<>();
+        CompletableFuture<ViaCepResponse> hedge = new CompletableFuture<>();
+        when(viaCepAsyncClient.consultar("01001000")).thenReturn(original, hedge);
+
+        CompletableFuture<ViaCepResponse> resultado = client.consultar("01001000");
+        verify(viaCepAsyncClient, timeout(1000).times(2)).consultar("01001000");
+        original.completeExceptionally(new RestClientException("Timeout"));
+        assertThat(resultado).isNotDone();
+        hedge.complete(endereco("Hedge"));
+
+        assertThat(resultado.get(1, TimeUnit.SECONDS).getLocalidade()).isEqualTo("Hedge");
+    }
+
+    @Test
+    @DisplayName("Falha das duas requisições deve falhar com o último erro")
+    void consultar_FalhaDasDuas_DeveFalhar() {
+        CompletableFuture<ViaCepResponse> original = new CompletableFuture<>();
+        CompletableFuture<ViaCepResponse> hedge = new CompletableFuture<>();
+        when(viaCepAsyncClient.consultar("01001000")).thenReturn(original, hedge);
+
+        CompletableFuture<ViaCepResponse> resultado = client.consultar("01001000");
+        verify(viaCepAsyncClient, timeout(1000).times(2)).consultar("01001000");
+        original.completeExceptionally(new RestClientException("Original"));
+        hedge.completeExceptionally(new RestClientException("Hedge"));
+
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> resultado.get(1, TimeUnit.SECONDS));
+        assertThat(erro.getCause()).isInstanceOf(RestClientException.class).hasMessage("Hedge");
+    }
+
+    @Test
+    @DisplayName("Sem orçamento não deve disparar hedge")
+    void consultar_SemOrcamento_NaoDeveDispararHedge() {
+        properties.getHedge().setOrcamento(0.5);
+        CompletableFuture<ViaCepResponse> original = new CompletableFuture<>();
+        when(viaCepAsyncClient.consultar("01001000")).thenReturn(original);
+
+        CompletableFuture<ViaCepResponse> resultado = client.consultar("01001000");
+
+        verify(viaCepAsyncClient, after(ATRASO_MS * 3).times(1)).consultar("01001000");
+        assertThat(contador(".sem.orcamento")).isEqualTo(1.0);
+        original.complete(endereco("São Paulo"));
+        assertThat(resultado.join().getLocalidade()).isEqualTo("São Paulo");
+    }
+
+    @Test
+    @DisplayName("Atraso deve seguir o percentil da latência após as amostras mínimas")
+    void atrasoNanos_DeveUsarPercentilLimitado() {
+        properties.getHedge().setAmostrasMinimas(5);
+        when(viaCepAsyncClient.consultar("01001000"))
+                .thenReturn(CompletableFuture.completedFuture(endereco("São Paulo")));
+
+        assertThat(client.atrasoNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(ATRASO_MS));
+        for (int i = 0; i < 5; i++) {
+            client.consultar("01001000").join();
+        }
+
+        // Respostas imediatas: percentil abaixo do mínimo, limitado a atraso-minimo
+        assertThat(client.atrasoNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    private double contador(String sufixo) {
+        return meterRegistry.get(ViaCepHedgedClient.NOME_METRICA + sufixo).counter().count();
+    }
+
+    private static ViaCepResponse endereco(String localidade) {
+        return new ViaCepResponse("01001-000", "Praça da Sé", "", "Sé", localidade, "SP", null);
+    }
+}
@@ -0,0 +1,166 @@
+package com.sea.desafio_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sea.desafio_backend.config.RestTemplateConfig;
+import com.sea.desafio_backend.config.ViaCepCircuitBreakerConfig;
+import com.sea.desafio_backend.config.ViaCepProperties;
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.stub.ViaCepStubServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testes do ViaCepService com HTTP real contra o ViaCEP simulado (ViaCepStubServer)
+ * RestTemplate, pool de conexões, circuit breaker e cache são os mesmos da aplicação
+ * Cobrindo: cache, CEP inexistente, erros 503, conexões derrubadas e último valor conhecido
+ */
+@DisplayName("ViaCepService - Testes com ViaCEP simulado")
+class ViaCepServiceStubTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    private ViaCepStubServer.Configuracao configuracao;
+    private ViaCepStubServer stub;
+    private PoolingHttpClientConnectionManager pool;
+    private CloseableHttpClient httpClient;
+    private CloseableHttpAsyncClient httpAsyncClient;
+    private ViaCepHedgedClient hedgedClient;
+    private CircuitBreaker circuitBreaker;
+    private ViaCepService viaCepService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        configuracao = new ViaCepStubServer.Configuracao();
+        configuracao.setSemente(42L);
+        stub = ViaCepStubServer.iniciar(configuracao);
+
+        ViaCepProperties properties = new ViaCepProperties();
+        properties.setUrl(stub.getUrl());
+        properties.getCircuitBreaker().setJanela(5);
+        properties.getCircuitBreaker().setMinimoChamadas(5);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RestTemplateConfig config = new RestTemplateConfig();
+        pool = config.httpConnectionManager(properties);
+        httpClient = config.httpClient(pool, properties);
+        httpAsyncClient = config.httpAsyncClient(properties);
+        hedgedClient = new ViaCepHedgedClient(
+                new ViaCepAsyncClient(httpAsyncClient, new ObjectMapper(), properties), properties, meterRegistry);
+
+        ViaCepCircuitBreakerConfig circuitBreakerConfig = new ViaCepCircuitBreakerConfig();
+        circuitBreaker = circuitBreakerConfig.viaCepCircuitBreaker(
+                circuitBreakerConfig.circuitBreakerRegistry(properties, meterRegistry));
+
+        viaCepService = new ViaCepService(config.restTemplate(httpClient), properties,
+                new CepCache(properties, meterRegistry, relogio::get), new CepOfflineService(properties),
+                circuitBreaker, hedgedClient, new ViaCepMetricas(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        hedgedClient.encerrar();
+        httpAsyncClient.close();
+        httpClient.close();
+        pool.close();
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("CEP do conjunto deve ser consultado uma vez e depois servido pelo cache")
+    void buscarEnderecoPorCep_CepExistente_DeveUsarCache() {
+        ViaCepResponse primeira = viaCepService.buscarEnderecoPorCep("01310-100");
+        ViaCepResponse segunda = viaCepService.buscarEnderecoPorCep("01310100");
+
+        assertThat(primeira.getLogradouro()).isEqualTo("Avenida Paulista");
+        assertThat(segunda.getLogradouro()).isEqualTo("Avenida Paulista");
+        assertThat(stub.getRequisicoes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("CEP fora do conjunto deve falhar e entrar no cache negativo")
+    void buscarEnderecoPorCep_CepInexistente_DeveFalharUmaVez() {
+        assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep("99999999"));
+        assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep("99999999"));
+
+        assertThat(stub.getNaoEncontrados()).isEqualTo(1);
+        assertThat(stub.getRequisicoes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Erros 503 consecutivos devem abrir o circuito e poupar o ViaCEP")
+    void buscarEnderecoPorCep_Erro503_DeveAbrirCircuito() {
+        configuracao.setTaxaErro(1.0);
+
+        for (int i = 0; i < 10; i++) {
+            String cep = String.format("%08d", 10_000_000 + i);
+            assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep(cep));
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(stub.getErros()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Conexão derrubada sem resposta deve virar falha de comunicação")
+    void buscarEnderecoPorCep_ConexaoDerrubada_DeveFalharComErroDeIo() {
+        configuracao.setTaxaConexaoDerrubada(1.0);
+
+        CepNotFoundException erro = assertThrows(CepNotFoundException.class,
+                () -> viaCepService.buscarEnderecoPorCep("01001000"));
+
+        assertThat(erro.getCause()).isInstanceOf(ResourceAccessException.class);
+        assertThat(stub.getConexoesDerrubadas()).isPositive();
+    }
+
+    @Test
+    @DisplayName("ViaCEP fora após o TTL deve servir o último valor conhecido")
+    void buscarEnderecoPorCep_ErroAposTtl_DeveServirValorObsoleto() {
+        viaCepService.buscarEnderecoPorCep("20040020");
+        relogio.addAndGet(TimeUnit.HOURS.toNanos(25));
+        configuracao.setTaxaErro(1.0);
+
+        ViaCepResponse resultado = viaCepService.buscarEnderecoPorCep("20040020");
+
+        assertThat(resultado.getLocalidade()).isEqualTo("Rio de Janeiro");
+        assertThat(stub.getErros()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Consultas assíncronas com latência simulada devem completar em paralelo")
+    void buscarEnderecoPorCepAsync_ComLatencia_DeveCompletarEmParalelo() {
+        configuracao.setGerarDesconhecidos(true);
+        configuracao.setLatenciaMediana(Duration.ofMillis(200));
+
+        long inicio = System.nanoTime();
+        List<CompletableFuture<ViaCepResponse>> resultados = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            resultados.add(viaCepService.buscarEnderecoPorCepAsync(String.format("%08d", 30_000_000 + i)));
+        }
+        CompletableFuture.allOf(resultados.toArray(new CompletableFuture[0])).join();
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertThat(resultados).allSatisfy(r -> assertThat(r.join().getLogradouro()).startsWith("Rua Simulada"));
+        assertThat(stub.getRequisicoes()).isEqualTo(20);
+        assertThat(duracaoMs).isLessThan(20 * 200 / 2);
+    }
+}
@@ -1,16 +1,36 @@
 package com.sea.desafio_backend.service;
 
+import com.sea.desafio_backend.config.ViaCepProperties;
 import com.sea.desafio_backend.dto.response.ViaCepResponse;
 import com.sea.desafio_backend.exception.CepNotFoundException;
+import com.sea.desafio_backend.util.CepIndexBuilder;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.StringReader;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
@@ -18,7 +38,7 @@ import static org.mockito.Mockito.*;
 
 /**
  * Testes unitários para ViaCepService
- * 9 testes cobrindo: busca de CEP, validações, tratamento de erros
+ * Testes cobrindo: busca de CEP, cache, validações, tratamento de erros
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ViaCepService - Testes Unitários")
@@ -27,11 +47,56 @@ class ViaCepServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    @Mock
+    private ViaCepHedgedClient viaCepHedgedClient;
+
+    private CepCache cepCache;
+
+    private CircuitBreaker circuitBreaker;
+
+    private final AtomicLong relogio = new AtomicLong();
+
     private ViaCepService viaCepService;
 
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cepCache = new CepCache(new ViaCepProperties(), new SimpleMeterRegistry(), relogio::get);
+        circuitBreaker = CircuitBreaker.ofDefaults("viacep");
+        ViaCepProperties properties = new ViaCepProperties();
+        viaCepService = new ViaCepService(restTemplate, properties, cepCache, new CepOfflineService(properties),
+                circuitBreaker, viaCepHedgedClient, new ViaCepMetricas(meterRegistry));
+    }
+
     // ==================== TESTES DE BUSCA CEP ====================
 
+    @Test
+    @DisplayName("Falta no cache: tabela cep_cache deve ser lida uma única vez antes do ViaCEP")
+    void buscarEnderecoPorCep_FaltaNoCache_DeveLerCacheCompartilhadoUmaVez() {
+        // Arrange
+        SimpleMeterRegistry registroCache = new SimpleMeterRegistry();
+        CepCacheCompartilhado compartilhado = mock(CepCacheCompartilhado.class);
+        CepCache cacheComCompartilhado = new CepCache(new ViaCepProperties(), registroCache, relogio::get, compartilhado);
+        ViaCepProperties properties = new ViaCepProperties();
+        ViaCepService servico = new ViaCepService(restTemplate, properties, cacheComCompartilhado,
+                new CepOfflineService(properties), circuitBreaker, viaCepHedgedClient, new ViaCepMetricas(meterRegistry));
+        ViaCepResponse resposta = new ViaCepResponse();
+        resposta.setCep("01001-000");
+        resposta.setLocalidade("São Paulo");
+        resposta.setUf("SP");
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), anyString())).thenReturn(resposta);
+
+        // Act
+        servico.buscarEnderecoPorCep("01001000");
+
+        // Assert
+        verify(compartilhado, times(1)).buscar("01001000");
+        assertThat(registroCache.get(CepCache.NOME_METRICA + ".compartilhado").tag("resultado", "miss")
+                .counter().count()).isEqualTo(1.0);
+    }
+
     @Test
     @DisplayName("Buscar CEP válido: Deve retornar dados completos")
     void buscarEnderecoPorCep_CepValido_DeveRetornarDados() {
@@ -133,6 +198,421 @@ class ViaCepServiceTest {
         });
     }
 
+    // ==================== TESTES DO ÍNDICE OFFLINE ====================
+
+    @Test
+    @DisplayName("Índice offline: CEP presente no arquivo não deve chamar a API")
+    void buscarEnderecoPorCep_CepNoIndiceOffline_NaoDeveChamarApi(@TempDir Path diretorio) throws Exception {
+        // Arrange
+        Path arquivo = diretorio.resolve("ceps.idx");
+        CepIndexBuilder.construir(new StringReader(
+                "cep;logradouro;complemento;bairro;localidade;uf\n" +
+                "01001000;Praça da Sé;lado ímpar;Sé;São Paulo;SP\n"), arquivo);
+
+        ViaCepProperties properties = new ViaCepProperties();
+        properties.getOffline().setArquivo(arquivo.toString());
+        viaCepService = new ViaCepService(restTemplate, properties, cepCache, new CepOfflineService(properties),
+                circuitBreaker, viaCepHedgedClient, new ViaCepMetricas(meterRegistry));
+
+        // Act
+        ViaCepResponse resultado = viaCepService.buscarEnderecoPorCep("01001-000");
+
+        // Assert
+        assertThat(resultado.getCep()).isEqualTo("01001-000");
+        assertThat(resultado.getLogradouro()).isEqualTo("Praça da Sé");
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Índice offline: CEP ausente do arquivo deve consultar a API")
+    void buscarEnderecoPorCep_CepForaDoIndiceOffline_DeveChamarApi(@TempDir Path diretorio) throws Exception {
+        // Arrange
+        Path arquivo = diretorio.resolve("ceps.idx");
+        CepIndexBuilder.construir(new StringReader(
+                "cep;logradouro;complemento;bairro;localidade;uf\n" +
+                "01001000;Praça da Sé;lado ímpar;Sé;São Paulo;SP\n"), arquivo);
+
+        ViaCepProperties properties = new ViaCepProperties();
+        properties.getOffline().setArquivo(arquivo.toString());
+        viaCepService = new ViaCepService(restTemplate, properties, cepCache, new CepOfflineService(properties),
+                circuitBreaker, viaCepHedgedClient, new ViaCepMetricas(meterRegistry));
+
+        ViaCepResponse mockResponse = new ViaCepResponse();
+        mockResponse.setCep("71573-008");
+        mockResponse.setLocalidade("Brasília");
+        mockResponse.setUf("DF");
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), anyString()))
+                .thenReturn(mockResponse);
+
+        // Act
+        ViaCepResponse resultado = viaCepService.buscarEnderecoPorCep("71573008");
+
+        // Assert
+        assertThat(resultado.getLocalidade()).isEqualTo("Brasília");
+        verify(restTemplate).getForObject(anyString(), eq(ViaCepResponse.class), anyString());
+    }
+
+    // ==================== TESTES DE CACHE ====================
+
+    @Test
+    @DisplayName("Cache: Segunda consulta do mesmo CEP não deve chamar a API")
+    void buscarEnderecoPorCep_SegundaConsulta_DeveUsarCache() {
+        // Arrange
+        ViaCepResponse mockResponse = new ViaCepResponse();
+        mockResponse.setCep("01001-000");
+        mockResponse.setLocalidade("São Paulo");
+        mockResponse.setUf("SP");
+
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), anyString()))
+                .thenReturn(mockResponse);
+
+        // Act - com e sem máscara usam a mesma chave
+        viaCepService.buscarEnderecoPorCep("01001000");
+        ViaCepResponse resultado = viaCepService.buscarEnderecoPorCep("01001-000");
+
+        // Assert
+        assertThat(resultado.getLocalidade()).isEqualTo("São Paulo");
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(ViaCepResponse.class), anyString());
+    }
+
+    @Test
+    @DisplayName("Cache negativo: CEP inexistente não deve ser consultado novamente")
+    void buscarEnderecoPorCep_CepInexistente_DeveUsarCacheNegativo() {
+        // Arrange
+        ViaCepResponse mockResponse = new ViaCepResponse();
+        mockResponse.setErro(true);
+
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), anyString()))
+                .thenReturn(mockResponse);
+
+        // Act & Assert
+        assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep("99999999"));
+        assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep("99999999"));
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(ViaCepResponse.class), anyString());
+    }
+
+    @Test
+    @DisplayName("Cache: Erro de comunicação não deve ser armazenado")
+    void buscarEnderecoPorCep_ErroNaRequisicao_NaoDeveArmazenarNoCache() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), anyString()))
+                .thenThrow(new RestClientException("Timeout"));
+
+        // Act
+        assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep("71573008"));
+
+        // Assert
+        assertThat(cepCache.buscar("71573008")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Single-flight: Consultas simultâneas ao mesmo CEP devem gerar uma única requisição")
+    void buscarEnderecoPorCep_ConsultasSimultaneas_DeveCompartilharRequisicao() throws Exception {
+        // Arrange
+        ViaCepResponse mockResponse = new ViaCepResponse();
+        mockResponse.setCep("01001-000");
+        mockResponse.setLocalidade("São Paulo");
+        mockResponse.setUf("SP");
+
+        CountDownLatch requisicaoIniciada = new CountDownLatch(1);
+        CountDownLatch liberarResposta = new CountDownLatch(1);
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), anyString()))
+                .thenAnswer(invocation -> {
+                    requisicaoIniciada.countDown();
+                    liberarResposta.await(5, TimeUnit.SECONDS);
+                    return mockResponse;
+                });
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<ViaCepResponse>> resultados = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            resultados.add(executor.submit(() -> viaCepService.buscarEnderecoPorCep("01001-000")));
+        }
+        requisicaoIniciada.await(5, TimeUnit.SECONDS);
+        Thread.sleep(100); // Demais chamadas ficam aguardando a requisição em andamento
+        liberarResposta.countDown();
+
+        // Assert
+        for (Future<ViaCepResponse> resultado : resultados) {
+            assertThat(resultado.get(5, TimeUnit.SECONDS).getLocalidade()).isEqualTo("São Paulo");
+        }
+        executor.shutdown();
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(ViaCepResponse.class), anyString());
+    }
+
+    // ==================== TESTES DE CIRCUIT BREAKER ====================
+
+    @Test
+    @DisplayName("Circuit breaker aberto: Deve servir último valor conhecido sem chamar a API")
+    void buscarEnderecoPorCep_CircuitoAberto_DeveServirValorObsoleto() {
+        // Arrange - CEP consultado antes e já expirado (TTL padrão de 24h)
+        ViaCepResponse mockResponse = new ViaCepResponse();
+        mockResponse.setCep("01001-000");
+        mockResponse.setLocalidade("São Paulo");
+        mockResponse.setUf("SP");
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), anyString()))
+                .thenReturn(mockResponse);
+        viaCepService.buscarEnderecoPorCep("01001000");
+        relogio.addAndGet(TimeUnit.HOURS.toNanos(25));
+
+        circuitBreaker.transitionToOpenState();
+
+        // Act
+        ViaCepResponse resultado = viaCepService.buscarEnderecoPorCep("01001000");
+
+        // Assert
+        assertThat(resultado.getLocalidade()).isEqualTo("São Paulo");
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(ViaCepResponse.class), anyString());
+    }
+
+    @Test
+    @DisplayName("Circuit breaker aberto: CEP nunca consultado deve falhar rápido")
+    void buscarEnderecoPorCep_CircuitoAbertoSemValorConhecido_DeveLancarException() {
+        // Arrange
+        circuitBreaker.transitionToOpenState();
+
+        // Act & Assert
+        assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep("01001000"));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Faixa de CEP: CEP que não pertence a nenhuma UF deve falhar sem chamar a API")
+    void buscarEnderecoPorCep_CepForaDasFaixas_DeveLancarExceptionSemChamarApi() {
+        // Act & Assert
+        assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep("00000000"));
+        verifyNoInteractions(restTemplate);
+        assertThat(meterRegistry.get("viacep.consultas.locais").tag("fonte", "faixa_invalida")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Erro de comunicação: Deve servir último valor conhecido após o TTL")
+    void buscarEnderecoPorCep_ErroAposTtl_DeveServirValorObsoleto() {
+        // Arrange
+        ViaCepResponse mockResponse = new ViaCepResponse();
+        mockResponse.setCep("01001-000");
+        mockResponse.setLocalidade("São Paulo");
+        mockResponse.setUf("SP");
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), anyString()))
+                .thenReturn(mockResponse)
+                .thenThrow(new RestClientException("Timeout"));
+        viaCepService.buscarEnderecoPorCep("01001000");
+        relogio.addAndGet(TimeUnit.HOURS.toNanos(25));
+
+        // Act
+        ViaCepResponse resultado = viaCepService.buscarEnderecoPorCep("01001000");
+
+        // Assert
+        assertThat(resultado.getLocalidade()).isEqualTo("São Paulo");
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(ViaCepResponse.class), anyString());
+    }
+
+    // ==================== TESTES ASSÍNCRONOS ====================
+
+    @Test
+    @DisplayName("Busca assíncrona: Deve completar quando o ViaCEP responder e armazenar no cache")
+    void buscarEnderecoPorCepAsync_CepValido_DeveCompletarComDados() {
+        // Arrange
+        CompletableFuture<ViaCepResponse> chamada = new CompletableFuture<>();
+        when(viaCepHedgedClient.consultar("01001000")).thenReturn(chamada);
+
+        // Act
+        CompletableFuture<ViaCepResponse> resultado = viaCepService.buscarEnderecoPorCepAsync("01001-000");
+
+        // Assert - Nada bloqueado enquanto a resposta não chega
+        assertThat(resultado).isNotDone();
+        chamada.complete(endereco("01001-000", "São Paulo"));
+        assertThat(resultado.join().getLocalidade()).isEqualTo("São Paulo");
+
+        assertThat(viaCepService.buscarEnderecoPorCepAsync("01001000")).isCompletedWithValueMatching(
+                r -> "São Paulo".equals(r.getLocalidade()));
+        verify(viaCepHedgedClient, times(1)).consultar("01001000");
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Busca assíncrona: CEP inválido deve falhar sem chamar a API")
+    void buscarEnderecoPorCepAsync_CepInvalido_DeveFalhar() {
+        // Act
+        CompletableFuture<ViaCepResponse> resultado = viaCepService.buscarEnderecoPorCepAsync("123");
+
+        // Assert
+        ExecutionException erro = assertThrows(ExecutionException.class, resultado::get);
+        assertThat(erro.getCause()).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(viaCepHedgedClient);
+    }
+
+    @Test
+    @DisplayName("Busca assíncrona: CEP fora das faixas das UFs deve falhar sem chamar a API")
+    void buscarEnderecoPorCepAsync_CepForaDasFaixas_DeveFalhar() {
+        // Act
+        CompletableFuture<ViaCepResponse> resultado = viaCepService.buscarEnderecoPorCepAsync("00999-999");
+
+        // Assert
+        ExecutionException erro = assertThrows(ExecutionException.class, resultado::get);
+        assertThat(erro.getCause()).isInstanceOf(CepNotFoundException.class);
+        verifyNoInteractions(viaCepHedgedClient);
+    }
+
+    @Test
+    @DisplayName("Busca assíncrona: CEP inexistente deve falhar com CepNotFoundException")
+    void buscarEnderecoPorCepAsync_CepInexistente_DeveFalhar() {
+        // Arrange
+        ViaCepResponse erroResponse = new ViaCepResponse();
+        erroResponse.setErro(true);
+        when(viaCepHedgedClient.consultar("99999999")).thenReturn(CompletableFuture.completedFuture(erroResponse));
+
+        // Act
+        CompletableFuture<ViaCepResponse> resultado = viaCepService.buscarEnderecoPorCepAsync("99999999");
+
+        // Assert
+        ExecutionException erro = assertThrows(ExecutionException.class, resultado::get);
+        assertThat(erro.getCause()).isInstanceOf(CepNotFoundException.class);
+        assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep("99999999"));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Busca assíncrona: Erro de comunicação deve servir último valor conhecido")
+    void buscarEnderecoPorCepAsync_ErroAposTtl_DeveServirValorObsoleto() {
+        // Arrange
+        CompletableFuture<ViaCepResponse> falha = new CompletableFuture<>();
+        falha.completeExceptionally(new RestClientException("Timeout"));
+        when(viaCepHedgedClient.consultar("01001000"))
+                .thenReturn(CompletableFuture.completedFuture(endereco("01001-000", "São Paulo")))
+                .thenReturn(falha);
+        viaCepService.buscarEnderecoPorCepAsync("01001000").join();
+        relogio.addAndGet(TimeUnit.HOURS.toNanos(25));
+
+        // Act
+        ViaCepResponse resultado = viaCepService.buscarEnderecoPorCepAsync("01001000").join();
+
+        // Assert
+        assertThat(resultado.getLocalidade()).isEqualTo("São Paulo");
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Busca assíncrona: Circuito aberto sem valor conhecido deve falhar sem chamar a API")
+    void buscarEnderecoPorCepAsync_CircuitoAberto_DeveFalhar() {
+        // Arrange
+        circuitBreaker.transitionToOpenState();
+
+        // Act
+        CompletableFuture<ViaCepResponse> resultado = viaCepService.buscarEnderecoPorCepAsync("01001000");
+
+        // Assert
+        ExecutionException erro = assertThrows(ExecutionException.class, resultado::get);
+        assertThat(erro.getCause()).isInstanceOf(CepNotFoundException.class);
+        verifyNoInteractions(viaCepHedgedClient);
+    }
+
+    @Test
+    @DisplayName("Busca assíncrona: Consultas simultâneas ao mesmo CEP devem compartilhar a requisição")
+    void buscarEnderecoPorCepAsync_ConsultasSimultaneas_DeveCompartilharRequisicao() {
+        // Arrange
+        CompletableFuture<ViaCepResponse> chamada = new CompletableFuture<>();
+        when(viaCepHedgedClient.consultar("01001000")).thenReturn(chamada);
+
+        // Act
+        List<CompletableFuture<ViaCepResponse>> resultados = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            resultados.add(viaCepService.buscarEnderecoPorCepAsync("01001000"));
+        }
+        chamada.complete(endereco("01001-000", "São Paulo"));
+
+        // Assert
+        for (CompletableFuture<ViaCepResponse> resultado : resultados) {
+            assertThat(resultado.join().getLocalidade()).isEqualTo("São Paulo");
+        }
+        verify(viaCepHedgedClient, times(1)).consultar("01001000");
+    }
+
+    @Test
+    @DisplayName("Hedge habilitado: Busca síncrona deve usar o cliente com hedge e relançar a falha original")
+    void buscarEnderecoPorCep_HedgeHabilitado_DeveUsarClienteComHedge() {
+        // Arrange
+        CompletableFuture<ViaCepResponse> falha = new CompletableFuture<>();
+        falha.completeExceptionally(new RestClientException("Timeout"));
+        when(viaCepHedgedClient.isHabilitado()).thenReturn(true);
+        when(viaCepHedgedClient.consultar("01001000"))
+                .thenReturn(CompletableFuture.completedFuture(endereco("01001-000", "São Paulo")));
+        when(viaCepHedgedClient.consultar("02002000")).thenReturn(falha);
+
+        // Act & Assert
+        assertThat(viaCepService.buscarEnderecoPorCep("01001000").getLocalidade()).isEqualTo("São Paulo");
+        CepNotFoundException erro = assertThrows(CepNotFoundException.class,
+                () -> viaCepService.buscarEnderecoPorCep("02002000"));
+        assertThat(erro.getCause()).isInstanceOf(RestClientException.class);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+        verifyNoInteractions(restTemplate);
+    }
+
+    // ==================== TESTES DE MÉTRICAS ====================
+
+    @Test
+    @DisplayName("Métricas: Chamada e cache devem ser registrados com a origem da consulta")
+    void buscarEnderecoPorCep_DeveRegistrarMetricasPorOrigem() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), anyString()))
+                .thenReturn(endereco("01001-000", "São Paulo"));
+
+        // Act
+        viaCepService.buscarEnderecoPorCep("01001000", OrigemConsulta.ENDERECO);
+        viaCepService.buscarEnderecoPorCep("01001000");
+
+        // Assert
+        assertThat(meterRegistry.get("viacep.chamadas").tag("origem", "endereco").tag("resultado", "encontrado")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("viacep.consultas.locais").tag("origem", "consulta").tag("fonte", "cache")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("viacep.chamadas.em.andamento").tag("origem", "endereco")
+                .gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Métricas: Timeout e circuito aberto devem ser contados separadamente")
+    void buscarEnderecoPorCep_Falhas_DeveClassificarResultado() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), anyString()))
+                .thenThrow(new ResourceAccessException("Read timed out", new SocketTimeoutException("Read timed out")));
+
+        // Act
+        assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep("01001000"));
+        circuitBreaker.transitionToOpenState();
+        assertThrows(CepNotFoundException.class, () -> viaCepService.buscarEnderecoPorCep("01001000"));
+
+        // Assert
+        assertThat(meterRegistry.get("viacep.chamadas.resultado").tag("resultado", "timeout")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("viacep.chamadas.resultado").tag("resultado", "circuito_aberto")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("viacep.chamadas").tag("resultado", "circuito_aberto").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Métricas: Chamada assíncrona deve aparecer em andamento até a resposta chegar")
+    void buscarEnderecoPorCepAsync_DeveRegistrarChamadaEmAndamento() {
+        // Arrange
+        CompletableFuture<ViaCepResponse> chamada = new CompletableFuture<>();
+        when(viaCepHedgedClient.consultar("01001000")).thenReturn(chamada);
+
+        // Act
+        CompletableFuture<ViaCepResponse> resultado =
+                viaCepService.buscarEnderecoPorCepAsync("01001000", OrigemConsulta.LOTE);
+
+        // Assert
+        assertThat(meterRegistry.get("viacep.chamadas.em.andamento").tag("origem", "lote")
+                .gauge().value()).isEqualTo(1.0);
+        chamada.complete(endereco("01001-000", "São Paulo"));
+        resultado.join();
+        assertThat(meterRegistry.get("viacep.chamadas.em.andamento").tag("origem", "lote")
+                .gauge().value()).isZero();
+        assertThat(meterRegistry.get("viacep.chamadas").tag("origem", "lote").timer().count()).isEqualTo(1);
+    }
+
     // ==================== TESTES DE VALIDAÇÃO ====================
 
     @Test
@@ -172,6 +652,36 @@ class ViaCepServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Consulta direta: Deve ignorar o cache, chamar o ViaCEP e atualizar o cache")
+    void consultarViaCepDireto_ComCache_DeveChamarViaCep() {
+        // Arrange
+        cepCache.armazenar("01001000", endereco("01001-000", "Antiga"));
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), eq("01001000")))
+                .thenReturn(endereco("01001-000", "São Paulo"));
+
+        // Act
+        ViaCepResponse resultado = viaCepService.consultarViaCepDireto("01001-000", OrigemConsulta.REVALIDACAO);
+
+        // Assert
+        assertThat(resultado.getLocalidade()).isEqualTo("São Paulo");
+        assertThat(cepCache.buscar("01001000").get().getResponse().getLocalidade()).isEqualTo("São Paulo");
+    }
+
+    @Test
+    @DisplayName("Consulta direta: Falha de comunicação não deve servir o último valor conhecido")
+    void consultarViaCepDireto_Falha_NaoDeveServirValorObsoleto() {
+        // Arrange
+        cepCache.armazenar("01001000", endereco("01001-000", "Antiga"));
+        when(restTemplate.getForObject(anyString(), eq(ViaCepResponse.class), eq("01001000")))
+                .thenThrow(new RestClientException("Timeout"));
+
+        // Act & Assert
+        CepNotFoundException erro = assertThrows(CepNotFoundException.class,
+                () -> viaCepService.consultarViaCepDireto("01001000", OrigemConsulta.REVALIDACAO));
+        assertThat(erro.getCause()).isInstanceOf(RestClientException.class);
+    }
+
     @Test
     @DisplayName("Validar formato CEP: CEP vazio deve lançar exception")
     void validarFormatoCep_CepVazio_DeveLancarException() {
@@ -190,4 +700,12 @@ class ViaCepServiceTest {
         // Assert
         assertThat(resultado).isTrue();
     }
+
+    private ViaCepResponse endereco(String cep, String localidade) {
+        ViaCepResponse response = new ViaCepResponse();
+        response.setCep(cep);
+        response.setLocalidade(localidade);
+        response.setUf("SP");
+        return response;
+    }
 }
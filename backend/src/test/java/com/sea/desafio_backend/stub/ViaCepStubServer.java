@@ -0,0 +1,342 @@
+package com.sea.desafio_backend.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor HTTP local que simula o ViaCEP (GET /ws/{cep}/json/)
+ *
+ * Responde a partir de um conjunto de CEPs (padrão: src/test/resources/viacep/ceps.json)
+ * com falhas injetáveis, para medir cache, pool de conexões e circuit breaker sem
+ * depender do viacep.com.br:
+ * - Latência log-normal definida por mediana e p99 (ou fixa, se iguais)
+ * - Taxa de erros HTTP 503
+ * - Fração de respostas {"erro": true} para CEPs existentes
+ * - Taxa de conexões derrubadas sem resposta (cliente recebe erro de I/O)
+ * - CEPs fora do conjunto: {"erro": true} ou endereço sintético (gerarDesconhecidos)
+ *
+ * Embutido (testes e benchmarks):
+ * <pre>
+ * ViaCepStubServer.Configuracao configuracao = new ViaCepStubServer.Configuracao();
+ * configuracao.setLatenciaMediana(Duration.ofMillis(40));
+ * configuracao.setTaxaErro(0.05);
+ * try (ViaCepStubServer stub = ViaCepStubServer.iniciar(configuracao)) {
+ *     properties.setUrl(stub.getUrl());
+ * }
+ * </pre>
+ *
+ * Standalone (aplicação apontando para o stub com VIACEP_URL=http://localhost:8089/ws/{cep}/json/):
+ * <pre>
+ * mvn -Pviacep-stub test-compile exec:exec -Dviacep.stub.args="porta=8089 latencia-mediana=40 latencia-p99=800 taxa-erro=0.02"
+ * </pre>
+ */
+public class ViaCepStubServer implements AutoCloseable {
+
+    private static final byte[] CEP_INEXISTENTE = "{\"erro\": true}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INDISPONIVEL = "{\"mensagem\": \"Serviço indisponível\"}".getBytes(StandardCharsets.UTF_8);
+    private static final String[] UFS = {"SP", "RJ", "MG", "BA", "PR", "RS", "PE", "CE", "SC", "DF"};
+
+    /** z do percentil 99 da normal padrão (p99 = mediana * e^(z * sigma)) */
+    private static final double Z_P99 = 2.3263;
+
+    private static final String PROPRIEDADE_NODELAY = "sun.net.httpserver.nodelay";
+
+    private final Configuracao configuracao;
+    private final Map<String, byte[]> respostas;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random aleatorio;
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    /** Valor de sun.net.httpserver.nodelay antes deste servidor, restaurado no close() */
+    private final String nodelayAnterior;
+
+    private final Set<Integer> conexoes = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requisicoes = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+    private final AtomicLong naoEncontrados = new AtomicLong();
+    private final AtomicLong conexoesDerrubadas = new AtomicLong();
+
+    private ViaCepStubServer(Configuracao configuracao) throws IOException {
+        this.configuracao = configuracao;
+        this.respostas = carregarFixture(configuracao.getFixture());
+        this.aleatorio = configuracao.getSemente() != null ? new Random(configuracao.getSemente()) : new Random();
+
+        // Sem TCP_NODELAY o HttpServer do JDK sofre o atraso de ~40ms do Nagle + delayed ACK
+        // A propriedade vale para a JVM inteira: o valor anterior volta no close()
+        this.nodelayAnterior = System.setProperty(PROPRIEDADE_NODELAY, "true");
+        try {
+            this.servidor = HttpServer.create(new InetSocketAddress(configuracao.getHost(), configuracao.getPorta()), 512);
+        } catch (IOException e) {
+            restaurarNodelay();
+            throw e;
+        }
+        // Threads sob demanda: a latência simulada ocupa a thread, não limita a concorrência
+        this.executor = Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "viacep-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        servidor.setExecutor(executor);
+        servidor.createContext("/ws/", this::atender);
+    }
+
+    /**
+     * Inicia o servidor (porta 0 = porta livre escolhida pelo sistema)
+     */
+    public static ViaCepStubServer iniciar(Configuracao configuracao) throws IOException {
+        ViaCepStubServer stub = new ViaCepStubServer(configuracao);
+        stub.servidor.start();
+        return stub;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Configuracao configuracao = new Configuracao();
+        configuracao.setPorta(8089);
+        configuracao.setGerarDesconhecidos(true);
+        for (String arg : args) {
+            String[] chaveValor = arg.split("=", 2);
+            if (chaveValor.length != 2) {
+                System.err.println("Argumento inválido (esperado chave=valor): " + arg);
+                System.exit(1);
+            }
+            configurar(configuracao, chaveValor[0], chaveValor[1]);
+        }
+        ViaCepStubServer stub = iniciar(configuracao);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        System.out.printf("ViaCEP simulado em %s (%d CEPs no conjunto)%n", stub.getUrl(), stub.respostas.size());
+        System.out.println("Aplicacao: VIACEP_URL=" + stub.getUrl());
+    }
+
+    /**
+     * Template da URL no formato de viacep.url
+     */
+    public String getUrl() {
+        return "http://" + configuracao.getHost() + ":" + servidor.getAddress().getPort() + "/ws/{cep}/json/";
+    }
+
+    /** Conexões TCP distintas aceitas (porta de origem do cliente) */
+    public int getConexoes() {
+        return conexoes.size();
+    }
+
+    public long getRequisicoes() {
+        return requisicoes.get();
+    }
+
+    public long getErros() {
+        return erros.get();
+    }
+
+    public long getNaoEncontrados() {
+        return naoEncontrados.get();
+    }
+
+    public long getConexoesDerrubadas() {
+        return conexoesDerrubadas.get();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+        restaurarNodelay();
+    }
+
+    private void restaurarNodelay() {
+        if (nodelayAnterior == null) {
+            System.clearProperty(PROPRIEDADE_NODELAY);
+        } else {
+            System.setProperty(PROPRIEDADE_NODELAY, nodelayAnterior);
+        }
+    }
+
+    private void atender(HttpExchange exchange) throws IOException {
+        conexoes.add(exchange.getRemoteAddress().getPort());
+        requisicoes.incrementAndGet();
+        try {
+            aguardarLatencia();
+
+            if (sortear(configuracao.getTaxaConexaoDerrubada())) {
+                // Fecha a conexão sem enviar resposta: o cliente recebe erro de I/O
+                conexoesDerrubadas.incrementAndGet();
+                return;
+            }
+            if (sortear(configuracao.getTaxaErro())) {
+                erros.incrementAndGet();
+                responder(exchange, 503, INDISPONIVEL);
+                return;
+            }
+
+            String[] partes = exchange.getRequestURI().getPath().split("/");
+            byte[] resposta = partes.length >= 3 ? buscar(partes[2]) : null;
+            if (resposta == null) {
+                naoEncontrados.incrementAndGet();
+                resposta = CEP_INEXISTENTE;
+            }
+            responder(exchange, 200, resposta);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return JSON do endereço ou null para responder {"erro": true}
+     */
+    private byte[] buscar(String cep) {
+        if (!cep.matches("\\d{8}")) {
+            return null;
+        }
+        if (sortear(configuracao.getTaxaNaoEncontrado())) {
+            return null;
+        }
+        byte[] resposta = respostas.get(cep);
+        if (resposta == null && configuracao.isGerarDesconhecidos()) {
+            resposta = sintetizar(cep);
+        }
+        return resposta;
+    }
+
+    /**
+     * Endereço determinístico para CEPs fora do conjunto (mesmo CEP = mesma resposta)
+     */
+    private byte[] sintetizar(String cep) {
+        int numero = Integer.parseInt(cep);
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("cep", cep.substring(0, 5) + "-" + cep.substring(5));
+        json.put("logradouro", "Rua Simulada " + (numero % 1000));
+        json.put("complemento", "");
+        json.put("bairro", "Bairro " + (numero / 1000 % 100));
+        json.put("localidade", "Cidade " + (numero / 100_000));
+        json.put("uf", UFS[numero % UFS.length]);
+        try {
+            return objectMapper.writeValueAsBytes(json);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void aguardarLatencia() throws InterruptedException {
+        long mediana = configuracao.getLatenciaMediana().toNanos();
+        long p99 = Math.max(mediana, configuracao.getLatenciaP99().toNanos());
+        if (mediana <= 0) {
+            return;
+        }
+        long latencia = mediana;
+        if (p99 > mediana) {
+            double sigma = Math.log((double) p99 / mediana) / Z_P99;
+            double gaussiano;
+            synchronized (aleatorio) {
+                gaussiano = aleatorio.nextGaussian();
+            }
+            latencia = (long) (mediana * Math.exp(sigma * gaussiano));
+        }
+        TimeUnit.NANOSECONDS.sleep(latencia);
+    }
+
+    private boolean sortear(double taxa) {
+        if (taxa <= 0) {
+            return false;
+        }
+        synchronized (aleatorio) {
+            return aleatorio.nextDouble() < taxa;
+        }
+    }
+
+    private static void responder(HttpExchange exchange, int status, byte[] corpo) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, corpo.length);
+        try (OutputStream saida = exchange.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+
+    /**
+     * Lê o conjunto de CEPs (array JSON no formato do ViaCEP) do classpath
+     * @return JSON de cada CEP, pela chave sem máscara
+     */
+    private Map<String, byte[]> carregarFixture(String recurso) throws IOException {
+        Map<String, byte[]> ceps = new HashMap<>();
+        try (InputStream entrada = ViaCepStubServer.class.getResourceAsStream(recurso)) {
+            if (entrada == null) {
+                throw new IOException("Conjunto de CEPs não encontrado no classpath: " + recurso);
+            }
+            for (JsonNode endereco : objectMapper.readTree(entrada)) {
+                String cep = endereco.path("cep").asText().replaceAll("[^0-9]", "");
+                ceps.put(cep, objectMapper.writeValueAsBytes(endereco));
+            }
+        }
+        return ceps;
+    }
+
+    private static void configurar(Configuracao configuracao, String chave, String valor) {
+        switch (chave) {
+            case "host": configuracao.setHost(valor); break;
+            case "porta": configuracao.setPorta(Integer.parseInt(valor)); break;
+            case "fixture": configuracao.setFixture(valor); break;
+            case "latencia-mediana": configuracao.setLatenciaMediana(Duration.ofMillis(Long.parseLong(valor))); break;
+            case "latencia-p99": configuracao.setLatenciaP99(Duration.ofMillis(Long.parseLong(valor))); break;
+            case "taxa-erro": configuracao.setTaxaErro(Double.parseDouble(valor)); break;
+            case "taxa-nao-encontrado": configuracao.setTaxaNaoEncontrado(Double.parseDouble(valor)); break;
+            case "taxa-conexao-derrubada": configuracao.setTaxaConexaoDerrubada(Double.parseDouble(valor)); break;
+            case "gerar-desconhecidos": configuracao.setGerarDesconhecidos(Boolean.parseBoolean(valor)); break;
+            case "semente": configuracao.setSemente(Long.parseLong(valor)); break;
+            default: throw new IllegalArgumentException("Opção desconhecida: " + chave);
+        }
+    }
+
+    /**
+     * Comportamento do servidor simulado (taxas entre 0 e 1)
+     */
+    @Data
+    public static class Configuracao {
+
+        private String host = "127.0.0.1";
+
+        /** 0 = porta livre escolhida pelo sistema */
+        private int porta = 0;
+
+        /** Recurso do classpath com o array JSON de CEPs */
+        private String fixture = "/viacep/ceps.json";
+
+        /** Latência mediana; p99 maior que a mediana gera cauda log-normal */
+        private Duration latenciaMediana = Duration.ZERO;
+        private Duration latenciaP99 = Duration.ZERO;
+
+        /** Fração de respostas HTTP 503 */
+        private double taxaErro;
+
+        /** Fração de respostas {"erro": true} mesmo para CEPs existentes */
+        private double taxaNaoEncontrado;
+
+        /** Fração de conexões fechadas sem resposta */
+        private double taxaConexaoDerrubada;
+
+        /** CEPs fora do conjunto recebem endereço sintético em vez de {"erro": true} */
+        private boolean gerarDesconhecidos;
+
+        /** Semente do sorteio (latência e falhas reproduzíveis); null = aleatória */
+        private Long semente;
+    }
+}
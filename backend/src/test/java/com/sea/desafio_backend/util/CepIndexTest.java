@@ -0,0 +1,123 @@
+package com.sea.desafio_backend.util;
+
+import com.sea.desafio_backend.dto.response.ViaCepResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para CepIndex e CepIndexBuilder
+ * Valida construção do índice a partir de CSV e busca binária no arquivo mapeado
+ */
+@DisplayName("CepIndex - Testes do Índice Offline")
+class CepIndexTest {
+
+    private static final String CSV =
+            "cep;logradouro;complemento;bairro;localidade;uf\n" +
+            "71573-008;Quadra 8;;Paranoá;Brasília;DF\n" +
+            "01001000;Praça da Sé;lado ímpar;Sé;São Paulo;SP\n" +
+            "01310100;\"Avenida Paulista; de 1047 a 1865\";;Bela Vista;São Paulo;SP\n" +
+            "abc;linha inválida;;;;\n";
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve encontrar CEPs do CSV independente da ordem de entrada")
+    void buscar_CepPresente_DeveRetornarEndereco() throws IOException {
+        CepIndex indice = construir(CSV);
+
+        ViaCepResponse se = indice.buscar(1001000);
+        assertNotNull(se);
+        assertEquals("01001-000", se.getCep());
+        assertEquals("Praça da Sé", se.getLogradouro());
+        assertEquals("lado ímpar", se.getComplemento());
+        assertEquals("Sé", se.getBairro());
+        assertEquals("São Paulo", se.getLocalidade());
+        assertEquals("SP", se.getUf());
+
+        ViaCepResponse paranoa = indice.buscar(71573008);
+        assertNotNull(paranoa);
+        assertEquals("71573-008", paranoa.getCep());
+        assertEquals("", paranoa.getComplemento());
+        assertEquals("DF", paranoa.getUf());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar campos entre aspas contendo o separador")
+    void buscar_CampoEntreAspas_DeveManterSeparador() throws IOException {
+        CepIndex indice = construir(CSV);
+
+        assertEquals("Avenida Paulista; de 1047 a 1865", indice.buscar(1310100).getLogradouro());
+    }
+
+    @Test
+    @DisplayName("CEP ausente deve retornar null")
+    void buscar_CepAusente_DeveRetornarNull() throws IOException {
+        CepIndex indice = construir(CSV);
+
+        assertNull(indice.buscar(99999999));
+        assertNull(indice.buscar(0));
+        assertFalse(indice.contem(1001001));
+    }
+
+    @Test
+    @DisplayName("Strings repetidas (UF, localidade) devem ser armazenadas uma única vez")
+    void construir_StringsRepetidas_DeveDeduplicar() throws IOException {
+        CepIndex indice = construir(CSV);
+
+        assertEquals(3, indice.quantidade());
+        // Quadra 8, Paranoá, Brasília, DF, Praça da Sé, lado ímpar, Sé, São Paulo, SP, Av. Paulista, Bela Vista
+        assertEquals(11, indice.quantidadeStrings());
+        assertSame(indice.buscar(1001000).getLocalidade(), indice.buscar(1310100).getLocalidade());
+    }
+
+    @Test
+    @DisplayName("Arquivo que não é índice deve ser rejeitado")
+    void abrir_ArquivoInvalido_DeveLancarExcecao() throws IOException {
+        Path arquivo = diretorio.resolve("invalido.idx");
+        Files.write(arquivo, "nao sou um indice de cep".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> CepIndex.abrir(arquivo));
+    }
+
+    @Test
+    @DisplayName("Índice truncado deve ser rejeitado com IOException")
+    void abrir_ArquivoTruncado_DeveLancarIOException() throws IOException {
+        construir(CSV);
+        byte[] completo = Files.readAllBytes(diretorio.resolve("ceps.idx"));
+
+        // Corte nos registros e corte na tabela de strings
+        for (int tamanho : new int[] {CepIndex.TAMANHO_CABECALHO + 10, completo.length - 3}) {
+            Path arquivo = diretorio.resolve("truncado-" + tamanho + ".idx");
+            Files.write(arquivo, Arrays.copyOf(completo, tamanho));
+
+            assertThrows(IOException.class, () -> CepIndex.abrir(arquivo));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve converter CEP para inteiro e formatar de volta com máscara")
+    void cepParaInt_EFormatar_DevemSerInversos() {
+        assertEquals(1001000, CepIndex.cepParaInt("01001000"));
+        assertEquals(-1, CepIndex.cepParaInt("0100100"));
+        assertEquals(-1, CepIndex.cepParaInt("0100100a"));
+        assertEquals("01001-000", CepIndexBuilder.formatarCep(1001000));
+    }
+
+    private CepIndex construir(String csv) throws IOException {
+        Path arquivo = diretorio.resolve("ceps.idx");
+        CepIndexBuilder.Resultado resultado = CepIndexBuilder.construir(new StringReader(csv), arquivo);
+        assertEquals(1, resultado.getIgnoradas());
+        return CepIndex.abrir(arquivo);
+    }
+}
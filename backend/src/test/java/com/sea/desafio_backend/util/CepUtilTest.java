@@ -0,0 +1,27 @@
+package com.sea.desafio_backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Testes para CepUtil
+ */
+@DisplayName("CepUtil - Testes de Manipulação de CEP")
+class CepUtilTest {
+
+    @Test
+    @DisplayName("Deve remover máscara e qualquer caractere que não seja dígito")
+    void removerMascara_ComMascara_DeveManterApenasNumeros() {
+        assertEquals("01001000", CepUtil.removerMascara("01001-000"));
+        assertEquals("01001000", CepUtil.removerMascara(" 01.001-000 "));
+        assertEquals("01001000", CepUtil.removerMascara("01001000"));
+    }
+
+    @Test
+    @DisplayName("CEP nulo deve virar string vazia")
+    void removerMascara_ComNulo_DeveRetornarVazio() {
+        assertEquals("", CepUtil.removerMascara(null));
+    }
+}
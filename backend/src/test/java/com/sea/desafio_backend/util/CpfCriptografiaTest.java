@@ -0,0 +1,91 @@
+package com.sea.desafio_backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testes para CpfCriptografia
+ * Cobrindo: ida e volta da cifra, IV aleatório, índice determinístico por chave, adulteração e legado
+ */
+@DisplayName("CpfCriptografia - Testes Unitários")
+class CpfCriptografiaTest {
+
+    private static final byte[] CHAVE_CIFRA = chave(1);
+    private static final byte[] CHAVE_INDICE = chave(2);
+
+    private final CpfCriptografia criptografia = new CpfCriptografia(CHAVE_CIFRA, CHAVE_INDICE);
+
+    @Test
+    @DisplayName("Cifrar e decifrar deve devolver o CPF, com cifra diferente a cada gravação")
+    void cifrar_DeveSerReversivelComIvAleatorio() {
+        String primeira = criptografia.cifrar("123.456.789-09");
+        String segunda = criptografia.cifrar("123.456.789-09");
+
+        assertThat(primeira).isNotEqualTo(segunda).doesNotContain("123");
+        assertThat(CpfCriptografia.estaCifrado(primeira)).isTrue();
+        assertThat(criptografia.decifrar(primeira)).isEqualTo("123.456.789-09");
+        assertThat(criptografia.decifrar(segunda)).isEqualTo("123.456.789-09");
+    }
+
+    @Test
+    @DisplayName("Índice deve ser os primeiros 64 bits do HMAC-SHA256 dos 11 dígitos")
+    void indice_DeveSerHmacTruncado() throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(CHAVE_INDICE, "HmacSHA256"));
+        long esperado = ByteBuffer.wrap(mac.doFinal("01234567890".getBytes(StandardCharsets.US_ASCII))).getLong();
+
+        assertThat(criptografia.indice(1234567890L)).isEqualTo(esperado);
+        assertThat(criptografia.indice(1234567890L)).isEqualTo(esperado);
+        assertThat(criptografia.indice(12345678909L)).isNotEqualTo(esperado);
+    }
+
+    @Test
+    @DisplayName("Índice deve depender da chave")
+    void indice_OutraChave_DeveMudar() {
+        CpfCriptografia outra = new CpfCriptografia(CHAVE_CIFRA, chave(3));
+        assertThat(outra.indice(12345678909L)).isNotEqualTo(criptografia.indice(12345678909L));
+    }
+
+    @Test
+    @DisplayName("Cifra adulterada ou de outra chave deve ser recusada")
+    void decifrar_Adulterado_DeveLancarExcecao() {
+        byte[] cifra = Base64.getDecoder().decode(criptografia.cifrar("123.456.789-09"));
+        cifra[cifra.length - 1] ^= 1;
+        String adulterada = Base64.getEncoder().encodeToString(cifra);
+        String deOutraChave = new CpfCriptografia(chave(4), CHAVE_INDICE).cifrar("123.456.789-09");
+
+        assertThrows(IllegalStateException.class, () -> criptografia.decifrar(adulterada));
+        assertThrows(IllegalStateException.class, () -> criptografia.decifrar(deOutraChave));
+    }
+
+    @Test
+    @DisplayName("CPF em texto claro (linhas antigas) não deve ser tratado como cifrado")
+    void estaCifrado_TextoClaro_DeveRetornarFalse() {
+        assertThat(CpfCriptografia.estaCifrado("123.456.789-09")).isFalse();
+        assertThat(CpfCriptografia.estaCifrado("12345678909")).isFalse();
+        assertThat(CpfCriptografia.estaCifrado(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Chave com tamanho diferente de 32 bytes deve ser recusada")
+    void construtor_ChaveCurta_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> new CpfCriptografia(new byte[16], CHAVE_INDICE));
+        assertThrows(IllegalArgumentException.class, () -> new CpfCriptografia(CHAVE_CIFRA, null));
+    }
+
+    private static byte[] chave(int valor) {
+        byte[] chave = new byte[32];
+        Arrays.fill(chave, (byte) valor);
+        return chave;
+    }
+}
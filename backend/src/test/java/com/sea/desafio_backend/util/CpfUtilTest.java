@@ -94,6 +94,29 @@ class CpfUtilTest {
         assertEquals("", CpfUtil.removerMascara(null));
     }
 
+    @Test
+    @DisplayName("Chamadas seguidas não devem alterar resultados anteriores (buffer reaproveitado)")
+    void comMascara_ChamadasSeguidas_DevemManterResultadosAnteriores() {
+        String primeiro = CpfUtil.comMascara(12345678909L);
+        String incompleto = CpfUtil.aplicarMascara("123456789012");
+        String segundo = CpfUtil.aplicarMascara("11144477735");
+        String semMascara = CpfUtil.semMascara(1234567890L);
+        String removido = CpfUtil.removerMascara("111.444.777-35");
+
+        assertEquals("123.456.789-09", primeiro);
+        assertEquals("123456789012", incompleto);
+        assertEquals("111.444.777-35", segundo);
+        assertEquals("01234567890", semMascara);
+        assertEquals("11144477735", removido);
+    }
+
+    @Test
+    @DisplayName("Deve ocultar o CPF para logs, mantendo só o terceiro grupo")
+    void ocultar_DeveManterSoTerceiroGrupo() {
+        assertEquals("***.***.789-**", CpfUtil.ocultar(12345678909L));
+        assertEquals("***.***.001-**", CpfUtil.ocultar(191L));
+    }
+
     // ==================== TESTES DE VALIDAÇÃO COM EXCEÇÃO ====================
 
     @Test
@@ -149,4 +172,52 @@ class CpfUtilTest {
         assertFalse(CpfUtil.validar("123.456.789-0a"));
         assertFalse(CpfUtil.validar("abc.def.ghi-jk"));
     }
+
+    @Test
+    @DisplayName("Deve invalidar CPF com mais de 11 dígitos")
+    void validar_ComDigitosDemais_DeveInvalidar() {
+        assertFalse(CpfUtil.validar("123.456.789-091"));
+        assertEquals("123456789091", CpfUtil.aplicarMascara("123456789091"));
+        assertThrows(CpfInvalidoException.class, () -> CpfUtil.validarOuLancarExcecao("123456789091"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar separadores e espaços fora do padrão")
+    void mascara_ComSeparadoresForaDoPadrao_DeveNormalizar() {
+        assertTrue(CpfUtil.validar(" 123 456 789 09 "));
+        assertEquals("12345678909", CpfUtil.removerMascara("123-456/789.09"));
+        assertEquals("123.456.789-09", CpfUtil.aplicarMascara("123-456/789.09"));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a mesma instância quando o CPF já está no formato pedido")
+    void mascara_JaNoFormato_DeveDevolverMesmaInstancia() {
+        String semMascara = "12345678909";
+        String comMascara = "123.456.789-09";
+        assertSame(semMascara, CpfUtil.removerMascara(semMascara));
+        assertSame(comMascara, CpfUtil.aplicarMascara(comMascara));
+        assertNull(CpfUtil.aplicarMascara(null));
+        assertEquals("123", CpfUtil.aplicarMascara("123"));
+    }
+
+    @Test
+    @DisplayName("Deve converter CPF para número mantendo zeros à esquerda no valor")
+    void paraNumero_ComCpfComOuSemMascara_DeveRetornarDigitosComoLong() {
+        assertEquals(12345678909L, CpfUtil.paraNumero("123.456.789-09"));
+        assertEquals(1234567890L, CpfUtil.paraNumero("01234567890"));
+        assertEquals(-1L, CpfUtil.paraNumero("123.456.789"));
+        assertEquals(-1L, CpfUtil.paraNumero("123456789091"));
+        assertEquals(-1L, CpfUtil.paraNumero(null));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar como formato só 11 dígitos ou a máscara completa")
+    void formatoValido_DeveAceitarSomenteFormatosPadrao() {
+        assertTrue(CpfUtil.formatoValido("12345678900"));
+        assertTrue(CpfUtil.formatoValido("123.456.789-00"));
+        assertFalse(CpfUtil.formatoValido("123.456.78900"));
+        assertFalse(CpfUtil.formatoValido("123 456 789 00"));
+        assertFalse(CpfUtil.formatoValido("1234567890a"));
+        assertFalse(CpfUtil.formatoValido(null));
+    }
 }
@@ -0,0 +1,66 @@
+package com.sea.desafio_backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para FaixasCep
+ * Valida a consistência da tabela e a busca binária nas bordas das faixas
+ */
+@DisplayName("FaixasCep - Testes Unitários")
+class FaixasCepTest {
+
+    @Test
+    @DisplayName("Faixas devem estar ordenadas e sem sobreposição")
+    void faixas_DevemEstarOrdenadasSemSobreposicao() {
+        int[][] faixas = FaixasCep.faixas();
+        for (int i = 0; i < faixas.length; i++) {
+            assertTrue(faixas[i][0] <= faixas[i][1], "Faixa invertida na posição " + i);
+            if (i > 0) {
+                assertTrue(faixas[i - 1][1] < faixas[i][0], "Faixa fora de ordem na posição " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("CEPs conhecidos devem resolver para a UF correta")
+    void uf_CepsConhecidos_DeveRetornarUf() {
+        assertEquals("SP", FaixasCep.uf("01001000"));
+        assertEquals("RJ", FaixasCep.uf("20040002"));
+        assertEquals("DF", FaixasCep.uf("70040900"));
+        assertEquals("GO", FaixasCep.uf("74003010"));
+        assertEquals("RR", FaixasCep.uf("69301000"));
+        assertEquals("AM", FaixasCep.uf("69005040"));
+        assertEquals("RS", FaixasCep.uf("99999999"));
+    }
+
+    @Test
+    @DisplayName("Bordas: início e fim de faixa pertencem à faixa")
+    void uf_BordasDasFaixas_DeveRetornarUfDaFaixa() {
+        assertEquals("SP", FaixasCep.uf(1000000));
+        assertEquals("SP", FaixasCep.uf(19999999));
+        assertEquals("RJ", FaixasCep.uf(20000000));
+        assertEquals("DF", FaixasCep.uf(72799999));
+        assertEquals("GO", FaixasCep.uf(72800000));
+        assertEquals("DF", FaixasCep.uf(73000000));
+    }
+
+    @Test
+    @DisplayName("CEPs abaixo da primeira faixa não devem existir")
+    void existe_CepForaDasFaixas_DeveRetornarFalse() {
+        assertFalse(FaixasCep.existe("00000000"));
+        assertFalse(FaixasCep.existe("00999999"));
+        assertTrue(FaixasCep.existe("01000000"));
+    }
+
+    @Test
+    @DisplayName("Entrada que não tem 8 dígitos deve retornar null")
+    void uf_EntradaInvalida_DeveRetornarNull() {
+        assertNull(FaixasCep.uf((String) null));
+        assertNull(FaixasCep.uf("0100100"));
+        assertNull(FaixasCep.uf("01001-00"));
+        assertNull(FaixasCep.uf("0100100A"));
+    }
+}
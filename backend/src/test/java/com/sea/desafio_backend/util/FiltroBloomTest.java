@@ -0,0 +1,66 @@
+package com.sea.desafio_backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testes para FiltroBloom
+ * Cobrindo: ausência de falsos negativos, taxa de falsos positivos e dimensionamento
+ */
+@DisplayName("FiltroBloom - Testes Unitários")
+class FiltroBloomTest {
+
+    @Test
+    @DisplayName("Deve conter todas as chaves adicionadas (sem falsos negativos)")
+    void talvezContenha_ChavesAdicionadas_DeveRetornarTrue() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (long cpf = 10_000_000_000L; cpf < 10_000_010_000L; cpf++) {
+            filtro.adicionar(cpf);
+        }
+        for (long cpf = 10_000_000_000L; cpf < 10_000_010_000L; cpf++) {
+            assertThat(filtro.talvezContenha(cpf)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Taxa de falsos positivos na capacidade deve ficar perto da configurada")
+    void talvezContenha_ChavesNuncaAdicionadas_DeveRespeitarTaxa() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar(random.nextLong() & Long.MAX_VALUE);
+        }
+
+        int falsosPositivos = 0;
+        for (long cpf = 1; cpf <= 100_000; cpf++) {
+            if (filtro.talvezContenha(cpf)) {
+                falsosPositivos++;
+            }
+        }
+
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.02);
+        assertThat(filtro.taxaFalsosPositivosEstimada(10_000)).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    @DisplayName("Dimensionamento: ~9,6 bits e 7 hashes por elemento a 1%")
+    void construtor_DeveDimensionarPelaTaxa() {
+        FiltroBloom filtro = new FiltroBloom(100_000, 0.01);
+        assertThat(filtro.getQuantidadeBits()).isBetween(958_000L, 959_000L);
+        assertThat(filtro.getQuantidadeBits() % 64).isZero();
+        assertThat(filtro.getQuantidadeHashes()).isEqualTo(7);
+        assertThat(filtro.getTamanhoEmBytes()).isEqualTo(filtro.getQuantidadeBits() / 8);
+    }
+
+    @Test
+    @DisplayName("Deve recusar capacidade ou taxa inválidas")
+    void construtor_ParametrosInvalidos_DeveLancarIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(1000, 1.0));
+    }
+}
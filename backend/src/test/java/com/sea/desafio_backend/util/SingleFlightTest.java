@@ -0,0 +1,168 @@
+package com.sea.desafio_backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para SingleFlight
+ * Valida coalescência de chamadas concorrentes para a mesma chave
+ */
+@DisplayName("SingleFlight - Testes de Concorrência")
+class SingleFlightTest {
+
+    private static final int CHAMADAS = 8;
+
+    @Test
+    @DisplayName("Chamadas concorrentes para a mesma chave devem executar a operação uma única vez")
+    void executar_MesmaChaveConcorrente_DeveExecutarUmaVez() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        List<Future<String>> resultados = disparar(singleFlight, () -> {
+            execucoes.incrementAndGet();
+            aguardar(liberar);
+            return "resultado";
+        });
+
+        aguardarChamadasEnfileiradas(singleFlight);
+        liberar.countDown();
+
+        for (Future<String> resultado : resultados) {
+            assertEquals("resultado", resultado.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, execucoes.get());
+        assertEquals(0, singleFlight.emAndamento());
+    }
+
+    @Test
+    @DisplayName("Exceção da chamada líder deve ser propagada para todas as chamadas em espera")
+    void executar_OperacaoFalha_DevePropagarExcecaoParaTodos() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        List<Future<String>> resultados = disparar(singleFlight, () -> {
+            aguardar(liberar);
+            throw new IllegalStateException("falha no upstream");
+        });
+
+        aguardarChamadasEnfileiradas(singleFlight);
+        liberar.countDown();
+
+        for (Future<String> resultado : resultados) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    @DisplayName("Chamadas sequenciais devem executar a operação novamente")
+    void executar_ChamadasSequenciais_DeveExecutarCadaUma() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger execucoes = new AtomicInteger();
+
+        singleFlight.executar("chave", execucoes::incrementAndGet);
+        singleFlight.executar("chave", execucoes::incrementAndGet);
+
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Chamadas assíncronas para a mesma chave devem compartilhar o mesmo future")
+    void executarAsync_MesmaChave_DeveExecutarUmaVez() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger execucoes = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        List<CompletableFuture<String>> resultados = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS; i++) {
+            resultados.add(singleFlight.executarAsync("01001000", () -> {
+                execucoes.incrementAndGet();
+                return upstream;
+            }));
+        }
+        assertEquals(1, singleFlight.emAndamento());
+
+        upstream.complete("resultado");
+
+        for (CompletableFuture<String> resultado : resultados) {
+            assertEquals("resultado", resultado.join());
+        }
+        assertEquals(1, execucoes.get());
+        assertEquals(0, singleFlight.emAndamento());
+    }
+
+    @Test
+    @DisplayName("Chamada síncrona deve aguardar a execução assíncrona em andamento")
+    void executar_DuranteExecucaoAsync_DeveCompartilharResultado() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        singleFlight.executarAsync("01001000", () -> upstream);
+
+        List<Future<String>> resultados = disparar(singleFlight, () -> "não deveria executar");
+        Thread.sleep(50);
+        upstream.complete("resultado");
+
+        for (Future<String> resultado : resultados) {
+            assertEquals("resultado", resultado.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Exceção lançada ao iniciar a operação assíncrona deve virar falha do future")
+    void executarAsync_OperacaoLancaExcecao_DeveFalharFuture() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        CompletableFuture<String> resultado = singleFlight.executarAsync("01001000", () -> {
+            throw new IllegalStateException("falha ao iniciar");
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, resultado::get);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertEquals(0, singleFlight.emAndamento());
+    }
+
+    private List<Future<String>> disparar(SingleFlight<String, String> singleFlight,
+                                          Supplier<String> operacao) {
+        ExecutorService executor = Executors.newFixedThreadPool(CHAMADAS);
+        List<Future<String>> resultados = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS; i++) {
+            resultados.add(executor.submit(() -> singleFlight.executar("01001000", operacao)));
+        }
+        executor.shutdown();
+        return resultados;
+    }
+
+    /**
+     * Aguarda a chamada líder iniciar (as demais ficam aguardando o mesmo resultado)
+     */
+    private void aguardarChamadasEnfileiradas(SingleFlight<String, String> singleFlight) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (singleFlight.emAndamento() == 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -10,6 +10,13 @@
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 CREATE EXTENSION IF NOT EXISTS "pg_trgm";
 
+-- CPF cifrado (ClienteCpfMigracao): clientes.cpf precisa de VARCHAR(64). O ddl-auto=update
+-- cria a coluna já com 64 em bancos novos, mas não altera colunas existentes, e este script
+-- só roda na primeira criação do volume (antes de o Hibernate criar as tabelas). Em volumes
+-- criados antes da criptografia o backend não sobe até a coluna ser alargada; rode manualmente:
+--   docker-compose exec postgres psql -U admin -d desafiodb \
+--     -c "ALTER TABLE clientes ALTER COLUMN cpf TYPE VARCHAR(64)"
+
 -- Log de inicialização
 DO $$
 BEGIN
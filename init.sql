@@ -10,3 +10,70 @@ SELECT 'Database initialized successfully!' AS status;
 
 -- Tabelas serão criadas automaticamente pelo Hibernate (ddl-auto=validate)
 -- Mas você pode adicionar scripts de migração aqui se necessário
+
+-- Cache de CEP compartilhado entre as instâncias (CepArmazenado)
+CREATE TABLE IF NOT EXISTS cep_cache (
+    cep         VARCHAR(8)   PRIMARY KEY,
+    logradouro  VARCHAR(200),
+    complemento VARCHAR(200),
+    bairro      VARCHAR(100),
+    localidade  VARCHAR(100),
+    uf          VARCHAR(2),
+    updated_at  TIMESTAMP    NOT NULL
+);
+
+-- Checkpoint da revalidação de endereços no ViaCEP (RevalidacaoCheckpoint)
+CREATE TABLE IF NOT EXISTS revalidacao_checkpoint (
+    nome        VARCHAR(50)  PRIMARY KEY,
+    ultimo_id   BIGINT       NOT NULL,
+    updated_at  TIMESTAMP    NOT NULL
+);
+
+-- Fila de enriquecimento adiado de endereços pelo ViaCEP (EnriquecimentoPendente)
+CREATE TABLE IF NOT EXISTS endereco_enriquecimento (
+    id                 BIGSERIAL    PRIMARY KEY,
+    endereco_id        BIGINT       NOT NULL UNIQUE,
+    cep                VARCHAR(8)   NOT NULL,
+    tentativas         INTEGER      NOT NULL,
+    proxima_tentativa  TIMESTAMP,
+    ultimo_erro        VARCHAR(500),
+    created_at         TIMESTAMP    NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_endereco_enriquecimento_proxima
+    ON endereco_enriquecimento (proxima_tentativa);
+
+-- Endereços aguardando enriquecimento têm logradouro/bairro/cidade/uf vazios
+ALTER TABLE IF EXISTS enderecos ALTER COLUMN logradouro DROP NOT NULL;
+ALTER TABLE IF EXISTS enderecos ALTER COLUMN bairro DROP NOT NULL;
+ALTER TABLE IF EXISTS enderecos ALTER COLUMN cidade DROP NOT NULL;
+ALTER TABLE IF EXISTS enderecos ALTER COLUMN uf DROP NOT NULL;
+
+-- Unicidade garantida pelo banco, sem consulta prévia nos services (ViolacaoUnicidade):
+-- os nomes dos índices são usados para traduzir a violação em 409.
+-- CPF cifrado em repouso (CpfCriptografia): clientes.cpf guarda Base64(IV + cifra + tag), por isso
+-- VARCHAR(64), e as buscas/unicidade usam o índice cego cpf_hash (HMAC-SHA256 truncado em 64 bits).
+-- As chaves ficam só na aplicação: as linhas antigas são cifradas e ganham cpf_hash ao
+-- iniciar (ClienteCpfMigracao). Bancos de versões anteriores perdem o índice único de cpf
+-- (sem sentido com IV aleatório) e a coluna cpf_num (guardaria o CPF em claro).
+ALTER TABLE IF EXISTS clientes ADD COLUMN IF NOT EXISTS cpf_hash BIGINT;
+ALTER TABLE IF EXISTS clientes ALTER COLUMN cpf TYPE VARCHAR(64);
+DROP INDEX IF EXISTS idx_cliente_cpf;
+DROP INDEX IF EXISTS idx_cliente_cpf_num;
+ALTER TABLE IF EXISTS clientes DROP COLUMN IF EXISTS cpf_num;
+
+-- CREATE INDEX não tem IF EXISTS para a tabela: em banco vazio as tabelas ainda não existem
+-- e os índices são criados pelo Hibernate (@Index das entidades)
+DO $$
+BEGIN
+    IF to_regclass('clientes') IS NOT NULL THEN
+        CREATE UNIQUE INDEX IF NOT EXISTS idx_cliente_cpf_hash ON clientes (cpf_hash);
+        -- Listagem de clientes por cursor (keyset): busca e ordena por (nome, id) sem OFFSET
+        CREATE INDEX IF NOT EXISTS idx_cliente_nome_id ON clientes (nome, id);
+    END IF;
+    IF to_regclass('emails') IS NOT NULL THEN
+        CREATE UNIQUE INDEX IF NOT EXISTS idx_email_cliente_endereco ON emails (cliente_id, endereco_email);
+    END IF;
+    IF to_regclass('telefones') IS NOT NULL THEN
+        CREATE UNIQUE INDEX IF NOT EXISTS idx_telefone_cliente_numero ON telefones (cliente_id, numero);
+    END IF;
+END $$;